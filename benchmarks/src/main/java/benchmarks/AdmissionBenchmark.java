@@ -0,0 +1,74 @@
+package benchmarks;
+
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures enrolling in a popular course from every benchmark thread:
+ * enrolling in a full course and leaving its waitlist again, which never
+ * takes the roster lock, against enrolling in a course with free seats
+ * and unregistering again, which takes it twice. Meant to be run with
+ * many threads, for example {@code -t 64}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class AdmissionBenchmark {
+    private static final int CAPACITY = 30;
+
+    private final AtomicInteger nextId = new AtomicInteger(1_000_000);
+    private Course full;
+    private Course open;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        full = Datasets.course(0);
+        full.setCapacity(CAPACITY);
+        for (int id = 0; id < CAPACITY; id++) {
+            full.register(Datasets.student(id));
+        }
+        open = Datasets.course(1);
+    }
+
+    @State(Scope.Thread)
+    public static class Registrant {
+        private Student student;
+
+        @Setup(Level.Trial)
+        public void setUp(AdmissionBenchmark benchmark) {
+            student = Datasets.student(benchmark.nextId.getAndIncrement());
+        }
+    }
+
+    @Benchmark
+    public boolean enrollInFullCourse(Registrant registrant) {
+        full.enroll(registrant.student);
+        return full.leaveWaitlist(registrant.student);
+    }
+
+    @Benchmark
+    public Course.Enrollment enrollInOpenCourse(Registrant registrant) {
+        Course.Enrollment enrollment = open.enroll(registrant.student);
+        open.unregister(registrant.student);
+        return enrollment;
+    }
+}
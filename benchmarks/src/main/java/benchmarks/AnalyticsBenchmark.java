@@ -0,0 +1,146 @@
+package benchmarks;
+
+import data_access_objects.CourseDao;
+import data_access_objects.CourseDaoConcurrent;
+import enrollment_analytics.AnalyticsCourseDao;
+import enrollment_analytics.EnrollmentAnalytics;
+import enrollment_analytics.EnrollmentStats;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a dashboard refresh over {@code size} students and a tenth as
+ * many courses of twenty students each: going through every course and
+ * roster the way dashboards do without {@link EnrollmentAnalytics},
+ * reading the same aggregates from an {@link EnrollmentAnalytics}, and
+ * recomputing them in parallel. Also measures what tracking adds to
+ * registering and unregistering a student.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private CourseDao untracked;
+    private AnalyticsCourseDao tracked;
+    private List<Course> untrackedCourses;
+    private List<Course> trackedCourses;
+    private Student extra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Student> students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            students.add(Datasets.student(id));
+        }
+        untrackedCourses = courses(students);
+        trackedCourses = courses(students);
+        untracked = new CourseDaoConcurrent();
+        untracked.saveAll(untrackedCourses);
+        tracked = new AnalyticsCourseDao(new CourseDaoConcurrent(), new EnrollmentAnalytics());
+        tracked.saveAll(trackedCourses);
+        extra = Datasets.student(size);
+    }
+
+    //every student ends up in two courses
+    private List<Course> courses(List<Student> students) {
+        List<Course> courses = new ArrayList<>(size / 10);
+        for (int id = 0; id < size / 10; id++) {
+            Course course = Datasets.course(id);
+            for (int k = 0; k < 20; k++) {
+                course.register(students.get((10 * id + k) % size));
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    @Benchmark
+    public void dashboardByScanning(Blackhole blackhole) {
+        Map<Integer, Integer> fillCounts = new HashMap<>();
+        Map<LocalDate, Integer> perStartWeek = new HashMap<>();
+        Map<String, Integer> perName = new HashMap<>();
+        Set<Student> students = new HashSet<>();
+        long registrations = 0;
+        for (Course course : untracked.findAll()) {
+            int fill = course.getStudents().size();
+            fillCounts.put(course.getId(), fill);
+            perStartWeek.merge(course.getStartDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    fill, Integer::sum);
+            perName.merge(course.getCourseName(), fill, Integer::sum);
+            students.addAll(course.getStudents());
+            registrations += fill;
+        }
+        List<String> popular = perName.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+        blackhole.consume(fillCounts.get(0));
+        blackhole.consume(perStartWeek.get(Datasets.FIRST_START_DATE));
+        blackhole.consume((double) registrations / students.size());
+        blackhole.consume(popular);
+    }
+
+    @Benchmark
+    public void dashboardFromAnalytics(Blackhole blackhole) {
+        EnrollmentAnalytics analytics = tracked.analytics();
+        blackhole.consume(analytics.fillCount(0));
+        blackhole.consume(analytics.registrationsInStartWeek(Datasets.FIRST_START_DATE));
+        blackhole.consume(analytics.averageEnrollmentsPerStudent());
+        blackhole.consume(analytics.popularCourseNames(10));
+    }
+
+    @Benchmark
+    public EnrollmentStats recompute() {
+        return EnrollmentAnalytics.recompute(tracked.findAll());
+    }
+
+    @Benchmark
+    public void registerUntracked() {
+        register(untrackedCourses);
+    }
+
+    @Benchmark
+    public void registerTracked() {
+        register(trackedCourses);
+    }
+
+    private void register(List<Course> courses) {
+        Course course = courses.get(ThreadLocalRandom.current().nextInt(courses.size()));
+        course.register(extra);
+        course.unregister(extra);
+    }
+}
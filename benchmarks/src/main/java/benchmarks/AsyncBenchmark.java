@@ -0,0 +1,143 @@
+package benchmarks;
+
+import data_access_objects.AsyncStudentDao;
+import data_access_objects.StudentDao;
+import data_access_objects.StudentDaoConcurrent;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code lookups} concurrent lookups by id against a DAO that
+ * behaves like it's backed by a database: every call takes
+ * {@code latencyMicros} and at most {@code connections} calls run at once.
+ * Each lookup on a virtual thread of its own calling the DAO directly is
+ * compared against the same lookups through an {@link AsyncStudentDao},
+ * which coalesces and batches them into a few multi-gets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class AsyncBenchmark {
+    @Param({"10000"})
+    public int size;
+
+    @Param({"1000"})
+    public int lookups;
+
+    @Param({"200"})
+    public int latencyMicros;
+
+    @Param({"10"})
+    public int connections;
+
+    private StudentDao studentDao;
+    private ExecutorService executor;
+    private AsyncStudentDao asyncDao;
+
+    /*A concurrent DAO where every call waits for a connection and then for
+    * the round trip, whether it looks up one id or many*/
+    private static final class RemoteStudentDao extends StudentDaoConcurrent {
+        private final Semaphore connections;
+        private final long latencyNanos;
+
+        private RemoteStudentDao(int connections, long latencyNanos) {
+            this.connections = new Semaphore(connections);
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public Student findById(int id) {
+            roundTrip();
+            return super.findById(id);
+        }
+
+        @Override
+        public List<Student> findAllById(int[] ids) {
+            roundTrip();
+            //not super.findAllById, which would make a round trip per id through findById
+            List<Student> found = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                found.add(super.findById(id));
+            }
+            return found;
+        }
+
+        private void roundTrip() {
+            connections.acquireUninterruptibly();
+            try {
+                Thread.sleep(Duration.ofNanos(latencyNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connections.release();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RemoteStudentDao remote = new RemoteStudentDao(connections, TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        for (int id = 0; id < size; id++) {
+            remote.saveStudent(Datasets.student(id));
+        }
+        studentDao = remote;
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        asyncDao = new AsyncStudentDao(studentDao);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asyncDao.close();
+        executor.close();
+    }
+
+    @Benchmark
+    public Object findByIdPerThread() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[lookups];
+        for (int i = 0; i < lookups; i++) {
+            int id = randomId();
+            futures[i] = CompletableFuture.supplyAsync(() -> studentDao.findById(id), executor);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    public Object findByIdBatched() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[lookups];
+        for (int i = 0; i < lookups; i++) {
+            futures[i] = asyncDao.findById(randomId());
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+}
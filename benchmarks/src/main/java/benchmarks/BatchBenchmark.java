@@ -0,0 +1,70 @@
+package benchmarks;
+
+import data_access_objects.StudentDao;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing {@code size} students into an empty DAO, one
+ * {@link StudentDao#saveStudent(Student)} call at a time against a single
+ * {@link StudentDao#saveAll(java.util.Collection)} call.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"LIST", "INDEXED", "CONCURRENT", "INT_MAP", "OFF_HEAP"})
+    public DaoImplementation implementation;
+
+    private List<Student> students;
+    private StudentDao studentDao;
+
+    @Setup(Level.Trial)
+    public void setUpStudents() {
+        students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            students.add(Datasets.student(id));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpDao() {
+        studentDao = implementation.newStudentDao();
+    }
+
+    @Benchmark
+    public StudentDao saveOneByOne() {
+        for (Student student : students) {
+            studentDao.saveStudent(student);
+        }
+        return studentDao;
+    }
+
+    @Benchmark
+    public List<Student> saveAll() {
+        return studentDao.saveAll(students);
+    }
+}
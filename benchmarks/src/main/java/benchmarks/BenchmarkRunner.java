@@ -0,0 +1,80 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>Any arguments are passed straight to JMH, so the usual JMH command
+ * line works, for example {@code java -jar benchmarks.jar StudentDao -p
+ * size=1000 -t 4}. Without arguments the whole suite is run once per
+ * thread count in the {@code threads} system property (default
+ * {@code 1,2,4,8}), writing one JSON result file per thread count. Write
+ * benchmarks are only run multi-threaded against thread safe
+ * implementations, see {@link DaoImplementation#isThreadSafe()}.
+ * {@link AdmissionBenchmark} is run once, with 64 threads, along with the
+ * single threaded suite.</p>
+ */
+public final class BenchmarkRunner {
+    private static final String READS = "Dao(Benchmark)\\.(find.*|stream|parallelStream)";
+    private static final String WRITES = "Dao(Benchmark)\\.(saveAndDelete|saveAndRemove)";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        String[] threadSafe = Arrays.stream(DaoImplementation.values())
+                .filter(DaoImplementation::isThreadSafe)
+                .map(Enum::name)
+                .toArray(String[]::new);
+
+        for (String threadCount : System.getProperty("threads", "1,2,4,8").split(",")) {
+            int threads = Integer.parseInt(threadCount.trim());
+            if (threads == 1) {
+                run(options(threads, "all").include(READS).include(WRITES)
+                        .include(CourseRosterBenchmark.class.getSimpleName())
+                        .include(SnapshotBenchmark.class.getSimpleName())
+                        .include(BatchBenchmark.class.getSimpleName())
+                        .include(CacheBenchmark.class.getSimpleName())
+                        .include(InstrumentationBenchmark.class.getSimpleName())
+                        .include(AsyncBenchmark.class.getSimpleName())
+                        .include(ImportBenchmark.class.getSimpleName())
+                        .include(CodecBenchmark.class.getSimpleName())
+                        .include(InterningBenchmark.class.getSimpleName())
+                        .include(VersionedBenchmark.class.getSimpleName())
+                        .include(ChangeLogBenchmark.class.getSimpleName())
+                        .include(AnalyticsBenchmark.class.getSimpleName())
+                        .include(ScheduleConflictBenchmark.class.getSimpleName())
+                        .include(LazyRosterBenchmark.class.getSimpleName()));
+                run(options(64, "admission").include(AdmissionBenchmark.class.getSimpleName()));
+            } else {
+                run(options(threads, "reads").include(READS));
+                run(options(threads, "writes").include(WRITES).param("implementation", threadSafe));
+                run(options(threads, "instrumentation").include(InstrumentationBenchmark.class.getSimpleName())
+                        .param("implementation", threadSafe));
+            }
+        }
+    }
+
+    private static ChainedOptionsBuilder options(int threads, String suite) {
+        return new OptionsBuilder()
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result-" + suite + "-t" + threads + ".json");
+    }
+
+    private static void run(ChainedOptionsBuilder options) throws RunnerException {
+        new Runner(options.build()).run();
+    }
+}
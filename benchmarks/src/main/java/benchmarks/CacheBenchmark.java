@@ -0,0 +1,99 @@
+package benchmarks;
+
+import data_access_objects.CachingStudentDao;
+import data_access_objects.StudentDao;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CachingStudentDao} in front of {@code implementation}
+ * against using {@code implementation} directly. Lookups are skewed the
+ * way they are in practice: nine out of ten go to the hottest percent of
+ * the students. The hit rates are printed when each trial ends, to help
+ * size the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+    private static final int HOT_PERCENT = 1;
+    private static final int HOT_LOOKUP_PERCENT = 90;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"100", "1000", "10000"})
+    public int capacity;
+
+    @Param({"OFF_HEAP", "CONCURRENT"})
+    public DaoImplementation implementation;
+
+    private StudentDao studentDao;
+    private CachingStudentDao cachingDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentDao = implementation.newStudentDao();
+        for (int id = 0; id < size; id++) {
+            studentDao.saveStudent(Datasets.student(id));
+        }
+        cachingDao = new CachingStudentDao(studentDao, capacity);
+    }
+
+    @TearDown(Level.Trial)
+    public void printStats() {
+        System.out.println();
+        System.out.println("id cache:    " + cachingDao.idCacheStats());
+        System.out.println("email cache: " + cachingDao.emailCacheStats());
+    }
+
+    @Benchmark
+    public Student findByIdUncached() {
+        return studentDao.findById(skewedId());
+    }
+
+    @Benchmark
+    public Student findByIdCached() {
+        return cachingDao.findById(skewedId());
+    }
+
+    @Benchmark
+    public Student findByEmailUncached() {
+        return studentDao.findByEmail(Datasets.email(skewedId()));
+    }
+
+    @Benchmark
+    public Student findByEmailCached() {
+        return cachingDao.findByEmail(Datasets.email(skewedId()));
+    }
+
+    private int skewedId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.max(1, size / 100 * HOT_PERCENT);
+        if (random.nextInt(100) < HOT_LOOKUP_PERCENT) {
+            //spread over all ids, scans would otherwise find the hot students right away
+            return random.nextInt(hot) * (size / hot);
+        }
+        return random.nextInt(size);
+    }
+}
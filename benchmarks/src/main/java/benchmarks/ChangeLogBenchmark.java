@@ -0,0 +1,93 @@
+package benchmarks;
+
+import data_access_objects.ChangeCapturingStudentDao;
+import data_access_objects.ChangeEvent;
+import data_access_objects.ChangeLog;
+import data_access_objects.StudentDao;
+import data_access_objects.StudentDaoConcurrent;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what recording changes adds to saving and deleting a student:
+ * a {@link StudentDaoConcurrent} on its own, behind a
+ * {@link ChangeCapturingStudentDao} with nobody subscribed to its
+ * {@link ChangeLog}, and behind one with a subscriber that takes every
+ * batch on the common fork-join pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class ChangeLogBenchmark {
+    private StudentDao plain;
+    private StudentDao unsubscribed;
+    private StudentDao subscribed;
+    private Student student;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new StudentDaoConcurrent();
+        unsubscribed = new ChangeCapturingStudentDao(new StudentDaoConcurrent(), new ChangeLog());
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent> batch) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throwable.printStackTrace();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        subscribed = new ChangeCapturingStudentDao(new StudentDaoConcurrent(), changeLog);
+        student = Datasets.student(0);
+    }
+
+    @Benchmark
+    public boolean saveAndDeletePlain() {
+        return saveAndDelete(plain);
+    }
+
+    @Benchmark
+    public boolean saveAndDeleteUnsubscribed() {
+        return saveAndDelete(unsubscribed);
+    }
+
+    @Benchmark
+    public boolean saveAndDeleteSubscribed() {
+        return saveAndDelete(subscribed);
+    }
+
+    private boolean saveAndDelete(StudentDao studentDao) {
+        studentDao.saveStudent(student);
+        return studentDao.deleteStudent(student);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import binary_codec.BinaryCodec;
+import binary_codec.Dataset;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BinaryCodec} encoding and decoding {@code size} students
+ * and a tenth as many courses, every student registered in one course. The
+ * size of the encoding is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private List<Student> students;
+    private List<Course> courses;
+    private ByteBuffer encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            students.add(Datasets.student(id));
+        }
+        courses = new ArrayList<>(size / 10);
+        for (int id = 0; id < size / 10; id++) {
+            Course course = Datasets.course(id);
+            course.registerAll(students.subList(10 * id, 10 * id + 10));
+            courses.add(course);
+        }
+        encoded = BinaryCodec.encode(students, courses);
+        System.out.println();
+        System.out.printf("encoded to %d bytes, %.1f per student%n", encoded.remaining(),
+                (double) encoded.remaining() / size);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return BinaryCodec.encode(students, courses);
+    }
+
+    @Benchmark
+    public Dataset decode() {
+        return BinaryCodec.decode(encoded.duplicate());
+    }
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import data_access_objects.CourseDao;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures every {@link CourseDao} operation against a DAO pre-filled with
+ * {@code size} courses. Every course has one student registered, so that
+ * {@link CourseDao#findCoursesForStudent(Student)} has something to find.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@State(Scope.Benchmark)
+public class CourseDaoBenchmark {
+    private static final int STUDENTS = 1_000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"LIST", "INDEXED", "CONCURRENT", "SHARDED", "VERSIONED"})
+    public DaoImplementation implementation;
+
+    private CourseDao courseDao;
+    private Student[] students;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /**
+     * Every thread saves and removes its own course, see
+     * {@link StudentDaoBenchmark.ThreadState}.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Course course;
+
+        @Setup(Level.Trial)
+        public void setUp(CourseDaoBenchmark benchmark) {
+            course = Datasets.course(benchmark.size + benchmark.threads.getAndIncrement());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        courseDao = implementation.newCourseDao();
+        students = new Student[STUDENTS];
+        for (int id = 0; id < STUDENTS; id++) {
+            students[id] = Datasets.student(id);
+        }
+        for (int id = 0; id < size; id++) {
+            Course course = Datasets.course(id);
+            course.register(students[id % STUDENTS]);
+            courseDao.saveCourse(course);
+        }
+    }
+
+    @Benchmark
+    public Course findById() {
+        return courseDao.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Course> findByName() {
+        return courseDao.findByName(Datasets.courseName(randomId()));
+    }
+
+    @Benchmark
+    public List<Course> findByDate() {
+        return courseDao.findByDate(Datasets.startDate(randomId()));
+    }
+
+    @Benchmark
+    public List<Course> findByDateRange() {
+        LocalDate from = Datasets.startDate(randomId());
+        return courseDao.findByDateRange(from, from.plusDays(7));
+    }
+
+    @Benchmark
+    public List<Course> findActiveOn() {
+        return courseDao.findActiveOn(Datasets.startDate(randomId()));
+    }
+
+    @Benchmark
+    public List<Course> findCoursesForStudent() {
+        return courseDao.findCoursesForStudent(students[ThreadLocalRandom.current().nextInt(STUDENTS)]);
+    }
+
+    @Benchmark
+    public List<Course> findAll() {
+        return courseDao.findAll();
+    }
+
+    @Benchmark
+    public boolean saveAndRemove(ThreadState state) {
+        courseDao.saveCourse(state.course);
+        return courseDao.removeCourse(state.course);
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Course#register(Student)} and
+ * {@link Course#unregister(Student)} against a roster of {@code size}
+ * students. Runs single threaded, since {@link Course} isn't thread safe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class CourseRosterBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Course course;
+    private List<Student> students;
+    private Student extraStudent;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Student[] roster = new Student[size];
+        for (int id = 0; id < size; id++) {
+            roster[id] = Datasets.student(id);
+        }
+        students = Arrays.asList(roster);
+        course = Datasets.course(0);
+        course.registerAll(students);
+        extraStudent = Datasets.student(size);
+    }
+
+    @Benchmark
+    public boolean registerAndUnregister() {
+        course.register(extraStudent);
+        course.unregister(extraStudent);
+        return course.getStudents().isEmpty();
+    }
+
+    @Benchmark
+    public boolean unregisterAndRegister() {
+        Student student = students.get(next);
+        next = (next + 1) % size;
+        course.unregister(student);
+        course.register(student);
+        return course.getStudents().isEmpty();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        Student student = students.get(next);
+        next = (next + 1) % size;
+        return course.getStudents().contains(student);
+    }
+
+    /**
+     * Fills an empty course with the whole roster one student at a time,
+     * which is quadratic for a list-backed roster.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public Course fillCourse() {
+        Course empty = Datasets.course(1);
+        for (Student student : students) {
+            empty.register(student);
+        }
+        return empty;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public Course fillCourseInBulk() {
+        Course empty = Datasets.course(1);
+        empty.registerAll(students);
+        return empty;
+    }
+}
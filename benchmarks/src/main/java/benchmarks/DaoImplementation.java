@@ -0,0 +1,136 @@
+package benchmarks;
+
+import data_access_objects.CourseDao;
+import data_access_objects.CourseDaoConcurrent;
+import data_access_objects.CourseDaoIndexed;
+import data_access_objects.CourseDaoList;
+import data_access_objects.CourseDaoSharded;
+import data_access_objects.CourseDaoVersioned;
+import data_access_objects.StudentDao;
+import data_access_objects.StudentDaoConcurrent;
+import data_access_objects.StudentDaoIndexed;
+import data_access_objects.StudentDaoIntMap;
+import data_access_objects.StudentDaoOffHeap;
+import data_access_objects.StudentDaoList;
+import data_access_objects.StudentDaoSharded;
+import data_access_objects.StudentDaoVersioned;
+import model.Course;
+import model.Student;
+
+/**
+ * The DAO implementations the benchmarks compare. Every benchmark only
+ * talks to the {@link StudentDao} and {@link CourseDao} interfaces, so a
+ * new implementation only has to be added here to be benchmarked against
+ * the list-based baseline.
+ */
+public enum DaoImplementation {
+    LIST(false) {
+        @Override
+        public StudentDao newStudentDao() {
+            //the list DAOs share static storage, so empty it before every trial
+            StudentDao studentDao = new StudentDaoList();
+            for (Student student : studentDao.findAll()) {
+                studentDao.deleteStudent(student);
+            }
+            return studentDao;
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            CourseDao courseDao = new CourseDaoList();
+            for (Course course : courseDao.findAll()) {
+                courseDao.removeCourse(course);
+            }
+            return courseDao;
+        }
+    },
+    INDEXED(false) {
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoIndexed();
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoIndexed();
+        }
+    },
+    CONCURRENT(true) {
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoConcurrent();
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoConcurrent();
+        }
+    },
+    INT_MAP(false) {
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoIntMap();
+        }
+
+        //there is no int-keyed course DAO, the indexed one is the closest match
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoIndexed();
+        }
+    },
+    OFF_HEAP(false) {
+        //the off-heap memory is released when the forked JVM exits
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoOffHeap();
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoIndexed();
+        }
+    },
+    SHARDED(true) {
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoSharded(Runtime.getRuntime().availableProcessors());
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoSharded(Runtime.getRuntime().availableProcessors());
+        }
+    },
+    VERSIONED(true) {
+        @Override
+        public StudentDao newStudentDao() {
+            return new StudentDaoVersioned();
+        }
+
+        @Override
+        public CourseDao newCourseDao() {
+            return new CourseDaoVersioned();
+        }
+    };
+
+    private final boolean threadSafe;
+
+    DaoImplementation(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    public abstract StudentDao newStudentDao();
+
+    public abstract CourseDao newCourseDao();
+
+    /**
+     * Returns whether the implementation may be written to from several
+     * threads at once. Write benchmarks are only run multi-threaded for
+     * thread safe implementations.
+     *
+     * @return {@code true} if the implementation is thread safe
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+}
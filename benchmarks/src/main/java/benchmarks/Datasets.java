@@ -0,0 +1,46 @@
+package benchmarks;
+
+import model.Course;
+import model.Student;
+
+import java.time.LocalDate;
+
+/**
+ * Generates deterministic students and courses for the benchmarks, so that
+ * every implementation is measured against exactly the same data.
+ */
+public final class Datasets {
+    /*Names, addresses and course names repeat the way they do in real data,
+    * so that the name lookups return more than a single match*/
+    public static final int DISTINCT_STUDENT_NAMES = 5_000;
+    public static final int DISTINCT_COURSE_NAMES = 500;
+    public static final int DISTINCT_START_DATES = 1_500;
+    public static final LocalDate FIRST_START_DATE = LocalDate.of(2020, 1, 6);
+
+    private Datasets() {
+    }
+
+    public static Student student(int id) {
+        return new Student(id, studentName(id), email(id), "Street " + (id % 1_000));
+    }
+
+    public static String studentName(int id) {
+        return "Student " + (id % DISTINCT_STUDENT_NAMES);
+    }
+
+    public static String email(int id) {
+        return "student" + id + "@example.com";
+    }
+
+    public static Course course(int id) {
+        return new Course(id, courseName(id), startDate(id), 1 + id % 20);
+    }
+
+    public static String courseName(int id) {
+        return "Course " + (id % DISTINCT_COURSE_NAMES);
+    }
+
+    public static LocalDate startDate(int id) {
+        return FIRST_START_DATE.plusDays(id % DISTINCT_START_DATES);
+    }
+}
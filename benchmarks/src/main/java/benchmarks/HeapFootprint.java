@@ -0,0 +1,95 @@
+package benchmarks;
+
+import data_access_objects.StudentDao;
+import data_access_objects.StudentDaoOffHeap;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Loads the same students into every {@link DaoImplementation} and prints
+ * how much heap the filled DAO retains, how much off-heap memory it
+ * reserves, and how much time the garbage collector spent while it was
+ * being filled.
+ *
+ * <p>JMH measures time, not retained memory, which is why this is a plain
+ * program: {@code java -cp benchmarks/target/benchmarks.jar
+ * benchmarks.HeapFootprint [students] [implementations...]}. Run it with
+ * the same heap settings for every implementation, the default is 10
+ * million students in each.</p>
+ */
+public final class HeapFootprint {
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private HeapFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        DaoImplementation[] implementations = DaoImplementation.values();
+        if (args.length > 1) {
+            implementations = new DaoImplementation[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                implementations[i - 1] = DaoImplementation.valueOf(args[i]);
+            }
+        }
+
+        System.out.printf("%-12s %14s %14s %10s %12s%n",
+                "dao", "retained heap", "off-heap", "gc count", "gc time");
+        for (DaoImplementation implementation : implementations) {
+            measure(implementation, students);
+        }
+    }
+
+    private static void measure(DaoImplementation implementation, int students) throws Exception {
+        StudentDao studentDao = implementation.newStudentDao();
+        long heapBefore = usedHeapAfterGc();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+
+        for (int id = 0; id < students; id++) {
+            studentDao.saveStudent(Datasets.student(id));
+        }
+
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTime() - gcTimeBefore;
+        long retained = usedHeapAfterGc() - heapBefore;
+        long offHeap = studentDao instanceof StudentDaoOffHeap offHeapDao ? offHeapDao.offHeapBytes() : 0;
+        System.out.printf("%-12s %11d MB %11d MB %10d %9d ms%n", implementation,
+                retained / MEGABYTE, offHeap / MEGABYTE, gcCount, gcTime);
+
+        //keeps the DAO reachable until after the heap has been measured
+        if (studentDao.findById(0) == null && students > 0) {
+            throw new IllegalStateException(implementation + " lost its students");
+        }
+        if (studentDao instanceof AutoCloseable closeable) {
+            closeable.close();
+        } else if (implementation == DaoImplementation.LIST) {
+            //the list DAOs share static storage, creating one empties it
+            implementation.newStudentDao();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+}
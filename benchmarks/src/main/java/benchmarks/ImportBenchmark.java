@@ -0,0 +1,100 @@
+package benchmarks;
+
+import csv_import.ImportReport;
+import csv_import.StudentCsvImporter;
+import data_access_objects.StudentDao;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing a CSV file of {@code size} students with
+ * {@link StudentCsvImporter} against reading it one line at a time with a
+ * {@link BufferedReader} and saving every student on its own, which is
+ * what the importer replaces. The file is written once per trial, so after
+ * the first iteration it's read from the page cache and the measurement is
+ * of parsing and saving rather than of the disk.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    //saving is cheapest in the list DAO, which leaves mostly the reading and parsing
+    @Param({"LIST", "CONCURRENT"})
+    public DaoImplementation implementation;
+
+    private Path file;
+    private StudentDao studentDao;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("students", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,email,address\n");
+            for (int id = 0; id < size; id++) {
+                Student student = Datasets.student(id);
+                writer.write(student.getId() + "," + student.getName() + "," + student.getEmail()
+                        + ",\"" + student.getAddress() + "\"\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpDao() {
+        studentDao = implementation.newStudentDao();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ImportReport importFile() throws IOException {
+        return new StudentCsvImporter(studentDao).importFile(file);
+    }
+
+    @Benchmark
+    public StudentDao readLineByLine() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int first = line.indexOf(',');
+                int second = line.indexOf(',', first + 1);
+                int third = line.indexOf(',', second + 1);
+                studentDao.saveStudent(new Student(Integer.parseInt(line.substring(0, first)),
+                        line.substring(first + 1, second), line.substring(second + 1, third),
+                        line.substring(third + 2, line.length() - 1)));
+            }
+        }
+        return studentDao;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import data_access_objects.InstrumentedStudentDao;
+import data_access_objects.StudentDao;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link InstrumentedStudentDao} adds to a call, by comparing
+ * the cheapest lookup there is, {@link StudentDao#findById(int)}, with and
+ * without instrumentation. Run it with several threads as well to see the
+ * cost of recording into shared histograms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"INDEXED", "CONCURRENT"})
+    public DaoImplementation implementation;
+
+    private StudentDao studentDao;
+    private InstrumentedStudentDao instrumentedDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentDao = implementation.newStudentDao();
+        for (int id = 0; id < size; id++) {
+            studentDao.saveStudent(Datasets.student(id));
+        }
+        instrumentedDao = new InstrumentedStudentDao(studentDao);
+    }
+
+    @Benchmark
+    public Student findById() {
+        return studentDao.findById(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public Student findByIdInstrumented() {
+        return instrumentedDao.findById(ThreadLocalRandom.current().nextInt(size));
+    }
+}
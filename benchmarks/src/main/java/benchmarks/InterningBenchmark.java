@@ -0,0 +1,83 @@
+package benchmarks;
+
+import data_access_objects.DictionaryStats;
+import data_access_objects.InterningStudentDao;
+import data_access_objects.StringDictionary;
+import data_access_objects.StudentDao;
+import data_access_objects.StudentDaoSharded;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exact name lookups over {@code size} students in a single shard
+ * {@link StudentDaoSharded}, which compares every name with
+ * {@link String#equals(Object)}, against the same DAO behind an
+ * {@link InterningStudentDao}, which passes on the canonical instance of
+ * names it knows and answers names it doesn't without a scan. The memory
+ * saved by interning is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class InterningBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private StudentDao plain;
+    private InterningStudentDao interned;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new StudentDaoSharded(1);
+        interned = new InterningStudentDao(new StudentDaoSharded(1), new StringDictionary());
+        for (int id = 0; id < size; id++) {
+            plain.saveStudent(Datasets.student(id));
+            interned.saveStudent(Datasets.student(id));
+        }
+        DictionaryStats stats = interned.dictionaryStats();
+        System.out.println();
+        System.out.printf("%d distinct names and addresses, %.1f uses each, %d bytes saved%n",
+                stats.distinct(), stats.sharing(), stats.savedBytes());
+    }
+
+    //a new instance every call, the same as a name coming from a request
+    private String nextName() {
+        next = (next + 7_919) % Datasets.DISTINCT_STUDENT_NAMES;
+        return Datasets.studentName(next);
+    }
+
+    @Benchmark
+    public List<Student> findByNameEquals() {
+        return plain.findByName(nextName());
+    }
+
+    @Benchmark
+    public List<Student> findByNameInterned() {
+        return interned.findByName(nextName());
+    }
+
+    @Benchmark
+    public List<Student> findByNameMissing() {
+        return interned.findByName("Nobody " + next++);
+    }
+}
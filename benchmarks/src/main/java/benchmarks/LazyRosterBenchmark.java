@@ -0,0 +1,111 @@
+package benchmarks;
+
+import data_access_objects.CourseDaoIndexed;
+import data_access_objects.Snapshot;
+import data_access_objects.StudentDaoIndexed;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a course listing page over a {@link Snapshot} of {@code size}
+ * students and as many courses, each with a roster of thirty students,
+ * going through every course of a freshly opened snapshot for its name,
+ * start date and number of students. {@code countOnly} takes the number
+ * from the roster loaded as ids, while {@code resolvingRosters} reads the
+ * roster itself, which builds every student in it the way loading a course
+ * used to. Opening and closing the snapshot isn't measured, since closing
+ * it resolves the rosters that are still ids. Since every invocation opens
+ * a snapshot, the scores are noisier than most, so more iterations are
+ * measured across two forks. Runs single threaded, since the snapshot DAOs
+ * aren't thread safe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 20, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class LazyRosterBenchmark {
+    private static final int ROSTER_SIZE = 30;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Path file;
+    private Snapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StudentDaoIndexed studentDao = new StudentDaoIndexed();
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        Student[] students = new Student[size];
+        for (int id = 0; id < size; id++) {
+            students[id] = Datasets.student(id);
+            studentDao.saveStudent(students[id]);
+        }
+        for (int id = 0; id < size; id++) {
+            Course course = Datasets.course(id);
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                course.register(students[(id + i) % size]);
+            }
+            courseDao.saveCourse(course);
+        }
+        file = Files.createTempFile("school", ".snapshot");
+        Snapshot.write(file, studentDao, courseDao);
+    }
+
+    @Setup(Level.Invocation)
+    public void open() throws IOException {
+        snapshot = Snapshot.open(file);
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        snapshot.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long countOnly() {
+        long checksum = 0;
+        for (Course course : snapshot.courses().findAll()) {
+            checksum += course.getCourseName().length() + course.getStartDate().getDayOfMonth()
+                    + course.getStudentCount();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long resolvingRosters() {
+        long checksum = 0;
+        for (Course course : snapshot.courses().findAll()) {
+            checksum += course.getCourseName().length() + course.getStartDate().getDayOfMonth()
+                    + course.getStudents().size();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule_conflicts.Conflict;
+import schedule_conflicts.CourseIntervalIndex;
+import schedule_conflicts.ScheduleConflictGuard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding every student registered in two overlapping courses,
+ * over {@code size} students and a tenth as many courses of twenty
+ * students each, by comparing every pair of courses against a
+ * {@link CourseIntervalIndex}, and what a {@link ScheduleConflictGuard}
+ * adds to registering and unregistering a student.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class ScheduleConflictBenchmark {
+    @Param({"20000"})
+    public int size;
+
+    private List<Course> courses;
+    private CourseIntervalIndex index;
+    private List<Course> guardedCourses;
+    private Student extra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Student> students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            students.add(Datasets.student(id));
+        }
+        courses = courses(students);
+        index = new CourseIntervalIndex();
+        index.addAll(courses);
+        guardedCourses = courses(students);
+        new ScheduleConflictGuard().guardAll(guardedCourses);
+        extra = Datasets.student(size);
+    }
+
+    //every student ends up in two courses
+    private List<Course> courses(List<Student> students) {
+        List<Course> courses = new ArrayList<>(size / 10);
+        for (int id = 0; id < size / 10; id++) {
+            Course course = Datasets.course(id);
+            for (int k = 0; k < 20; k++) {
+                course.register(students.get((10 * id + k) % size));
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    @Benchmark
+    public List<Conflict> findConflictsByComparingPairs() {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (int i = 0; i < courses.size(); i++) {
+            Course first = courses.get(i);
+            for (int j = i + 1; j < courses.size(); j++) {
+                Course second = courses.get(j);
+                if (first.getStartDate().isBefore(second.getEndDate())
+                        && second.getStartDate().isBefore(first.getEndDate())) {
+                    for (Student student : first.getStudents()) {
+                        if (second.getStudents().contains(student)) {
+                            conflicts.add(new Conflict(student, first, second));
+                        }
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    public List<Conflict> findConflictsWithIndex() {
+        return index.findConflicts();
+    }
+
+    @Benchmark
+    public void registerUnguarded() {
+        register(courses);
+    }
+
+    @Benchmark
+    public void registerGuarded() {
+        register(guardedCourses);
+    }
+
+    private void register(List<Course> courses) {
+        Course course = courses.get(ThreadLocalRandom.current().nextInt(courses.size()));
+        course.register(extra);
+        course.unregister(extra);
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import data_access_objects.CourseDaoIndexed;
+import data_access_objects.Snapshot;
+import data_access_objects.StudentDaoIndexed;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures starting up from a {@link Snapshot} of {@code size} students and
+ * as many courses, each with a roster of ten students: opening the file
+ * and looking up the first student and course. Runs single threaded, since
+ * the snapshot DAOs aren't thread safe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    private static final int ROSTER_SIZE = 10;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StudentDaoIndexed studentDao = new StudentDaoIndexed();
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        Student[] students = new Student[size];
+        for (int id = 0; id < size; id++) {
+            students[id] = Datasets.student(id);
+            studentDao.saveStudent(students[id]);
+        }
+        for (int id = 0; id < size; id++) {
+            Course course = Datasets.course(id);
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                course.register(students[(id + i) % size]);
+            }
+            courseDao.saveCourse(course);
+        }
+        file = Files.createTempFile("school", ".snapshot");
+        Snapshot.write(file, studentDao, courseDao);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int openAndFindById() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            Student student = snapshot.students().findById(random.nextInt(size));
+            Course course = snapshot.courses().findById(random.nextInt(size));
+            return student.getId() + course.getStudents().size();
+        }
+    }
+}
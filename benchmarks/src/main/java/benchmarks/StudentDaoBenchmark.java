@@ -0,0 +1,125 @@
+package benchmarks;
+
+import data_access_objects.Page;
+import data_access_objects.StudentDao;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures every {@link StudentDao} operation against a DAO pre-filled with
+ * {@code size} students.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@State(Scope.Benchmark)
+public class StudentDaoBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"LIST", "INDEXED", "CONCURRENT", "INT_MAP", "OFF_HEAP", "SHARDED", "VERSIONED"})
+    public DaoImplementation implementation;
+
+    private StudentDao studentDao;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /**
+     * Every thread saves and deletes its own student, with an id outside
+     * the pre-filled range, so that write benchmarks don't change the size
+     * of the dataset and threads don't contend on the same id.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Student student;
+
+        @Setup(Level.Trial)
+        public void setUp(StudentDaoBenchmark benchmark) {
+            student = Datasets.student(benchmark.size + benchmark.threads.getAndIncrement());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentDao = implementation.newStudentDao();
+        for (int id = 0; id < size; id++) {
+            studentDao.saveStudent(Datasets.student(id));
+        }
+    }
+
+    @Benchmark
+    public Student findById() {
+        return studentDao.findById(randomId());
+    }
+
+    @Benchmark
+    public Student findByIdMissing() {
+        return studentDao.findById(-1 - randomId());
+    }
+
+    @Benchmark
+    public Student findByEmail() {
+        return studentDao.findByEmail(Datasets.email(randomId()));
+    }
+
+    @Benchmark
+    public List<Student> findByName() {
+        return studentDao.findByName(Datasets.studentName(randomId()));
+    }
+
+    @Benchmark
+    public List<Student> findByNamePrefix() {
+        //drops the last digit, the way a name looks while it's still being typed
+        String name = Datasets.studentName(randomId());
+        return studentDao.findByNamePrefix(name.substring(0, name.length() - 1), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Student> findAll() {
+        return studentDao.findAll();
+    }
+
+    @Benchmark
+    public long stream() {
+        return studentDao.stream().mapToLong(Student::getId).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return studentDao.stream().parallel().mapToLong(Student::getId).sum();
+    }
+
+    @Benchmark
+    public Page<Student> findPage() {
+        return studentDao.findPage(Page.FIRST, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean saveAndDelete(ThreadState state) {
+        studentDao.saveStudent(state.student);
+        return studentDao.deleteStudent(state.student);
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+}
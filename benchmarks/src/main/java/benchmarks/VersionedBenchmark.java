@@ -0,0 +1,117 @@
+package benchmarks;
+
+import data_access_objects.CourseDaoConcurrent;
+import data_access_objects.CourseDaoVersioned;
+import data_access_objects.StudentDaoVersioned;
+import model.Course;
+import model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what snapshot isolation costs and saves with
+ * {@link StudentDaoVersioned} and {@link CourseDaoVersioned}, over
+ * {@code size} students and a tenth as many courses of ten students each:
+ * taking a snapshot, a report over every roster read from a snapshot
+ * against copying every roster, and registering a student in a stored
+ * course with the versioned DAO against the concurrent one listening.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class VersionedBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private StudentDaoVersioned studentDao;
+    private CourseDaoVersioned courseDao;
+    private List<Course> versionedCourses;
+    private List<Course> concurrentCourses;
+    private Student extra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentDao = new StudentDaoVersioned();
+        courseDao = new CourseDaoVersioned();
+        CourseDaoConcurrent concurrentDao = new CourseDaoConcurrent();
+        List<Student> students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            students.add(Datasets.student(id));
+        }
+        studentDao.saveAll(students);
+        versionedCourses = new ArrayList<>(size / 10);
+        concurrentCourses = new ArrayList<>(size / 10);
+        for (int id = 0; id < size / 10; id++) {
+            Course versioned = Datasets.course(id);
+            versioned.registerAll(students.subList(10 * id, 10 * id + 10));
+            versionedCourses.add(versioned);
+            Course concurrent = Datasets.course(id);
+            concurrent.registerAll(students.subList(10 * id, 10 * id + 10));
+            concurrentCourses.add(concurrent);
+        }
+        courseDao.saveAll(versionedCourses);
+        concurrentDao.saveAll(concurrentCourses);
+        extra = Datasets.student(size);
+    }
+
+    @Benchmark
+    public StudentDaoVersioned snapshot() {
+        return studentDao.snapshot();
+    }
+
+    @Benchmark
+    public long reportFromSnapshot() {
+        CourseDaoVersioned snapshot = courseDao.snapshot();
+        long registrations = 0;
+        for (Course course : snapshot.findAll()) {
+            registrations += snapshot.findRoster(course).size();
+        }
+        return registrations;
+    }
+
+    //what a report has to do without snapshots, not counting the locking it would also need
+    @Benchmark
+    public long reportByCopying() {
+        long registrations = 0;
+        for (Course course : concurrentCourses) {
+            registrations += new ArrayList<>(course.getStudents()).size();
+        }
+        return registrations;
+    }
+
+    @Benchmark
+    public void registerVersioned() {
+        register(versionedCourses);
+    }
+
+    @Benchmark
+    public void registerConcurrent() {
+        register(concurrentCourses);
+    }
+
+    private void register(List<Course> courses) {
+        Course course = courses.get(ThreadLocalRandom.current().nextInt(courses.size()));
+        course.register(extra);
+        course.unregister(extra);
+    }
+}
@@ -0,0 +1,280 @@
+package binary_codec;
+
+import data_access_objects.CourseDao;
+import data_access_objects.StudentDao;
+import model.Course;
+import model.Student;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of students and courses with their rosters, for
+ * exchanging them between services.
+ *
+ * <p>An encoding starts with the magic bytes {@code SWBC} and the format
+ * version, followed by three sections:</p>
+ * <ol>
+ *     <li>a dictionary of every distinct student name, address and course
+ *     name, which repeat a lot in real data and are only written once,</li>
+ *     <li>the students: their id, name and address as indexes into the
+ *     dictionary, and their email,</li>
+ *     <li>the courses: their id, name as an index into the dictionary,
+ *     start date as a day since the epoch, duration in weeks, roster as
+ *     indexes into the students section, and number of seats, zero for an
+ *     unlimited number.</li>
+ * </ol>
+ *
+ * <p>Every integer is a varint, so most ids, indexes and dates take one to
+ * three bytes, and every string is its length followed by its UTF-8 bytes.
+ * Students that are registered in an encoded course but weren't encoded
+ * themselves are added to the end of the students section, flagged so that
+ * decoding only puts them in the rosters.</p>
+ *
+ * <p><strong>Versioning:</strong> every student and course is prefixed by
+ * its length. Fields are only ever added to the end of a student or course,
+ * which a decoder of an older version skips and a decoder of a newer
+ * version gives a default value when it's missing, so those changes keep
+ * the version. Any other change to the format bumps {@link #VERSION}, and
+ * decoding fails for versions newer than the decoder knows.</p>
+ *
+ * <p>Decoding reads strings straight out of the backing array of the
+ * buffer, and every dictionary entry is decoded only once and shared by
+ * every student and course using it. Decoded students and courses are
+ * built through their constructors, so they're validated the same way as
+ * any other.</p>
+ */
+public final class BinaryCodec {
+    /**
+     * The version of the format written by {@link #encode(Collection, Collection)}.
+     */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'W', 'B', 'C'};
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes every student in {@code studentDao} and every course in
+     * {@code courseDao}, in order of insertion.
+     *
+     * @param studentDao the students to encode
+     * @param courseDao  the courses to encode
+     * @return the encoding, from its position to its limit
+     */
+    public static ByteBuffer encode(StudentDao studentDao, CourseDao courseDao) {
+        return encode(studentDao.findAll(), courseDao.findAll());
+    }
+
+    /**
+     * Encodes {@code students} and {@code courses}, including the rosters of
+     * the courses.
+     *
+     * @param students the students to encode, in the order to decode them in
+     * @param courses  the courses to encode, in the order to decode them in
+     * @return the encoding, from its position to its limit
+     * @throws IllegalArgumentException if either collection is or contains
+     *                                  {@code null}
+     */
+    public static ByteBuffer encode(Collection<Student> students, Collection<Course> courses) {
+        if (students == null || courses == null) {
+            throw new IllegalArgumentException("students and courses may not be null");
+        }
+
+        //every student to write, with the ones only found in rosters last
+        List<Student> table = new ArrayList<>(students.size());
+        Map<Integer, Integer> indexById = HashMap.newHashMap(students.size());
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("students may not contain null");
+            }
+            indexById.putIfAbsent(student.getId(), table.size());
+            table.add(student);
+        }
+        int encodedStudents = table.size();
+        /*One copy per course, so that a roster changed meanwhile can't break
+        * the count or the indexes. Rosters are copied as ids, which doesn't
+        * resolve a loaded roster, and only a roster with students that
+        * aren't in the table yet is copied again as students to add them*/
+        List<int[]> rosters = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("courses may not contain null");
+            }
+            int[] roster = course.copyStudentIds();
+            if (!allIndexed(roster, indexById)) {
+                List<Student> rosterStudents = course.copyStudents();
+                roster = new int[rosterStudents.size()];
+                for (int i = 0; i < roster.length; i++) {
+                    Student student = rosterStudents.get(i);
+                    roster[i] = student.getId();
+                    if (indexById.putIfAbsent(student.getId(), table.size()) == null) {
+                        table.add(student);
+                    }
+                }
+            }
+            rosters.add(roster);
+        }
+
+        Dictionary dictionary = new Dictionary();
+        for (Student student : table) {
+            dictionary.add(student.getName());
+            dictionary.add(student.getAddress());
+        }
+        for (Course course : courses) {
+            dictionary.add(course.getCourseName());
+        }
+
+        BinaryWriter writer = new BinaryWriter(64 * (table.size() + courses.size()));
+        writer.writeRaw(MAGIC);
+        writer.writeVarint(VERSION);
+
+        writer.writeVarint(dictionary.strings.size());
+        for (String string : dictionary.strings) {
+            writer.writeString(string);
+        }
+
+        writer.writeVarint(encodedStudents);
+        writer.writeVarint(table.size() - encodedStudents);
+        for (Student student : table) {
+            int start = writer.startRecord();
+            writer.writeSignedVarint(student.getId());
+            writer.writeVarint(dictionary.indexOf(student.getName()));
+            writer.writeString(student.getEmail());
+            writer.writeVarint(dictionary.indexOf(student.getAddress()));
+            writer.endRecord(start);
+        }
+
+        writer.writeVarint(courses.size());
+        Iterator<int[]> nextRoster = rosters.iterator();
+        for (Course course : courses) {
+            int[] roster = nextRoster.next();
+            int start = writer.startRecord();
+            writer.writeSignedVarint(course.getId());
+            writer.writeVarint(dictionary.indexOf(course.getCourseName()));
+            writer.writeSignedVarint(course.getStartDate().toEpochDay());
+            writer.writeVarint(course.getWeekDuration());
+            writer.writeVarint(roster.length);
+            for (int studentId : roster) {
+                writer.writeVarint(indexById.get(studentId));
+            }
+            writer.writeVarint(course.getCapacity() == Integer.MAX_VALUE ? 0 : course.getCapacity());
+            writer.endRecord(start);
+        }
+        return writer.toByteBuffer();
+    }
+
+    /**
+     * Decodes students and courses encoded by
+     * {@link #encode(Collection, Collection)}, by this or an older version
+     * of the codec. The buffer's position is moved past the encoding.
+     *
+     * @param buffer the encoding, from its position
+     * @return the decoded students and courses
+     * @throws IllegalArgumentException if the buffer doesn't hold a valid
+     *                                  encoding, was encoded by a newer
+     *                                  version, or holds a student or course
+     *                                  its constructor rejects
+     */
+    public static Dataset decode(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer may not be null");
+        }
+        BinaryReader reader = new BinaryReader(buffer);
+        if (!Arrays.equals(MAGIC, reader.readRaw(MAGIC.length))) {
+            throw new IllegalArgumentException("malformed input: not a student and course encoding");
+        }
+        long version = reader.readVarint();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("unsupported version " + version + ", this codec reads up to "
+                    + VERSION);
+        }
+
+        String[] dictionary = new String[reader.readTableSize()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = reader.readString();
+        }
+
+        int encodedStudents = reader.readTableSize();
+        int rosterOnlyStudents = reader.readTableSize();
+        Student[] table = new Student[Math.addExact(encodedStudents, rosterOnlyStudents)];
+        for (int i = 0; i < table.length; i++) {
+            int end = reader.startRecord();
+            table[i] = new Student(reader.readSignedInt(), lookUp(dictionary, reader.readCount()),
+                    reader.readString(), lookUp(dictionary, reader.readCount()));
+            reader.endRecord(end);
+        }
+
+        int courseCount = reader.readTableSize();
+        List<Course> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            int end = reader.startRecord();
+            Course course = new Course(reader.readSignedInt(), lookUp(dictionary, reader.readCount()),
+                    toDate(reader.readSignedVarint()), reader.readCount());
+            int rosterSize = reader.readTableSize();
+            List<Student> roster = new ArrayList<>(rosterSize);
+            for (int j = 0; j < rosterSize; j++) {
+                roster.add(lookUp(table, reader.readCount()));
+            }
+            course.registerAll(roster);
+            //added after the roster in the same version, encodings without it have unlimited seats
+            if (reader.hasMore(end)) {
+                int capacity = reader.readCount();
+                if (capacity != 0) {
+                    course.setCapacity(capacity);
+                }
+            }
+            reader.endRecord(end);
+            courses.add(course);
+        }
+        return new Dataset(Arrays.asList(table).subList(0, encodedStudents), courses);
+    }
+
+    private static boolean allIndexed(int[] studentIds, Map<Integer, Integer> indexById) {
+        for (int studentId : studentIds) {
+            if (!indexById.containsKey(studentId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LocalDate toDate(long epochDay) {
+        try {
+            return LocalDate.ofEpochDay(epochDay);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("malformed input: day " + epochDay + " out of range");
+        }
+    }
+
+    private static <T> T lookUp(T[] table, int index) {
+        if (index >= table.length) {
+            throw new IllegalArgumentException("malformed input: index " + index + " out of range");
+        }
+        return table[index];
+    }
+
+    private static final class Dictionary {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private void add(String string) {
+            if (indexes.putIfAbsent(string, strings.size()) == null) {
+                strings.add(string);
+            }
+        }
+
+        private int indexOf(String string) {
+            return indexes.get(string);
+        }
+    }
+}
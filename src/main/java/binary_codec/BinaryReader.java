@@ -0,0 +1,118 @@
+package binary_codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*Input of BinaryCodec, reading what BinaryWriter writes. Every read checks
+* that it stays within the buffer, so malformed input fails with an
+* IllegalArgumentException instead of reading garbage*/
+final class BinaryReader {
+    private final ByteBuffer buffer;
+    //only used to decode strings out of buffers without an accessible array
+    private byte[] scratch = new byte[64];
+
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    byte[] readRaw(int length) {
+        checkRemaining(length);
+        byte[] raw = new byte[length];
+        buffer.get(raw);
+        return raw;
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            checkRemaining(1);
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed input: varint is longer than 10 bytes");
+    }
+
+    //a varint that must fit in a non-negative int, such as a count or a length
+    int readCount() {
+        long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("malformed input: count out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /*The size of a table whose entries take at least a byte each, checked
+    * against what's left so that malformed input can't make the decoder
+    * allocate more than the input could possibly hold*/
+    int readTableSize() {
+        int size = readCount();
+        checkRemaining(size);
+        return size;
+    }
+
+    long readSignedVarint() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readSignedInt() {
+        long value = readSignedVarint();
+        if (value != (int) value) {
+            throw new IllegalArgumentException("malformed input: int out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /*Decodes straight out of the backing array when there is one, so the
+    * only copy made is the one into the String*/
+    String readString() {
+        int length = readCount();
+        checkRemaining(length);
+        int position = buffer.position();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, 2 * scratch.length)];
+            }
+            buffer.get(position, scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        buffer.position(position + length);
+        return value;
+    }
+
+    //reads the length of a record, and returns the position it ends at
+    int startRecord() {
+        int length = readCount();
+        checkRemaining(length);
+        return buffer.position() + length;
+    }
+
+    //whether a record that ends at end has fields left, for fields added in later versions
+    boolean hasMore(int end) {
+        return buffer.position() < end;
+    }
+
+    //skips the fields of a record that were added in versions this one doesn't know
+    void endRecord(int end) {
+        if (buffer.position() > end) {
+            throw new IllegalArgumentException("malformed input: record is longer than its length");
+        }
+        buffer.position(end);
+    }
+
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private void checkRemaining(int length) {
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("malformed input: unexpected end of input");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package binary_codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*Growable output of BinaryCodec. Integers are written as LEB128 varints,
+* seven bits per byte with the high bit set on every byte but the last, and
+* signed ones are zigzag encoded first so that small negative numbers stay
+* small*/
+final class BinaryWriter {
+    private byte[] bytes;
+    private int position;
+
+    BinaryWriter(int capacity) {
+        bytes = new byte[Math.max(16, capacity)];
+    }
+
+    void writeRaw(byte[] raw) {
+        ensureCapacity(raw.length);
+        System.arraycopy(raw, 0, bytes, position, raw.length);
+        position += raw.length;
+    }
+
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(encoded.length);
+        writeRaw(encoded);
+    }
+
+    /*Records are prefixed by their length, which isn't known until they're
+    * written. A byte is reserved for it, which is enough for records under
+    * 128 bytes, and longer records are moved to make room*/
+    int startRecord() {
+        ensureCapacity(1);
+        return position++;
+    }
+
+    void endRecord(int start) {
+        int length = position - start - 1;
+        int lengthBytes = varintSize(length);
+        if (lengthBytes > 1) {
+            ensureCapacity(lengthBytes - 1);
+            System.arraycopy(bytes, start + 1, bytes, start + lengthBytes, length);
+            position += lengthBytes - 1;
+        }
+        int end = position;
+        position = start;
+        writeVarint(length);
+        position = end;
+    }
+
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, position).slice();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (bytes.length - position < extra) {
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, position + extra));
+        }
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,24 @@
+package binary_codec;
+
+import model.Course;
+import model.Student;
+
+import java.util.List;
+
+/**
+ * Students and courses decoded by {@link BinaryCodec#decode(java.nio.ByteBuffer)}.
+ *
+ * <p>The rosters of the courses hold the same instances as
+ * {@link #students()} wherever the ids match, so saving both lists into
+ * DAOs gives the same object graph as the one that was encoded.</p>
+ *
+ * @param students the encoded students, in the order they were encoded
+ * @param courses  the encoded courses with their rosters, in the order
+ *                 they were encoded
+ */
+public record Dataset(List<Student> students, List<Course> courses) {
+    public Dataset {
+        students = List.copyOf(students);
+        courses = List.copyOf(courses);
+    }
+}
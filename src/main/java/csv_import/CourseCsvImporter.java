@@ -0,0 +1,60 @@
+package csv_import;
+
+import data_access_objects.CourseDao;
+import model.Course;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link CsvImporter} of courses into a {@link CourseDao}, from rows with
+ * the fields {@code id,courseName,startDate,weekDuration}, where the start
+ * date is written like {@code 2024-03-01}. Rows are validated by the
+ * {@link Course} constructor, and courses whose id is already taken are
+ * rejected as duplicates. Rosters aren't imported.
+ */
+public class CourseCsvImporter extends CsvImporter<Course> {
+    private final CourseDao courseDao;
+
+    /**
+     * Creates an importer into {@code courseDao} that parses on the common
+     * pool, reading 4 MiB and saving up to 10 000 courses at a time.
+     *
+     * @param courseDao the DAO to save the courses in
+     */
+    public CourseCsvImporter(CourseDao courseDao) {
+        this(courseDao, DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an importer into {@code courseDao}.
+     *
+     * @param courseDao the DAO to save the courses in
+     * @param chunkSize roughly how many bytes to read and parse at a time
+     * @param batchSize the most courses to save through a single call
+     * @param pool      the pool to parse chunks on
+     */
+    public CourseCsvImporter(CourseDao courseDao, int chunkSize, int batchSize, ForkJoinPool pool) {
+        super(4, chunkSize, batchSize, pool);
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        this.courseDao = courseDao;
+    }
+
+    @Override
+    protected Course parse(String[] fields) {
+        return new Course(parseInt(fields[0], "id"), fields[1], parseDate(fields[2], "startDate"),
+                parseInt(fields[3], "weekDuration"));
+    }
+
+    @Override
+    protected List<Course> saveAll(List<Course> courses) {
+        return courseDao.saveAll(courses);
+    }
+
+    @Override
+    protected String duplicateReason(Course course) {
+        return "a course with id " + course.getId() + " already exists";
+    }
+}
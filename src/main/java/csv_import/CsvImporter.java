@@ -0,0 +1,335 @@
+package csv_import;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk loader of entities from CSV files into a DAO.
+ *
+ * <p>The file is read with a {@link FileChannel} in chunks of about
+ * {@code chunkSize} bytes, cut at the last line break in every chunk. The
+ * chunks are parsed in parallel on a {@link ForkJoinPool} while the next
+ * ones are read, and the parsed rows are saved in order of appearance
+ * through the DAO's {@code saveAll}, up to {@code batchSize} rows per call.
+ * At most one chunk more than the parallelism of the pool is held in
+ * memory at a time, so the file can be much larger than the heap, and a
+ * slow DAO slows down reading instead of piling up parsed rows.</p>
+ *
+ * <p>The first line is a header and is skipped, as are empty lines.
+ * Fields are separated by commas and may be enclosed in double quotes, in
+ * which case they may contain commas, and a double quote is written as two.
+ * Quoted fields can't span lines. The file must be UTF-8. Rows that can't
+ * be parsed, are rejected by the constructor of the entity, or are
+ * duplicates of an entity already in the DAO are left out and listed in
+ * the {@link ImportReport} with the reason.</p>
+ *
+ * @param <T> the type of entity to import
+ */
+public abstract class CsvImporter<T> {
+    static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private static final Comparator<RejectedRow> BY_LINE = Comparator.comparingLong(RejectedRow::line);
+
+    private final int fieldCount;
+    private final int chunkSize;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+    private record ParsedChunk<T>(List<T> rows, int[] rowLines, List<RejectedRow> rejected, int lines) {
+    }
+
+    /**
+     * Creates an importer of rows with {@code fieldCount} fields.
+     *
+     * @param fieldCount the number of fields of every row
+     * @param chunkSize  roughly how many bytes to read and parse at a time
+     * @param batchSize  the most rows to save through a single call
+     * @param pool       the pool to parse chunks on
+     */
+    protected CsvImporter(int fieldCount, int chunkSize, int batchSize, ForkJoinPool pool) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be >= 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool may not be null");
+        }
+        this.fieldCount = fieldCount;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates an entity from the fields of a row. Runs on the pool, so it
+     * must not touch the DAO.
+     *
+     * @param fields the fields of the row, as many as the field count
+     * @return the entity
+     * @throws IllegalArgumentException if the row isn't valid, with the
+     *                                  reason as the message
+     */
+    protected abstract T parse(String[] fields);
+
+    /**
+     * Saves a batch of entities, see for instance
+     * {@link data_access_objects.StudentDao#saveAll(java.util.Collection)}.
+     *
+     * @param entities the entities to save
+     * @return the saved entity, or {@code null} if it's a duplicate, for
+     * every entity in the same order
+     */
+    protected abstract List<T> saveAll(List<T> entities);
+
+    /**
+     * Returns the reason a duplicate of {@code entity} was rejected.
+     *
+     * @param entity the rejected entity
+     * @return why the entity was rejected
+     */
+    protected abstract String duplicateReason(T entity);
+
+    /**
+     * Imports every row of {@code file}.
+     *
+     * @param file the CSV file to import
+     * @return the number of imported rows and the rejected ones
+     * @throws IOException if the file can't be read, in which case the
+     *                     rows before the failure may have been saved
+     */
+    public ImportReport importFile(Path file) throws IOException {
+        Deque<Future<ParsedChunk<T>>> parsing = new ArrayDeque<>();
+        Progress progress = new Progress();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            boolean first = true;
+            while (channel.read(buffer) != -1) {
+                int end = afterLastLineBreak(buffer);
+                if (end == 0) {
+                    //no line ends in the buffer yet, make room for the rest of it
+                    if (!buffer.hasRemaining()) {
+                        buffer = ByteBuffer.allocate(2 * buffer.capacity()).put(buffer.flip());
+                    }
+                    continue;
+                }
+                int leftover = buffer.position() - end;
+                ByteBuffer next = ByteBuffer.allocate(Math.max(chunkSize, 2 * leftover));
+                next.put(buffer.array(), end, leftover);
+
+                submit(parsing, buffer.array(), end, first);
+                first = false;
+                while (parsing.size() > pool.getParallelism()) {
+                    progress.save(next(parsing));
+                }
+                buffer = next;
+            }
+            if (buffer.position() > 0) {
+                submit(parsing, buffer.array(), buffer.position(), first);
+            }
+            while (!parsing.isEmpty()) {
+                progress.save(next(parsing));
+            }
+        } finally {
+            for (Future<ParsedChunk<T>> chunk : parsing) {
+                chunk.cancel(true);
+            }
+        }
+        progress.rejected.sort(BY_LINE);
+        return new ImportReport(progress.imported, progress.rejected);
+    }
+
+    /**
+     * Parses {@code field} as an int, for {@link #parse(String[])}.
+     *
+     * @param field the field to parse, surrounding whitespace is ignored
+     * @param name  the name of the field, for the reason of a rejection
+     * @return the parsed int
+     * @throws IllegalArgumentException if the field isn't an int
+     */
+    protected static int parseInt(String field, String name) {
+        try {
+            return Integer.parseInt(field.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a whole number: " + field);
+        }
+    }
+
+    /**
+     * Parses {@code field} as an ISO date such as {@code 2024-03-01}, for
+     * {@link #parse(String[])}.
+     *
+     * @param field the field to parse, surrounding whitespace is ignored
+     * @param name  the name of the field, for the reason of a rejection
+     * @return the parsed date
+     * @throws IllegalArgumentException if the field isn't a date
+     */
+    protected static LocalDate parseDate(String field, String name) {
+        try {
+            return LocalDate.parse(field.strip());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " is not a date (yyyy-mm-dd): " + field);
+        }
+    }
+
+    //splits a line into its fields, see the class comment for the format
+    static String[] splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("quoted field " + (fields.size() + 1) + " is not closed");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("quoted field " + (fields.size() + 1)
+                            + " is followed by more than a comma");
+                }
+            } else {
+                int comma = line.indexOf(',', i);
+                int end = comma == -1 ? line.length() : comma;
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                return fields.toArray(String[]::new);
+            }
+            //skip the comma
+            i++;
+        }
+    }
+
+    private void submit(Deque<Future<ParsedChunk<T>>> parsing, byte[] bytes, int length, boolean skipHeader) {
+        parsing.add(pool.submit(() -> parseChunk(bytes, length, skipHeader)));
+    }
+
+    private ParsedChunk<T> next(Deque<Future<ParsedChunk<T>>> parsing) throws IOException {
+        try {
+            return parsing.removeFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while importing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /*Line numbers in the returned chunk count from 0 at the start of the
+    * chunk, the reader turns them into line numbers in the file since only
+    * it knows how many lines came before the chunk*/
+    private ParsedChunk<T> parseChunk(byte[] bytes, int length, boolean skipHeader) {
+        List<T> rows = new ArrayList<>();
+        int[] rowLines = new int[64];
+        List<RejectedRow> rejected = new ArrayList<>();
+        int line = 0;
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && bytes[end] != '\n') {
+                end++;
+            }
+            int contentEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+            if (contentEnd > start && !(skipHeader && line == 0)) {
+                try {
+                    T row = parseRow(new String(bytes, start, contentEnd - start, StandardCharsets.UTF_8));
+                    if (rows.size() == rowLines.length) {
+                        rowLines = Arrays.copyOf(rowLines, 2 * rowLines.length);
+                    }
+                    rowLines[rows.size()] = line;
+                    rows.add(row);
+                } catch (IllegalArgumentException e) {
+                    rejected.add(new RejectedRow(line, e.getMessage()));
+                }
+            }
+            line++;
+            start = end + 1;
+        }
+        return new ParsedChunk<>(rows, rowLines, rejected, line);
+    }
+
+    private T parseRow(String line) {
+        String[] fields = splitFields(line);
+        if (fields.length != fieldCount) {
+            throw new IllegalArgumentException("expected " + fieldCount + " fields but found " + fields.length);
+        }
+        return parse(fields);
+    }
+
+    //the index after the last line break in the buffer, or 0 if there is none
+    private static int afterLastLineBreak(ByteBuffer buffer) {
+        byte[] bytes = buffer.array();
+        for (int i = buffer.position() - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    //only touched by the reading thread
+    private final class Progress {
+        private long lines;
+        private long imported;
+        private final List<RejectedRow> rejected = new ArrayList<>();
+
+        private void save(ParsedChunk<T> chunk) {
+            //line numbers in the file start at 1
+            long firstLine = lines + 1;
+            for (RejectedRow row : chunk.rejected()) {
+                rejected.add(new RejectedRow(firstLine + row.line(), row.reason()));
+            }
+            List<T> rows = chunk.rows();
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                int to = Math.min(rows.size(), from + batchSize);
+                List<T> saved = saveAll(rows.subList(from, to));
+                for (int i = from; i < to; i++) {
+                    if (saved.get(i - from) == null) {
+                        rejected.add(new RejectedRow(firstLine + chunk.rowLines()[i], duplicateReason(rows.get(i))));
+                    } else {
+                        imported++;
+                    }
+                }
+            }
+            lines += chunk.lines();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package csv_import;
+
+import java.util.List;
+
+/**
+ * The outcome of importing a CSV file with {@link CsvImporter}.
+ *
+ * @param imported the number of rows that were saved
+ * @param rejected the rows that were not saved, in order of line number
+ */
+public record ImportReport(long imported, List<RejectedRow> rejected) {
+    public ImportReport {
+        rejected = List.copyOf(rejected);
+    }
+}
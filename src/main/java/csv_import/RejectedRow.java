@@ -0,0 +1,11 @@
+package csv_import;
+
+/**
+ * A row of a CSV file that {@link CsvImporter} did not import.
+ *
+ * @param line   the line number of the row in the file, starting at 1
+ *               for the header
+ * @param reason why the row was not imported
+ */
+public record RejectedRow(long line, String reason) {
+}
@@ -0,0 +1,58 @@
+package csv_import;
+
+import data_access_objects.StudentDao;
+import model.Student;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link CsvImporter} of students into a {@link StudentDao}, from rows with
+ * the fields {@code id,name,email,address}. Rows are validated by the
+ * {@link Student} constructor, and students whose id is already taken are
+ * rejected as duplicates.
+ */
+public class StudentCsvImporter extends CsvImporter<Student> {
+    private final StudentDao studentDao;
+
+    /**
+     * Creates an importer into {@code studentDao} that parses on the common
+     * pool, reading 4 MiB and saving up to 10 000 students at a time.
+     *
+     * @param studentDao the DAO to save the students in
+     */
+    public StudentCsvImporter(StudentDao studentDao) {
+        this(studentDao, DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an importer into {@code studentDao}.
+     *
+     * @param studentDao the DAO to save the students in
+     * @param chunkSize  roughly how many bytes to read and parse at a time
+     * @param batchSize  the most students to save through a single call
+     * @param pool       the pool to parse chunks on
+     */
+    public StudentCsvImporter(StudentDao studentDao, int chunkSize, int batchSize, ForkJoinPool pool) {
+        super(4, chunkSize, batchSize, pool);
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        this.studentDao = studentDao;
+    }
+
+    @Override
+    protected Student parse(String[] fields) {
+        return new Student(parseInt(fields[0], "id"), fields[1], fields[2], fields[3]);
+    }
+
+    @Override
+    protected List<Student> saveAll(List<Student> students) {
+        return studentDao.saveAll(students);
+    }
+
+    @Override
+    protected String duplicateReason(Student student) {
+        return "a student with id " + student.getId() + " already exists";
+    }
+}
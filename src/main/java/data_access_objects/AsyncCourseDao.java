@@ -0,0 +1,249 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade of a {@link CourseDao}: every method runs the
+ * matching method of the other DAO on a virtual thread of its own and
+ * returns a {@link CompletableFuture} of the result. Lookups by id are
+ * coalesced and batched the same way as in {@link AsyncStudentDao}.
+ *
+ * <p>The other DAO is called from many threads at once, so it must be
+ * thread safe, such as {@link CourseDaoConcurrent}. {@link #close()} waits
+ * for every call that has been started to complete.</p>
+ */
+public class AsyncCourseDao implements AutoCloseable {
+    private final CourseDao courseDao;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BatchingLoader<Course> byId;
+
+    /**
+     * Creates an asynchronous facade of {@code courseDao} that batches
+     * lookups by id arriving within 200 microseconds of each other, up to
+     * 256 at a time.
+     *
+     * @param courseDao the thread safe DAO to call
+     */
+    public AsyncCourseDao(CourseDao courseDao) {
+        this(courseDao, BatchingLoader.DEFAULT_WINDOW, BatchingLoader.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an asynchronous facade of {@code courseDao}.
+     *
+     * @param courseDao    the thread safe DAO to call
+     * @param window       how long to collect lookups by id for after the
+     *                     first one
+     * @param maxBatchSize the most ids to look up at once
+     */
+    public AsyncCourseDao(CourseDao courseDao, Duration window, int maxBatchSize) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        this.courseDao = courseDao;
+        this.byId = new BatchingLoader<>(courseDao::findAllById, executor, window, maxBatchSize);
+    }
+
+    /**
+     * Tries to save a new course, see {@link CourseDao#saveCourse(Course)}.
+     *
+     * @param course the course to try to save.
+     * @return the saved course, or {@code null} if a duplicate already
+     * exists
+     */
+    public CompletableFuture<Course> saveCourse(Course course) {
+        return run(() -> {
+            Course saved = courseDao.saveCourse(course);
+            byId.invalidate(course.getId());
+            return saved;
+        });
+    }
+
+    /**
+     * Tries to save every course in {@code courses}, see
+     * {@link CourseDao#saveAll(Collection)}.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    public CompletableFuture<List<Course>> saveAll(Collection<Course> courses) {
+        return run(() -> {
+            List<Course> saved = courseDao.saveAll(courses);
+            courses.forEach(course -> byId.invalidate(course.getId()));
+            return saved;
+        });
+    }
+
+    /**
+     * Looks up the course with the supplied id, coalesced with other
+     * lookups of the same id and batched with lookups of other ids.
+     *
+     * @param id id to search for
+     * @return the course, or {@code null} if no match is found
+     */
+    public CompletableFuture<Course> findById(int id) {
+        return byId.load(id);
+    }
+
+    /**
+     * Looks up every id in {@code ids} the same way as
+     * {@link #findById(int)}.
+     *
+     * @param ids the ids to search for
+     * @return the course with each id, or {@code null} for ids that aren't
+     * found, in the same order
+     */
+    public CompletableFuture<List<Course>> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<CompletableFuture<Course>> lookups = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            lookups.add(byId.load(id));
+        }
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<Course> found = new ArrayList<>(lookups.size());
+                    for (CompletableFuture<Course> lookup : lookups) {
+                        found.add(lookup.join());
+                    }
+                    return found;
+                });
+    }
+
+    /**
+     * Looks up the courses with a matching name, see
+     * {@link CourseDao#findByName(String)}.
+     *
+     * @param name the name to search for
+     * @return the courses with the name, in order of insertion
+     */
+    public CompletableFuture<List<Course>> findByName(String name) {
+        return run(() -> courseDao.findByName(name));
+    }
+
+    /**
+     * Looks up the courses starting on a date, see
+     * {@link CourseDao#findByDate(LocalDate)}.
+     *
+     * @param date the date to search for
+     * @return the courses starting on the date, in order of insertion
+     */
+    public CompletableFuture<List<Course>> findByDate(LocalDate date) {
+        return run(() -> courseDao.findByDate(date));
+    }
+
+    /**
+     * Looks up the courses starting within a range of dates, see
+     * {@link CourseDao#findByDateRange(LocalDate, LocalDate)}.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return the courses starting within the range
+     */
+    public CompletableFuture<List<Course>> findByDateRange(LocalDate from, LocalDate to) {
+        return run(() -> courseDao.findByDateRange(from, to));
+    }
+
+    /**
+     * Looks up the courses running on a date, see
+     * {@link CourseDao#findActiveOn(LocalDate)}.
+     *
+     * @param date the date to check
+     * @return the courses running on the date
+     */
+    public CompletableFuture<List<Course>> findActiveOn(LocalDate date) {
+        return run(() -> courseDao.findActiveOn(date));
+    }
+
+    /**
+     * Looks up every course, see {@link CourseDao#findAll()}.
+     *
+     * @return all courses, in order of insertion
+     */
+    public CompletableFuture<List<Course>> findAll() {
+        return run(courseDao::findAll);
+    }
+
+    /**
+     * Looks up the courses a student is registered in, see
+     * {@link CourseDao#findCoursesForStudent(Student)}.
+     *
+     * @param student the student to search for
+     * @return the courses the student is registered in
+     */
+    public CompletableFuture<List<Course>> findCoursesForStudent(Student student) {
+        return run(() -> courseDao.findCoursesForStudent(student));
+    }
+
+    /**
+     * Looks up a page of courses, see {@link CourseDao#findPage(long, int)}.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    public CompletableFuture<Page<Course>> findPage(long cursor, int limit) {
+        return run(() -> courseDao.findPage(cursor, limit));
+    }
+
+    /**
+     * Removes the course, see {@link CourseDao#removeCourse(Course)}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was removed, {@code false} if it
+     * was not found
+     */
+    public CompletableFuture<Boolean> removeCourse(Course course) {
+        return run(() -> {
+            boolean removed = courseDao.removeCourse(course);
+            if (course != null) {
+                byId.invalidate(course.getId());
+            }
+            return removed;
+        });
+    }
+
+    /**
+     * Removes every course in {@code courses}, see
+     * {@link CourseDao#removeAll(Collection)}.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    public CompletableFuture<boolean[]> removeAll(Collection<Course> courses) {
+        return run(() -> {
+            boolean[] removed = courseDao.removeAll(courses);
+            for (Course course : courses) {
+                if (course != null) {
+                    byId.invalidate(course.getId());
+                }
+            }
+            return removed;
+        });
+    }
+
+    /**
+     * Waits for every call that has been started to complete, after which
+     * no more calls may be made.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <R> CompletableFuture<R> run(Supplier<R> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+}
@@ -0,0 +1,237 @@
+package data_access_objects;
+
+import model.Student;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade of a {@link StudentDao}: every method runs the
+ * matching method of the other DAO on a virtual thread of its own and
+ * returns a {@link CompletableFuture} of the result. Exceptions thrown by
+ * the other DAO complete the future exceptionally.
+ *
+ * <p>{@link #findById(int)} is where it pays to not hit the other DAO more
+ * than necessary, so lookups by id are coalesced and batched. A lookup of
+ * an id that is already being looked up shares its future. Lookups of
+ * other ids that arrive within {@code window} of the first one are
+ * collected and loaded through a single
+ * {@link StudentDao#findAllById(int[])}, which also happens as soon as
+ * {@code maxBatchSize} ids are collected. A lookup of an id never shares a
+ * result that was started before a save or delete of the same id through
+ * this facade completed.</p>
+ *
+ * <p>The other DAO is called from many threads at once, so it must be
+ * thread safe, such as {@link StudentDaoConcurrent}. {@link #close()}
+ * waits for every call that has been started to complete.</p>
+ */
+public class AsyncStudentDao implements AutoCloseable {
+    private final StudentDao studentDao;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BatchingLoader<Student> byId;
+
+    /**
+     * Creates an asynchronous facade of {@code studentDao} that batches
+     * lookups by id arriving within 200 microseconds of each other, up to
+     * 256 at a time.
+     *
+     * @param studentDao the thread safe DAO to call
+     */
+    public AsyncStudentDao(StudentDao studentDao) {
+        this(studentDao, BatchingLoader.DEFAULT_WINDOW, BatchingLoader.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an asynchronous facade of {@code studentDao}.
+     *
+     * @param studentDao   the thread safe DAO to call
+     * @param window       how long to collect lookups by id for after the
+     *                     first one, {@link Duration#ZERO} to only batch
+     *                     the ones that arrive while the batch is being
+     *                     dispatched
+     * @param maxBatchSize the most ids to look up at once
+     */
+    public AsyncStudentDao(StudentDao studentDao, Duration window, int maxBatchSize) {
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        this.studentDao = studentDao;
+        this.byId = new BatchingLoader<>(studentDao::findAllById, executor, window, maxBatchSize);
+    }
+
+    /**
+     * Tries to save a new student, see {@link StudentDao#saveStudent(Student)}.
+     *
+     * @param student the student to try to save.
+     * @return the saved student, or {@code null} if a duplicate already
+     * exists
+     */
+    public CompletableFuture<Student> saveStudent(Student student) {
+        return run(() -> {
+            Student saved = studentDao.saveStudent(student);
+            byId.invalidate(student.getId());
+            return saved;
+        });
+    }
+
+    /**
+     * Tries to save every student in {@code students}, see
+     * {@link StudentDao#saveAll(Collection)}.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    public CompletableFuture<List<Student>> saveAll(Collection<Student> students) {
+        return run(() -> {
+            List<Student> saved = studentDao.saveAll(students);
+            students.forEach(student -> byId.invalidate(student.getId()));
+            return saved;
+        });
+    }
+
+    /**
+     * Looks up the first student by order of insertion with a matching
+     * email, see {@link StudentDao#findByEmail(String)}.
+     *
+     * @param email email to search for
+     * @return the student, or {@code null} if no match is found
+     */
+    public CompletableFuture<Student> findByEmail(String email) {
+        return run(() -> studentDao.findByEmail(email));
+    }
+
+    /**
+     * Looks up the students with a matching name, see
+     * {@link StudentDao#findByName(String)}.
+     *
+     * @param name the name to search for
+     * @return the students with the name, in order of insertion
+     */
+    public CompletableFuture<List<Student>> findByName(String name) {
+        return run(() -> studentDao.findByName(name));
+    }
+
+    /**
+     * Looks up students by the start of their name, see
+     * {@link StudentDao#findByNamePrefix(String, int)}.
+     *
+     * @param prefix the start of the names to search for
+     * @param limit  the maximum number of students to return
+     * @return at most {@code limit} students whose name starts with the prefix
+     */
+    public CompletableFuture<List<Student>> findByNamePrefix(String prefix, int limit) {
+        return run(() -> studentDao.findByNamePrefix(prefix, limit));
+    }
+
+    /**
+     * Looks up the student with the supplied id, coalesced with other
+     * lookups of the same id and batched with lookups of other ids.
+     *
+     * @param id id to search for
+     * @return the student, or {@code null} if no match is found
+     */
+    public CompletableFuture<Student> findById(int id) {
+        return byId.load(id);
+    }
+
+    /**
+     * Looks up every id in {@code ids} the same way as
+     * {@link #findById(int)}.
+     *
+     * @param ids the ids to search for
+     * @return the student with each id, or {@code null} for ids that aren't
+     * found, in the same order
+     */
+    public CompletableFuture<List<Student>> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<CompletableFuture<Student>> lookups = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            lookups.add(byId.load(id));
+        }
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<Student> found = new ArrayList<>(lookups.size());
+                    for (CompletableFuture<Student> lookup : lookups) {
+                        found.add(lookup.join());
+                    }
+                    return found;
+                });
+    }
+
+    /**
+     * Looks up every student, see {@link StudentDao#findAll()}.
+     *
+     * @return all students, in order of insertion
+     */
+    public CompletableFuture<List<Student>> findAll() {
+        return run(studentDao::findAll);
+    }
+
+    /**
+     * Looks up a page of students, see {@link StudentDao#findPage(long, int)}.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    public CompletableFuture<Page<Student>> findPage(long cursor, int limit) {
+        return run(() -> studentDao.findPage(cursor, limit));
+    }
+
+    /**
+     * Removes the student, see {@link StudentDao#deleteStudent(Student)}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was removed, {@code false} if it
+     * was not found
+     */
+    public CompletableFuture<Boolean> deleteStudent(Student student) {
+        return run(() -> {
+            boolean deleted = studentDao.deleteStudent(student);
+            if (student != null) {
+                byId.invalidate(student.getId());
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Removes every student in {@code students}, see
+     * {@link StudentDao#deleteAll(Collection)}.
+     *
+     * @param students the students to remove
+     * @return whether each student was removed, in the same order
+     */
+    public CompletableFuture<boolean[]> deleteAll(Collection<Student> students) {
+        return run(() -> {
+            boolean[] deleted = studentDao.deleteAll(students);
+            for (Student student : students) {
+                if (student != null) {
+                    byId.invalidate(student.getId());
+                }
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Waits for every call that has been started to complete, after which
+     * no more calls may be made.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <R> CompletableFuture<R> run(Supplier<R> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+}
@@ -0,0 +1,193 @@
+package data_access_objects;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*Loads entities by id for the async DAOs, coalescing and batching lookups.
+*
+* A lookup of an id that is already being looked up returns the same future
+* instead of starting another lookup. Lookups of other ids are collected
+* into a batch, which is loaded with a single multi-get once the window
+* after its first lookup has passed, or as soon as it's full, whichever
+* comes first.
+*
+* A ReentrantLock is used instead of synchronized since the callers are
+* virtual threads, which synchronized pins to their carrier thread*/
+final class BatchingLoader<T> {
+    static final Duration DEFAULT_WINDOW = Duration.ofNanos(200_000);
+    static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final Function<int[], List<T>> loader;
+    private final ExecutorService executor;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    //lookups that are queued or running, by id
+    private final Map<Integer, CompletableFuture<T>> pending = new HashMap<>();
+    //the batch lookups are currently added to, or null if there is none
+    private Batch<T> collecting;
+
+    private static final class Batch<T> {
+        private final int[] ids;
+        private final List<CompletableFuture<T>> futures;
+        //flushes the batch once the window has passed, cancelled if it fills up first
+        private Future<?> timer;
+
+        private Batch(int maxSize) {
+            ids = new int[maxSize];
+            futures = new ArrayList<>(maxSize);
+        }
+
+        private int size() {
+            return futures.size();
+        }
+    }
+
+    BatchingLoader(Function<int[], List<T>> loader, ExecutorService executor, Duration window, int maxBatchSize) {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("window may not be null or negative");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be >= 1");
+        }
+        this.loader = loader;
+        this.executor = executor;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    CompletableFuture<T> load(int id) {
+        CompletableFuture<T> future;
+        Batch<T> batch;
+        boolean opened;
+        boolean full;
+        lock.lock();
+        try {
+            future = pending.get(id);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+
+            opened = collecting == null;
+            if (opened) {
+                collecting = new Batch<>(maxBatchSize);
+            }
+            batch = collecting;
+            batch.ids[batch.size()] = id;
+            batch.futures.add(future);
+            full = batch.size() == maxBatchSize;
+            if (full) {
+                collecting = null;
+                if (batch.timer != null) {
+                    batch.timer.cancel(true);
+                }
+            } else if (opened) {
+                try {
+                    batch.timer = executor.submit(() -> flushAfterWindow(batch));
+                } catch (RejectedExecutionException e) {
+                    //the batch only holds this lookup, which fails instead of waiting for a flush that never comes
+                    collecting = null;
+                    pending.remove(id, future);
+                    future.completeExceptionally(e);
+                    return future;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full) {
+            try {
+                executor.execute(() -> run(batch));
+            } catch (RejectedExecutionException e) {
+                complete(batch, null, e);
+            }
+        }
+        return future;
+    }
+
+    //makes lookups of the id started from now on go to the backing DAO, for after it's written to
+    void invalidate(int id) {
+        lock.lock();
+        try {
+            pending.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushAfterWindow(Batch<T> batch) {
+        try {
+            Thread.sleep(window);
+        } catch (InterruptedException e) {
+            //cancelled since the batch filled up, which the check below notices
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (collecting != batch) {
+                //already dispatched for being full
+                return;
+            }
+            collecting = null;
+        } finally {
+            lock.unlock();
+        }
+        run(batch);
+    }
+
+    /*Every future of the batch is completed whatever the loader does, since
+    * a future left incomplete stays pending and every later lookup of its
+    * id would wait on it forever*/
+    private void run(Batch<T> batch) {
+        List<T> found = null;
+        Throwable failure = null;
+        try {
+            found = loader.apply(Arrays.copyOf(batch.ids, batch.size()));
+            if (found == null || found.size() != batch.size()) {
+                failure = new IllegalStateException("loader returned " + (found == null ? "null" : found.size()
+                        + " results") + " for " + batch.size() + " ids");
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            complete(batch, found, failure);
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /*The lookups are removed from pending before the futures are completed,
+    * so that a lookup started by a caller that has seen the result gets a
+    * fresh one*/
+    private void complete(Batch<T> batch, List<T> found, Throwable failure) {
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                pending.remove(batch.ids[i], batch.futures.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (failure == null) {
+                batch.futures.get(i).complete(found.get(i));
+            } else {
+                batch.futures.get(i).completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package data_access_objects;
+
+/**
+ * Counters of a cache of {@link CachingStudentDao} or
+ * {@link CachingCourseDao}, for sizing it. Lookups of ids or emails that
+ * were cached as missing count as hits, since they are answered without
+ * asking the backing DAO.
+ *
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups passed on to the backing DAO
+ * @param evictions entries dropped to make room for new ones
+ * @param size      entries currently cached
+ * @param capacity  the most entries the cache holds
+ */
+public record CacheStats(long hits, long misses, long evictions, int size, int capacity) {
+
+    /**
+     * Returns the share of lookups answered from the cache, between 0 and
+     * 1, or 0 if there haven't been any lookups.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,237 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that caches {@link #findById(int)} in front of another
+ * course DAO, for when the other DAO is slow to answer. Every other method
+ * is passed straight on to it.
+ *
+ * <p>The cache holds up to {@code capacity} entries and evicts the least
+ * recently used entry when it's full. Ids that aren't found are cached as
+ * well, so repeatedly looking up a missing course doesn't reach the other
+ * DAO either. Saving or removing a course through this DAO invalidates its
+ * id, so courses must only be saved and removed through this DAO once
+ * it's in front of the other one.</p>
+ *
+ * <p>The cache is locked on every lookup, so this DAO is thread safe
+ * whenever the other one is, at the cost of serializing the hits.</p>
+ */
+public class CachingCourseDao implements CourseDao {
+    private final CourseDao courseDao;
+    private final LruCache<Integer, Optional<Course>> byId;
+
+    /**
+     * Creates a caching DAO in front of {@code courseDao}.
+     *
+     * @param courseDao the DAO to cache lookups of
+     * @param capacity  the most entries to keep in the cache
+     */
+    public CachingCourseDao(CourseDao courseDao, int capacity) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        this.courseDao = courseDao;
+        this.byId = new LruCache<>(capacity, course -> { }, course -> { });
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        Course saved = courseDao.saveCourse(course);
+        if (saved != null) {
+            byId.invalidate(saved.getId());
+        }
+        return saved;
+    }
+
+    /**
+     * Tries to save every course in {@code courses} through a single call
+     * to the other DAO, see {@link CourseDao#saveAll(Collection)}.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        List<Course> saved = courseDao.saveAll(courses);
+        for (Course course : saved) {
+            if (course != null) {
+                byId.invalidate(course.getId());
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Course findById(int id) {
+        Optional<Course> cached = byId.get(id);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        long version = byId.version();
+        Course found = courseDao.findById(id);
+        byId.put(id, Optional.ofNullable(found), version);
+        return found;
+    }
+
+    /**
+     * Looks up every id in {@code ids}, answering as many as possible
+     * from the cache and the rest through a single call to the other DAO,
+     * see {@link CourseDao#findAllById(int[])}.
+     *
+     * @param ids the ids to search for
+     * @return the course with each id, in the same order
+     */
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<Course> found = new ArrayList<>(ids.length);
+        //positions in ids of the ids that aren't cached
+        int[] missing = new int[ids.length];
+        int missingCount = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Optional<Course> cached = byId.get(ids[i]);
+            if (cached == null) {
+                missing[missingCount++] = i;
+            }
+            found.add(cached == null ? null : cached.orElse(null));
+        }
+        if (missingCount == 0) {
+            return found;
+        }
+
+        int[] missingIds = new int[missingCount];
+        for (int i = 0; i < missingCount; i++) {
+            missingIds[i] = ids[missing[i]];
+        }
+        long version = byId.version();
+        List<Course> loaded = courseDao.findAllById(missingIds);
+        for (int i = 0; i < missingCount; i++) {
+            byId.put(missingIds[i], Optional.ofNullable(loaded.get(i)), version);
+            found.set(missing[i], loaded.get(i));
+        }
+        return found;
+    }
+
+    @Override
+    public List<Course> findByName(String name) {
+        return courseDao.findByName(name);
+    }
+
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return courseDao.findByDate(date);
+    }
+
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        return courseDao.findByDateRange(from, to);
+    }
+
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        return courseDao.findActiveOn(date);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return courseDao.findAll();
+    }
+
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        return courseDao.findCoursesForStudent(student);
+    }
+
+    @Override
+    public Stream<Course> stream() {
+        return courseDao.stream();
+    }
+
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        return courseDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (!courseDao.removeCourse(course)) {
+            return false;
+        }
+        byId.invalidate(course.getId());
+        return true;
+    }
+
+    /**
+     * Tries to remove every course in {@code courses} through a single call
+     * to the other DAO, see {@link CourseDao#removeAll(Collection)}.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        boolean[] removed = courseDao.removeAll(courses);
+        Iterator<Course> iterator = courses.iterator();
+        for (boolean wasRemoved : removed) {
+            Course course = iterator.next();
+            if (wasRemoved) {
+                byId.invalidate(course.getId());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Empties the cache, for when courses have been changed without this
+     * DAO noticing.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+    }
+
+    /**
+     * Returns the counters of the cache behind {@link #findById(int)}.
+     *
+     * @return the counters of the cache
+     */
+    public CacheStats stats() {
+        return byId.stats();
+    }
+}
@@ -0,0 +1,310 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentDao} that caches {@link #findById(int)} and
+ * {@link #findByEmail(String)} in front of another student DAO, for when
+ * the other DAO is slow to answer. Every other method is passed straight
+ * on to it.
+ *
+ * <p>Each of the two lookups has its own cache of up to {@code capacity}
+ * entries, which evicts the least recently used entry when it's full.
+ * Ids and emails that aren't found are cached as well, so repeatedly
+ * looking up a missing student doesn't reach the other DAO either. Saving
+ * or deleting a student through this DAO invalidates its id and email,
+ * and changes made through {@link Student#setEmail(String)} to a student
+ * that is cached by id invalidate both the old and the new email.</p>
+ *
+ * <p>Students must only be saved and deleted through this DAO once it's
+ * in front of the other one. A student that isn't cached by id, for
+ * instance one only ever returned by {@link #findAll()}, can still change
+ * its email to one that is cached as missing, or to one that an earlier
+ * student is cached for, without this DAO noticing. Call
+ * {@link #invalidateAll()} after such changes.</p>
+ *
+ * <p>The caches are locked on every lookup, so this DAO is thread safe
+ * whenever the other one is, at the cost of serializing the hits.</p>
+ */
+public class CachingStudentDao implements StudentDao {
+    private final StudentDao studentDao;
+    private final StudentListener listener = this::emailChanged;
+    private final LruCache<Integer, Optional<Student>> byId;
+    private final LruCache<String, Optional<Student>> byEmail;
+
+    /**
+     * Creates a caching DAO in front of {@code studentDao}.
+     *
+     * @param studentDao the DAO to cache lookups of
+     * @param capacity   the most entries to keep in each of the caches
+     */
+    public CachingStudentDao(StudentDao studentDao, int capacity) {
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        this.studentDao = studentDao;
+        this.byId = new LruCache<>(capacity,
+                student -> student.ifPresent(s -> s.addListener(listener)),
+                student -> student.ifPresent(s -> s.removeListener(listener)));
+        this.byEmail = new LruCache<>(capacity, student -> { }, student -> { });
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        Student saved = studentDao.saveStudent(student);
+        if (saved != null) {
+            invalidate(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Tries to save every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#saveAll(Collection)}.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        List<Student> saved = studentDao.saveAll(students);
+        for (Student student : saved) {
+            if (student != null) {
+                invalidate(student);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        Optional<Student> cached = byEmail.get(email);
+        //a student that is no longer cached by id may have changed email without this DAO noticing
+        if (cached != null && cached.map(student -> student.getEmail().equals(email)).orElse(true)) {
+            return cached.orElse(null);
+        }
+
+        long idVersion = byId.version();
+        long emailVersion = byEmail.version();
+        Student found = studentDao.findByEmail(email);
+        if (found != null) {
+            found = cacheById(found.getId(), found, idVersion);
+        }
+        byEmail.put(email, Optional.ofNullable(found), emailVersion);
+        return found;
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        return studentDao.findByName(name);
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        Optional<Student> cached = byId.get(id);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        long version = byId.version();
+        return cacheById(id, studentDao.findById(id), version);
+    }
+
+    /**
+     * Looks up every id in {@code ids}, answering as many as possible
+     * from the cache and the rest through a single call to the other DAO,
+     * see {@link StudentDao#findAllById(int[])}.
+     *
+     * @param ids the ids to search for
+     * @return the student with each id, in the same order
+     */
+    @Override
+    public List<Student> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<Student> found = new ArrayList<>(ids.length);
+        //positions in ids of the ids that aren't cached
+        int[] missing = new int[ids.length];
+        int missingCount = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Optional<Student> cached = byId.get(ids[i]);
+            if (cached == null) {
+                missing[missingCount++] = i;
+            }
+            found.add(cached == null ? null : cached.orElse(null));
+        }
+        if (missingCount == 0) {
+            return found;
+        }
+
+        int[] missingIds = new int[missingCount];
+        for (int i = 0; i < missingCount; i++) {
+            missingIds[i] = ids[missing[i]];
+        }
+        long version = byId.version();
+        List<Student> loaded = studentDao.findAllById(missingIds);
+        for (int i = 0; i < missingCount; i++) {
+            byId.put(missingIds[i], Optional.ofNullable(loaded.get(i)), version);
+            found.set(missing[i], loaded.get(i));
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        return studentDao.findAll();
+    }
+
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        return studentDao.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public Stream<Student> stream() {
+        return studentDao.stream();
+    }
+
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        return studentDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (!studentDao.deleteStudent(student)) {
+            return false;
+        }
+        invalidate(student);
+        return true;
+    }
+
+    /**
+     * Tries to remove every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#deleteAll(Collection)}.
+     *
+     * @param students the students to remove
+     * @return whether each student was removed, in the same order
+     */
+    @Override
+    public boolean[] deleteAll(Collection<Student> students) {
+        boolean[] deleted = studentDao.deleteAll(students);
+        Iterator<Student> iterator = students.iterator();
+        for (boolean wasDeleted : deleted) {
+            Student student = iterator.next();
+            if (wasDeleted) {
+                invalidate(student);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Empties both caches, for when students have been changed without
+     * this DAO noticing.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    /**
+     * Returns the counters of the cache behind {@link #findById(int)}.
+     *
+     * @return the counters of the id cache
+     */
+    public CacheStats idCacheStats() {
+        return byId.stats();
+    }
+
+    /**
+     * Returns the counters of the cache behind
+     * {@link #findByEmail(String)}.
+     *
+     * @return the counters of the email cache
+     */
+    public CacheStats emailCacheStats() {
+        return byEmail.stats();
+    }
+
+    //returns the student, or null if it was cached as missing
+    private Student cacheById(int id, Student student, long version) {
+        byId.put(id, Optional.ofNullable(student), version);
+        return student;
+    }
+
+    private void invalidate(Student student) {
+        Optional<Student> cached = byId.invalidate(student.getId());
+        byEmail.invalidate(student.getEmail());
+        //a different instance with the same id may be cached under another email
+        if (cached != null && cached.isPresent() && cached.get() != student) {
+            byEmail.invalidate(cached.get().getEmail());
+        }
+    }
+
+    private void emailChanged(Student student, Student.Property property, String oldValue) {
+        if (property == Student.Property.EMAIL) {
+            byEmail.invalidate(oldValue);
+            byEmail.invalidate(student.getEmail());
+        }
+    }
+}
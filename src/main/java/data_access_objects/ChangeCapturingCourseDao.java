@@ -0,0 +1,215 @@
+package data_access_objects;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that records every course saved to or removed from
+ * another course DAO in a {@link ChangeLog}, together with every student
+ * registered in or unregistered from a stored course.
+ *
+ * <p>Saves and removals are recorded after the other DAO has made them,
+ * and only if it did, like in {@link ChangeCapturingStudentDao}. Saving a
+ * course records a single {@link ChangeEvent.Type#COURSE_SAVED} change,
+ * whose course holds the students it was saved with. Registrations are
+ * methods of {@link Course}, so they are recorded by listening to stored
+ * courses, as {@link ChangeEvent.Type#STUDENT_REGISTERED} and
+ * {@link ChangeEvent.Type#STUDENT_UNREGISTERED} changes. Reads are
+ * passed straight on to the other DAO.</p>
+ *
+ * <p>Courses must only be saved and removed through this DAO once it's in
+ * front of the other one. This DAO is thread safe whenever the other one
+ * is.</p>
+ */
+public class ChangeCapturingCourseDao implements CourseDao {
+    private final CourseDao courseDao;
+    private final ChangeLog changeLog;
+    private final CourseListener listener = new CourseListener() {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+        }
+
+        @Override
+        public void studentRegistered(Course course, Student student) {
+            changeLog.record(ChangeEvent.Type.STUDENT_REGISTERED, student, course);
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            changeLog.record(ChangeEvent.Type.STUDENT_UNREGISTERED, student, course);
+        }
+    };
+
+    /**
+     * Creates a change capturing DAO in front of {@code courseDao}.
+     *
+     * @param courseDao the DAO to store the courses in
+     * @param changeLog the log to record the changes in, which may be
+     *                  shared with other DAOs
+     */
+    public ChangeCapturingCourseDao(CourseDao courseDao, ChangeLog changeLog) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        if (changeLog == null) {
+            throw new IllegalArgumentException("changeLog may not be null");
+        }
+        this.courseDao = courseDao;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        Course saved = courseDao.saveCourse(course);
+        if (saved != null) {
+            saved(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Tries to save every course in {@code courses} through a single call
+     * to the other DAO, see {@link CourseDao#saveAll(Collection)}, and
+     * records a change for each course that was saved.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        List<Course> saved = courseDao.saveAll(courses);
+        for (Course course : saved) {
+            if (course != null) {
+                saved(course);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Course findById(int id) {
+        return courseDao.findById(id);
+    }
+
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        return courseDao.findAllById(ids);
+    }
+
+    @Override
+    public List<Course> findByName(String name) {
+        return courseDao.findByName(name);
+    }
+
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return courseDao.findByDate(date);
+    }
+
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        return courseDao.findByDateRange(from, to);
+    }
+
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        return courseDao.findActiveOn(date);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return courseDao.findAll();
+    }
+
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        return courseDao.findCoursesForStudent(student);
+    }
+
+    @Override
+    public Stream<Course> stream() {
+        return courseDao.stream();
+    }
+
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        return courseDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        //the stored instance is the one being listened to, which may not be the supplied one
+        Course stored = courseDao.findById(course.getId());
+        if (!courseDao.removeCourse(course)) {
+            return false;
+        }
+        removed(stored == null ? course : stored);
+        return true;
+    }
+
+    /**
+     * Tries to remove every course in {@code courses} through a single
+     * call to the other DAO, see {@link CourseDao#removeAll(Collection)},
+     * and records a change for each course that was removed.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        List<Course> stored = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            stored.add(course == null ? null : courseDao.findById(course.getId()));
+        }
+        boolean[] removed = courseDao.removeAll(courses);
+        Iterator<Course> iterator = courses.iterator();
+        for (int i = 0; i < removed.length; i++) {
+            Course course = iterator.next();
+            if (removed[i]) {
+                removed(stored.get(i) == null ? course : stored.get(i));
+            }
+        }
+        return removed;
+    }
+
+    private void saved(Course course) {
+        course.addListener(listener);
+        changeLog.record(ChangeEvent.Type.COURSE_SAVED, null, course);
+    }
+
+    private void removed(Course course) {
+        course.removeListener(listener);
+        changeLog.record(ChangeEvent.Type.COURSE_REMOVED, null, course);
+    }
+}
@@ -0,0 +1,161 @@
+package data_access_objects;
+
+import model.Student;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentDao} that records every student saved to or deleted from
+ * another student DAO in a {@link ChangeLog}, as a
+ * {@link ChangeEvent.Type#STUDENT_SAVED} or
+ * {@link ChangeEvent.Type#STUDENT_DELETED} change.
+ *
+ * <p>A change is recorded after the other DAO has made it, and only if it
+ * did, so a subscriber never hears about a duplicate that wasn't saved.
+ * Students unregistered from their courses by the other DAO when they are
+ * deleted show up as {@link ChangeEvent.Type#STUDENT_UNREGISTERED} changes
+ * before the delete, if the courses are stored in a
+ * {@link ChangeCapturingCourseDao} using the same log. Reads are passed
+ * straight on to the other DAO. This DAO is thread safe whenever the other
+ * one is.</p>
+ */
+public class ChangeCapturingStudentDao implements StudentDao {
+    private final StudentDao studentDao;
+    private final ChangeLog changeLog;
+
+    /**
+     * Creates a change capturing DAO in front of {@code studentDao}.
+     *
+     * @param studentDao the DAO to store the students in
+     * @param changeLog  the log to record the changes in, which may be
+     *                   shared with other DAOs
+     */
+    public ChangeCapturingStudentDao(StudentDao studentDao, ChangeLog changeLog) {
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        if (changeLog == null) {
+            throw new IllegalArgumentException("changeLog may not be null");
+        }
+        this.studentDao = studentDao;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        Student saved = studentDao.saveStudent(student);
+        if (saved != null) {
+            changeLog.record(ChangeEvent.Type.STUDENT_SAVED, saved, null);
+        }
+        return saved;
+    }
+
+    /**
+     * Tries to save every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#saveAll(Collection)},
+     * and records a change for each student that was saved.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        List<Student> saved = studentDao.saveAll(students);
+        for (Student student : saved) {
+            if (student != null) {
+                changeLog.record(ChangeEvent.Type.STUDENT_SAVED, student, null);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Student findByEmail(String email) {
+        return studentDao.findByEmail(email);
+    }
+
+    @Override
+    public List<Student> findByName(String name) {
+        return studentDao.findByName(name);
+    }
+
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        return studentDao.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public Student findById(int id) {
+        return studentDao.findById(id);
+    }
+
+    @Override
+    public List<Student> findAllById(int[] ids) {
+        return studentDao.findAllById(ids);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return studentDao.findAll();
+    }
+
+    @Override
+    public Stream<Student> stream() {
+        return studentDao.stream();
+    }
+
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        return studentDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (!studentDao.deleteStudent(student)) {
+            return false;
+        }
+        changeLog.record(ChangeEvent.Type.STUDENT_DELETED, student, null);
+        return true;
+    }
+
+    /**
+     * Tries to delete every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#deleteAll(Collection)},
+     * and records a change for each student that was deleted.
+     *
+     * @param students the students to delete
+     * @return whether each student was deleted, in the same order
+     */
+    @Override
+    public boolean[] deleteAll(Collection<Student> students) {
+        boolean[] deleted = studentDao.deleteAll(students);
+        Iterator<Student> iterator = students.iterator();
+        for (boolean wasDeleted : deleted) {
+            Student student = iterator.next();
+            if (wasDeleted) {
+                changeLog.record(ChangeEvent.Type.STUDENT_DELETED, student, null);
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,35 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+/**
+ * A change made to the students or courses behind a {@link ChangeLog},
+ * numbered by its position in the log.
+ *
+ * <p>The student and course are the live objects, not copies, so reading
+ * them shows their current values rather than the ones they had when the
+ * change was made. A subscriber that needs the values from the time of the
+ * change has to copy them as the events come in.</p>
+ *
+ * @param sequence the position of the change in the log, starting at 0
+ * @param type     what kind of change it was
+ * @param student  the student saved, deleted, registered or unregistered,
+ *                 or {@code null} for changes to courses only
+ * @param course   the course saved or removed, or the course the student
+ *                 was registered in or unregistered from, or {@code null}
+ *                 for changes to students only
+ */
+public record ChangeEvent(long sequence, Type type, Student student, Course course) {
+    /**
+     * The kinds of change recorded in a {@link ChangeLog}.
+     */
+    public enum Type {
+        STUDENT_SAVED,
+        STUDENT_DELETED,
+        COURSE_SAVED,
+        COURSE_REMOVED,
+        STUDENT_REGISTERED,
+        STUDENT_UNREGISTERED
+    }
+}
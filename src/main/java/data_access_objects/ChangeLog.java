@@ -0,0 +1,284 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Publishes the changes recorded by a {@link ChangeCapturingStudentDao}
+ * or {@link ChangeCapturingCourseDao} to any number of subscribers, so
+ * that other systems can follow the changes instead of polling
+ * {@code findAll()}.
+ *
+ * <p>Every change is given the next sequence number and written to a ring
+ * buffer holding the last {@code capacity} changes. Recording a change
+ * never waits: it claims its sequence number and slot with atomic
+ * operations, and hands delivery over to the executor of each subscriber
+ * that has outstanding demand. Subscribers receive the changes in order of
+ * sequence number, in batches of up to {@code maxBatch} changes, and each
+ * batch counts as one item of the demand they
+ * {@linkplain Flow.Subscription#request(long) request}, so a slow
+ * subscriber gets larger batches rather than holding anybody up.</p>
+ *
+ * <p>The ring buffer is the only place changes are kept. A subscriber that
+ * falls more than {@code capacity} changes behind, or asks to resume from
+ * a change that has already been overwritten, receives
+ * {@link Flow.Subscriber#onError(Throwable)} with an
+ * {@link IllegalStateException} naming the first change it missed. It can
+ * then reload what it needs from the DAOs and
+ * {@linkplain #subscribe(Flow.Subscriber, long) subscribe again} from
+ * {@link #nextSequence()} taken before reloading. This class is thread
+ * safe.</p>
+ */
+public final class ChangeLog implements Flow.Publisher<List<ChangeEvent>> {
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int DEFAULT_MAX_BATCH = 256;
+
+    private final AtomicReferenceArray<ChangeEvent> events;
+    private final int maxBatch;
+    private final Executor executor;
+    private final AtomicLong next = new AtomicLong();
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a change log that keeps the last 65536 changes and delivers
+     * them in batches of up to 256 on the common fork-join pool.
+     */
+    public ChangeLog() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a change log.
+     *
+     * @param capacity the number of changes to keep for subscribers that
+     *                 are behind or resume from an earlier change
+     * @param maxBatch the maximum number of changes in a batch
+     * @param executor the executor to deliver the changes to subscribers
+     *                 on, at most one task per subscriber at a time
+     */
+    public ChangeLog(int capacity, int maxBatch, Executor executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor may not be null");
+        }
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.maxBatch = maxBatch;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the sequence number the next change will get, which is also
+     * the number of changes recorded so far.
+     *
+     * @return the sequence number of the next change
+     */
+    public long nextSequence() {
+        return next.get();
+    }
+
+    /**
+     * Subscribes to the changes recorded from now on, see
+     * {@link #subscribe(Flow.Subscriber, long)}.
+     *
+     * @param subscriber the subscriber to deliver the changes to
+     * @throws NullPointerException if {@code subscriber} is {@code null},
+     *                              as required by {@link Flow.Publisher}
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<ChangeEvent>> subscriber) {
+        subscribe(subscriber, nextSequence());
+    }
+
+    /**
+     * Subscribes to the changes starting at the one numbered
+     * {@code fromSequence}, such as one past the last change a subscriber
+     * processed before it went away. Changes that haven't been recorded yet
+     * are delivered once they are. If the change numbered
+     * {@code fromSequence} has already been overwritten, or
+     * {@code fromSequence} is negative, the subscriber receives
+     * {@link Flow.Subscriber#onError(Throwable)} instead.
+     *
+     * @param subscriber   the subscriber to deliver the changes to
+     * @param fromSequence the sequence number of the first change to
+     *                     deliver
+     * @throws NullPointerException if {@code subscriber} is {@code null},
+     *                              as required by {@link Flow.Publisher}
+     */
+    public void subscribe(Flow.Subscriber<? super List<ChangeEvent>> subscriber, long fromSequence) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber may not be null");
+        }
+        ChangeSubscription subscription = new ChangeSubscription(subscriber, fromSequence);
+        if (fromSequence < 0) {
+            subscription.error = new IllegalArgumentException("fromSequence may not be negative");
+        } else if (fromSequence < next.get() - events.length()) {
+            subscription.error = lost(fromSequence);
+        } else {
+            //listed before onSubscribe, so that no change recorded after a request is missed
+            subscriptions.add(subscription);
+        }
+        subscriber.onSubscribe(subscription);
+        if (subscription.error != null) {
+            subscription.schedule();
+        }
+    }
+
+    /**
+     * Records a change and wakes every subscriber waiting for one.
+     */
+    void record(ChangeEvent.Type type, Student student, Course course) {
+        long sequence = next.getAndIncrement();
+        ChangeEvent event = new ChangeEvent(sequence, type, student, course);
+        int index = index(sequence);
+        ChangeEvent current;
+        do {
+            current = events.get(index);
+            //a recorder that stalled for a whole lap of the ring must not overwrite a later change
+            if (current != null && current.sequence() > sequence) {
+                break;
+            }
+        } while (!events.compareAndSet(index, current, event));
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.changeRecorded();
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % events.length());
+    }
+
+    //the changes from the one numbered from on that have been written, up to maxBatch of them
+    private List<ChangeEvent> read(long from) {
+        List<ChangeEvent> batch = new ArrayList<>();
+        for (long sequence = from; batch.size() < maxBatch; sequence++) {
+            ChangeEvent event = events.get(index(sequence));
+            if (event == null || event.sequence() < sequence) {
+                break;
+            }
+            if (event.sequence() > sequence) {
+                throw lost(sequence);
+            }
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    private static IllegalStateException lost(long sequence) {
+        return new IllegalStateException("the change numbered " + sequence + " has been overwritten");
+    }
+
+    /*Delivers changes to one subscriber. Requests, recorded changes and
+    * cancellation only bump the work counter; whoever bumps it from zero
+    * runs the delivery loop on the executor, which keeps going until it
+    * has seen every bump, so onNext is never called concurrently*/
+    private final class ChangeSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super List<ChangeEvent>> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private long cursor;
+
+        private ChangeSubscription(Flow.Subscriber<? super List<ChangeEvent>> subscriber, long cursor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("the number of batches requested must be positive"));
+                return;
+            }
+            requested.getAndAccumulate(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void changeRecorded() {
+            if (requested.get() > 0) {
+                schedule();
+            }
+        }
+
+        private void fail(Throwable cause) {
+            error = cause;
+            schedule();
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancel();
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (missed != 0) {
+                deliver();
+                missed = work.addAndGet(-missed);
+            }
+        }
+
+        private void deliver() {
+            while (!cancelled) {
+                Throwable cause = error;
+                if (cause != null) {
+                    cancel();
+                    subscriber.onError(cause);
+                    return;
+                }
+                long demand = requested.get();
+                if (demand == 0) {
+                    return;
+                }
+                List<ChangeEvent> batch;
+                try {
+                    batch = read(cursor);
+                } catch (IllegalStateException e) {
+                    error = e;
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                cursor += batch.size();
+                if (demand != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                subscriber.onNext(batch);
+            }
+        }
+    }
+}
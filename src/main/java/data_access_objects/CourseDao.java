@@ -1,15 +1,139 @@
 package data_access_objects;
 
 import model.Course;
+import model.Student;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CourseDao {
     Course saveCourse(Course course);
     Course findById(int id);
     List<Course> findByName(String name);
     List<Course> findByDate(LocalDate date);
+    List<Course> findByDateRange(LocalDate from, LocalDate to);
+    List<Course> findActiveOn(LocalDate date);
     List<Course> findAll();
+    List<Course> findCoursesForStudent(Student student);
     boolean removeCourse(Course course);
+
+    /**
+     * Unregisters {@code student} from every course in this DAO the
+     * student is registered in, for a student DAO to cascade a delete to
+     * the rosters. Costs time proportional to the student's enrollments
+     * when {@link #findCoursesForStudent(Student)} uses a reverse
+     * enrollment index.
+     *
+     * @param student the student to unregister
+     */
+    default void unregisterFromCourses(Student student) {
+        for (Course course : findCoursesForStudent(student)) {
+            course.unregister(student);
+        }
+    }
+
+    /**
+     * Tries to save every course in {@code courses}, in iteration order.
+     * Returns a list with one entry per course: the saved course, or
+     * {@code null} if it could not be saved due to a duplicate already
+     * existing, including one earlier in the same batch.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     * @throws IllegalArgumentException if {@code courses} is or contains
+     *                                  {@code null}, in which case none of
+     *                                  them are saved
+     */
+    default List<Course> saveAll(Collection<Course> courses) {
+        checkBatch(courses);
+        List<Course> saved = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            saved.add(saveCourse(course));
+        }
+        return saved;
+    }
+
+    /**
+     * Looks up every id in {@code ids}. Returns a list with one entry per
+     * id: the course with that id, or {@code null} if there is none.
+     *
+     * @param ids the ids to search for
+     * @return the course with each id, in the same order
+     */
+    default List<Course> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<Course> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(findById(id));
+        }
+        return found;
+    }
+
+    /**
+     * Tries to remove every course in {@code courses}, in iteration order.
+     * Returns one entry per course: {@code true} if it was removed, or
+     * {@code false} if it wasn't found.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    default boolean[] removeAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        boolean[] removed = new boolean[courses.size()];
+        int i = 0;
+        for (Course course : courses) {
+            removed[i++] = removeCourse(course);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion. Unless an
+     * implementation says otherwise, the stream is backed by
+     * {@link #findAll()}.
+     *
+     * @return a stream of all courses
+     */
+    default Stream<Course> stream() {
+        return findAll().stream();
+    }
+
+    /**
+     * Returns up to {@code limit} courses in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. Unless an implementation says
+     * otherwise, the cursor is the number of courses on earlier pages, so
+     * courses saved or removed between calls may shift the pages, and the
+     * courses are skipped through {@link #stream()}.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    default Page<Course> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Course> items = stream().skip(cursor).limit(limit + 1L).toList();
+        if (items.size() <= limit) {
+            return new Page<>(items, Page.END);
+        }
+        return new Page<>(items.subList(0, limit), cursor + limit);
+    }
+
+    //rejects a batch before any of it is saved
+    private static void checkBatch(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("courses may not contain null");
+            }
+        }
+    }
 }
@@ -0,0 +1,496 @@
+package data_access_objects;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe {@link CourseDao} that never takes a global lock, with the
+ * same indexes as {@link CourseDaoIndexed}.
+ *
+ * <p>Saving is a single {@code putIfAbsent} on a {@link ConcurrentHashMap}
+ * by id, and the insertion order and secondary indexes follow the same
+ * publish-last, unpublish-first protocol as {@link StudentDaoConcurrent},
+ * so every read checks what it found against the primary index, and
+ * changes made to a course while it's being saved are caught up with once
+ * it's published. Lists returned by the {@code find} methods are weakly
+ * consistent.</p>
+ *
+ * <p>Start date buckets in the sorted date indexes are never removed once
+ * created, since a {@link ConcurrentSkipListMap} can't atomically drop a
+ * bucket only while it stays empty. There is at most one bucket per
+ * distinct start date (and week duration), so the cost is small.</p>
+ *
+ * <p>Rosters are indexed by the ids {@link Course#copyStudentIds()}
+ * returns, so saving a course with a
+ * {@linkplain Course#loadRoster(int[], java.util.function.Function) loaded}
+ * roster doesn't resolve it. Ids that turn out to have no student when it
+ * is resolved stay in the index by student, which is harmless since
+ * {@link #findCoursesForStudent(Student)} checks every course it finds
+ * there.</p>
+ */
+public class CourseDaoConcurrent implements CourseDao {
+    private static final Comparator<Entry> BY_START_DATE_THEN_INSERTION =
+            Comparator.comparing((Entry entry) -> entry.course().getStartDate())
+                    .thenComparingLong(Entry::sequence);
+
+    private final ConcurrentMap<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Entry> bySequence = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, Entry>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<LocalDate, ConcurrentNavigableMap<Long, Entry>> byStartDate =
+            new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Integer, ConcurrentNavigableMap<LocalDate, ConcurrentNavigableMap<Long, Entry>>>
+            byDurationThenStartDate = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, ConcurrentNavigableMap<Long, Entry>> byStudent = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final CourseListener listener = new Reindexer();
+
+    private record Entry(Course course, long sequence) {
+    }
+
+    //the values a course is indexed by, as read at one point in time
+    private record Indexed(String name, LocalDate startDate, int weekDuration, Set<Integer> roster) {
+        private static Indexed of(Course course) {
+            //by id, so that indexing a loaded roster doesn't resolve it
+            Set<Integer> roster = new HashSet<>();
+            for (int studentId : course.copyStudentIds()) {
+                roster.add(studentId);
+            }
+            return new Indexed(course.getCourseName(), course.getStartDate(), course.getWeekDuration(), roster);
+        }
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        if (byId.containsKey(course.getId())) {
+            return null;
+        }
+
+        //listened to before the indexed values are read, so that no change made after reading them is missed
+        course.addListener(listener);
+        Entry entry = new Entry(course, nextSequence.getAndIncrement());
+        Indexed indexed = Indexed.of(course);
+        bySequence.put(entry.sequence(), entry);
+        addToIndex(byName, indexed.name(), entry);
+        addToDateIndexes(indexed.startDate(), indexed.weekDuration(), entry);
+        for (int studentId : indexed.roster()) {
+            addToIndex(byStudent, studentId, entry);
+        }
+
+        if (byId.putIfAbsent(course.getId(), entry) != null) {
+            //lost the race against another save of the same id
+            course.removeListener(listener);
+            bySequence.remove(entry.sequence());
+            removeFromIndex(byName, indexed.name(), entry);
+            removeFromDateIndexes(indexed.startDate(), indexed.weekDuration(), entry);
+            for (int studentId : indexed.roster()) {
+                removeFromIndex(byStudent, studentId, entry);
+            }
+            return null;
+        }
+        catchUp(entry, indexed);
+        return course;
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match is
+     * found
+     */
+    @Override
+    public Course findById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return entry.course();
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        ConcurrentNavigableMap<Long, Entry> matches = byName.get(name);
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        List<Course> found = liveCourses(matches.values());
+        found.removeIf(course -> !course.getCourseName().equals(name));
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * start date are found, an empty list is returned instead.
+     *
+     * @param date the date to search for
+     * @return a list of courses with the matching starting date, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        ConcurrentNavigableMap<Long, Entry> matches = byStartDate.get(date);
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        List<Course> found = liveCourses(matches.values());
+        found.removeIf(course -> !course.getStartDate().equals(date));
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends. The list is ordered by start
+     * date, and courses starting on the same date are in order of
+     * insertion. If no courses start within the range, an empty list is
+     * returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+
+        List<Entry> starting = new ArrayList<>();
+        for (Map.Entry<LocalDate, ConcurrentNavigableMap<Long, Entry>> sameDate
+                : byStartDate.subMap(from, true, to, true).entrySet()) {
+            for (Entry entry : sameDate.getValue().values()) {
+                if (entry.course().getStartDate().equals(sameDate.getKey())) {
+                    starting.add(entry);
+                }
+            }
+        }
+        return liveCourses(starting);
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}. The list is ordered by
+     * start date, and courses starting on the same date are in order of
+     * insertion. If no courses are running on the date, an empty list is
+     * returned instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+
+        List<Entry> active = new ArrayList<>();
+        for (Map.Entry<Integer, ConcurrentNavigableMap<LocalDate, ConcurrentNavigableMap<Long, Entry>>> duration
+                : byDurationThenStartDate.entrySet()) {
+            LocalDate startedAfter = date.minusWeeks(duration.getKey());
+            for (ConcurrentNavigableMap<Long, Entry> sameDate
+                    : duration.getValue().subMap(startedAfter, false, date, true).values()) {
+                for (Entry entry : sameDate.values()) {
+                    if (entry.course().isActiveOn(date)) {
+                        active.add(entry);
+                    }
+                }
+            }
+        }
+        active.sort(BY_START_DATE_THEN_INSERTION);
+        return liveCourses(active);
+    }
+
+    /**
+     * Returns a list containing all course objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all courses
+     */
+    @Override
+    public List<Course> findAll() {
+        return liveCourses(bySequence.values());
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion, without
+     * copying them into a list first. The stream is weakly consistent: it
+     * may or may not reflect changes made while it's consumed, and a
+     * course that is removed and saved again in the meantime may show up
+     * twice. The stream splits well, so it can be consumed in parallel.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return bySequence.values().stream().filter(this::isLive).map(Entry::course);
+    }
+
+    /**
+     * Returns up to {@code limit} courses in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first course on the page, so a page is found without going
+     * through the earlier ones, and changes between calls don't shift the
+     * pages. A page may hold fewer than {@code limit} courses if some are
+     * removed while it's being collected.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Entry> candidates = new ArrayList<>();
+        long nextCursor = Page.END;
+        for (Entry entry : bySequence.tailMap(cursor, true).values()) {
+            if (!isLive(entry)) {
+                continue;
+            }
+            if (candidates.size() == limit) {
+                nextCursor = entry.sequence();
+                break;
+            }
+            candidates.add(entry);
+        }
+        return new Page<>(liveCourses(candidates), nextCursor);
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion. If the student isn't registered in any course,
+     * an empty list is returned instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        ConcurrentNavigableMap<Long, Entry> matches = byStudent.get(student.getId());
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        List<Course> found = liveCourses(matches.values());
+        found.removeIf(course -> !course.isRegistered(student));
+        return found;
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        Entry entry = byId.remove(course.getId());
+        if (entry == null) {
+            return false;
+        }
+
+        entry.course().removeListener(listener);
+        unindex(entry);
+        return true;
+    }
+
+    private boolean isLive(Entry entry) {
+        return byId.get(entry.course().getId()) == entry;
+    }
+
+    /*Same as in StudentDaoConcurrent, liveness is checked twice after traversing
+    * so that a course removed and saved again mid-traversal shows up once*/
+    private List<Course> liveCourses(Collection<Entry> entries) {
+        List<Entry> candidates = new ArrayList<>(entries);
+        candidates.removeIf(entry -> !isLive(entry));
+        candidates.removeIf(entry -> !isLive(entry));
+        List<Course> live = new ArrayList<>(candidates.size());
+        for (Entry entry : candidates) {
+            live.add(entry.course());
+        }
+        return live;
+    }
+
+    private void unindex(Entry entry) {
+        Course course = entry.course();
+        bySequence.remove(entry.sequence());
+        removeFromIndex(byName, course.getCourseName(), entry);
+        removeFromDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+        for (int studentId : course.copyStudentIds()) {
+            removeFromIndex(byStudent, studentId, entry);
+        }
+    }
+
+    /*Same as in StudentDaoConcurrent, the indexes are moved to the values
+    * the course was given before it was published, indexing new values
+    * before unindexing old ones and reading them again until they stop
+    * changing, so concurrent changes leave stale keys but never missing
+    * ones*/
+    private void catchUp(Entry entry, Indexed indexed) {
+        for (Indexed current = Indexed.of(entry.course()); !current.equals(indexed);
+             current = Indexed.of(entry.course())) {
+            if (!current.name().equals(indexed.name())) {
+                addToIndex(byName, current.name(), entry);
+                removeFromIndex(byName, indexed.name(), entry);
+            }
+            if (!current.startDate().equals(indexed.startDate()) || current.weekDuration() != indexed.weekDuration()) {
+                addToDateIndexes(current.startDate(), current.weekDuration(), entry);
+                removeFromDateIndexes(indexed.startDate(), indexed.weekDuration(), entry);
+            }
+            for (int studentId : current.roster()) {
+                if (!indexed.roster().contains(studentId)) {
+                    addToIndex(byStudent, studentId, entry);
+                }
+            }
+            for (int studentId : indexed.roster()) {
+                if (!current.roster().contains(studentId)) {
+                    removeFromIndex(byStudent, studentId, entry);
+                }
+            }
+            indexed = current;
+        }
+    }
+
+    private Entry storedEntry(Course course) {
+        Entry entry = byId.get(course.getId());
+        if (entry == null || entry.course() != course) {
+            return null;
+        }
+        return entry;
+    }
+
+    private class Reindexer implements CourseListener {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            Entry entry = storedEntry(course);
+            if (entry == null) {
+                return;
+            }
+
+            switch (property) {
+                case COURSE_NAME -> {
+                    addToIndex(byName, course.getCourseName(), entry);
+                    removeFromIndex(byName, (String) oldValue, entry);
+                }
+                case START_DATE -> {
+                    addToDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+                    removeFromDateIndexes((LocalDate) oldValue, course.getWeekDuration(), entry);
+                }
+                case WEEK_DURATION -> {
+                    addToDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+                    removeFromDateIndexes(course.getStartDate(), (Integer) oldValue, entry);
+                }
+            }
+        }
+
+        @Override
+        public void studentRegistered(Course course, Student student) {
+            Entry entry = storedEntry(course);
+            if (entry != null) {
+                addToIndex(byStudent, student.getId(), entry);
+            }
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            Entry entry = storedEntry(course);
+            if (entry != null) {
+                removeFromIndex(byStudent, student.getId(), entry);
+            }
+        }
+    }
+
+    /*compute is atomic per key on ConcurrentHashMap, which makes it safe to
+    * drop buckets as they become empty without losing a concurrent add*/
+    private static <K> void addToIndex(ConcurrentMap<K, ConcurrentNavigableMap<Long, Entry>> index,
+                                       K key, Entry entry) {
+        index.compute(key, (k, matches) -> {
+            if (matches == null) {
+                matches = new ConcurrentSkipListMap<>();
+            }
+            matches.put(entry.sequence(), entry);
+            return matches;
+        });
+    }
+
+    private static <K> void removeFromIndex(ConcurrentMap<K, ConcurrentNavigableMap<Long, Entry>> index,
+                                            K key, Entry entry) {
+        index.computeIfPresent(key, (k, matches) -> {
+            matches.remove(entry.sequence(), entry);
+            return matches.isEmpty() ? null : matches;
+        });
+    }
+
+    private void addToDateIndexes(LocalDate startDate, int weekDuration, Entry entry) {
+        byStartDate.computeIfAbsent(startDate, k -> new ConcurrentSkipListMap<>())
+                .put(entry.sequence(), entry);
+        byDurationThenStartDate.computeIfAbsent(weekDuration, k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(startDate, k -> new ConcurrentSkipListMap<>())
+                .put(entry.sequence(), entry);
+    }
+
+    private void removeFromDateIndexes(LocalDate startDate, int weekDuration, Entry entry) {
+        ConcurrentNavigableMap<Long, Entry> sameDate = byStartDate.get(startDate);
+        if (sameDate != null) {
+            sameDate.remove(entry.sequence(), entry);
+        }
+        ConcurrentNavigableMap<LocalDate, ConcurrentNavigableMap<Long, Entry>> sameDuration =
+                byDurationThenStartDate.get(weekDuration);
+        if (sameDuration != null) {
+            sameDate = sameDuration.get(startDate);
+            if (sameDate != null) {
+                sameDate.remove(entry.sequence(), entry);
+            }
+        }
+    }
+}
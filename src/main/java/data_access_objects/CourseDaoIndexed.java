@@ -0,0 +1,391 @@
+package data_access_objects;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that keeps a primary index by id, a hash index by name
+ * and sorted indexes by start date, so that lookups and date range queries
+ * don't have to scan every course.
+ *
+ * <p>"Active on" queries use one start date index per distinct week
+ * duration. A course with a duration of {@code w} weeks is running on
+ * {@code date} exactly when it started in the half-open range
+ * {@code (date - w weeks, date]}, so each duration costs one logarithmic
+ * range lookup and every course visited is a match. Catalogues only use a
+ * handful of distinct durations, which keeps this close to
+ * {@code O(log n + k)} for {@code k} results.</p>
+ *
+ * <p>Every saved course is given a sequence number in order of insertion,
+ * which the indexes sort their matches by and {@link #findPage(long, int)}
+ * uses as keyset cursor.</p>
+ *
+ * <p>Enrollments are indexed in reverse, from student id to the courses the
+ * student is registered in, so finding the courses of a student costs time
+ * proportional to that student's enrollments rather than to every roster.</p>
+ *
+ * <p>The indexes are kept up to date by listening to changes made through
+ * the setters and the registration methods of stored courses. The id of a
+ * course must not be changed while it's stored, the same as for any
+ * hash-based collection.</p>
+ *
+ * <p>Unlike {@link CourseDaoList} the storage is per instance, and just like
+ * it this class is not thread safe.</p>
+ */
+public class CourseDaoIndexed implements CourseDao {
+    private static final Comparator<Entry> BY_START_DATE_THEN_INSERTION =
+            Comparator.comparing((Entry entry) -> entry.course().getStartDate())
+                    .thenComparingLong(Entry::sequence);
+
+    private final Map<Integer, Entry> byId = new HashMap<>();
+    private final NavigableMap<Long, Entry> bySequence = new TreeMap<>();
+    private final Map<String, NavigableMap<Long, Entry>> byName = new HashMap<>();
+    private final NavigableMap<LocalDate, NavigableMap<Long, Entry>> byStartDate = new TreeMap<>();
+    private final Map<Integer, NavigableMap<LocalDate, NavigableMap<Long, Entry>>> byDurationThenStartDate =
+            new HashMap<>();
+    private final Map<Integer, NavigableMap<Long, Entry>> byStudent = new HashMap<>();
+    private final CourseListener listener = new Reindexer();
+    private long nextSequence;
+
+    private record Entry(Course course, long sequence) {
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        if (byId.containsKey(course.getId())) {
+            return null;
+        }
+
+        Entry entry = new Entry(course, nextSequence++);
+        byId.put(course.getId(), entry);
+        bySequence.put(entry.sequence(), entry);
+        addToIndex(byName, course.getCourseName(), entry);
+        addToDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+        for (Student student : course.getStudents()) {
+            addToIndex(byStudent, student.getId(), entry);
+        }
+        course.addListener(listener);
+        return course;
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match is
+     * found
+     */
+    @Override
+    public Course findById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return entry.course();
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        return toCourses(byName.get(name));
+    }
+
+    /**
+     * Returns a list of course objects whose start date matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * start date are found, an empty list is returned instead.
+     *
+     * @param date the date to search for
+     * @return a list of courses with the matching starting date, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return toCourses(byStartDate.get(date));
+    }
+
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends. The list is ordered by start
+     * date, and courses starting on the same date are in order of
+     * insertion. If no courses start within the range, an empty list is
+     * returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+
+        List<Course> found = new ArrayList<>();
+        for (NavigableMap<Long, Entry> sameDate : byStartDate.subMap(from, true, to, true).values()) {
+            for (Entry entry : sameDate.values()) {
+                found.add(entry.course());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}. The list is ordered by
+     * start date, and courses starting on the same date are in order of
+     * insertion. If no courses are running on the date, an empty list is
+     * returned instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+
+        List<Entry> active = new ArrayList<>();
+        for (Map.Entry<Integer, NavigableMap<LocalDate, NavigableMap<Long, Entry>>> duration
+                : byDurationThenStartDate.entrySet()) {
+            LocalDate startedAfter = date.minusWeeks(duration.getKey());
+            for (NavigableMap<Long, Entry> sameDate
+                    : duration.getValue().subMap(startedAfter, false, date, true).values()) {
+                active.addAll(sameDate.values());
+            }
+        }
+        active.sort(BY_START_DATE_THEN_INSERTION);
+
+        List<Course> found = new ArrayList<>(active.size());
+        for (Entry entry : active) {
+            found.add(entry.course());
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list containing all course objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all courses
+     */
+    @Override
+    public List<Course> findAll() {
+        List<Course> all = new ArrayList<>(bySequence.size());
+        for (Entry entry : bySequence.values()) {
+            all.add(entry.course());
+        }
+        return all;
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion, without
+     * copying them into a list first. The stream must be consumed before
+     * the DAO is changed again.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return bySequence.values().stream().map(Entry::course);
+    }
+
+    /**
+     * Returns up to {@code limit} courses in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first course on the page, so a page is found without going
+     * through the earlier ones, and saving or removing courses between
+     * calls doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Course> items = new ArrayList<>();
+        for (Entry entry : bySequence.tailMap(cursor, true).values()) {
+            if (items.size() == limit) {
+                return new Page<>(items, entry.sequence());
+            }
+            items.add(entry.course());
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion. If the student isn't registered in any course,
+     * an empty list is returned instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        return toCourses(byStudent.get(student.getId()));
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        Entry entry = byId.remove(course.getId());
+        if (entry == null) {
+            return false;
+        }
+
+        bySequence.remove(entry.sequence());
+        Course stored = entry.course();
+        stored.removeListener(listener);
+        removeFromIndex(byName, stored.getCourseName(), entry);
+        removeFromDateIndexes(stored.getStartDate(), stored.getWeekDuration(), entry);
+        for (Student student : stored.getStudents()) {
+            removeFromIndex(byStudent, student.getId(), entry);
+        }
+        return true;
+    }
+
+    private Entry storedEntry(Course course) {
+        Entry entry = byId.get(course.getId());
+        if (entry == null || entry.course() != course) {
+            return null;
+        }
+        return entry;
+    }
+
+    private class Reindexer implements CourseListener {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            Entry entry = storedEntry(course);
+            if (entry == null) {
+                return;
+            }
+
+            switch (property) {
+                case COURSE_NAME -> {
+                    removeFromIndex(byName, (String) oldValue, entry);
+                    addToIndex(byName, course.getCourseName(), entry);
+                }
+                case START_DATE -> {
+                    removeFromDateIndexes((LocalDate) oldValue, course.getWeekDuration(), entry);
+                    addToDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+                }
+                case WEEK_DURATION -> {
+                    removeFromDateIndexes(course.getStartDate(), (Integer) oldValue, entry);
+                    addToDateIndexes(course.getStartDate(), course.getWeekDuration(), entry);
+                }
+            }
+        }
+
+        @Override
+        public void studentRegistered(Course course, Student student) {
+            Entry entry = storedEntry(course);
+            if (entry != null) {
+                addToIndex(byStudent, student.getId(), entry);
+            }
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            Entry entry = storedEntry(course);
+            if (entry != null) {
+                removeFromIndex(byStudent, student.getId(), entry);
+            }
+        }
+    }
+
+    private void addToDateIndexes(LocalDate startDate, int weekDuration, Entry entry) {
+        addToIndex(byStartDate, startDate, entry);
+        addToIndex(byDurationThenStartDate.computeIfAbsent(weekDuration, k -> new TreeMap<>()), startDate, entry);
+    }
+
+    private void removeFromDateIndexes(LocalDate startDate, int weekDuration, Entry entry) {
+        removeFromIndex(byStartDate, startDate, entry);
+        NavigableMap<LocalDate, NavigableMap<Long, Entry>> sameDuration = byDurationThenStartDate.get(weekDuration);
+        if (sameDuration != null) {
+            removeFromIndex(sameDuration, startDate, entry);
+            if (sameDuration.isEmpty()) {
+                byDurationThenStartDate.remove(weekDuration);
+            }
+        }
+    }
+
+    private static <K> void addToIndex(Map<K, NavigableMap<Long, Entry>> index, K key, Entry entry) {
+        index.computeIfAbsent(key, k -> new TreeMap<>()).put(entry.sequence(), entry);
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableMap<Long, Entry>> index, K key, Entry entry) {
+        NavigableMap<Long, Entry> matches = index.get(key);
+        if (matches == null) {
+            return;
+        }
+        matches.remove(entry.sequence());
+        if (matches.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static List<Course> toCourses(NavigableMap<Long, Entry> matches) {
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        List<Course> found = new ArrayList<>(matches.size());
+        for (Entry entry : matches.values()) {
+            found.add(entry.course());
+        }
+        return found;
+    }
+}
@@ -2,12 +2,14 @@ package data_access_objects;
 
 
 import model.Course;
+import model.Student;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class CourseDaoList implements CourseDao{
     private static final Set<Course> courses = new LinkedHashSet<>();
@@ -93,6 +95,59 @@ public class CourseDaoList implements CourseDao{
         return found;
     }
 
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends. If no courses start within the
+     * range, an empty list is returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+
+        List<Course> found = new ArrayList<>();
+        for (Course course : courses) {
+            LocalDate startDate = course.getStartDate();
+            if (!startDate.isBefore(from) && !startDate.isAfter(to)) {
+                found.add(course);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}. If no courses are
+     * running on the date, an empty list is returned instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+
+        List<Course> found = new ArrayList<>();
+        for (Course course : courses) {
+            if (course.isActiveOn(date)) {
+                found.add(course);
+            }
+        }
+        return found;
+    }
+
     /**
      * Returns a list containing all course objects.
      * The returned list reflects the order of insertion.
@@ -104,6 +159,45 @@ public class CourseDaoList implements CourseDao{
         return new ArrayList<>(courses);
     }
 
+    /**
+     * Returns a stream over the stored courses in order of insertion,
+     * without copying them. The stream must be consumed before the DAO is
+     * changed again, or it fails with a
+     * {@link java.util.ConcurrentModificationException}. Pages from
+     * {@link #findPage(long, int)} are found by skipping through this
+     * stream.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return courses.stream();
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion. If the student isn't registered in any course,
+     * an empty list is returned instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+
+        List<Course> found = new ArrayList<>();
+        for (Course course : courses) {
+            if (course.isRegistered(student)) {
+                found.add(course);
+            }
+        }
+        return found;
+    }
+
     /**
      * Removes the specified course from the collection.
      * If the course is found and successfully removed, returns {@code true}.
@@ -0,0 +1,227 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe {@link CourseDao} that partitions courses by a hash of their
+ * id over a fixed number of independent shards, the same way as
+ * {@link StudentDaoSharded}.
+ *
+ * <p>Lookups by id only touch the shard the id belongs to, every other
+ * lookup goes through every shard in parallel on a {@link ForkJoinPool}
+ * and merges what the shards found. All lists are in order of insertion,
+ * including the ones from {@link #findByDateRange(LocalDate, LocalDate)}
+ * and {@link #findActiveOn(LocalDate)}, just like in
+ * {@link CourseDaoList}, and are weakly consistent while courses are saved
+ * and removed concurrently. Rosters are still plain sets, so registering
+ * students must not happen concurrently with
+ * {@link #findCoursesForStudent(Student)}.</p>
+ */
+public class CourseDaoSharded implements CourseDao {
+    private final Shards<Course> shards;
+
+    /**
+     * Creates a course DAO with {@code shards} shards, fanning out on the
+     * common pool.
+     *
+     * @param shards the number of shards, usually about the number of
+     *               cores
+     */
+    public CourseDaoSharded(int shards) {
+        this(shards, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a course DAO with {@code shards} shards, fanning out on
+     * {@code pool}.
+     *
+     * @param shards the number of shards, usually about the number of
+     *               cores
+     * @param pool   the pool to go through the shards in parallel on
+     */
+    public CourseDaoSharded(int shards, ForkJoinPool pool) {
+        this.shards = new Shards<>(shards, Course::getId, pool);
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        return shards.add(course) ? course : null;
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Course findById(int id) {
+        return shards.get(id);
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        return shards.filter(course -> course.getCourseName().equals(name));
+    }
+
+    /**
+     * Returns a list of course objects whose start date matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * start date are found, an empty list is returned instead.
+     *
+     * @param date the date to search for
+     * @return a list of courses with the matching starting date, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return shards.filter(course -> course.getStartDate().equals(date));
+    }
+
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends, in order of insertion. If no
+     * courses start within the range, an empty list is returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+        return shards.filter(course -> !course.getStartDate().isBefore(from) && !course.getStartDate().isAfter(to));
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}, in order of insertion.
+     * If no courses are running on the date, an empty list is returned
+     * instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+        return shards.filter(course -> course.isActiveOn(date));
+    }
+
+    /**
+     * Returns a list containing all course objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all courses
+     */
+    @Override
+    public List<Course> findAll() {
+        return shards.filter(course -> true);
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion. Every shard is
+     * read a batch at a time as the stream is consumed, and the shards are
+     * merged by sequence number, so the courses are never copied into a list
+     * first. Like {@link #findAll()} the stream is weakly consistent.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return shards.stream();
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion. If the student isn't registered in any course,
+     * an empty list is returned instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        return shards.filter(course -> course.isRegistered(student));
+    }
+
+    /**
+     * Returns up to {@code limit} courses in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first course on the page, so every shard only goes through
+     * the courses that may end up on the page, and saving or removing
+     * courses between calls doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        //one more than asked for, to find the cursor of the next page
+        List<Shards.Entry<Course>> entries = shards.page(cursor, limit + 1);
+        if (entries.size() <= limit) {
+            return new Page<>(Shards.entities(entries), Page.END);
+        }
+        return new Page<>(Shards.entities(entries.subList(0, limit)), entries.get(limit).sequence());
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        return shards.remove(course.getId()) != null;
+    }
+}
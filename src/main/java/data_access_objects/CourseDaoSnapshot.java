@@ -0,0 +1,351 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.lang.foreign.MemorySegment;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link CourseDao} over the courses of a {@link Snapshot}, see
+ * {@link Snapshot#courses()}.
+ *
+ * <p>A course is built from its record the first time it's looked up and
+ * the same instance is returned from then on, so changes made to it,
+ * including to its roster, are kept. The roster is
+ * {@linkplain Course#loadRoster(int[], java.util.function.Function) loaded}
+ * as the ids the record lists, and only resolved into students of
+ * {@link Snapshot#students()} when it's first read or changed, leaving out
+ * students that have been deleted by then. Listing courses along with how
+ * many students they have therefore builds no students at all. Courses
+ * saved after the snapshot was
+ * opened are kept in a {@link CourseDaoIndexed} and come after the ones in
+ * the snapshot in order of insertion.</p>
+ */
+public class CourseDaoSnapshot implements CourseDao {
+    private static final Comparator<Course> BY_START_DATE = Comparator.comparing(Course::getStartDate);
+
+    private final Snapshot snapshot;
+    private final StudentDao studentDao;
+    //courses from the snapshot that have been built, by id
+    private final Map<Integer, Course> loaded = new HashMap<>();
+    //ids of courses from the snapshot that have been removed
+    private final Set<Integer> removed = new HashSet<>();
+    private final CourseDaoIndexed added = new CourseDaoIndexed();
+
+    CourseDaoSnapshot(Snapshot snapshot, StudentDao studentDao) {
+        this.snapshot = snapshot;
+        this.studentDao = studentDao;
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        if (recordOf(course.getId()) != -1) {
+            return null;
+        }
+        return added.saveCourse(course);
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Course findById(int id) {
+        long record = recordOf(id);
+        if (record == -1) {
+            return added.findById(id);
+        }
+        return load(id, record);
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        MemorySegment wanted = Snapshot.encoded(name);
+        List<Course> found = scan(course -> course.getCourseName().equals(name),
+                record -> snapshot.stringEquals(nameOffset(record), wanted));
+        found.addAll(added.findByName(name));
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * start date are found, an empty list is returned instead.
+     *
+     * @param date the date to search for
+     * @return a list of courses with the matching starting date, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        if (date == null) {
+            return new ArrayList<>();
+        }
+        long epochDay = date.toEpochDay();
+        List<Course> found = scan(course -> course.getStartDate().equals(date),
+                record -> snapshot.getLong(record + 8) == epochDay);
+        found.addAll(added.findByDate(date));
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends. The list is ordered by start
+     * date, and courses starting on the same date are in order of
+     * insertion. If no courses start within the range, an empty list is
+     * returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        List<Course> found = scan(course -> !course.getStartDate().isBefore(from) && !course.getStartDate().isAfter(to),
+                record -> snapshot.getLong(record + 8) >= fromDay && snapshot.getLong(record + 8) <= toDay);
+        found.addAll(added.findByDateRange(from, to));
+        //the sort is stable, which keeps courses starting on the same date in order of insertion
+        found.sort(BY_START_DATE);
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}. The list is ordered by
+     * start date, and courses starting on the same date are in order of
+     * insertion. If no courses are running on the date, an empty list is
+     * returned instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+
+        long day = date.toEpochDay();
+        List<Course> found = scan(course -> course.isActiveOn(date), record -> {
+            long startDay = snapshot.getLong(record + 8);
+            return startDay <= day && day < startDay + 7L * snapshot.getInt(record + 16);
+        });
+        found.addAll(added.findActiveOn(date));
+        found.sort(BY_START_DATE);
+        return found;
+    }
+
+    /**
+     * Returns a list containing all course objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all courses
+     */
+    @Override
+    public List<Course> findAll() {
+        List<Course> all = scan(course -> true, record -> true);
+        all.addAll(added.findAll());
+        return all;
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion. The records of
+     * the snapshot are read one at a time as the stream is consumed,
+     * followed by the courses saved since, so nothing is copied into a list
+     * first. The stream must be consumed before the DAO is changed again.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return Stream.concat(StreamSupport.stream(new RecordSpliterator(), false), added.stream());
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion. If the student isn't registered in any course,
+     * an empty list is returned instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+
+        int studentId = student.getId();
+        List<Course> found = scan(course -> course.isRegistered(student), record -> {
+            int rosterSize = snapshot.getInt(record + 20);
+            for (int i = 0; i < rosterSize; i++) {
+                if (snapshot.getInt(record + 24 + 4L * i) == studentId) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        found.addAll(added.findCoursesForStudent(student));
+        return found;
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        if (recordOf(course.getId()) == -1) {
+            return added.removeCourse(course);
+        }
+        removed.add(course.getId());
+        loaded.remove(course.getId());
+        return true;
+    }
+
+    /*Goes through the courses of the snapshot in order of insertion. Courses
+    * that have been built may have changed since the snapshot was written,
+    * so they are matched against the course itself instead of its record*/
+    private List<Course> scan(Predicate<Course> loadedMatches, LongPredicate recordMatches) {
+        List<Course> found = new ArrayList<>();
+        long record = snapshot.firstCourseRecord();
+        for (int i = 0; i < snapshot.courseCount(); i++, record = snapshot.nextRecord(record)) {
+            int id = snapshot.getInt(record + 4);
+            if (removed.contains(id)) {
+                continue;
+            }
+            Course course = loaded.get(id);
+            if (course != null ? loadedMatches.test(course) : recordMatches.test(record)) {
+                found.add(load(id, record));
+            }
+        }
+        return found;
+    }
+
+    //returns the offset of the course's record, or -1 if it isn't in the snapshot or has been removed
+    private long recordOf(int id) {
+        if (removed.contains(id)) {
+            return -1;
+        }
+        return snapshot.findCourse(id);
+    }
+
+    private Course load(int id, long record) {
+        Course course = loaded.get(id);
+        if (course == null) {
+            long nameOffset = nameOffset(record);
+            course = new Course(id, snapshot.getString(nameOffset),
+                    LocalDate.ofEpochDay(snapshot.getLong(record + 8)), snapshot.getInt(record + 16));
+            course.setCapacity(snapshot.getInt(nameOffset + 4 + snapshot.getInt(nameOffset)));
+            int[] roster = new int[snapshot.getInt(record + 20)];
+            for (int i = 0; i < roster.length; i++) {
+                roster[i] = snapshot.getInt(record + 24 + 4L * i);
+            }
+            course.loadRoster(roster, studentDao::findAllById);
+            loaded.put(id, course);
+        }
+        return course;
+    }
+
+    //resolves the rosters that are still loaded as ids, while the students can still be read
+    void resolveRosters() {
+        for (Course course : loaded.values()) {
+            course.getStudents();
+        }
+    }
+
+    private long nameOffset(long record) {
+        return record + 24 + 4L * snapshot.getInt(record + 20);
+    }
+
+    /**
+     * Goes through the course records of the snapshot in order of
+     * insertion, skipping removed courses and building the others as they
+     * are reached. Records have no fixed length, so parallel streams split
+     * it into batches, see {@link Spliterators.AbstractSpliterator}.
+     */
+    private final class RecordSpliterator extends Spliterators.AbstractSpliterator<Course> {
+        private long record = snapshot.firstCourseRecord();
+        private int index;
+
+        private RecordSpliterator() {
+            super(snapshot.courseCount(), ORDERED | DISTINCT | NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Course> action) {
+            while (index < snapshot.courseCount()) {
+                long current = record;
+                record = snapshot.nextRecord(record);
+                index++;
+                int id = snapshot.getInt(current + 4);
+                if (!removed.contains(id)) {
+                    action.accept(load(id, current));
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,569 @@
+package data_access_objects;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread safe {@link CourseDao} whose readers work on immutable versions
+ * of the stored courses and their rosters, the same way as
+ * {@link StudentDaoVersioned}.
+ *
+ * <p>Besides the courses, every version holds a persistent copy of the
+ * roster of every course, kept up to date by listening to the
+ * registration methods of stored courses. {@link #findRoster(Course)}
+ * returns the roster as of the version, so a report can go through
+ * rosters while students are being registered. A course changes its
+ * roster under a lock, but the view returned by
+ * {@link Course#getStudents()} still must not be read while that happens,
+ * and {@link Course#copyStudents()} copies the whole roster on every
+ * call. Registering a student costs O(log n) new tree nodes instead of a
+ * copy of the roster.</p>
+ *
+ * <p>The name, start date and week duration that a version matches
+ * lookups against are the ones the course had when the version was
+ * published, but a course returned from an older version shows its
+ * current values. Lookups other than by id go through every course in the
+ * version. The id of a course must not be changed while it's stored.</p>
+ */
+public class CourseDaoVersioned implements CourseDao {
+    private static final Comparator<Entry> BY_START_DATE_THEN_INSERTION =
+            Comparator.comparing(Entry::startDate).thenComparingLong(Entry::sequence);
+
+    private volatile Version version;
+    private final boolean snapshot;
+    private final CourseListener listener = new Republisher();
+    //courses whose rosters are being copied by saveAll, by id, guarded by this
+    private final Map<Integer, Saving> saving = new HashMap<>();
+
+    //name, start date and week duration are the values lookups match against in this version
+    private record Entry(Course course, long sequence, String name, LocalDate startDate, int weekDuration,
+                         Roster roster) {
+        private static Entry of(Course course, long sequence, Roster roster) {
+            return new Entry(course, sequence, course.getCourseName(), course.getStartDate(),
+                    course.getWeekDuration(), roster);
+        }
+
+        private Entry withRoster(Roster roster) {
+            return new Entry(course, sequence, name, startDate, weekDuration, roster);
+        }
+
+        private boolean isActiveOn(LocalDate date) {
+            return !date.isBefore(startDate) && date.isBefore(startDate.plusWeeks(weekDuration));
+        }
+    }
+
+    /*Students in order of registration, keyed by a number that only ever
+    * grows, and that number by student id so unregistering finds them.
+    * Registering and unregistering ignore students that already are or
+    * aren't registered, since a change made before the course was saved
+    * may be reported after its roster was copied*/
+    private record Roster(PersistentTree<Student> byOrder, PersistentTree<Long> orderById, long nextOrder) {
+        private static final Roster EMPTY = new Roster(PersistentTree.empty(), PersistentTree.empty(), 0);
+
+        private static Roster of(Collection<Student> students) {
+            Roster roster = EMPTY;
+            for (Student student : students) {
+                roster = roster.register(student);
+            }
+            return roster;
+        }
+
+        private Roster register(Student student) {
+            if (orderById.get(student.getId()) != null) {
+                return this;
+            }
+            return new Roster(byOrder.put(nextOrder, student), orderById.put(student.getId(), nextOrder),
+                    nextOrder + 1);
+        }
+
+        private Roster unregister(Student student) {
+            Long order = orderById.get(student.getId());
+            if (order == null) {
+                return this;
+            }
+            return new Roster(byOrder.remove(order), orderById.remove(student.getId()), nextOrder);
+        }
+
+        private boolean contains(Student student) {
+            return orderById.get(student.getId()) != null;
+        }
+    }
+
+    /*A course being saved, and the registrations reported for it while its
+    * roster was copied, to replay on the copy*/
+    private record Saving(Course course, List<Change> changes) {
+    }
+
+    private record Change(Student student, boolean registered) {
+        private Roster applyTo(Roster roster) {
+            return registered ? roster.register(student) : roster.unregister(student);
+        }
+    }
+
+    private record Version(PersistentTree<Entry> byId, PersistentTree<Entry> bySequence, long nextSequence) {
+        private Version with(Entry entry) {
+            return new Version(byId.put(entry.course().getId(), entry), bySequence.put(entry.sequence(), entry),
+                    Math.max(nextSequence, entry.sequence() + 1));
+        }
+
+        private Version without(Entry entry) {
+            return new Version(byId.remove(entry.course().getId()), bySequence.remove(entry.sequence()),
+                    nextSequence);
+        }
+    }
+
+    public CourseDaoVersioned() {
+        this.version = new Version(PersistentTree.empty(), PersistentTree.empty(), 0);
+        this.snapshot = false;
+    }
+
+    private CourseDaoVersioned(Version version) {
+        this.version = version;
+        this.snapshot = true;
+    }
+
+    /**
+     * Returns a read-only DAO over the courses and their rosters as they
+     * are right now, which later writes to this DAO don't change. Costs
+     * O(1) no matter how many courses are stored. Every method that would
+     * change the snapshot throws {@link UnsupportedOperationException}.
+     *
+     * @return a point-in-time snapshot of this DAO
+     */
+    public CourseDaoVersioned snapshot() {
+        return new CourseDaoVersioned(version);
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        return saveAll(List.of(course)).get(0);
+    }
+
+    /**
+     * Tries to save every course in {@code courses}, see
+     * {@link CourseDao#saveAll(Collection)}. The saved courses are
+     * published together, so no reader sees only some of them.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        checkWritable();
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("courses may not contain null");
+            }
+        }
+        List<Course> saved = new ArrayList<>(courses.size());
+        List<Course> accepted = new ArrayList<>(courses.size());
+        synchronized (this) {
+            for (Course course : courses) {
+                if (version.byId().get(course.getId()) != null || saving.containsKey(course.getId())) {
+                    saved.add(null);
+                    continue;
+                }
+                //listen first, so that no change made while the roster is copied goes unreported
+                saving.put(course.getId(), new Saving(course, new ArrayList<>()));
+                course.addListener(listener);
+                saved.add(course);
+                accepted.add(course);
+            }
+        }
+        /*Copied without holding this lock: a course reports changes while
+        * holding its roster lock, and the listener then waits for this one*/
+        List<List<Student>> rosters = new ArrayList<>(accepted.size());
+        for (Course course : accepted) {
+            rosters.add(course.copyStudents());
+        }
+        synchronized (this) {
+            Version next = version;
+            for (int i = 0; i < accepted.size(); i++) {
+                Course course = accepted.get(i);
+                Roster roster = Roster.of(rosters.get(i));
+                for (Change change : saving.remove(course.getId()).changes()) {
+                    roster = change.applyTo(roster);
+                }
+                next = next.with(Entry.of(course, next.nextSequence(), roster));
+            }
+            version = next;
+        }
+        return saved;
+    }
+
+    /**
+     * Returns the course whose id matches the supplied one, or
+     * {@code null} if no course with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the course with a matching id, or {@code null} if no match is
+     * found
+     */
+    @Override
+    public Course findById(int id) {
+        return courseOf(version.byId().get(id));
+    }
+
+    /**
+     * Looks up every id in {@code ids} in the same version, see
+     * {@link CourseDao#findAllById(int[])}.
+     *
+     * @param ids the ids to search for
+     * @return the course with each id, in the same order
+     */
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        PersistentTree<Entry> byId = version.byId();
+        List<Course> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(courseOf(byId.get(id)));
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        List<Course> found = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (entry.name().equals(name)) {
+                found.add(entry.course());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * start date are found, an empty list is returned instead.
+     *
+     * @param date the date to search for
+     * @return a list of courses with the matching starting date, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        List<Course> found = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (entry.startDate().equals(date)) {
+                found.add(entry.course());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list of course objects whose start date is between the
+     * supplied dates, inclusive at both ends. The list is ordered by start
+     * date, and courses starting on the same date are in order of
+     * insertion. If no courses start within the range, an empty list is
+     * returned instead.
+     *
+     * @param from the earliest start date to include
+     * @param to   the latest start date to include
+     * @return a list of courses starting within the range, or an empty list
+     * if no match is found
+     */
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from may not be after to");
+        }
+        List<Entry> inRange = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (!entry.startDate().isBefore(from) && !entry.startDate().isAfter(to)) {
+                inRange.add(entry);
+            }
+        }
+        return byStartDate(inRange);
+    }
+
+    /**
+     * Returns a list of course objects that are running on the supplied
+     * date, see {@link Course#isActiveOn(LocalDate)}. The list is ordered by
+     * start date, and courses starting on the same date are in order of
+     * insertion. If no courses are running on the date, an empty list is
+     * returned instead.
+     *
+     * @param date the date to check
+     * @return a list of courses running on the date, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+        List<Entry> active = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (entry.isActiveOn(date)) {
+                active.add(entry);
+            }
+        }
+        return byStartDate(active);
+    }
+
+    /**
+     * Returns a list containing all course objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all courses
+     */
+    @Override
+    public List<Course> findAll() {
+        PersistentTree<Entry> bySequence = version.bySequence();
+        List<Course> all = new ArrayList<>(bySequence.size());
+        for (Entry entry : bySequence) {
+            all.add(entry.course());
+        }
+        return all;
+    }
+
+    /**
+     * Returns a list of the courses the supplied student is registered in,
+     * in order of insertion, going by the rosters of the version. If the
+     * student isn't registered in any course, an empty list is returned
+     * instead.
+     *
+     * @param student the student to search for
+     * @return a list of courses the student is registered in, or an empty
+     * list if no match is found
+     */
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        List<Course> found = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (entry.roster().contains(student)) {
+                found.add(entry.course());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the students registered in {@code course} as of the current
+     * version, in order of registration. Unlike
+     * {@link Course#getStudents()} this is safe to call while students are
+     * being registered on other threads, and on a {@link #snapshot()} it
+     * keeps returning the same roster.
+     *
+     * @param course the course whose roster to return
+     * @return the registered students, or an empty list if the course isn't
+     * stored
+     */
+    public List<Student> findRoster(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        Entry entry = version.byId().get(course.getId());
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+        return entry.roster().byOrder().values();
+    }
+
+    /**
+     * Returns a stream of all courses in order of insertion, without
+     * copying them into a list first. The stream goes through the version
+     * that is current when this is called, so writes made while it's
+     * consumed don't affect it.
+     *
+     * @return a stream of all courses
+     */
+    @Override
+    public Stream<Course> stream() {
+        return StreamSupport.stream(version.bySequence().spliterator(), false).map(Entry::course);
+    }
+
+    /**
+     * Returns up to {@code limit} courses in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first course on the page, so saving or removing courses
+     * between calls doesn't shift the pages, and calling this on a
+     * {@link #snapshot()} pages through a single version.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of courses on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Course> items = new ArrayList<>();
+        Iterator<PersistentTree.Node<Entry>> nodes = version.bySequence().nodesFrom(cursor);
+        while (nodes.hasNext()) {
+            PersistentTree.Node<Entry> node = nodes.next();
+            if (items.size() == limit) {
+                return new Page<>(items, node.key());
+            }
+            items.add(node.value().course());
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            checkWritable();
+            return false;
+        }
+        return removeAll(List.of(course))[0];
+    }
+
+    /**
+     * Tries to remove every course in {@code courses}, see
+     * {@link CourseDao#removeAll(Collection)}. The removals are published
+     * together.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        checkWritable();
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        boolean[] removed = new boolean[courses.size()];
+        synchronized (this) {
+            Version next = version;
+            int i = 0;
+            for (Course course : courses) {
+                Entry entry = course == null ? null : next.byId().get(course.getId());
+                if (entry != null) {
+                    next = next.without(entry);
+                    entry.course().removeListener(listener);
+                    removed[i] = true;
+                }
+                i++;
+            }
+            version = next;
+        }
+        return removed;
+    }
+
+    private class Republisher implements CourseListener {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            synchronized (CourseDaoVersioned.this) {
+                Entry entry = storedEntry(course);
+                if (entry != null) {
+                    version = version.with(Entry.of(course, entry.sequence(), entry.roster()));
+                }
+            }
+        }
+
+        @Override
+        public void studentRegistered(Course course, Student student) {
+            synchronized (CourseDaoVersioned.this) {
+                Entry entry = storedEntry(course);
+                if (entry != null) {
+                    version = version.with(entry.withRoster(entry.roster().register(student)));
+                } else {
+                    recordWhileSaving(course, new Change(student, true));
+                }
+            }
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            synchronized (CourseDaoVersioned.this) {
+                Entry entry = storedEntry(course);
+                if (entry != null) {
+                    version = version.with(entry.withRoster(entry.roster().unregister(student)));
+                } else {
+                    recordWhileSaving(course, new Change(student, false));
+                }
+            }
+        }
+    }
+
+    //must hold the lock
+    private Entry storedEntry(Course course) {
+        Entry entry = version.byId().get(course.getId());
+        if (entry == null || entry.course() != course) {
+            return null;
+        }
+        return entry;
+    }
+
+    //must hold the lock
+    private void recordWhileSaving(Course course, Change change) {
+        Saving pending = saving.get(course.getId());
+        if (pending != null && pending.course() == course) {
+            pending.changes().add(change);
+        }
+    }
+
+    private void checkWritable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("snapshots are read only");
+        }
+    }
+
+    private static List<Course> byStartDate(List<Entry> entries) {
+        entries.sort(BY_START_DATE_THEN_INSERTION);
+        List<Course> found = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            found.add(entry.course());
+        }
+        return found;
+    }
+
+    private static Course courseOf(Entry entry) {
+        return entry == null ? null : entry.course();
+    }
+}
@@ -0,0 +1,111 @@
+package data_access_objects;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@link OperationMetrics} of every operation of an
+ * {@link InstrumentedStudentDao} or {@link InstrumentedCourseDao}.
+ *
+ * <p>{@link #registerMBeans(String)} publishes every operation as an MBean
+ * on the platform MBean server, named
+ * {@code data_access_objects:type=<type>,name=<name>,operation=<operation>},
+ * where the type is {@code StudentDao} or {@code CourseDao} and the name
+ * tells instrumented DAOs of the same type apart.</p>
+ */
+public final class DaoMetrics {
+    private static final String DOMAIN = "data_access_objects";
+
+    private final String type;
+    private final Map<String, OperationMetrics> operations = new LinkedHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    DaoMetrics(String type) {
+        this.type = type;
+    }
+
+    //only called while the instrumented DAO is being constructed
+    OperationMetrics operation(String name) {
+        OperationMetrics operation = new OperationMetrics(name);
+        operations.put(name, operation);
+        return operation;
+    }
+
+    /**
+     * Returns the metrics of the operation with the supplied name, which is
+     * the name of the DAO method, or {@code null} if it isn't instrumented.
+     *
+     * @param name the name of the operation
+     * @return the metrics of the operation, or {@code null} if there are
+     * none
+     */
+    public OperationMetrics get(String name) {
+        return operations.get(name);
+    }
+
+    /**
+     * Returns the metrics of every instrumented operation.
+     *
+     * @return the metrics of every operation
+     */
+    public Collection<OperationMetrics> operations() {
+        return Collections.unmodifiableCollection(operations.values());
+    }
+
+    /**
+     * Publishes the metrics of every operation as MBeans on the platform
+     * MBean server.
+     *
+     * @param name the name to tell these metrics apart from the ones of
+     *             other DAOs of the same type
+     * @throws IllegalArgumentException if metrics are already published
+     *                                  under the same name, or the name
+     *                                  isn't valid in an object name
+     * @throws IllegalStateException    if the metrics are already published
+     */
+    public synchronized void registerMBeans(String name) {
+        if (!registered.isEmpty()) {
+            throw new IllegalStateException("the metrics are already registered");
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (OperationMetrics operation : operations.values()) {
+                ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + name
+                        + ",operation=" + operation.name());
+                server.registerMBean(operation, objectName);
+                registered.add(objectName);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            unregisterMBeans();
+            throw new IllegalArgumentException("metrics named " + name + " are already registered", e);
+        } catch (JMException e) {
+            unregisterMBeans();
+            throw new IllegalArgumentException("metrics could not be registered as " + name, e);
+        }
+    }
+
+    /**
+     * Removes the MBeans published by {@link #registerMBeans(String)}. Does
+     * nothing if they aren't published.
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registered) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                //already unregistered by someone else, which is all we wanted
+            }
+        }
+        registered.clear();
+    }
+}
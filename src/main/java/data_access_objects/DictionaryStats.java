@@ -0,0 +1,24 @@
+package data_access_objects;
+
+/**
+ * Counters of a {@link StringDictionary}, for judging whether interning is
+ * worth it for a dataset.
+ *
+ * @param distinct   values held by the dictionary
+ * @param references uses of those values by stored entities
+ * @param savedBytes estimated heap the entities would take up on top of
+ *                   the dictionary if every use held its own copy of the
+ *                   value, assuming compressed references
+ */
+public record DictionaryStats(int distinct, long references, long savedBytes) {
+
+    /**
+     * Returns the average number of uses of every value, or 0 if the
+     * dictionary is empty.
+     *
+     * @return the number of uses per distinct value
+     */
+    public double sharing() {
+        return distinct == 0 ? 0 : (double) references / distinct;
+    }
+}
@@ -0,0 +1,258 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that records the call count, error count and
+ * latencies of every operation of another course DAO, see
+ * {@link DaoMetrics}.
+ *
+ * <p>Every operation is timed the same way as in
+ * {@link InstrumentedStudentDao}. Registering a student is a method of
+ * {@link Course} rather than of the DAO, so it can only be timed when it
+ * goes through {@link #register(Course, Student)}, and is recorded as the
+ * {@code register} operation. {@link #stream()} isn't instrumented. This
+ * DAO is thread safe whenever the other one is.</p>
+ */
+public class InstrumentedCourseDao implements CourseDao {
+    private final CourseDao courseDao;
+    private final DaoMetrics metrics = new DaoMetrics("CourseDao");
+    private final OperationMetrics saveCourseMetrics = metrics.operation("saveCourse");
+    private final OperationMetrics saveAllMetrics = metrics.operation("saveAll");
+    private final OperationMetrics findByIdMetrics = metrics.operation("findById");
+    private final OperationMetrics findAllByIdMetrics = metrics.operation("findAllById");
+    private final OperationMetrics findByNameMetrics = metrics.operation("findByName");
+    private final OperationMetrics findByDateMetrics = metrics.operation("findByDate");
+    private final OperationMetrics findByDateRangeMetrics = metrics.operation("findByDateRange");
+    private final OperationMetrics findActiveOnMetrics = metrics.operation("findActiveOn");
+    private final OperationMetrics findAllMetrics = metrics.operation("findAll");
+    private final OperationMetrics findCoursesForStudentMetrics = metrics.operation("findCoursesForStudent");
+    private final OperationMetrics findPageMetrics = metrics.operation("findPage");
+    private final OperationMetrics removeCourseMetrics = metrics.operation("removeCourse");
+    private final OperationMetrics removeAllMetrics = metrics.operation("removeAll");
+    private final OperationMetrics registerMetrics = metrics.operation("register");
+
+    /**
+     * Creates an instrumented DAO in front of {@code courseDao}.
+     *
+     * @param courseDao the DAO to instrument
+     */
+    public InstrumentedCourseDao(CourseDao courseDao) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        this.courseDao = courseDao;
+    }
+
+    /**
+     * Returns the metrics of every operation, which can also be published
+     * through JMX, see {@link DaoMetrics#registerMBeans(String)}.
+     *
+     * @return the metrics of this DAO
+     */
+    public DaoMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public Course saveCourse(Course course) {
+        long start = System.nanoTime();
+        try {
+            Course result = courseDao.saveCourse(course);
+            saveCourseMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            saveCourseMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.saveAll(courses);
+            saveAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            saveAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Course findById(int id) {
+        long start = System.nanoTime();
+        try {
+            Course result = courseDao.findById(id);
+            findByIdMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByIdMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findAllById(ids);
+            findAllByIdMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findAllByIdMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findByName(String name) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findByName(name);
+            findByNameMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByNameMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findByDate(date);
+            findByDateMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByDateMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findByDateRange(from, to);
+            findByDateRangeMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByDateRangeMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findActiveOn(date);
+            findActiveOnMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findActiveOnMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findAll() {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findAll();
+            findAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            List<Course> result = courseDao.findCoursesForStudent(student);
+            findCoursesForStudentMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findCoursesForStudentMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            Page<Course> result = courseDao.findPage(cursor, limit);
+            findPageMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findPageMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeCourse(Course course) {
+        long start = System.nanoTime();
+        try {
+            boolean result = courseDao.removeCourse(course);
+            removeCourseMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            removeCourseMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        long start = System.nanoTime();
+        try {
+            boolean[] result = courseDao.removeAll(courses);
+            removeAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            removeAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Course> stream() {
+        return courseDao.stream();
+    }
+
+    /**
+     * Registers {@code student} in {@code course}, see
+     * {@link Course#register(Student)}, and records how long it took,
+     * including updating the indexes of the other DAO.
+     *
+     * @param course  the course to register the student in
+     * @param student the student to register
+     */
+    public void register(Course course, Student student) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        long start = System.nanoTime();
+        try {
+            course.register(student);
+            registerMetrics.record(start);
+        } catch (RuntimeException e) {
+            registerMetrics.recordError(start);
+            throw e;
+        }
+    }
+}
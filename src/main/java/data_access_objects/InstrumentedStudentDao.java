@@ -0,0 +1,204 @@
+package data_access_objects;
+
+import model.Student;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentDao} that records the call count, error count and
+ * latencies of every operation of another student DAO, see
+ * {@link DaoMetrics}.
+ *
+ * <p>Every operation is timed with two calls to {@link System#nanoTime()}
+ * and recorded in a lock-free {@link LatencyHistogram}, which adds well
+ * under a microsecond to each call and doesn't allocate. {@link #stream()}
+ * isn't instrumented, since the work happens after it returns. This DAO is
+ * thread safe whenever the other one is.</p>
+ */
+public class InstrumentedStudentDao implements StudentDao {
+    private final StudentDao studentDao;
+    private final DaoMetrics metrics = new DaoMetrics("StudentDao");
+    private final OperationMetrics saveStudentMetrics = metrics.operation("saveStudent");
+    private final OperationMetrics saveAllMetrics = metrics.operation("saveAll");
+    private final OperationMetrics findByEmailMetrics = metrics.operation("findByEmail");
+    private final OperationMetrics findByNameMetrics = metrics.operation("findByName");
+    private final OperationMetrics findByNamePrefixMetrics = metrics.operation("findByNamePrefix");
+    private final OperationMetrics findByIdMetrics = metrics.operation("findById");
+    private final OperationMetrics findAllByIdMetrics = metrics.operation("findAllById");
+    private final OperationMetrics findAllMetrics = metrics.operation("findAll");
+    private final OperationMetrics findPageMetrics = metrics.operation("findPage");
+    private final OperationMetrics deleteStudentMetrics = metrics.operation("deleteStudent");
+    private final OperationMetrics deleteAllMetrics = metrics.operation("deleteAll");
+
+    /**
+     * Creates an instrumented DAO in front of {@code studentDao}.
+     *
+     * @param studentDao the DAO to instrument
+     */
+    public InstrumentedStudentDao(StudentDao studentDao) {
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        this.studentDao = studentDao;
+    }
+
+    /**
+     * Returns the metrics of every operation, which can also be published
+     * through JMX, see {@link DaoMetrics#registerMBeans(String)}.
+     *
+     * @return the metrics of this DAO
+     */
+    public DaoMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public Student saveStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            Student result = studentDao.saveStudent(student);
+            saveStudentMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            saveStudentMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        long start = System.nanoTime();
+        try {
+            List<Student> result = studentDao.saveAll(students);
+            saveAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            saveAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Student findByEmail(String email) {
+        long start = System.nanoTime();
+        try {
+            Student result = studentDao.findByEmail(email);
+            findByEmailMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByEmailMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> findByName(String name) {
+        long start = System.nanoTime();
+        try {
+            List<Student> result = studentDao.findByName(name);
+            findByNameMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByNameMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<Student> result = studentDao.findByNamePrefix(prefix, limit);
+            findByNamePrefixMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByNamePrefixMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Student findById(int id) {
+        long start = System.nanoTime();
+        try {
+            Student result = studentDao.findById(id);
+            findByIdMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findByIdMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> findAllById(int[] ids) {
+        long start = System.nanoTime();
+        try {
+            List<Student> result = studentDao.findAllById(ids);
+            findAllByIdMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findAllByIdMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> findAll() {
+        long start = System.nanoTime();
+        try {
+            List<Student> result = studentDao.findAll();
+            findAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            Page<Student> result = studentDao.findPage(cursor, limit);
+            findPageMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            findPageMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            boolean result = studentDao.deleteStudent(student);
+            deleteStudentMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            deleteStudentMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean[] deleteAll(Collection<Student> students) {
+        long start = System.nanoTime();
+        try {
+            boolean[] result = studentDao.deleteAll(students);
+            deleteAllMetrics.record(start);
+            return result;
+        } catch (RuntimeException e) {
+            deleteAllMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Student> stream() {
+        return studentDao.stream();
+    }
+}
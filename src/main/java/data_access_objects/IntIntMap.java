@@ -0,0 +1,240 @@
+package data_access_objects;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} keys to {@code int} values.
+ *
+ * <p>Keys and values are stored in plain {@code int} arrays with linear
+ * probing, so unlike a {@code Map<Integer, Integer>} nothing is boxed and
+ * {@link #get(int)}, {@link #put(int, int)} and {@link #remove(int)} don't
+ * allocate unless the map has to grow. Removal uses backward shift
+ * deletion, so there are no tombstones to slow down later lookups.</p>
+ *
+ * <p>Key {@code 0} marks a free slot in the key array, so it's kept in a
+ * separate field instead. The key array stops growing at 2<sup>30</sup>
+ * slots, after which {@link #put(int, int)} throws
+ * {@link IllegalStateException} for new keys once the map is three
+ * quarters full. Not thread safe.</p>
+ */
+final class IntIntMap {
+    /**
+     * Returned by {@link #get(int)}, {@link #put(int, int)} and
+     * {@link #remove(int)} when the key isn't in the map.
+     */
+    static final int MISSING = -1;
+
+    private static final int FREE_KEY = 0;
+    private static final int MIN_CAPACITY = 16;
+    //the largest power of two an int array length can be
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map should be able to
+     *                     hold without growing
+     */
+    IntIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be >= 0");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Returns the value of {@code key}, or {@link #MISSING} if the key isn't
+     * in the map.
+     */
+    int get(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : MISSING;
+        }
+        int slot = slotOf(key);
+        while (true) {
+            int candidate = keys[slot];
+            if (candidate == key) {
+                return values[slot];
+            }
+            if (candidate == FREE_KEY) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, which must not be
+     * {@link #MISSING}.
+     *
+     * @return the previous value of {@code key}, or {@link #MISSING} if the
+     * key wasn't in the map
+     */
+    int put(int key, int value) {
+        if (value == MISSING) {
+            throw new IllegalArgumentException("value may not be " + MISSING);
+        }
+        if (key == FREE_KEY) {
+            int previous = hasFreeKey ? freeKeyValue : MISSING;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return previous;
+        }
+
+        int slot = slotOf(key);
+        while (true) {
+            int candidate = keys[slot];
+            if (candidate == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (candidate == FREE_KEY) {
+                if (size == resizeAt && keys.length == MAX_CAPACITY) {
+                    throw new IllegalStateException("map is full at " + size + " entries");
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeAt) {
+                    rehash(keys.length * 2);
+                }
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes {@code key} from the map.
+     *
+     * @return the value {@code key} had, or {@link #MISSING} if the key
+     * wasn't in the map
+     */
+    int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return MISSING;
+            }
+            hasFreeKey = false;
+            size--;
+            return freeKeyValue;
+        }
+
+        int slot = slotOf(key);
+        while (true) {
+            int candidate = keys[slot];
+            if (candidate == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            if (candidate == FREE_KEY) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Grows the map if needed so that it can hold {@code expectedSize}
+     * entries without growing again.
+     */
+    void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasFreeKey = false;
+        size = 0;
+    }
+
+    /*Moves entries that probed past the freed slot back into it, so that
+    * every remaining key can still be reached from its home slot without
+    * passing a free slot*/
+    private void shiftBack(int freed) {
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == FREE_KEY) {
+                keys[freed] = FREE_KEY;
+                return;
+            }
+            int home = slotOf(key);
+            boolean movable = freed <= slot
+                    ? home <= freed || home > slot
+                    : home <= freed && home > slot;
+            if (movable) {
+                keys[freed] = key;
+                values[freed] = values[slot];
+                freed = slot;
+            }
+        }
+    }
+
+    private int slotOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = hasFreeKey ? 1 : 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            int key = oldKeys[slot];
+            if (key != FREE_KEY) {
+                int target = slotOf(key);
+                while (keys[target] != FREE_KEY) {
+                    target = (target + 1) & mask;
+                }
+                keys[target] = key;
+                values[target] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity / 4 * 3;
+    }
+
+    //load factor 0.75, rounded up to a power of two for the mask
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / 0.75) + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize is too large");
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
@@ -0,0 +1,260 @@
+package data_access_objects;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that interns the names of courses in a
+ * {@link StringDictionary} in front of another course DAO, so that courses
+ * with equal names share a single {@link String}. Works the same way as
+ * {@link InterningStudentDao}: names are replaced by their canonical
+ * instance on save and after every change made through
+ * {@link Course#setCourseName(String)} to a stored course, and
+ * {@link #findByName(String)} only asks the other DAO for names in the
+ * dictionary, passing on their canonical instance.
+ *
+ * <p>Courses must only be saved and removed through this DAO once it's in
+ * front of the other one. This DAO is thread safe whenever the other one
+ * is.</p>
+ */
+public class InterningCourseDao implements CourseDao {
+    private final CourseDao courseDao;
+    private final StringDictionary dictionary;
+    private final CourseListener listener = this::reintern;
+
+    /**
+     * Creates an interning DAO in front of {@code courseDao}.
+     *
+     * @param courseDao  the DAO to store the courses in
+     * @param dictionary the dictionary to intern course names in, which may
+     *                   be shared with other DAOs
+     */
+    public InterningCourseDao(CourseDao courseDao, StringDictionary dictionary) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary may not be null");
+        }
+        this.courseDao = courseDao;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        intern(course);
+        Course saved = courseDao.saveCourse(course);
+        track(course, saved != null);
+        return saved;
+    }
+
+    /**
+     * Tries to save every course in {@code courses} through a single call
+     * to the other DAO, see {@link CourseDao#saveAll(Collection)}.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("courses may not contain null");
+            }
+        }
+        for (Course course : courses) {
+            intern(course);
+        }
+        List<Course> saved = courseDao.saveAll(courses);
+        Iterator<Course> iterator = courses.iterator();
+        for (Course result : saved) {
+            track(iterator.next(), result != null);
+        }
+        return saved;
+    }
+
+    @Override
+    public Course findById(int id) {
+        return courseDao.findById(id);
+    }
+
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        return courseDao.findAllById(ids);
+    }
+
+    /**
+     * Returns a list of course objects whose name matches the
+     * supplied one, in order of insertion. If no courses with a matching
+     * name are found, an empty list is returned instead. Names that aren't
+     * in the dictionary are answered without asking the other DAO.
+     *
+     * @param name the name to search for
+     * @return a list of courses with the matching name, or an empty list if no
+     * match is found
+     */
+    @Override
+    public List<Course> findByName(String name) {
+        String canonical = dictionary.lookUp(name);
+        if (canonical == null) {
+            return new ArrayList<>();
+        }
+        return courseDao.findByName(canonical);
+    }
+
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return courseDao.findByDate(date);
+    }
+
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        return courseDao.findByDateRange(from, to);
+    }
+
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        return courseDao.findActiveOn(date);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return courseDao.findAll();
+    }
+
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        return courseDao.findCoursesForStudent(student);
+    }
+
+    @Override
+    public Stream<Course> stream() {
+        return courseDao.stream();
+    }
+
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        return courseDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        //the stored instance holds the interned name, which may not be the supplied one
+        Course stored = courseDao.findById(course.getId());
+        if (!courseDao.removeCourse(course)) {
+            return false;
+        }
+        if (stored != null) {
+            forget(stored);
+        }
+        return true;
+    }
+
+    /**
+     * Tries to remove every course in {@code courses} through a single
+     * call to the other DAO, see {@link CourseDao#removeAll(Collection)}.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        List<Course> stored = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            stored.add(course == null ? null : courseDao.findById(course.getId()));
+        }
+        boolean[] removed = courseDao.removeAll(courses);
+        for (int i = 0; i < removed.length; i++) {
+            if (removed[i] && stored.get(i) != null) {
+                forget(stored.get(i));
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the counters of the dictionary, which include the values of
+     * every DAO sharing it.
+     *
+     * @return the counters of the dictionary
+     */
+    public DictionaryStats dictionaryStats() {
+        return dictionary.stats();
+    }
+
+    private void intern(Course course) {
+        String name = dictionary.intern(course.getCourseName());
+        if (course.getCourseName() != name) {
+            course.setCourseName(name);
+        }
+    }
+
+    //starts listening to a saved course, or releases the name of one that wasn't saved
+    private void track(Course course, boolean saved) {
+        if (saved) {
+            course.addListener(listener);
+        } else {
+            dictionary.release(course.getCourseName());
+        }
+    }
+
+    private void forget(Course course) {
+        course.removeListener(listener);
+        dictionary.release(course.getCourseName());
+    }
+
+    private void reintern(Course course, Course.Property property, Object oldValue) {
+        if (property != Course.Property.COURSE_NAME) {
+            return;
+        }
+        String name = course.getCourseName();
+        String canonical;
+        if (name.equals(oldValue)) {
+            //the name was set to an equal one, such as its canonical instance below
+            canonical = dictionary.lookUp(name);
+        } else {
+            dictionary.release((String) oldValue);
+            canonical = dictionary.intern(name);
+        }
+        if (canonical != null && canonical != name) {
+            course.setCourseName(canonical);
+        }
+    }
+}
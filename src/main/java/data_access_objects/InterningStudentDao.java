@@ -0,0 +1,272 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentDao} that interns the names and addresses of students in
+ * a {@link StringDictionary} in front of another student DAO, so that
+ * students with equal names or addresses share a single {@link String}.
+ *
+ * <p>Names and addresses are replaced by their canonical instance when a
+ * student is saved, and again after every change made through
+ * {@link Student#setName(String)} and {@link Student#setAddress(String)}
+ * to a stored student. Replacing a value sets it on the student, so
+ * listeners of the student are notified a second time, with an old value
+ * equal to the new one. Emails are unique to a student and aren't
+ * interned.</p>
+ *
+ * <p>{@link #findByName(String)} answers names that aren't in the
+ * dictionary without asking the other DAO, since no stored student can
+ * have them. Other names are passed on as their canonical instance, which
+ * is the name of every matching student, so a DAO that scans with
+ * {@link String#equals(Object)} gets its answer from the reference check
+ * for every match, and a DAO with a name index still uses it. Every other
+ * lookup is passed straight on to the other DAO.</p>
+ *
+ * <p>Students must only be saved and deleted through this DAO once it's
+ * in front of the other one, otherwise their values are never interned or
+ * never released. This DAO is thread safe whenever the other one is.</p>
+ */
+public class InterningStudentDao implements StudentDao {
+    private final StudentDao studentDao;
+    private final StringDictionary dictionary;
+    private final StudentListener listener = this::reintern;
+
+    /**
+     * Creates an interning DAO in front of {@code studentDao}.
+     *
+     * @param studentDao the DAO to store the students in
+     * @param dictionary the dictionary to intern names and addresses in,
+     *                   which may be shared with other DAOs
+     */
+    public InterningStudentDao(StudentDao studentDao, StringDictionary dictionary) {
+        if (studentDao == null) {
+            throw new IllegalArgumentException("studentDao may not be null");
+        }
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary may not be null");
+        }
+        this.studentDao = studentDao;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        intern(student);
+        Student saved = studentDao.saveStudent(student);
+        track(student, saved != null);
+        return saved;
+    }
+
+    /**
+     * Tries to save every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#saveAll(Collection)}.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("students may not contain null");
+            }
+        }
+        for (Student student : students) {
+            intern(student);
+        }
+        List<Student> saved = studentDao.saveAll(students);
+        Iterator<Student> iterator = students.iterator();
+        for (Student result : saved) {
+            track(iterator.next(), result != null);
+        }
+        return saved;
+    }
+
+    @Override
+    public Student findByEmail(String email) {
+        return studentDao.findByEmail(email);
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead. Names that aren't
+     * in the dictionary are answered without asking the other DAO.
+     * Other names aren't scanned for by reference here, which would give
+     * up the name index of a DAO that has one, and for one that scans
+     * costs more to stream through than its own scan saves.
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        String canonical = dictionary.lookUp(name);
+        if (canonical == null) {
+            return new ArrayList<>();
+        }
+        return studentDao.findByName(canonical);
+    }
+
+    @Override
+    public Student findById(int id) {
+        return studentDao.findById(id);
+    }
+
+    @Override
+    public List<Student> findAllById(int[] ids) {
+        return studentDao.findAllById(ids);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return studentDao.findAll();
+    }
+
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        return studentDao.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public Stream<Student> stream() {
+        return studentDao.stream();
+    }
+
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        return studentDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        //the stored instance holds the interned values, which may not be the supplied one
+        Student stored = studentDao.findById(student.getId());
+        if (!studentDao.deleteStudent(student)) {
+            return false;
+        }
+        if (stored != null) {
+            forget(stored);
+        }
+        return true;
+    }
+
+    /**
+     * Tries to remove every student in {@code students} through a single
+     * call to the other DAO, see {@link StudentDao#deleteAll(Collection)}.
+     *
+     * @param students the students to remove
+     * @return whether each student was removed, in the same order
+     */
+    @Override
+    public boolean[] deleteAll(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        List<Student> stored = new ArrayList<>(students.size());
+        for (Student student : students) {
+            stored.add(student == null ? null : studentDao.findById(student.getId()));
+        }
+        boolean[] deleted = studentDao.deleteAll(students);
+        for (int i = 0; i < deleted.length; i++) {
+            if (deleted[i] && stored.get(i) != null) {
+                forget(stored.get(i));
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the counters of the dictionary, which include the values of
+     * every DAO sharing it.
+     *
+     * @return the counters of the dictionary
+     */
+    public DictionaryStats dictionaryStats() {
+        return dictionary.stats();
+    }
+
+    private void intern(Student student) {
+        String name = dictionary.intern(student.getName());
+        String address = dictionary.intern(student.getAddress());
+        if (student.getName() != name) {
+            student.setName(name);
+        }
+        if (student.getAddress() != address) {
+            student.setAddress(address);
+        }
+    }
+
+    //starts listening to a saved student, or releases the values of one that wasn't saved
+    private void track(Student student, boolean saved) {
+        if (saved) {
+            student.addListener(listener);
+        } else {
+            dictionary.release(student.getName());
+            dictionary.release(student.getAddress());
+        }
+    }
+
+    private void forget(Student student) {
+        student.removeListener(listener);
+        dictionary.release(student.getName());
+        dictionary.release(student.getAddress());
+    }
+
+    private void reintern(Student student, Student.Property property, String oldValue) {
+        if (property == Student.Property.EMAIL) {
+            return;
+        }
+        String value = property == Student.Property.NAME ? student.getName() : student.getAddress();
+        String canonical;
+        if (value.equals(oldValue)) {
+            //the value was set to an equal one, such as its canonical instance below
+            canonical = dictionary.lookUp(value);
+        } else {
+            dictionary.release(oldValue);
+            canonical = dictionary.intern(value);
+        }
+        if (canonical == null || canonical == value) {
+            return;
+        }
+        if (property == Student.Property.NAME) {
+            student.setName(canonical);
+        } else {
+            student.setAddress(canonical);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package data_access_objects;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*Bounded cache that evicts the least recently used entry, for the caching
+* DAOs. A LinkedHashMap in access order keeps the entries ordered from least
+* to most recently used, so every operation is a hash lookup plus relinking
+* one entry.
+*
+* Every method locks the cache. Looking up a value that isn't cached and
+* putting it afterwards isn't atomic, so an invalidation may happen in
+* between, and putting would then cache a value that is already stale. To
+* prevent that the cache counts invalidations, and put only succeeds if
+* there haven't been any since the caller read version() before looking
+* the value up*/
+final class LruCache<K, V> {
+    private final int capacity;
+    private final Consumer<V> onAdd;
+    private final Consumer<V> onRemove;
+    private final LinkedHashMap<K, V> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    //onAdd and onRemove are called with the lock held whenever a value enters or leaves the cache
+    LruCache(int capacity, Consumer<V> onAdd, Consumer<V> onRemove) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        this.capacity = capacity;
+        this.onAdd = onAdd;
+        this.onRemove = onRemove;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    //returns the cached value, or null if there is none
+    synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    //returns false without caching the value if anything was invalidated since version was read
+    synchronized boolean put(K key, V value, long version) {
+        if (this.version != version) {
+            return false;
+        }
+        V previous = entries.put(key, value);
+        if (previous != value) {
+            if (previous != null) {
+                onRemove.accept(previous);
+            }
+            onAdd.accept(value);
+        }
+        if (entries.size() > capacity) {
+            Iterator<V> eldest = entries.values().iterator();
+            V evicted = eldest.next();
+            eldest.remove();
+            evictions++;
+            onRemove.accept(evicted);
+        }
+        return true;
+    }
+
+    //returns the value that was cached, or null if there was none
+    synchronized V invalidate(K key) {
+        version++;
+        V removed = entries.remove(key);
+        if (removed != null) {
+            onRemove.accept(removed);
+        }
+        return removed;
+    }
+
+    synchronized void invalidateAll() {
+        version++;
+        for (V value : entries.values()) {
+            onRemove.accept(value);
+        }
+        entries.clear();
+    }
+
+    synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), capacity);
+    }
+
+    //for tests
+    synchronized Map<K, V> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+}
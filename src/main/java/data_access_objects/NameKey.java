@@ -0,0 +1,51 @@
+package data_access_objects;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.Locale;
+
+/*Key of the name prefix indexes: a normalized name followed by the sequence
+* number of the student, so that a sorted map of keys keeps students with
+* the same name in order of insertion and every key is unique without
+* needing a bucket per name*/
+record NameKey(String name, long sequence) implements Comparable<NameKey> {
+    private static final Comparator<NameKey> ORDER = Comparator.comparing(NameKey::name)
+            .thenComparingLong(NameKey::sequence);
+
+    static NameKey of(String name, long sequence) {
+        return new NameKey(normalize(name), sequence);
+    }
+
+    //the smallest key whose name starts with the already normalized prefix
+    static NameKey first(String normalizedPrefix) {
+        return new NameKey(normalizedPrefix, Long.MIN_VALUE);
+    }
+
+    /*Compatibility composition folds look-alike characters, such as
+    * full-width letters, into one form before lower casing. Leading
+    * whitespace is dropped, trailing whitespace isn't since it matters to
+    * a prefix that is still being typed*/
+    static String normalize(String name) {
+        return Normalizer.normalize(name.stripLeading(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    //validates the arguments of StudentDao.findByNamePrefix and returns the normalized prefix
+    static String checkPrefix(String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("prefix may not be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1");
+        }
+        return normalize(prefix);
+    }
+
+    boolean startsWith(String normalizedPrefix) {
+        return name.startsWith(normalizedPrefix);
+    }
+
+    @Override
+    public int compareTo(NameKey other) {
+        return ORDER.compare(this, other);
+    }
+}
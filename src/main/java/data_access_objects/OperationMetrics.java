@@ -0,0 +1,84 @@
+package data_access_objects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latencies of one operation of an
+ * {@link InstrumentedStudentDao} or {@link InstrumentedCourseDao}. A call
+ * counts as an error if it throws, and its latency is counted either way.
+ */
+public final class OperationMetrics implements OperationMetricsMBean {
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    //counts a call that returned, startNanos is the System.nanoTime() from before the call
+    void record(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+    }
+
+    //counts a call that threw
+    void recordError(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    /**
+     * Returns the name of the operation, which is the name of the DAO
+     * method.
+     *
+     * @return the name of the operation
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the latencies of every call so far, including the ones that
+     * threw.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    @Override
+    public long getCalls() {
+        return latencies.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        return latencies.mean();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latencies.percentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latencies.percentile(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return latencies.percentile(99.9);
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return latencies.max();
+    }
+}
@@ -0,0 +1,16 @@
+package data_access_objects;
+
+/**
+ * Management interface of {@link OperationMetrics}, which is how the
+ * metrics of a DAO operation show up in JMX. Latencies are in
+ * nanoseconds.
+ */
+public interface OperationMetricsMBean {
+    long getCalls();
+    long getErrors();
+    double getMeanNanos();
+    long getP50Nanos();
+    long getP99Nanos();
+    long getP999Nanos();
+    long getMaxNanos();
+}
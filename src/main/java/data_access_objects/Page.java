@@ -0,0 +1,51 @@
+package data_access_objects;
+
+import java.util.List;
+
+/**
+ * One page of a paginated lookup, see {@link StudentDao#findPage(long, int)}
+ * and {@link CourseDao#findPage(long, int)}.
+ *
+ * <p>The cursor is opaque and only means something to the DAO that
+ * returned it: pass {@link #FIRST} for the first page, and then the
+ * {@link #nextCursor()} of the previous page until {@link #hasNext()}
+ * returns {@code false}.</p>
+ *
+ * @param items      the entities on the page, in order of insertion
+ * @param nextCursor the cursor of the next page, or {@link #END} if this is
+ *                   the last page
+ * @param <T>        the type of entity on the page
+ */
+public record Page<T>(List<T> items, long nextCursor) {
+    /**
+     * The cursor of the first page.
+     */
+    public static final long FIRST = 0;
+    /**
+     * The next cursor of the last page.
+     */
+    public static final long END = -1;
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != END;
+    }
+
+    /**
+     * Checks the arguments of a {@code findPage} call.
+     *
+     * @param cursor the cursor of the requested page
+     * @param limit  the maximum number of entities on the page
+     */
+    static void checkArguments(long cursor, int limit) {
+        if (cursor < 0) {
+            throw new IllegalArgumentException("cursor must be >= 0");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1");
+        }
+    }
+}
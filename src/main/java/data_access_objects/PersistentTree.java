@@ -0,0 +1,202 @@
+package data_access_objects;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*Immutable sorted map from long keys to values, as an AVL tree. Every
+* change returns a new tree that shares every node off the path to the
+* changed key with the old one, so a change costs O(log n) new nodes and
+* any older tree stays valid and unchanged for as long as someone holds it.
+* Used by the versioned DAOs, whose snapshots are nothing but a reference
+* to the trees of a version*/
+final class PersistentTree<V> implements Iterable<V> {
+    private static final PersistentTree<?> EMPTY = new PersistentTree<>(null);
+
+    private final Node<V> root;
+
+    record Node<V>(long key, V value, Node<V> left, Node<V> right, int height, int size) {
+    }
+
+    private PersistentTree(Node<V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentTree<V> empty() {
+        return (PersistentTree<V>) EMPTY;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    //the value of key, or null if there is none
+    V get(long key) {
+        Node<V> node = root;
+        while (node != null) {
+            if (key < node.key()) {
+                node = node.left();
+            } else if (key > node.key()) {
+                node = node.right();
+            } else {
+                return node.value();
+            }
+        }
+        return null;
+    }
+
+    PersistentTree<V> put(long key, V value) {
+        return new PersistentTree<>(put(root, key, value));
+    }
+
+    //returns this tree if it doesn't hold key
+    PersistentTree<V> remove(long key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return new PersistentTree<>(remove(root, key));
+    }
+
+    List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        for (V value : this) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        Iterator<Node<V>> nodes = nodesFrom(Long.MIN_VALUE);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public V next() {
+                return nodes.next().value();
+            }
+        };
+    }
+
+    //the nodes with a key of at least from, in order of key
+    Iterator<Node<V>> nodesFrom(long from) {
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        while (node != null) {
+            if (node.key() >= from) {
+                path.push(node);
+                node = node.left();
+            } else {
+                node = node.right();
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Node<V> next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<V> next = path.pop();
+                for (Node<V> left = next.right(); left != null; left = left.left()) {
+                    path.push(left);
+                }
+                return next;
+            }
+        };
+    }
+
+    private static <V> Node<V> put(Node<V> node, long key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null, 1, 1);
+        }
+        if (key < node.key()) {
+            return balance(node.key(), node.value(), put(node.left(), key, value), node.right());
+        }
+        if (key > node.key()) {
+            return balance(node.key(), node.value(), node.left(), put(node.right(), key, value));
+        }
+        return new Node<>(key, value, node.left(), node.right(), node.height(), node.size());
+    }
+
+    private static <V> Node<V> remove(Node<V> node, long key) {
+        if (key < node.key()) {
+            return balance(node.key(), node.value(), remove(node.left(), key), node.right());
+        }
+        if (key > node.key()) {
+            return balance(node.key(), node.value(), node.left(), remove(node.right(), key));
+        }
+        if (node.left() == null) {
+            return node.right();
+        }
+        if (node.right() == null) {
+            return node.left();
+        }
+        Node<V> successor = node.right();
+        while (successor.left() != null) {
+            successor = successor.left();
+        }
+        return balance(successor.key(), successor.value(), node.left(), remove(node.right(), successor.key()));
+    }
+
+    private static <V> Node<V> balance(long key, V value, Node<V> left, Node<V> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left()) < height(left.right())) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(key, value, left, right);
+        }
+        if (difference < -1) {
+            if (height(right.right()) < height(right.left())) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return node(key, value, left, right);
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        return rotateLeft(node.key(), node.value(), node.left(), node.right());
+    }
+
+    private static <V> Node<V> rotateLeft(long key, V value, Node<V> left, Node<V> right) {
+        return node(right.key(), right.value(), node(key, value, left, right.left()), right.right());
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        return rotateRight(node.key(), node.value(), node.left(), node.right());
+    }
+
+    private static <V> Node<V> rotateRight(long key, V value, Node<V> left, Node<V> right) {
+        return node(left.key(), left.value(), left.left(), node(key, value, left.right(), right));
+    }
+
+    private static <V> Node<V> node(long key, V value, Node<V> left, Node<V> right) {
+        return new Node<>(key, value, left, right, 1 + Math.max(height(left), height(right)),
+                1 + size(left) + size(right));
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height();
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size();
+    }
+}
@@ -0,0 +1,314 @@
+package data_access_objects;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*Entities partitioned by a hash of their id over independent shards, for
+* StudentDaoSharded and CourseDaoSharded.
+*
+* Every shard has its own read-write lock, so work on different shards never
+* contends. Entities are given a sequence number from a counter shared by
+* all shards while the lock of their shard is held, so the insertion order
+* of every shard's LinkedHashMap is sorted by sequence number, and
+* concatenating what the shards found and sorting it by sequence number
+* gives order of insertion. The TreeMap by sequence number is only there
+* for finding where a page starts*/
+final class Shards<T> {
+    private static final Comparator<Entry<?>> BY_SEQUENCE = Comparator.comparingLong(Entry::sequence);
+    //entries read from a shard at a time by stream
+    private static final int STREAM_BATCH = 256;
+
+    private final Shard<T>[] shards;
+    private final ToIntFunction<T> idOf;
+    private final ForkJoinPool pool;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    record Entry<T>(T entity, long sequence) {
+    }
+
+    private static final class Shard<T> {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, Entry<T>> byId = new LinkedHashMap<>();
+        private final NavigableMap<Long, Entry<T>> bySequence = new TreeMap<>();
+    }
+
+    Shards(int count, ToIntFunction<T> idOf, ForkJoinPool pool) {
+        if (count < 1) {
+            throw new IllegalArgumentException("shards must be >= 1");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool may not be null");
+        }
+        @SuppressWarnings("unchecked")
+        Shard<T>[] shards = (Shard<T>[]) new Shard<?>[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard<>();
+        }
+        this.shards = shards;
+        this.idOf = idOf;
+        this.pool = pool;
+    }
+
+    int count() {
+        return shards.length;
+    }
+
+    //false if an entity with the same id is already stored
+    boolean add(T entity) {
+        int id = idOf.applyAsInt(entity);
+        Shard<T> shard = shardOf(id);
+        shard.lock.writeLock().lock();
+        try {
+            if (shard.byId.containsKey(id)) {
+                return false;
+            }
+            Entry<T> entry = new Entry<>(entity, nextSequence.getAndIncrement());
+            shard.byId.put(id, entry);
+            shard.bySequence.put(entry.sequence(), entry);
+            return true;
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    T get(int id) {
+        Shard<T> shard = shardOf(id);
+        shard.lock.readLock().lock();
+        try {
+            Entry<T> entry = shard.byId.get(id);
+            return entry == null ? null : entry.entity();
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    //the removed entity, or null if there is none with the id
+    T remove(int id) {
+        Shard<T> shard = shardOf(id);
+        shard.lock.writeLock().lock();
+        try {
+            Entry<T> entry = shard.byId.remove(id);
+            if (entry == null) {
+                return null;
+            }
+            shard.bySequence.remove(entry.sequence());
+            return entry.entity();
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    //every matching entity in order of insertion, every shard filtered in parallel
+    List<T> filter(Predicate<T> predicate) {
+        List<Entry<T>> found = merge(fanOut(shard -> {
+            List<Entry<T>> matches = new ArrayList<>();
+            for (Entry<T> entry : shard.byId.values()) {
+                if (predicate.test(entry.entity())) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }));
+        return entities(found);
+    }
+
+    //the first matching entity by order of insertion, or null if none matches
+    T findFirst(Predicate<T> predicate) {
+        Entry<T> first = null;
+        for (Entry<T> entry : fanOut(shard -> {
+            for (Entry<T> candidate : shard.byId.values()) {
+                if (predicate.test(candidate.entity())) {
+                    return candidate;
+                }
+            }
+            return null;
+        })) {
+            if (entry != null && (first == null || entry.sequence() < first.sequence())) {
+                first = entry;
+            }
+        }
+        return first == null ? null : first.entity();
+    }
+
+    //up to limit entries in order of insertion, starting at sequence number from
+    List<Entry<T>> page(long from, int limit) {
+        List<Entry<T>> found = merge(fanOut(shard -> {
+            List<Entry<T>> candidates = new ArrayList<>(limit);
+            for (Entry<T> entry : shard.bySequence.tailMap(from, true).values()) {
+                if (candidates.size() == limit) {
+                    break;
+                }
+                candidates.add(entry);
+            }
+            return candidates;
+        }));
+        return found.size() <= limit ? found : found.subList(0, limit);
+    }
+
+    /*Every entity in order of insertion, merging the shards as the stream is
+    * consumed instead of copying every entity into a list first. Entities
+    * saved while streaming always come after the ones already streamed, so
+    * the order holds, but like filter the stream may or may not reflect
+    * changes made while it's consumed*/
+    Stream<T> stream() {
+        return StreamSupport.stream(new MergingSpliterator(), false);
+    }
+
+    /*Runs the task once per shard on the pool, holding the read lock of the
+    * shard it's running for, and returns the results in shard order*/
+    private <R> List<R> fanOut(Function<Shard<T>, R> task) {
+        if (shards.length == 1) {
+            //nothing to run in parallel with, so skip the round trip through the pool
+            return Collections.singletonList(readLocked(shards[0], task));
+        }
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(shards.length);
+        for (Shard<T> shard : shards) {
+            tasks.add(ForkJoinTask.adapt(() -> readLocked(shard, task)));
+        }
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+            List<R> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<R> shardTask : tasks) {
+                results.add(shardTask.join());
+            }
+            return results;
+        }));
+    }
+
+    private static <T, R> R readLocked(Shard<T> shard, Function<Shard<T>, R> task) {
+        shard.lock.readLock().lock();
+        try {
+            return task.apply(shard);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    /*The sort is a TimSort, which finds the already sorted run of every
+    * shard and merges them, instead of sorting from scratch*/
+    private static <T> List<Entry<T>> merge(List<List<Entry<T>>> perShard) {
+        int size = 0;
+        int nonEmpty = 0;
+        List<Entry<T>> last = null;
+        for (List<Entry<T>> entries : perShard) {
+            size += entries.size();
+            if (!entries.isEmpty()) {
+                nonEmpty++;
+                last = entries;
+            }
+        }
+        if (nonEmpty <= 1) {
+            //already sorted, common for lookups that few entities match
+            return last == null ? new ArrayList<>() : last;
+        }
+        List<Entry<T>> merged = new ArrayList<>(size);
+        for (List<Entry<T>> entries : perShard) {
+            merged.addAll(entries);
+        }
+        merged.sort(BY_SEQUENCE);
+        return merged;
+    }
+
+    static <T> List<T> entities(List<Entry<T>> entries) {
+        List<T> entities = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            entities.add(entry.entity());
+        }
+        return entities;
+    }
+
+    /*Ids are often handed out in sequence, multiplying by the golden ratio
+    * and keeping the high bits spreads them evenly whatever the shard count*/
+    private Shard<T> shardOf(int id) {
+        long hash = (id * 0x9E3779B9L) & 0xFFFFFFFFL;
+        return shards[(int) ((hash * shards.length) >>> 32)];
+    }
+
+    /*Merges the shards by sequence number, keeping the shards that still
+    * have entries in a queue ordered by their next entry. Parallel streams
+    * split it into batches, see Spliterators.AbstractSpliterator*/
+    private final class MergingSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private final PriorityQueue<ShardReader> readers =
+                new PriorityQueue<>(Comparator.comparing(ShardReader::peek, BY_SEQUENCE));
+        private boolean started;
+
+        private MergingSpliterator() {
+            super(Long.MAX_VALUE, ORDERED | DISTINCT | NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!started) {
+                started = true;
+                for (Shard<T> shard : shards) {
+                    ShardReader reader = new ShardReader(shard);
+                    if (reader.hasNext()) {
+                        readers.add(reader);
+                    }
+                }
+            }
+            ShardReader reader = readers.poll();
+            if (reader == null) {
+                return false;
+            }
+            Entry<T> entry = reader.batch.poll();
+            if (reader.hasNext()) {
+                readers.add(reader);
+            }
+            action.accept(entry.entity());
+            return true;
+        }
+    }
+
+    //reads the entries of one shard in order of insertion, a batch at a time under its read lock
+    private final class ShardReader {
+        private final Shard<T> shard;
+        private final ArrayDeque<Entry<T>> batch = new ArrayDeque<>();
+        private long from;
+
+        private ShardReader(Shard<T> shard) {
+            this.shard = shard;
+        }
+
+        private boolean hasNext() {
+            if (batch.isEmpty()) {
+                readLocked(shard, locked -> {
+                    for (Entry<T> entry : locked.bySequence.tailMap(from, true).values()) {
+                        if (batch.size() == STREAM_BATCH) {
+                            break;
+                        }
+                        batch.add(entry);
+                    }
+                    return null;
+                });
+                if (!batch.isEmpty()) {
+                    from = batch.peekLast().sequence() + 1;
+                }
+            }
+            return !batch.isEmpty();
+        }
+
+        private Entry<T> peek() {
+            return batch.peek();
+        }
+    }
+}
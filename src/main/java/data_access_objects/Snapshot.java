@@ -0,0 +1,365 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A snapshot of students, courses and course rosters in a memory-mapped
+ * file.
+ *
+ * <p>{@link #write(Path, StudentDao, CourseDao)} saves everything in a pair
+ * of DAOs to a file, and {@link #open(Path)} maps the file back in without
+ * reading it. The DAOs returned by {@link #students()} and
+ * {@link #courses()} build a student or course from the file the first
+ * time it's looked up, so opening takes the same time no matter how many
+ * records there are, and only the pages holding touched records are read
+ * from disk. Lookups by id binary search a sorted index, other lookups
+ * scan the records in order of insertion.</p>
+ *
+ * <p>The file is never written to after it's opened. Students and courses
+ * that are saved, changed or removed through the DAOs are kept in memory
+ * on top of the snapshot until the next {@code write}. The mapping is
+ * released by {@link #close()}, after which the DAOs may not be used. Not
+ * thread safe.</p>
+ */
+public final class Snapshot implements AutoCloseable {
+    /*The file is a header followed by four sections, every number is little
+    * endian and every string is an int length followed by UTF-8 bytes:
+    *
+    * header:          magic, version, student count, course count, then the
+    *                  offsets of the four sections and the file size
+    * student index:   id and record offset per student, sorted by id
+    * student records: record length, id, name, email, address
+    * course index:    id and record offset per course, sorted by id
+    * course records:  record length, id, start date as epoch day, week
+    *                  duration, roster size, roster student ids, name,
+    *                  capacity (Integer.MAX_VALUE for unlimited seats)*/
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final int MAGIC = 0x504E5357;
+    private static final int VERSION = 2;
+    private static final long HEADER_BYTES = 56;
+    private static final long INDEX_ENTRY_BYTES = 12;
+
+    private final Arena arena;
+    private final MemorySegment file;
+    private final int studentCount;
+    private final int courseCount;
+    private final long studentIndex;
+    private final long studentRecords;
+    private final long courseIndex;
+    private final long courseRecords;
+    private final StudentDaoSnapshot students;
+    private final CourseDaoSnapshot courses;
+    private boolean closed;
+
+    private Snapshot(Arena arena, MemorySegment file) throws IOException {
+        if (file.byteSize() < HEADER_BYTES || file.get(INT, 0) != MAGIC) {
+            throw new IOException("not a snapshot file");
+        }
+        if (file.get(INT, 4) != VERSION) {
+            throw new IOException("unsupported snapshot version " + file.get(INT, 4));
+        }
+        if (file.get(LONG, 48) != file.byteSize()) {
+            throw new IOException("snapshot file is truncated");
+        }
+        this.arena = arena;
+        this.file = file;
+        this.studentCount = file.get(INT, 8);
+        this.courseCount = file.get(INT, 12);
+        this.studentIndex = file.get(LONG, 16);
+        this.studentRecords = file.get(LONG, 24);
+        this.courseIndex = file.get(LONG, 32);
+        this.courseRecords = file.get(LONG, 40);
+        this.students = new StudentDaoSnapshot(this);
+        this.courses = new CourseDaoSnapshot(this, students);
+    }
+
+    /**
+     * Maps a snapshot file written by {@link #write(Path, StudentDao,
+     * CourseDao)}. Only the header is read.
+     *
+     * @param path the snapshot file
+     * @return the opened snapshot
+     * @throws IOException if the file can't be read or isn't a snapshot
+     */
+    public static Snapshot open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Snapshot(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes every student in {@code studentDao} and every course in
+     * {@code courseDao}, including the ids of the students in its roster,
+     * to a snapshot file. The file is written next to {@code path} and
+     * then moved into place, so a snapshot that's open while a new one is
+     * written keeps seeing the old file.
+     *
+     * @param path       the snapshot file to create or replace
+     * @param studentDao the students to write
+     * @param courseDao  the courses to write
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path path, StudentDao studentDao, CourseDao courseDao) throws IOException {
+        if (path == null || studentDao == null || courseDao == null) {
+            throw new IllegalArgumentException("path, studentDao and courseDao may not be null");
+        }
+        List<Student> studentList = studentDao.findAll();
+        List<Course> courseList = courseDao.findAll();
+
+        long studentIndex = HEADER_BYTES;
+        long studentRecords = studentIndex + INDEX_ENTRY_BYTES * studentList.size();
+        long courseIndex = studentRecords;
+        List<byte[][]> studentStrings = new ArrayList<>(studentList.size());
+        for (Student student : studentList) {
+            byte[][] strings = {encode(student.getName()), encode(student.getEmail()), encode(student.getAddress())};
+            studentStrings.add(strings);
+            courseIndex += studentRecordBytes(strings);
+        }
+        long courseRecords = courseIndex + INDEX_ENTRY_BYTES * courseList.size();
+        long end = courseRecords;
+        List<byte[]> courseNames = new ArrayList<>(courseList.size());
+        /*One copy per course, so that the record length matches the roster
+        * written. Only the ids are written, so loaded rosters aren't resolved*/
+        List<int[]> rosters = new ArrayList<>(courseList.size());
+        for (Course course : courseList) {
+            byte[] name = encode(course.getCourseName());
+            int[] roster = course.copyStudentIds();
+            courseNames.add(name);
+            rosters.add(roster);
+            end += courseRecordBytes(roster.length, name);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, end, arena);
+            file.set(INT, 0, MAGIC);
+            file.set(INT, 4, VERSION);
+            file.set(INT, 8, studentList.size());
+            file.set(INT, 12, courseList.size());
+            file.set(LONG, 16, studentIndex);
+            file.set(LONG, 24, studentRecords);
+            file.set(LONG, 32, courseIndex);
+            file.set(LONG, 40, courseRecords);
+            file.set(LONG, 48, end);
+
+            List<long[]> studentEntries = new ArrayList<>(studentList.size());
+            long offset = studentRecords;
+            for (int i = 0; i < studentList.size(); i++) {
+                byte[][] strings = studentStrings.get(i);
+                studentEntries.add(new long[]{studentList.get(i).getId(), offset});
+                file.set(INT, offset, (int) studentRecordBytes(strings));
+                file.set(INT, offset + 4, studentList.get(i).getId());
+                long position = offset + 8;
+                for (byte[] string : strings) {
+                    position = putString(file, position, string);
+                }
+                offset = position;
+            }
+            putIndex(file, studentIndex, studentEntries);
+
+            List<long[]> courseEntries = new ArrayList<>(courseList.size());
+            offset = courseRecords;
+            for (int i = 0; i < courseList.size(); i++) {
+                Course course = courseList.get(i);
+                byte[] name = courseNames.get(i);
+                int[] roster = rosters.get(i);
+                courseEntries.add(new long[]{course.getId(), offset});
+                file.set(INT, offset, (int) courseRecordBytes(roster.length, name));
+                file.set(INT, offset + 4, course.getId());
+                file.set(LONG, offset + 8, course.getStartDate().toEpochDay());
+                file.set(INT, offset + 16, course.getWeekDuration());
+                file.set(INT, offset + 20, roster.length);
+                long position = offset + 24;
+                for (int studentId : roster) {
+                    file.set(INT, position, studentId);
+                    position += 4;
+                }
+                position = putString(file, position, name);
+                file.set(INT, position, course.getCapacity());
+                offset = position + 4;
+            }
+            putIndex(file, courseIndex, courseEntries);
+            file.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the students in the snapshot, together with the changes made
+     * to them since it was opened. Deleting a student unregisters it from
+     * the courses in {@link #courses()}.
+     *
+     * @return the students of the snapshot
+     */
+    public StudentDaoSnapshot students() {
+        return students;
+    }
+
+    /**
+     * Returns the courses in the snapshot, together with the changes made
+     * to them since it was opened. Rosters are made up of students from
+     * {@link #students()}.
+     *
+     * @return the courses of the snapshot
+     */
+    public CourseDaoSnapshot courses() {
+        return courses;
+    }
+
+    /**
+     * Unmaps the file. Students and courses that were returned by the DAOs
+     * can still be used, so the rosters of returned courses that haven't
+     * been read yet are resolved first. Does nothing if the snapshot is
+     * already closed.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            courses.resolveRosters();
+            closed = true;
+            arena.close();
+        }
+    }
+
+    int studentCount() {
+        return studentCount;
+    }
+
+    int courseCount() {
+        return courseCount;
+    }
+
+    long firstStudentRecord() {
+        return studentRecords;
+    }
+
+    long firstCourseRecord() {
+        return courseRecords;
+    }
+
+    //returns the offset of the student's record, or -1 if there is none
+    long findStudent(int id) {
+        return find(studentIndex, studentCount, id);
+    }
+
+    //returns the offset of the course's record, or -1 if there is none
+    long findCourse(int id) {
+        return find(courseIndex, courseCount, id);
+    }
+
+    long nextRecord(long record) {
+        return record + segment().get(INT, record);
+    }
+
+    int getInt(long offset) {
+        return segment().get(INT, offset);
+    }
+
+    long getLong(long offset) {
+        return segment().get(LONG, offset);
+    }
+
+    String getString(long offset) {
+        MemorySegment file = segment();
+        byte[] bytes = new byte[file.get(INT, offset)];
+        MemorySegment.copy(file, ValueLayout.JAVA_BYTE, offset + 4, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    //returns the offset right after the string at offset
+    long skipString(long offset) {
+        return offset + 4 + segment().get(INT, offset);
+    }
+
+    boolean stringEquals(long offset, MemorySegment wanted) {
+        MemorySegment file = segment();
+        long length = file.get(INT, offset);
+        return length == wanted.byteSize()
+                && MemorySegment.mismatch(file, offset + 4, offset + 4 + length, wanted, 0, length) == -1;
+    }
+
+    static MemorySegment encoded(String value) {
+        return MemorySegment.ofArray(encode(value));
+    }
+
+    private MemorySegment segment() {
+        if (closed) {
+            throw new IllegalStateException("the snapshot has been closed");
+        }
+        return file;
+    }
+
+    private long find(long index, int count, int id) {
+        MemorySegment file = segment();
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long entry = index + middle * INDEX_ENTRY_BYTES;
+            int middleId = file.get(INT, entry);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return file.get(LONG, entry + 4);
+            }
+        }
+        return -1;
+    }
+
+    private static void putIndex(MemorySegment file, long index, List<long[]> entries) {
+        entries.sort(Comparator.comparingLong(entry -> entry[0]));
+        for (long[] entry : entries) {
+            file.set(INT, index, (int) entry[0]);
+            file.set(LONG, index + 4, entry[1]);
+            index += INDEX_ENTRY_BYTES;
+        }
+    }
+
+    private static long putString(MemorySegment file, long offset, byte[] string) {
+        file.set(INT, offset, string.length);
+        MemorySegment.copy(string, 0, file, ValueLayout.JAVA_BYTE, offset + 4, string.length);
+        return offset + 4 + string.length;
+    }
+
+    private static long studentRecordBytes(byte[][] strings) {
+        long bytes = 8;
+        for (byte[] string : strings) {
+            bytes += 4 + string.length;
+        }
+        return bytes;
+    }
+
+    private static long courseRecordBytes(int rosterSize, byte[] name) {
+        return 24 + 4L * rosterSize + 4 + name.length + 4;
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
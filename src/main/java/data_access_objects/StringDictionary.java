@@ -0,0 +1,129 @@
+package data_access_objects;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of the strings held by stored students and courses, used by
+ * {@link InterningStudentDao} and {@link InterningCourseDao} so that equal
+ * names, addresses and course names share a single {@link String}
+ * instead of each entity holding its own copy.
+ *
+ * <p>Every distinct value has one canonical instance, which acts as its
+ * code: two interned values are equal exactly when they are the same
+ * instance, so comparing them is a single reference comparison, which is
+ * also the first thing {@link String#equals(Object)} checks. A value that
+ * isn't in the dictionary isn't equal to any interned value. Values are
+ * counted every time they're interned and dropped from the dictionary once
+ * they've been released as often, so values that are no longer used by
+ * any stored entity don't keep taking up memory.</p>
+ *
+ * <p>A single dictionary may be shared by several DAOs, such as a student
+ * DAO and a course DAO, to also share values between them. Every method
+ * locks the dictionary, so it's thread safe.</p>
+ */
+public class StringDictionary {
+    /*Compressed oops: a String is a 12 byte header, a reference to its
+    * array, a cached hash, a coder and a flag, padded to 24 bytes. The
+    * array is a 16 byte header followed by one byte per character if every
+    * character is Latin-1 and two otherwise, padded to a multiple of 8*/
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long references;
+    private long savedBytes;
+
+    private static final class Entry {
+        private final String value;
+        private final int bytes;
+        private long references;
+
+        private Entry(String value) {
+            this.value = value;
+            this.bytes = sizeOf(value);
+        }
+    }
+
+    /**
+     * Returns the canonical instance of {@code value}, adding
+     * {@code value} itself as the canonical instance if the dictionary
+     * doesn't hold it yet, and counts one more use of it.
+     *
+     * @param value the value to intern
+     * @return the canonical instance equal to {@code value}
+     * @throws IllegalArgumentException if {@code value} is {@code null}
+     */
+    public synchronized String intern(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value may not be null");
+        }
+        Entry entry = entries.get(value);
+        if (entry == null) {
+            entry = new Entry(value);
+            entries.put(value, entry);
+        } else {
+            savedBytes += entry.bytes;
+        }
+        entry.references++;
+        references++;
+        return entry.value;
+    }
+
+    /**
+     * Counts one less use of {@code value}, and drops it from the
+     * dictionary if it was the last. Does nothing if the dictionary doesn't
+     * hold {@code value}.
+     *
+     * @param value the value that is no longer used
+     */
+    public synchronized void release(String value) {
+        Entry entry = entries.get(value);
+        if (entry == null) {
+            return;
+        }
+        references--;
+        if (--entry.references == 0) {
+            entries.remove(value);
+        } else {
+            savedBytes -= entry.bytes;
+        }
+    }
+
+    /**
+     * Returns the canonical instance of {@code value} without counting a
+     * use of it, or {@code null} if the dictionary doesn't hold it, in
+     * which case no interned value is equal to it.
+     *
+     * @param value the value to look up
+     * @return the canonical instance equal to {@code value}, or
+     * {@code null} if there is none
+     */
+    public synchronized String lookUp(String value) {
+        Entry entry = entries.get(value);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Returns how many values the dictionary holds and an estimate of the
+     * memory it saves, see {@link DictionaryStats}.
+     *
+     * @return the counters of the dictionary
+     */
+    public synchronized DictionaryStats stats() {
+        return new DictionaryStats(entries.size(), references, savedBytes);
+    }
+
+    //the estimated heap size of a string and its array
+    static int sizeOf(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        int arrayBytes = ARRAY_HEADER_BYTES + bytesPerChar * value.length();
+        return STRING_BYTES + ((arrayBytes + 7) & ~7);
+    }
+}
@@ -2,7 +2,12 @@ package data_access_objects;
 
 import model.Student;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface StudentDao {
     Student saveStudent(Student student);
@@ -11,4 +16,136 @@ public interface StudentDao {
     Student findById(int id);
     List<Student> findAll();
     boolean deleteStudent(Student student);
+
+    /**
+     * Tries to save every student in {@code students}, in iteration order.
+     * Returns a list with one entry per student: the saved student, or
+     * {@code null} if it could not be saved due to a duplicate already
+     * existing, including one earlier in the same batch.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     * @throws IllegalArgumentException if {@code students} is or contains
+     *                                  {@code null}, in which case none of
+     *                                  them are saved
+     */
+    default List<Student> saveAll(Collection<Student> students) {
+        checkBatch(students);
+        List<Student> saved = new ArrayList<>(students.size());
+        for (Student student : students) {
+            saved.add(saveStudent(student));
+        }
+        return saved;
+    }
+
+    /**
+     * Looks up every id in {@code ids}. Returns a list with one entry per
+     * id: the student with that id, or {@code null} if there is none.
+     *
+     * @param ids the ids to search for
+     * @return the student with each id, in the same order
+     */
+    default List<Student> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        List<Student> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(findById(id));
+        }
+        return found;
+    }
+
+    /**
+     * Tries to delete every student in {@code students}, in iteration order.
+     * Returns one entry per student: {@code true} if it was deleted, or
+     * {@code false} if it wasn't found.
+     *
+     * @param students the students to delete
+     * @return whether each student was deleted, in the same order
+     */
+    default boolean[] deleteAll(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        boolean[] deleted = new boolean[students.size()];
+        int i = 0;
+        for (Student student : students) {
+            deleted[i++] = deleteStudent(student);
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion. Unless an
+     * implementation says otherwise, the stream is backed by
+     * {@link #findAll()}.
+     *
+     * @return a stream of all students
+     */
+    default Stream<Student> stream() {
+        return findAll().stream();
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. Unless an implementation says
+     * otherwise, the cursor is the number of students on earlier pages, so
+     * students saved or removed between calls may shift the pages, and the
+     * students are skipped through {@link #stream()}.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    default Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Student> items = stream().skip(cursor).limit(limit + 1L).toList();
+        if (items.size() <= limit) {
+            return new Page<>(items, Page.END);
+        }
+        return new Page<>(items.subList(0, limit), cursor + limit);
+    }
+
+    /**
+     * Returns up to {@code limit} students whose name starts with
+     * {@code prefix}, ignoring case, for search as you type. Names and the
+     * prefix are compared after lower casing them, folding look-alike
+     * characters such as full-width letters into one form, and dropping
+     * leading whitespace. The students are ordered by name the same way,
+     * and students with the same name are in order of insertion. Unless an
+     * implementation says otherwise, every student is checked through
+     * {@link #stream()}.
+     *
+     * @param prefix the start of the names to search for, the empty string
+     *               matches every student
+     * @param limit  the maximum number of students to return
+     * @return a list of at most {@code limit} students whose name starts
+     * with the prefix, or an empty list if no match is found
+     * @throws IllegalArgumentException if {@code prefix} is {@code null} or
+     *                                  {@code limit} is less than one
+     */
+    default List<Student> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = NameKey.checkPrefix(prefix, limit);
+        //the sort is stable, which keeps students with the same name in order of insertion
+        return stream()
+                .map(student -> Map.entry(NameKey.normalize(student.getName()), student))
+                .filter(match -> match.getKey().startsWith(normalizedPrefix))
+                .sorted(Map.Entry.comparingByKey())
+                .limit(limit)
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    //rejects a batch before any of it is saved
+    private static void checkBatch(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("students may not contain null");
+            }
+        }
+    }
 }
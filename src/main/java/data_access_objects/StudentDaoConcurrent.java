@@ -0,0 +1,400 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe {@link StudentDao} that never takes a global lock.
+ *
+ * <p>The primary index is a {@link ConcurrentHashMap} by id, and saving is
+ * a single {@code putIfAbsent} on it, so saving is atomic and of several
+ * concurrent saves of the same id exactly one succeeds. Insertion order is
+ * kept by a {@link ConcurrentSkipListMap} keyed by a sequence number, and
+ * email and name are indexed the same way as in {@link StudentDaoIndexed}.
+ * Reads are lock free, and writes only contend with other writes that hash
+ * to the same bin of a map.</p>
+ *
+ * <p>A student is added to the insertion order and the secondary indexes
+ * <em>before</em> it is published in the primary index, and removed from
+ * them <em>after</em> it is unpublished. Every read checks what it found
+ * against the primary index, so a student is visible to every read from
+ * the moment it is visible to {@link #findById(int)} and until it is
+ * deleted. The student is listened to before the values it's indexed by
+ * are read, and once it's published the indexes are moved to any values
+ * it was given in between, so a change made while it's being saved is
+ * never lost. Lists returned by {@link #findAll()} and
+ * {@link #findByName(String)} are weakly consistent in the same way as the
+ * iterators of the {@code java.util.concurrent} collections: they never
+ * contain the same id twice and are always in order of insertion, but may
+ * or may not reflect saves and deletes that happen while they are being
+ * built.</p>
+ *
+ * <p>Normalized names are kept sorted in a {@link ConcurrentSkipListMap}
+ * for {@link #findByNamePrefix(String, int)}. Its keys end in the sequence
+ * number, so every key is unique and no bucket ever has to be dropped.</p>
+ */
+public class StudentDaoConcurrent implements StudentDao {
+    private final ConcurrentMap<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Entry> bySequence = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, Entry>> byEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, Entry>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<NameKey, Entry> byNamePrefix = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final StudentListener listener = this::reindex;
+    private final CourseDao courseDao;
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoConcurrent() {
+        this(null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoConcurrent(CourseDao courseDao) {
+        this.courseDao = courseDao;
+    }
+
+    private record Entry(Student student, long sequence) {
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        if (byId.containsKey(student.getId())) {
+            return null;
+        }
+
+        //listened to before the indexed values are read, so that no change made after reading them is missed
+        student.addListener(listener);
+        Entry entry = new Entry(student, nextSequence.getAndIncrement());
+        String email = student.getEmail();
+        String name = student.getName();
+        bySequence.put(entry.sequence(), entry);
+        addToIndex(byEmail, email, entry);
+        addToIndex(byName, name, entry);
+        byNamePrefix.put(NameKey.of(name, entry.sequence()), entry);
+
+        if (byId.putIfAbsent(student.getId(), entry) != null) {
+            //lost the race against another save of the same id
+            student.removeListener(listener);
+            bySequence.remove(entry.sequence());
+            removeFromIndex(byEmail, email, entry);
+            removeFromIndex(byName, name, entry);
+            byNamePrefix.remove(NameKey.of(name, entry.sequence()), entry);
+            return null;
+        }
+        catchUp(entry, email, name);
+        return student;
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        ConcurrentNavigableMap<Long, Entry> matches = byEmail.get(email);
+        if (matches == null) {
+            return null;
+        }
+        for (Entry entry : matches.values()) {
+            if (isLive(entry) && entry.student().getEmail().equals(email)) {
+                return entry.student();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        ConcurrentNavigableMap<Long, Entry> matches = byName.get(name);
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        List<Student> found = liveStudents(matches.values());
+        found.removeIf(student -> !student.getName().equals(name));
+        return found;
+    }
+
+    /**
+     * Returns up to {@code limit} students whose name starts with
+     * {@code prefix}, ignoring case, see
+     * {@link StudentDao#findByNamePrefix(String, int)}. Costs a lookup in
+     * the sorted name index plus time proportional to the number of
+     * students returned. Just like {@link #findByName(String)} the list is
+     * weakly consistent, and a student whose name is being changed may be
+     * left out of it.
+     *
+     * @param prefix the start of the names to search for, the empty string
+     *               matches every student
+     * @param limit  the maximum number of students to return
+     * @return a list of at most {@code limit} students whose name starts
+     * with the prefix, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = NameKey.checkPrefix(prefix, limit);
+        Set<Entry> candidates = new LinkedHashSet<>();
+        for (Map.Entry<NameKey, Entry> match : byNamePrefix.tailMap(NameKey.first(normalizedPrefix)).entrySet()) {
+            if (candidates.size() == limit || !match.getKey().startsWith(normalizedPrefix)) {
+                break;
+            }
+            /*While a name is being changed the student is indexed under both
+            * names, only the key of its current name counts. The name may
+            * also change between visiting one key and the other, so
+            * students are kept at the first key they are found at*/
+            if (isLive(match.getValue())
+                    && match.getKey().name().equals(NameKey.normalize(match.getValue().student().getName()))) {
+                candidates.add(match.getValue());
+            }
+        }
+        return liveStudents(candidates);
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return entry.student();
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        return liveStudents(bySequence.values());
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion, without
+     * copying them into a list first. The stream is weakly consistent: it
+     * may or may not reflect changes made while it's consumed, and a
+     * student that is removed and saved again in the meantime may show up
+     * twice. The stream splits well, so it can be consumed in parallel.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return bySequence.values().stream().filter(this::isLive).map(Entry::student);
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, so a page is found without going
+     * through the earlier ones, and changes between calls don't shift the
+     * pages. A page may hold fewer than {@code limit} students if some are
+     * removed while it's being collected.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Entry> candidates = new ArrayList<>();
+        long nextCursor = Page.END;
+        for (Entry entry : bySequence.tailMap(cursor, true).values()) {
+            if (!isLive(entry)) {
+                continue;
+            }
+            if (candidates.size() == limit) {
+                nextCursor = entry.sequence();
+                break;
+            }
+            candidates.add(entry);
+        }
+        return new Page<>(liveStudents(candidates), nextCursor);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        Entry entry = byId.remove(student.getId());
+        if (entry == null) {
+            return false;
+        }
+
+        entry.student().removeListener(listener);
+        unindex(entry);
+        if (courseDao != null) {
+            courseDao.unregisterFromCourses(entry.student());
+        }
+        return true;
+    }
+
+    private boolean isLive(Entry entry) {
+        return byId.get(entry.student().getId()) == entry;
+    }
+
+    /*Checking liveness while traversing isn't enough, a student that is
+    * deleted and saved again during the traversal would show up twice, once
+    * for each entry. A single check after traversing isn't either, the old
+    * entry can be checked before it's deleted and the new one after it's
+    * published. Two entries with the same id are never live at the same
+    * time and a dead entry never comes back, so checking the survivors of
+    * the first pass again leaves at most one live entry per id*/
+    private List<Student> liveStudents(Collection<Entry> entries) {
+        List<Entry> candidates = new ArrayList<>(entries);
+        candidates.removeIf(entry -> !isLive(entry));
+        candidates.removeIf(entry -> !isLive(entry));
+        List<Student> live = new ArrayList<>(candidates.size());
+        for (Entry entry : candidates) {
+            live.add(entry.student());
+        }
+        return live;
+    }
+
+    private void unindex(Entry entry) {
+        bySequence.remove(entry.sequence());
+        removeFromIndex(byEmail, entry.student().getEmail(), entry);
+        removeFromIndex(byName, entry.student().getName(), entry);
+        byNamePrefix.remove(NameKey.of(entry.student().getName(), entry.sequence()), entry);
+    }
+
+    /*The listener ignores changes made before the student was published,
+    * so the indexes are moved to the values it has now. Every move indexes
+    * the new value before unindexing the old one and is followed by reading
+    * the value again, so a change the listener moves concurrently can leave
+    * a stale key behind, which reads filter out, but never a missing one*/
+    private void catchUp(Entry entry, String indexedEmail, String indexedName) {
+        Student student = entry.student();
+        for (String email = student.getEmail(); !email.equals(indexedEmail); email = student.getEmail()) {
+            moveEmail(entry, indexedEmail, email);
+            indexedEmail = email;
+        }
+        for (String name = student.getName(); !name.equals(indexedName); name = student.getName()) {
+            moveName(entry, indexedName, name);
+            indexedName = name;
+        }
+    }
+
+    private void reindex(Student student, Student.Property property, String oldValue) {
+        Entry entry = byId.get(student.getId());
+        if (entry == null || entry.student() != student) {
+            return;
+        }
+
+        switch (property) {
+            case EMAIL -> moveEmail(entry, oldValue, student.getEmail());
+            case NAME -> moveName(entry, oldValue, student.getName());
+            default -> {
+                //address isn't indexed
+            }
+        }
+    }
+
+    private void moveEmail(Entry entry, String oldEmail, String newEmail) {
+        if (newEmail.equals(oldEmail)) {
+            return;
+        }
+        addToIndex(byEmail, newEmail, entry);
+        removeFromIndex(byEmail, oldEmail, entry);
+    }
+
+    private void moveName(Entry entry, String oldName, String newName) {
+        if (newName.equals(oldName)) {
+            return;
+        }
+        addToIndex(byName, newName, entry);
+        removeFromIndex(byName, oldName, entry);
+        NameKey newKey = NameKey.of(newName, entry.sequence());
+        NameKey oldKey = NameKey.of(oldName, entry.sequence());
+        //names that only differ in case share a key
+        if (!newKey.equals(oldKey)) {
+            byNamePrefix.put(newKey, entry);
+            byNamePrefix.remove(oldKey, entry);
+        }
+    }
+
+    /*compute is atomic per key on ConcurrentHashMap, which makes it safe to
+    * drop buckets as they become empty without losing a concurrent add*/
+    private static void addToIndex(ConcurrentMap<String, ConcurrentNavigableMap<Long, Entry>> index,
+                                   String key, Entry entry) {
+        index.compute(key, (k, matches) -> {
+            if (matches == null) {
+                matches = new ConcurrentSkipListMap<>();
+            }
+            matches.put(entry.sequence(), entry);
+            return matches;
+        });
+    }
+
+    private static void removeFromIndex(ConcurrentMap<String, ConcurrentNavigableMap<Long, Entry>> index,
+                                        String key, Entry entry) {
+        index.computeIfPresent(key, (k, matches) -> {
+            matches.remove(entry.sequence(), entry);
+            return matches.isEmpty() ? null : matches;
+        });
+    }
+}
@@ -0,0 +1,295 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentDao} that keeps a primary index by id and secondary hash
+ * indexes by email and name, so that every lookup is a hash lookup instead
+ * of a scan over all students.
+ *
+ * <p>Every saved student is given a sequence number in order of insertion,
+ * and the secondary indexes keep their matches sorted by it. This keeps the
+ * same "first by order of insertion" semantics as {@link StudentDaoList}
+ * even when students change email or name after being saved. The sequence
+ * numbers are also used as keyset cursors by
+ * {@link #findPage(long, int)}.</p>
+ *
+ * <p>Names are also indexed normalized and sorted in a {@link TreeMap}, so
+ * {@link #findByNamePrefix(String, int)} only goes through the students it
+ * returns instead of every student.</p>
+ *
+ * <p>The indexes are kept up to date by listening to changes made through
+ * {@link Student#setName(String)} and {@link Student#setEmail(String)} on
+ * stored students.</p>
+ *
+ * <p>Unlike {@link StudentDaoList} the storage is per instance, and just like
+ * it this class is not thread safe.</p>
+ */
+public class StudentDaoIndexed implements StudentDao {
+    private final Map<Integer, Entry> byId = new HashMap<>();
+    private final NavigableMap<Long, Entry> bySequence = new TreeMap<>();
+    private final Map<String, NavigableMap<Long, Student>> byEmail = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Student>> byName = new HashMap<>();
+    private final NavigableMap<NameKey, Student> byNamePrefix = new TreeMap<>();
+    private final StudentListener listener = this::reindex;
+    private long nextSequence;
+    private final CourseDao courseDao;
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoIndexed() {
+        this(null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoIndexed(CourseDao courseDao) {
+        this.courseDao = courseDao;
+    }
+
+    private record Entry(Student student, long sequence) {
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        if (byId.containsKey(student.getId())) {
+            return null;
+        }
+
+        Entry entry = new Entry(student, nextSequence++);
+        byId.put(student.getId(), entry);
+        bySequence.put(entry.sequence(), entry);
+        addToIndex(byEmail, student.getEmail(), entry);
+        addToIndex(byName, student.getName(), entry);
+        byNamePrefix.put(NameKey.of(student.getName(), entry.sequence()), student);
+        student.addListener(listener);
+        return student;
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        NavigableMap<Long, Student> matches = byEmail.get(email);
+        if (matches == null) {
+            return null;
+        }
+        return matches.firstEntry().getValue();
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        NavigableMap<Long, Student> matches = byName.get(name);
+        if (matches == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Returns up to {@code limit} students whose name starts with
+     * {@code prefix}, ignoring case, see
+     * {@link StudentDao#findByNamePrefix(String, int)}. Costs a lookup in
+     * the sorted name index plus time proportional to the number of
+     * students returned.
+     *
+     * @param prefix the start of the names to search for, the empty string
+     *               matches every student
+     * @param limit  the maximum number of students to return
+     * @return a list of at most {@code limit} students whose name starts
+     * with the prefix, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = NameKey.checkPrefix(prefix, limit);
+        List<Student> found = new ArrayList<>();
+        for (Map.Entry<NameKey, Student> match : byNamePrefix.tailMap(NameKey.first(normalizedPrefix)).entrySet()) {
+            if (found.size() == limit || !match.getKey().startsWith(normalizedPrefix)) {
+                break;
+            }
+            found.add(match.getValue());
+        }
+        return found;
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return entry.student();
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        List<Student> all = new ArrayList<>(bySequence.size());
+        for (Entry entry : bySequence.values()) {
+            all.add(entry.student());
+        }
+        return all;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion, without
+     * copying them into a list first. The stream must be consumed before
+     * the DAO is changed again.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return bySequence.values().stream().map(Entry::student);
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, so a page is found without going
+     * through the earlier ones, and saving or deleting students between
+     * calls doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Student> items = new ArrayList<>();
+        for (Entry entry : bySequence.tailMap(cursor, true).values()) {
+            if (items.size() == limit) {
+                return new Page<>(items, entry.sequence());
+            }
+            items.add(entry.student());
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        Entry entry = byId.remove(student.getId());
+        if (entry == null) {
+            return false;
+        }
+
+        bySequence.remove(entry.sequence());
+        Student stored = entry.student();
+        stored.removeListener(listener);
+        removeFromIndex(byEmail, stored.getEmail(), entry);
+        removeFromIndex(byName, stored.getName(), entry);
+        byNamePrefix.remove(NameKey.of(stored.getName(), entry.sequence()));
+        if (courseDao != null) {
+            courseDao.unregisterFromCourses(stored);
+        }
+        return true;
+    }
+
+    private void reindex(Student student, Student.Property property, String oldValue) {
+        Entry entry = byId.get(student.getId());
+        /*The listener is only removed from the stored instance, so a student
+        * that was deleted and then replaced by another instance with the same
+        * id must not be allowed to touch the indexes*/
+        if (entry == null || entry.student() != student) {
+            return;
+        }
+
+        switch (property) {
+            case EMAIL -> {
+                removeFromIndex(byEmail, oldValue, entry);
+                addToIndex(byEmail, student.getEmail(), entry);
+            }
+            case NAME -> {
+                removeFromIndex(byName, oldValue, entry);
+                addToIndex(byName, student.getName(), entry);
+                byNamePrefix.remove(NameKey.of(oldValue, entry.sequence()));
+                byNamePrefix.put(NameKey.of(student.getName(), entry.sequence()), student);
+            }
+            default -> {
+                //address isn't indexed
+            }
+        }
+    }
+
+    private static void addToIndex(Map<String, NavigableMap<Long, Student>> index, String key, Entry entry) {
+        index.computeIfAbsent(key, k -> new TreeMap<>()).put(entry.sequence(), entry.student());
+    }
+
+    private static void removeFromIndex(Map<String, NavigableMap<Long, Student>> index, String key, Entry entry) {
+        NavigableMap<Long, Student> matches = index.get(key);
+        if (matches == null) {
+            return;
+        }
+        matches.remove(entry.sequence());
+        if (matches.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
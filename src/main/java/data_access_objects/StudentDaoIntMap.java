@@ -0,0 +1,458 @@
+package data_access_objects;
+
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link StudentDao} whose primary store is keyed by the primitive
+ * {@code int} id, so that the id path never boxes or allocates.
+ *
+ * <p>Students are kept in an array of slots, and an {@link IntIntMap} maps
+ * every id to its slot. Slots freed by deletes are reused by later saves,
+ * and the order of insertion is kept by linking the used slots together
+ * through two {@code int} arrays. With a capacity large enough for the
+ * dataset, {@link #findById(int)}, {@link #saveStudent(Student)} and
+ * {@link #deleteStudent(Student)} don't allocate at all.</p>
+ *
+ * <p>Every saved student is also given a sequence number in order of
+ * insertion, which {@link #findPage(long, int)} uses together with the id
+ * as a keyset cursor.</p>
+ *
+ * <p>Lookups by email and name scan the students in order of insertion
+ * the same way {@link StudentDaoList} scans its set. Not thread safe.</p>
+ */
+public class StudentDaoIntMap implements StudentDao {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private final IntIntMap slotById;
+    private final CourseDao courseDao;
+    private Student[] slots;
+    /*next links used slots in order of insertion and free slots into a free
+    * list, previous is only meaningful for used slots*/
+    private int[] next;
+    private int[] previous;
+    //the sequence number of the student in every used slot, increasing along next
+    private int[] sequences;
+    private int nextSequence;
+    private int first = NONE;
+    private int last = NONE;
+    private int firstFree = NONE;
+    //slots from unused and up have never been used
+    private int unused;
+    private int size;
+    //whether the used slots are linked in increasing order, see stream
+    private boolean slotsInOrder = true;
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoIntMap() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoIntMap(CourseDao courseDao) {
+        this(DEFAULT_CAPACITY, courseDao);
+    }
+
+    /**
+     * Creates a student DAO that can hold {@code initialCapacity} students
+     * before it has to grow, and that unregisters a deleted student from
+     * every course in {@code courseDao} the student is registered in.
+     *
+     * @param initialCapacity the number of students to make room for
+     * @param courseDao       the courses to cascade deletes to, or
+     *                        {@code null} to not cascade deletes
+     */
+    public StudentDaoIntMap(int initialCapacity, CourseDao courseDao) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0");
+        }
+        this.slotById = new IntIntMap(initialCapacity);
+        this.slots = new Student[initialCapacity];
+        this.next = new int[initialCapacity];
+        this.previous = new int[initialCapacity];
+        this.sequences = new int[initialCapacity];
+        this.courseDao = courseDao;
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     * @throws IllegalStateException if the id map is full, in which case
+     *                               nothing is saved
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        if (slotById.containsKey(student.getId())) {
+            return null;
+        }
+
+        if (nextSequence == Integer.MAX_VALUE) {
+            renumber();
+        }
+        int slot = takeFreeSlot();
+        try {
+            slotById.put(student.getId(), slot);
+        } catch (IllegalStateException e) {
+            //the map is full, so the slot goes back on the free list before anything links to it
+            next[slot] = firstFree;
+            firstFree = slot;
+            throw e;
+        }
+        slots[slot] = student;
+        sequences[slot] = nextSequence++;
+        next[slot] = NONE;
+        previous[slot] = last;
+        if (last == NONE) {
+            first = slot;
+        } else {
+            next[last] = slot;
+        }
+        last = slot;
+        size++;
+        return student;
+    }
+
+    /**
+     * Tries to save every student in {@code students}, making room for all
+     * of them up front so that the id map and the slot arrays grow at most
+     * once per batch. See {@link StudentDao#saveAll(Collection)}.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        if (students != null) {
+            ensureCapacity(size + students.size());
+        }
+        return StudentDao.super.saveAll(students);
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        for (int slot = first; slot != NONE; slot = next[slot]) {
+            Student student = slots[slot];
+            if (student.getEmail().equals(email)) {
+                return student;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        List<Student> found = new ArrayList<>();
+        for (int slot = first; slot != NONE; slot = next[slot]) {
+            Student student = slots[slot];
+            if (student.getName().equals(name)) {
+                found.add(student);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        int slot = slotById.get(id);
+        if (slot == IntIntMap.MISSING) {
+            return null;
+        }
+        return slots[slot];
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        List<Student> all = new ArrayList<>(size);
+        for (int slot = first; slot != NONE; slot = next[slot]) {
+            all.add(slots[slot]);
+        }
+        return all;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion, splitting the
+     * range of slots in halves for parallel streams instead of copying the
+     * students into a list first. If a save has reused a slot freed by a
+     * delete since the last call, the slots are first compacted back into
+     * order of insertion. The stream must be consumed before the DAO is
+     * changed again.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        if (!slotsInOrder) {
+            compact();
+        }
+        return StreamSupport.stream(new SlotSpliterator(0, unused, unused == size), false);
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor holds the sequence
+     * number and the id of the first student on the page, so the page is
+     * found through the id map without going through the earlier ones, and
+     * saving or deleting students between calls doesn't shift the pages.
+     * Only if that student has been deleted since are the students gone
+     * through from the first one, to find the first one saved after it.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Student> items = new ArrayList<>(Math.min(limit, size));
+        for (int slot = pageStart(cursor); slot != NONE; slot = next[slot]) {
+            if (items.size() == limit) {
+                return new Page<>(items, (long) sequences[slot] << 32 | (slots[slot].getId() & 0xFFFFFFFFL));
+            }
+            items.add(slots[slot]);
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        int slot = slotById.remove(student.getId());
+        if (slot == IntIntMap.MISSING) {
+            return false;
+        }
+
+        Student stored = slots[slot];
+        unlink(slot);
+        slots[slot] = null;
+        next[slot] = firstFree;
+        firstFree = slot;
+        size--;
+        if (courseDao != null) {
+            courseDao.unregisterFromCourses(stored);
+        }
+        return true;
+    }
+
+    //the slot of the first student on the page of the cursor, see findPage
+    private int pageStart(long cursor) {
+        if (cursor == Page.FIRST) {
+            return first;
+        }
+        int sequence = (int) (cursor >>> 32);
+        int slot = slotById.get((int) cursor);
+        if (slot != IntIntMap.MISSING && sequences[slot] == sequence) {
+            return slot;
+        }
+        slot = first;
+        while (slot != NONE && sequences[slot] < sequence) {
+            slot = next[slot];
+        }
+        return slot;
+    }
+
+    /*Sequence numbers have to fit in the upper half of a cursor, so once they
+    * run out the students are numbered again from 0 in order of insertion.
+    * Cursors handed out before then may start their page in the wrong place*/
+    private void renumber() {
+        nextSequence = 0;
+        for (int slot = first; slot != NONE; slot = next[slot]) {
+            sequences[slot] = nextSequence++;
+        }
+    }
+
+    //every slot not holding a saved student is either on the free list or unused
+    private void ensureCapacity(int students) {
+        slotById.ensureCapacity(students);
+        if (students > slots.length) {
+            resize(students);
+        }
+    }
+
+    private int takeFreeSlot() {
+        if (firstFree != NONE) {
+            int slot = firstFree;
+            firstFree = next[slot];
+            slotsInOrder = false;
+            return slot;
+        }
+        if (unused == slots.length) {
+            resize(Math.max(slots.length + (slots.length >> 1), slots.length + 1));
+        }
+        return unused++;
+    }
+
+    //moves the used slots to the front in order of insertion, emptying the free list
+    private void compact() {
+        Student[] compacted = new Student[slots.length];
+        int[] compactedSequences = new int[sequences.length];
+        int slot = 0;
+        for (int used = first; used != NONE; used = next[used]) {
+            compacted[slot] = slots[used];
+            compactedSequences[slot] = sequences[used];
+            slotById.put(compacted[slot].getId(), slot);
+            slot++;
+        }
+        for (slot = 0; slot < size; slot++) {
+            next[slot] = slot + 1;
+            previous[slot] = slot - 1;
+        }
+        if (size > 0) {
+            next[size - 1] = NONE;
+        }
+        slots = compacted;
+        sequences = compactedSequences;
+        first = size > 0 ? 0 : NONE;
+        last = size - 1;
+        firstFree = NONE;
+        unused = size;
+        slotsInOrder = true;
+    }
+
+    private void resize(int capacity) {
+        slots = Arrays.copyOf(slots, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+    }
+
+    private void unlink(int slot) {
+        int before = previous[slot];
+        int after = next[slot];
+        if (before == NONE) {
+            first = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            last = before;
+        } else {
+            previous[after] = before;
+        }
+    }
+
+    /**
+     * Splits a range of slots in halves, skipping the slots freed by
+     * deletes. The range is exact if it has no freed slots.
+     */
+    private final class SlotSpliterator implements Spliterator<Student> {
+        private int slot;
+        private final int end;
+        private final boolean exact;
+
+        private SlotSpliterator(int slot, int end, boolean exact) {
+            this.slot = slot;
+            this.end = end;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            while (slot < end) {
+                Student student = slots[slot++];
+                if (student != null) {
+                    action.accept(student);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            Student[] students = slots;
+            for (; slot < end; slot++) {
+                if (students[slot] != null) {
+                    action.accept(students[slot]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            int middle = (slot + end) >>> 1;
+            if (middle <= slot) {
+                return null;
+            }
+            Spliterator<Student> prefix = new SlotSpliterator(slot, middle, exact);
+            slot = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - slot;
+        }
+
+        @Override
+        public int characteristics() {
+            int characteristics = ORDERED | DISTINCT | NONNULL;
+            return exact ? characteristics | SIZED | SUBSIZED : characteristics;
+        }
+    }
+}
@@ -3,9 +3,14 @@ package data_access_objects;
 import model.Student;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 
 public class StudentDaoList implements StudentDao {
@@ -15,6 +20,30 @@ public class StudentDaoList implements StudentDao {
     * by findByEmail/findByName isn't essentially random based on id in the
     * case that two students share the same email/name */
     private static final Set<Student> students = new LinkedHashSet<>();
+    /*The same students by a sequence number given in order of insertion, so
+    * findPage can start a page at its cursor instead of skipping to it*/
+    private static final NavigableMap<Long, Student> bySequence = new TreeMap<>();
+    private static final Map<Integer, Long> sequenceById = new HashMap<>();
+    private static long nextSequence;
+    private final CourseDao courseDao;
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoList() {
+        this(null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoList(CourseDao courseDao) {
+        this.courseDao = courseDao;
+    }
 
     /**
      * Tries to save a new student. Returns the saved student
@@ -36,6 +65,8 @@ public class StudentDaoList implements StudentDao {
         if (!success) {
             return null;
         }
+        bySequence.put(nextSequence, student);
+        sequenceById.put(student.getId(), nextSequence++);
         return student;
     }
 
@@ -111,6 +142,43 @@ public class StudentDaoList implements StudentDao {
         return new ArrayList<>(students);
     }
 
+    /**
+     * Returns a stream over the stored students in order of insertion,
+     * without copying them. The stream must be consumed before the DAO is
+     * changed again, or it fails with a
+     * {@link java.util.ConcurrentModificationException}.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return students.stream();
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, so a page is found without going
+     * through the earlier ones, and saving or deleting students between
+     * calls doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Student> items = new ArrayList<>();
+        for (Map.Entry<Long, Student> entry : bySequence.tailMap(cursor, true).entrySet()) {
+            if (items.size() == limit) {
+                return new Page<>(items, entry.getKey());
+            }
+            items.add(entry.getValue());
+        }
+        return new Page<>(items, Page.END);
+    }
+
     /**
      * Removes the specified student from the collection.
      * If the student is found and successfully removed, returns {@code true}.
@@ -121,6 +189,13 @@ public class StudentDaoList implements StudentDao {
      */
     @Override
     public boolean deleteStudent(Student student) {
-        return students.remove(student);
+        boolean removed = students.remove(student);
+        if (removed) {
+            bySequence.remove(sequenceById.remove(student.getId()));
+            if (courseDao != null) {
+                courseDao.unregisterFromCourses(student);
+            }
+        }
+        return removed;
     }
 }
@@ -0,0 +1,639 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link StudentDao} that keeps its students outside of the Java heap, so
+ * that even tens of millions of students add next to nothing for the
+ * garbage collector to trace.
+ *
+ * <p>Every saved student is a row in a set of off-heap columns: its id, a
+ * sequence number telling rows apart, and for name, email and address the
+ * offset of the UTF-8 encoded value in an off-heap string arena. Rows are
+ * kept in order of insertion, so the sequence numbers increase from row to
+ * row. Deleting a student negates the sequence number of its row, which
+ * keeps the rows sorted by the absolute sequence numbers and lets
+ * {@link #findPage(long, int)} binary search for its cursor. The only
+ * thing kept on the heap is an {@link IntIntMap} from id to row, which the
+ * garbage collector doesn't have to look into.</p>
+ *
+ * <p>The finders aren't views of the rows: every student they return is
+ * decoded from its row into a new {@link Student}, strings included, so
+ * two calls return equal but different instances and each one allocates.
+ * Lookups by email and name compare the encoded bytes in place, and only
+ * build students for the rows that match. Changes to the name, email or
+ * address of a saved instance are written back to the row as long as the
+ * student hasn't been deleted since, and deleting an instance detaches it
+ * from the DAO. All the instances the finders build
+ * share one listener, which writes a change back to the row of the
+ * student's id if the row still holds the value the instance changed
+ * from, so changes to an out-of-date copy are ignored.</p>
+ *
+ * <p>The memory is released by {@link #close()}, after which the DAO may
+ * not be used. Rows and strings left behind by deletes and changes are
+ * reclaimed whenever the columns or the string arena have to grow. Not
+ * thread safe.</p>
+ */
+public class StudentDaoOffHeap implements StudentDao, AutoCloseable {
+    private static final int MIN_ROWS = 16;
+    private static final long MIN_STRING_BYTES = 1024;
+    //every string in the arena is prefixed by its length in bytes
+    private static final long LENGTH_BYTES = ValueLayout.JAVA_INT.byteSize();
+
+    private final IntIntMap rowById = new IntIntMap();
+    //shared by every student the finders build, see writeBackCopy
+    private final StudentListener copyListener = this::writeBackCopy;
+    private final CourseDao courseDao;
+    private Arena arena;
+    private MemorySegment ids;
+    private MemorySegment sequences;
+    private MemorySegment names;
+    private MemorySegment emails;
+    private MemorySegment addresses;
+    private MemorySegment strings;
+    private int rowCapacity;
+    //rows below rows have been used, including the ones of deleted students
+    private int rows;
+    private int size;
+    private long stringsUsed;
+    private long liveStringBytes;
+    private long nextSequence = 1;
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoOffHeap() {
+        this(null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoOffHeap(CourseDao courseDao) {
+        this.courseDao = courseDao;
+        allocate(MIN_ROWS, MIN_STRING_BYTES);
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        ensureOpen();
+        if (rowById.containsKey(student.getId())) {
+            return null;
+        }
+
+        byte[] name = encode(student.getName());
+        byte[] email = encode(student.getEmail());
+        byte[] address = encode(student.getAddress());
+        long needed = stored(name) + stored(email) + stored(address);
+        if (rows == rowCapacity || stringsUsed + needed > strings.byteSize()) {
+            rebuild(1, needed);
+        }
+
+        int row = rows++;
+        long sequence = nextSequence++;
+        ids.setAtIndex(ValueLayout.JAVA_INT, row, student.getId());
+        sequences.setAtIndex(ValueLayout.JAVA_LONG, row, sequence);
+        names.setAtIndex(ValueLayout.JAVA_LONG, row, append(name));
+        emails.setAtIndex(ValueLayout.JAVA_LONG, row, append(email));
+        addresses.setAtIndex(ValueLayout.JAVA_LONG, row, append(address));
+        rowById.put(student.getId(), row);
+        size++;
+        //replaces the listener of an earlier save of the same instance, see WriteThrough
+        WriteThrough writeThrough = new WriteThrough(student.getId(), sequence);
+        student.removeListener(writeThrough);
+        student.addListener(writeThrough);
+        return student;
+    }
+
+    /**
+     * Tries to save every student in {@code students}, making room for all
+     * of them and their strings up front so that the off-heap memory is
+     * rebuilt at most once per batch. See
+     * {@link StudentDao#saveAll(Collection)}.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        ensureOpen();
+        if (students != null) {
+            long needed = 0;
+            for (Student student : students) {
+                if (student != null) {
+                    needed += 3 * LENGTH_BYTES + utf8Length(student.getName())
+                            + utf8Length(student.getEmail()) + utf8Length(student.getAddress());
+                }
+            }
+            if (rows + students.size() > rowCapacity || stringsUsed + needed > strings.byteSize()) {
+                rebuild(students.size(), needed);
+            }
+            rowById.ensureCapacity(size + students.size());
+        }
+        return StudentDao.super.saveAll(students);
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        ensureOpen();
+        if (email == null) {
+            return null;
+        }
+        MemorySegment wanted = MemorySegment.ofArray(encode(email));
+        for (int row = 0; row < rows; row++) {
+            if (isLive(row) && matches(emails, row, wanted)) {
+                return toStudent(row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        ensureOpen();
+        List<Student> found = new ArrayList<>();
+        if (name == null) {
+            return found;
+        }
+        MemorySegment wanted = MemorySegment.ofArray(encode(name));
+        for (int row = 0; row < rows; row++) {
+            if (isLive(row) && matches(names, row, wanted)) {
+                found.add(toStudent(row));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        ensureOpen();
+        int row = rowById.get(id);
+        if (row == IntIntMap.MISSING) {
+            return null;
+        }
+        return toStudent(row);
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        ensureOpen();
+        List<Student> all = new ArrayList<>(size);
+        for (int row = 0; row < rows; row++) {
+            if (isLive(row)) {
+                all.add(toStudent(row));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion, built from
+     * their rows as the stream is consumed. The stream splits the rows in
+     * halves, so it can be consumed in parallel on every core. It must be
+     * consumed before the DAO is changed again.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        ensureOpen();
+        return StreamSupport.stream(new RowSpliterator(0, rows), false);
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, and the row holding it is found
+     * with a binary search, so saving or deleting students between calls
+     * doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        ensureOpen();
+        List<Student> items = new ArrayList<>(Math.min(limit, size));
+        for (int row = firstRowFrom(cursor); row < rows; row++) {
+            if (!isLive(row)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, sequences.getAtIndex(ValueLayout.JAVA_LONG, row));
+            }
+            items.add(toStudent(row));
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        ensureOpen();
+        if (student == null) {
+            return false;
+        }
+        int row = rowById.remove(student.getId());
+        if (row == IntIntMap.MISSING) {
+            return false;
+        }
+
+        sequences.setAtIndex(ValueLayout.JAVA_LONG, row, -sequences.getAtIndex(ValueLayout.JAVA_LONG, row));
+        liveStringBytes -= storedAt(names, row) + storedAt(emails, row) + storedAt(addresses, row);
+        size--;
+        student.removeListener(new WriteThrough(student.getId(), 0));
+        student.removeListener(copyListener);
+        if (courseDao != null) {
+            courseDao.unregisterFromCourses(student);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of bytes of off-heap memory currently reserved for
+     * the columns and the string arena.
+     *
+     * @return the reserved off-heap memory in bytes
+     */
+    public long offHeapBytes() {
+        ensureOpen();
+        return ids.byteSize() + sequences.byteSize() + names.byteSize()
+                + emails.byteSize() + addresses.byteSize() + strings.byteSize();
+    }
+
+    /**
+     * Releases the off-heap memory. Students that were returned by the DAO
+     * can still be used, but their changes are no longer written back.
+     * Does nothing if the DAO is already closed.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            rowById.clear();
+        }
+    }
+
+    private void ensureOpen() {
+        if (arena == null) {
+            throw new IllegalStateException("the DAO has been closed");
+        }
+    }
+
+    private boolean isLive(int row) {
+        return sequences.getAtIndex(ValueLayout.JAVA_LONG, row) > 0;
+    }
+
+    //returns the first row whose absolute sequence number is at least sequence
+    private int firstRowFrom(long sequence) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Math.abs(sequences.getAtIndex(ValueLayout.JAVA_LONG, middle)) < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Student toStudent(int row) {
+        int id = ids.getAtIndex(ValueLayout.JAVA_INT, row);
+        Student student = new Student(id, read(names, row), read(emails, row), read(addresses, row));
+        student.addListener(copyListener);
+        return student;
+    }
+
+    /*Writes a change to a student built by a finder back to the row of its
+    * id, but only if the row still holds the value the student changed
+    * from: otherwise the copy is out of date, and so is the change*/
+    private void writeBackCopy(Student student, Student.Property property, String oldValue) {
+        if (arena == null) {
+            return;
+        }
+        int row = rowById.get(student.getId());
+        if (row == IntIntMap.MISSING || !matches(column(property), row, MemorySegment.ofArray(encode(oldValue)))) {
+            return;
+        }
+        writeBack(student, property);
+    }
+
+    //the student's row must be live
+    private void writeBack(Student student, Student.Property property) {
+        byte[] value = encode(switch (property) {
+            case NAME -> student.getName();
+            case EMAIL -> student.getEmail();
+            case ADDRESS -> student.getAddress();
+        });
+        if (stringsUsed + stored(value) > strings.byteSize()) {
+            rebuild(0, stored(value));
+        }
+        //rebuilding moves the rows, so the row is looked up afterwards
+        int row = rowById.get(student.getId());
+        MemorySegment column = column(property);
+        liveStringBytes -= storedAt(column, row);
+        column.setAtIndex(ValueLayout.JAVA_LONG, row, append(value));
+    }
+
+    private MemorySegment column(Student.Property property) {
+        return switch (property) {
+            case NAME -> names;
+            case EMAIL -> emails;
+            case ADDRESS -> addresses;
+        };
+    }
+
+    private boolean matches(MemorySegment column, int row, MemorySegment wanted) {
+        long offset = column.getAtIndex(ValueLayout.JAVA_LONG, row);
+        long length = strings.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        return length == wanted.byteSize()
+                && MemorySegment.mismatch(strings, offset + LENGTH_BYTES, offset + LENGTH_BYTES + length,
+                wanted, 0, length) == -1;
+    }
+
+    private String read(MemorySegment column, int row) {
+        long offset = column.getAtIndex(ValueLayout.JAVA_LONG, row);
+        byte[] bytes = new byte[strings.get(ValueLayout.JAVA_INT_UNALIGNED, offset)];
+        MemorySegment.copy(strings, ValueLayout.JAVA_BYTE, offset + LENGTH_BYTES, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    //the caller makes sure there is room for the bytes
+    private long append(byte[] bytes) {
+        long offset = stringsUsed;
+        strings.set(ValueLayout.JAVA_INT_UNALIGNED, offset, bytes.length);
+        MemorySegment.copy(bytes, 0, strings, ValueLayout.JAVA_BYTE, offset + LENGTH_BYTES, bytes.length);
+        stringsUsed += stored(bytes);
+        liveStringBytes += stored(bytes);
+        return offset;
+    }
+
+    private long storedAt(MemorySegment column, int row) {
+        long offset = column.getAtIndex(ValueLayout.JAVA_LONG, row);
+        return LENGTH_BYTES + strings.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+    }
+
+    /*Copies the live rows and the strings they use to new memory twice
+    * their size, leaving out deleted rows and replaced strings. The cost is
+    * amortized over the saves and changes it takes to fill the new memory*/
+    private void rebuild(int neededRows, long neededStringBytes) {
+        Arena oldArena = arena;
+        MemorySegment oldIds = ids;
+        MemorySegment oldSequences = sequences;
+        MemorySegment oldNames = names;
+        MemorySegment oldEmails = emails;
+        MemorySegment oldAddresses = addresses;
+        MemorySegment oldStrings = strings;
+        int oldRows = rows;
+
+        allocate(Math.max(MIN_ROWS, (size + neededRows) * 2),
+                Math.max(MIN_STRING_BYTES, (liveStringBytes + neededStringBytes) * 2));
+        rows = 0;
+        stringsUsed = 0;
+        liveStringBytes = 0;
+        for (int oldRow = 0; oldRow < oldRows; oldRow++) {
+            long sequence = oldSequences.getAtIndex(ValueLayout.JAVA_LONG, oldRow);
+            if (sequence < 0) {
+                continue;
+            }
+            int row = rows++;
+            int id = oldIds.getAtIndex(ValueLayout.JAVA_INT, oldRow);
+            ids.setAtIndex(ValueLayout.JAVA_INT, row, id);
+            sequences.setAtIndex(ValueLayout.JAVA_LONG, row, sequence);
+            names.setAtIndex(ValueLayout.JAVA_LONG, row, copyString(oldStrings, oldNames, oldRow));
+            emails.setAtIndex(ValueLayout.JAVA_LONG, row, copyString(oldStrings, oldEmails, oldRow));
+            addresses.setAtIndex(ValueLayout.JAVA_LONG, row, copyString(oldStrings, oldAddresses, oldRow));
+            rowById.put(id, row);
+        }
+        oldArena.close();
+    }
+
+    private long copyString(MemorySegment oldStrings, MemorySegment oldColumn, int oldRow) {
+        long oldOffset = oldColumn.getAtIndex(ValueLayout.JAVA_LONG, oldRow);
+        long bytes = LENGTH_BYTES + oldStrings.get(ValueLayout.JAVA_INT_UNALIGNED, oldOffset);
+        long offset = stringsUsed;
+        MemorySegment.copy(oldStrings, oldOffset, strings, offset, bytes);
+        stringsUsed += bytes;
+        liveStringBytes += bytes;
+        return offset;
+    }
+
+    private void allocate(int rowCapacity, long stringBytes) {
+        this.arena = Arena.ofShared();
+        this.rowCapacity = rowCapacity;
+        this.ids = allocateColumn(ValueLayout.JAVA_INT);
+        this.sequences = allocateColumn(ValueLayout.JAVA_LONG);
+        this.names = allocateColumn(ValueLayout.JAVA_LONG);
+        this.emails = allocateColumn(ValueLayout.JAVA_LONG);
+        this.addresses = allocateColumn(ValueLayout.JAVA_LONG);
+        this.strings = arena.allocate(stringBytes, 1);
+    }
+
+    private MemorySegment allocateColumn(ValueLayout layout) {
+        return arena.allocate(layout.byteSize() * rowCapacity, layout.byteAlignment());
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    //the length encode returns without encoding, or more if there are unpaired surrogates
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static long stored(byte[] bytes) {
+        return LENGTH_BYTES + bytes.length;
+    }
+
+    /**
+     * Splits a range of rows in halves, building a student for every live
+     * row it visits.
+     */
+    private final class RowSpliterator implements Spliterator<Student> {
+        private int row;
+        private final int end;
+
+        private RowSpliterator(int row, int end) {
+            this.row = row;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            while (row < end) {
+                int current = row++;
+                if (isLive(current)) {
+                    action.accept(toStudent(current));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            for (; row < end; row++) {
+                if (isLive(row)) {
+                    action.accept(toStudent(row));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            int middle = (row + end) >>> 1;
+            if (middle <= row) {
+                return null;
+            }
+            Spliterator<Student> prefix = new RowSpliterator(row, middle);
+            row = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - row;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL;
+        }
+    }
+
+    /**
+     * Writes changes to a saved student back to its row. Identifies the
+     * row by the sequence it had when the student was saved, so changes to
+     * a student that has since been deleted, or deleted and saved again,
+     * are ignored. Equal to every other write-through of the same DAO for
+     * the same id, whatever its sequence, so that saving and deleting a
+     * student can replace or remove the one it carries.
+     */
+    private final class WriteThrough implements StudentListener {
+        private final int id;
+        private final long sequence;
+
+        private WriteThrough(int id, long sequence) {
+            this.id = id;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void studentChanged(Student student, Student.Property property, String oldValue) {
+            if (arena == null || rowOf() == IntIntMap.MISSING) {
+                return;
+            }
+            writeBack(student, property);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WriteThrough other && other.owner() == owner() && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        private StudentDaoOffHeap owner() {
+            return StudentDaoOffHeap.this;
+        }
+
+        private int rowOf() {
+            int row = rowById.get(id);
+            if (row == IntIntMap.MISSING || sequences.getAtIndex(ValueLayout.JAVA_LONG, row) != sequence) {
+                return IntIntMap.MISSING;
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package data_access_objects;
+
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe {@link StudentDao} that partitions students by a hash of
+ * their id over a fixed number of independent shards, each with its own
+ * lock, so that saves and deletes of different students rarely contend.
+ *
+ * <p>Lookups by id only touch the shard the id belongs to. Lookups that
+ * have to go through every student, such as {@link #findAll()},
+ * {@link #findByName(String)} and {@link #findByEmail(String)}, go through
+ * every shard in parallel on a {@link ForkJoinPool} and merge what the
+ * shards found, so they scale with the number of cores instead of being
+ * a single scan like in {@link StudentDaoList}. Nothing but the id is
+ * indexed, which also means changes to the name or email of a stored
+ * student need no bookkeeping.</p>
+ *
+ * <p>Every saved student is given a sequence number in order of insertion,
+ * so the merged results keep the same order as every other
+ * {@link StudentDao}. The sequence numbers are also used as keyset cursors
+ * by {@link #findPage(long, int)}. Every shard is read as of one moment,
+ * but not every shard as of the same one, so the lists are weakly
+ * consistent while students are saved and deleted concurrently: they are
+ * always in order of insertion, but may or may not reflect the
+ * changes.</p>
+ */
+public class StudentDaoSharded implements StudentDao {
+    private final Shards<Student> shards;
+    private final CourseDao courseDao;
+
+    /**
+     * Creates a student DAO with {@code shards} shards whose deletes don't
+     * touch any course rosters, fanning out on the common pool.
+     *
+     * @param shards the number of shards, usually about the number of
+     *               cores
+     */
+    public StudentDaoSharded(int shards) {
+        this(shards, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a student DAO with {@code shards} shards that fans out on
+     * {@code pool}, and unregisters a deleted student from every course in
+     * {@code courseDao} the student is registered in.
+     *
+     * @param shards    the number of shards, usually about the number of
+     *                  cores
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     * @param pool      the pool to go through the shards in parallel on
+     */
+    public StudentDaoSharded(int shards, CourseDao courseDao, ForkJoinPool pool) {
+        this.shards = new Shards<>(shards, Student::getId, pool);
+        this.courseDao = courseDao;
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        return shards.add(student) ? student : null;
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        return shards.findFirst(student -> student.getEmail().equals(email));
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        return shards.filter(student -> student.getName().equals(name));
+    }
+
+    /**
+     * Returns up to {@code limit} students whose name starts with
+     * {@code prefix}, ignoring case, see
+     * {@link StudentDao#findByNamePrefix(String, int)}. The shards are
+     * filtered in parallel, and only the matches are sorted.
+     *
+     * @param prefix the start of the names to search for, the empty string
+     *               matches every student
+     * @param limit  the maximum number of students to return
+     * @return a list of at most {@code limit} students whose name starts
+     * with the prefix, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = NameKey.checkPrefix(prefix, limit);
+        List<Student> matches = shards.filter(
+                student -> NameKey.normalize(student.getName()).startsWith(normalizedPrefix));
+        //the sort is stable, which keeps students with the same name in order of insertion
+        return matches.stream()
+                .map(student -> Map.entry(NameKey.normalize(student.getName()), student))
+                .sorted(Map.Entry.comparingByKey())
+                .limit(limit)
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        return shards.get(id);
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        return shards.filter(student -> true);
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion. Every shard is
+     * read a batch at a time as the stream is consumed, and the shards are
+     * merged by sequence number, so the students are never copied into a list
+     * first. Like {@link #findAll()} the stream is weakly consistent.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return shards.stream();
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, so every shard only goes through
+     * the students that may end up on the page, and saving or deleting
+     * students between calls doesn't shift the pages.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        //one more than asked for, to find the cursor of the next page
+        List<Shards.Entry<Student>> entries = shards.page(cursor, limit + 1);
+        if (entries.size() <= limit) {
+            return new Page<>(Shards.entities(entries), Page.END);
+        }
+        return new Page<>(Shards.entities(entries.subList(0, limit)), entries.get(limit).sequence());
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        Student removed = shards.remove(student.getId());
+        if (removed == null) {
+            return false;
+        }
+        if (courseDao != null) {
+            courseDao.unregisterFromCourses(removed);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,260 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link StudentDao} over the students of a {@link Snapshot}, see
+ * {@link Snapshot#students()}.
+ *
+ * <p>A student is built from its record the first time it's looked up and
+ * the same instance is returned from then on, so changes made to it are
+ * kept. Students saved after the snapshot was opened are kept in a
+ * {@link StudentDaoIndexed} and come after the ones in the snapshot in
+ * order of insertion.</p>
+ */
+public class StudentDaoSnapshot implements StudentDao {
+    private final Snapshot snapshot;
+    //students from the snapshot that have been built, by id
+    private final Map<Integer, Student> loaded = new HashMap<>();
+    //ids of students from the snapshot that have been deleted
+    private final Set<Integer> deleted = new HashSet<>();
+    private final StudentDaoIndexed added = new StudentDaoIndexed();
+
+    StudentDaoSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        if (recordOf(student.getId()) != -1) {
+            return null;
+        }
+        return added.saveStudent(student);
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        MemorySegment wanted = Snapshot.encoded(email);
+        long record = snapshot.firstStudentRecord();
+        for (int i = 0; i < snapshot.studentCount(); i++, record = snapshot.nextRecord(record)) {
+            int id = snapshot.getInt(record + 4);
+            if (deleted.contains(id)) {
+                continue;
+            }
+            Student student = loaded.get(id);
+            boolean matches = student != null
+                    ? student.getEmail().equals(email)
+                    : snapshot.stringEquals(emailOffset(record), wanted);
+            if (matches) {
+                return load(id, record);
+            }
+        }
+        return added.findByEmail(email);
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        List<Student> found = new ArrayList<>();
+        if (name == null) {
+            return found;
+        }
+        MemorySegment wanted = Snapshot.encoded(name);
+        long record = snapshot.firstStudentRecord();
+        for (int i = 0; i < snapshot.studentCount(); i++, record = snapshot.nextRecord(record)) {
+            int id = snapshot.getInt(record + 4);
+            if (deleted.contains(id)) {
+                continue;
+            }
+            Student student = loaded.get(id);
+            boolean matches = student != null
+                    ? student.getName().equals(name)
+                    : snapshot.stringEquals(nameOffset(record), wanted);
+            if (matches) {
+                found.add(load(id, record));
+            }
+        }
+        found.addAll(added.findByName(name));
+        return found;
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        long record = recordOf(id);
+        if (record == -1) {
+            return added.findById(id);
+        }
+        return load(id, record);
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        List<Student> all = new ArrayList<>(snapshot.studentCount());
+        long record = snapshot.firstStudentRecord();
+        for (int i = 0; i < snapshot.studentCount(); i++, record = snapshot.nextRecord(record)) {
+            int id = snapshot.getInt(record + 4);
+            if (!deleted.contains(id)) {
+                all.add(load(id, record));
+            }
+        }
+        all.addAll(added.findAll());
+        return all;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion. The records
+     * of the snapshot are read one at a time as the stream is consumed,
+     * followed by the students saved since, so nothing is copied into a list
+     * first. The stream must be consumed before the DAO is changed again.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return Stream.concat(StreamSupport.stream(new RecordSpliterator(), false), added.stream());
+    }
+
+    /**
+     * Removes the specified student from the collection and unregisters it
+     * from every course of the snapshot it's registered in.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            return false;
+        }
+        if (recordOf(student.getId()) != -1) {
+            deleted.add(student.getId());
+            loaded.remove(student.getId());
+        } else if (!added.deleteStudent(student)) {
+            return false;
+        }
+
+        for (Course course : snapshot.courses().findCoursesForStudent(student)) {
+            course.unregister(student);
+        }
+        return true;
+    }
+
+    //returns the offset of the student's record, or -1 if it isn't in the snapshot or has been deleted
+    private long recordOf(int id) {
+        if (deleted.contains(id)) {
+            return -1;
+        }
+        return snapshot.findStudent(id);
+    }
+
+    private Student load(int id, long record) {
+        Student student = loaded.get(id);
+        if (student == null) {
+            long name = nameOffset(record);
+            long email = snapshot.skipString(name);
+            long address = snapshot.skipString(email);
+            student = new Student(id, snapshot.getString(name), snapshot.getString(email),
+                    snapshot.getString(address));
+            loaded.put(id, student);
+        }
+        return student;
+    }
+
+    private static long nameOffset(long record) {
+        return record + 8;
+    }
+
+    private long emailOffset(long record) {
+        return snapshot.skipString(nameOffset(record));
+    }
+
+    /**
+     * Goes through the student records of the snapshot in order of
+     * insertion, skipping deleted students and building the others as they
+     * are reached. Records have no fixed length, so parallel streams split
+     * it into batches, see {@link Spliterators.AbstractSpliterator}.
+     */
+    private final class RecordSpliterator extends Spliterators.AbstractSpliterator<Student> {
+        private long record = snapshot.firstStudentRecord();
+        private int index;
+
+        private RecordSpliterator() {
+            super(snapshot.studentCount(), ORDERED | DISTINCT | NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            while (index < snapshot.studentCount()) {
+                long current = record;
+                record = snapshot.nextRecord(record);
+                index++;
+                int id = snapshot.getInt(current + 4);
+                if (!deleted.contains(id)) {
+                    action.accept(load(id, current));
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
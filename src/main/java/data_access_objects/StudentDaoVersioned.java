@@ -0,0 +1,388 @@
+package data_access_objects;
+
+import model.Student;
+import model.StudentListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread safe {@link StudentDao} whose readers work on immutable versions
+ * of the stored students, so that they never block writers, are never
+ * blocked by them, and never see a write half done.
+ *
+ * <p>A version is a pair of persistent trees, by id and by order of
+ * insertion. Writers take a lock, build the next version, sharing every
+ * part the write didn't touch with the current one, and publish it
+ * through a volatile field. Every read method works on the version that
+ * is current when it's called, and {@link #snapshot()} pins that version
+ * in O(1) for any number of reads, such as a report that has to add up
+ * while registrations keep coming in. Batches saved through
+ * {@link #saveAll(Collection)} or deleted through
+ * {@link #deleteAll(Collection)} are published as a single version.</p>
+ *
+ * <p>Students themselves are mutable and shared by every version. The
+ * name and email a version matches lookups against are the ones the
+ * student had when the version was published, which are kept up to date
+ * by listening to changes made through {@link Student#setName(String)}
+ * and {@link Student#setEmail(String)} on stored students, but a student
+ * returned from an older version shows its current values. Lookups by
+ * name or email go through every student in the version.</p>
+ */
+public class StudentDaoVersioned implements StudentDao {
+    private volatile Version version;
+    private final boolean snapshot;
+    private final StudentListener listener = this::changed;
+    private final CourseDao courseDao;
+
+    //name and email are the values lookups match against in this version
+    private record Entry(Student student, long sequence, String name, String email) {
+        private static Entry of(Student student, long sequence) {
+            return new Entry(student, sequence, student.getName(), student.getEmail());
+        }
+    }
+
+    private record Version(PersistentTree<Entry> byId, PersistentTree<Entry> bySequence, long nextSequence) {
+        private Version with(Entry entry) {
+            return new Version(byId.put(entry.student().getId(), entry), bySequence.put(entry.sequence(), entry),
+                    Math.max(nextSequence, entry.sequence() + 1));
+        }
+
+        private Version without(Entry entry) {
+            return new Version(byId.remove(entry.student().getId()), bySequence.remove(entry.sequence()),
+                    nextSequence);
+        }
+    }
+
+    /**
+     * Creates a student DAO whose deletes don't touch any course rosters.
+     */
+    public StudentDaoVersioned() {
+        this((CourseDao) null);
+    }
+
+    /**
+     * Creates a student DAO that unregisters a deleted student from every
+     * course in {@code courseDao} the student is registered in.
+     *
+     * @param courseDao the courses to cascade deletes to, or {@code null}
+     *                  to not cascade deletes
+     */
+    public StudentDaoVersioned(CourseDao courseDao) {
+        this.version = new Version(PersistentTree.empty(), PersistentTree.empty(), 0);
+        this.snapshot = false;
+        this.courseDao = courseDao;
+    }
+
+    private StudentDaoVersioned(Version version) {
+        this.version = version;
+        this.snapshot = true;
+        this.courseDao = null;
+    }
+
+    /**
+     * Returns a read-only DAO over the students as they are right now,
+     * which later writes to this DAO don't change. Costs O(1) no matter
+     * how many students are stored. Every method that would change the
+     * snapshot throws {@link UnsupportedOperationException}.
+     *
+     * @return a point-in-time snapshot of this DAO
+     */
+    public StudentDaoVersioned snapshot() {
+        return new StudentDaoVersioned(version);
+    }
+
+    /**
+     * Tries to save a new student. Returns the saved student
+     * if successful or {@code null} if the student could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param student the student to try to save.
+     * @return the saved student if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Student saveStudent(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        return saveAll(List.of(student)).get(0);
+    }
+
+    /**
+     * Tries to save every student in {@code students}, see
+     * {@link StudentDao#saveAll(Collection)}. The saved students are
+     * published together, so no reader sees only some of them.
+     *
+     * @param students the students to try to save
+     * @return the result of saving each student, in the same order
+     */
+    @Override
+    public List<Student> saveAll(Collection<Student> students) {
+        checkWritable();
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("students may not contain null");
+            }
+        }
+        List<Student> saved = new ArrayList<>(students.size());
+        synchronized (this) {
+            Version next = version;
+            for (Student student : students) {
+                if (next.byId().get(student.getId()) != null) {
+                    saved.add(null);
+                    continue;
+                }
+                //listen first, changes from other threads wait for the lock and then see the entry
+                student.addListener(listener);
+                next = next.with(Entry.of(student, next.nextSequence()));
+                saved.add(student);
+            }
+            version = next;
+        }
+        return saved;
+    }
+
+    /**
+     * Returns <strong>the first by order of insertion</strong> student whose
+     * email matches the supplied one, or {@code null} if no student with a
+     * matching email is found.
+     *
+     * @param email email to search for
+     * @return the first student by order of insertion with a matching email,
+     * or {@code null} if no match is found
+     */
+    @Override
+    public Student findByEmail(String email) {
+        for (Entry entry : version.bySequence()) {
+            if (entry.email().equals(email)) {
+                return entry.student();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of student objects whose name matches the
+     * supplied one, in order of insertion. If no students with a matching
+     * name are found, an empty list is returned instead
+     *
+     * @param name the name to search for
+     * @return a list of students with the matching name, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByName(String name) {
+        List<Student> found = new ArrayList<>();
+        for (Entry entry : version.bySequence()) {
+            if (entry.name().equals(name)) {
+                found.add(entry.student());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns up to {@code limit} students whose name starts with
+     * {@code prefix}, ignoring case, see
+     * {@link StudentDao#findByNamePrefix(String, int)}.
+     *
+     * @param prefix the start of the names to search for, the empty string
+     *               matches every student
+     * @param limit  the maximum number of students to return
+     * @return a list of at most {@code limit} students whose name starts
+     * with the prefix, or an empty list if no match is found
+     */
+    @Override
+    public List<Student> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = NameKey.checkPrefix(prefix, limit);
+        //the sort is stable, which keeps students with the same name in order of insertion
+        return entries(version)
+                .map(entry -> Map.entry(NameKey.normalize(entry.name()), entry.student()))
+                .filter(match -> match.getKey().startsWith(normalizedPrefix))
+                .sorted(Map.Entry.comparingByKey())
+                .limit(limit)
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Returns the student whose id matches the supplied one, or
+     * {@code null} if no student with a matching id is found.
+     *
+     * @param id id to search for
+     * @return the student with a matching id, or {@code null} if no match
+     * is found
+     */
+    @Override
+    public Student findById(int id) {
+        return studentOf(version.byId().get(id));
+    }
+
+    /**
+     * Looks up every id in {@code ids} in the same version, see
+     * {@link StudentDao#findAllById(int[])}.
+     *
+     * @param ids the ids to search for
+     * @return the student with each id, in the same order
+     */
+    @Override
+    public List<Student> findAllById(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids may not be null");
+        }
+        PersistentTree<Entry> byId = version.byId();
+        List<Student> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(studentOf(byId.get(id)));
+        }
+        return found;
+    }
+
+    /**
+     * Returns a list containing all student objects.
+     * The returned list reflects the order of insertion.
+     *
+     * @return a list of all students
+     */
+    @Override
+    public List<Student> findAll() {
+        PersistentTree<Entry> bySequence = version.bySequence();
+        List<Student> all = new ArrayList<>(bySequence.size());
+        for (Entry entry : bySequence) {
+            all.add(entry.student());
+        }
+        return all;
+    }
+
+    /**
+     * Returns a stream of all students in order of insertion, without
+     * copying them into a list first. The stream goes through the version
+     * that is current when this is called, so writes made while it's
+     * consumed don't affect it.
+     *
+     * @return a stream of all students
+     */
+    @Override
+    public Stream<Student> stream() {
+        return entries(version).map(Entry::student);
+    }
+
+    /**
+     * Returns up to {@code limit} students in order of insertion, starting
+     * at {@code cursor}, see {@link Page}. The cursor is the sequence number
+     * of the first student on the page, so saving or deleting students
+     * between calls doesn't shift the pages, and calling this on a
+     * {@link #snapshot()} pages through a single version.
+     *
+     * @param cursor {@link Page#FIRST} or the next cursor of the previous page
+     * @param limit  the maximum number of students on the page
+     * @return the page starting at {@code cursor}
+     */
+    @Override
+    public Page<Student> findPage(long cursor, int limit) {
+        Page.checkArguments(cursor, limit);
+        List<Student> items = new ArrayList<>();
+        Iterator<PersistentTree.Node<Entry>> nodes = version.bySequence().nodesFrom(cursor);
+        while (nodes.hasNext()) {
+            PersistentTree.Node<Entry> node = nodes.next();
+            if (items.size() == limit) {
+                return new Page<>(items, node.key());
+            }
+            items.add(node.value().student());
+        }
+        return new Page<>(items, Page.END);
+    }
+
+    /**
+     * Removes the specified student from the collection.
+     * If the student is found and successfully removed, returns {@code true}.
+     * If the student is not in the collection, returns {@code false}.
+     *
+     * @param student the student to remove
+     * @return {@code true} if the student was successfully removed, {@code false} if the student was not found
+     */
+    @Override
+    public boolean deleteStudent(Student student) {
+        if (student == null) {
+            checkWritable();
+            return false;
+        }
+        return deleteAll(List.of(student))[0];
+    }
+
+    /**
+     * Tries to delete every student in {@code students}, see
+     * {@link StudentDao#deleteAll(Collection)}. The deletes are published
+     * together, before the students are unregistered from their courses.
+     *
+     * @param students the students to delete
+     * @return whether each student was deleted, in the same order
+     */
+    @Override
+    public boolean[] deleteAll(Collection<Student> students) {
+        checkWritable();
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        boolean[] deleted = new boolean[students.size()];
+        List<Student> removed = new ArrayList<>();
+        synchronized (this) {
+            Version next = version;
+            int i = 0;
+            for (Student student : students) {
+                Entry entry = student == null ? null : next.byId().get(student.getId());
+                if (entry != null) {
+                    next = next.without(entry);
+                    entry.student().removeListener(listener);
+                    removed.add(entry.student());
+                    deleted[i] = true;
+                }
+                i++;
+            }
+            version = next;
+        }
+        for (Student student : removed) {
+            if (courseDao != null) {
+                courseDao.unregisterFromCourses(student);
+            }
+        }
+        return deleted;
+    }
+
+    private void changed(Student student, Student.Property property, String oldValue) {
+        if (property == Student.Property.ADDRESS) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = version.byId().get(student.getId());
+            //a student that was deleted and replaced by another instance with the same id is ignored
+            if (entry == null || entry.student() != student) {
+                return;
+            }
+            version = version.with(Entry.of(student, entry.sequence()));
+        }
+    }
+
+    private void checkWritable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("snapshots are read only");
+        }
+    }
+
+    private static Stream<Entry> entries(Version version) {
+        return StreamSupport.stream(version.bySequence().spliterator(), false);
+    }
+
+    private static Student studentOf(Entry entry) {
+        return entry == null ? null : entry.student();
+    }
+}
@@ -0,0 +1,198 @@
+package enrollment_analytics;
+
+import data_access_objects.CourseDao;
+import data_access_objects.Page;
+import model.Course;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CourseDao} that tracks every course stored in another course DAO
+ * in an {@link EnrollmentAnalytics}, so that the aggregates always cover
+ * exactly the stored courses.
+ *
+ * <p>The courses already stored in the other DAO are tracked when this DAO
+ * is created. After that, courses are tracked once the other DAO has saved
+ * them and untracked once it has removed them. Reads are passed straight
+ * on to the other DAO.</p>
+ *
+ * <p>Courses must only be saved and removed through this DAO once it's in
+ * front of the other one. This DAO is thread safe whenever the other one
+ * is.</p>
+ */
+public class AnalyticsCourseDao implements CourseDao {
+    private final CourseDao courseDao;
+    private final EnrollmentAnalytics analytics;
+
+    /**
+     * Creates an analytics DAO in front of {@code courseDao}, and tracks
+     * every course already stored in it.
+     *
+     * @param courseDao the DAO to store the courses in
+     * @param analytics the analytics to track the courses in, which must
+     *                  not track any of them yet
+     */
+    public AnalyticsCourseDao(CourseDao courseDao, EnrollmentAnalytics analytics) {
+        if (courseDao == null) {
+            throw new IllegalArgumentException("courseDao may not be null");
+        }
+        if (analytics == null) {
+            throw new IllegalArgumentException("analytics may not be null");
+        }
+        this.courseDao = courseDao;
+        this.analytics = analytics;
+        analytics.trackAll(courseDao.findAll());
+    }
+
+    /**
+     * Returns the analytics the stored courses are tracked in.
+     *
+     * @return the analytics of this DAO
+     */
+    public EnrollmentAnalytics analytics() {
+        return analytics;
+    }
+
+    /**
+     * Tries to save a new course. Returns the saved course
+     * if successful or {@code null} if the course could not be
+     * saved due to a duplicate already existing.
+     *
+     * @param course the course to try to save.
+     * @return the saved course if successful or {@code null} if a
+     * duplicate already exists.
+     */
+    @Override
+    public Course saveCourse(Course course) {
+        Course saved = courseDao.saveCourse(course);
+        if (saved != null) {
+            analytics.track(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Tries to save every course in {@code courses} through a single call
+     * to the other DAO, see {@link CourseDao#saveAll(Collection)}, and
+     * tracks the courses that were saved together.
+     *
+     * @param courses the courses to try to save
+     * @return the result of saving each course, in the same order
+     */
+    @Override
+    public List<Course> saveAll(Collection<Course> courses) {
+        List<Course> saved = courseDao.saveAll(courses);
+        List<Course> toTrack = new ArrayList<>(saved.size());
+        for (Course course : saved) {
+            if (course != null) {
+                toTrack.add(course);
+            }
+        }
+        analytics.trackAll(toTrack);
+        return saved;
+    }
+
+    @Override
+    public Course findById(int id) {
+        return courseDao.findById(id);
+    }
+
+    @Override
+    public List<Course> findAllById(int[] ids) {
+        return courseDao.findAllById(ids);
+    }
+
+    @Override
+    public List<Course> findByName(String name) {
+        return courseDao.findByName(name);
+    }
+
+    @Override
+    public List<Course> findByDate(LocalDate date) {
+        return courseDao.findByDate(date);
+    }
+
+    @Override
+    public List<Course> findByDateRange(LocalDate from, LocalDate to) {
+        return courseDao.findByDateRange(from, to);
+    }
+
+    @Override
+    public List<Course> findActiveOn(LocalDate date) {
+        return courseDao.findActiveOn(date);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return courseDao.findAll();
+    }
+
+    @Override
+    public List<Course> findCoursesForStudent(Student student) {
+        return courseDao.findCoursesForStudent(student);
+    }
+
+    @Override
+    public Stream<Course> stream() {
+        return courseDao.stream();
+    }
+
+    @Override
+    public Page<Course> findPage(long cursor, int limit) {
+        return courseDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Removes the specified course from the collection.
+     * If the course is found and successfully removed, returns {@code true}.
+     * If the course is not in the collection, returns {@code false}.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was successfully removed, {@code false} if the course was not found
+     */
+    @Override
+    public boolean removeCourse(Course course) {
+        if (course == null) {
+            return false;
+        }
+        //the stored instance is the one being tracked, which may not be the supplied one
+        Course stored = courseDao.findById(course.getId());
+        if (!courseDao.removeCourse(course)) {
+            return false;
+        }
+        analytics.untrack(stored == null ? course : stored);
+        return true;
+    }
+
+    /**
+     * Tries to remove every course in {@code courses} through a single
+     * call to the other DAO, see {@link CourseDao#removeAll(Collection)},
+     * and untracks each course that was removed.
+     *
+     * @param courses the courses to remove
+     * @return whether each course was removed, in the same order
+     */
+    @Override
+    public boolean[] removeAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        List<Course> supplied = new ArrayList<>(courses);
+        List<Course> stored = new ArrayList<>(supplied.size());
+        for (Course course : supplied) {
+            stored.add(course == null ? null : courseDao.findById(course.getId()));
+        }
+        boolean[] removed = courseDao.removeAll(courses);
+        for (int i = 0; i < removed.length; i++) {
+            if (removed[i]) {
+                analytics.untrack(stored.get(i) == null ? supplied.get(i) : stored.get(i));
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,232 @@
+package enrollment_analytics;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps enrollment aggregates up to date as courses are tracked and
+ * untracked and as students register in and unregister from them, so
+ * that dashboards can read them without going through every course and
+ * roster: how many students each course has, how many registrations there
+ * are in courses starting in a week, how many courses a registered student
+ * is in on average, and which course names have the most registrations.
+ *
+ * <p>Tracked courses are listened to, and every change is applied to the
+ * aggregates while it is being made, in O(1), or O(log names) when it
+ * changes the registrations of a course name. Every read apart from
+ * {@link #stats()} is O(1), or O(limit) for
+ * {@link #popularCourseNames(int)}. Courses are usually tracked by saving
+ * them through an {@link AnalyticsCourseDao}.</p>
+ *
+ * <p>{@link #recompute(Collection)} computes the same aggregates from
+ * scratch in parallel, to check the tracked ones against, and
+ * {@link #trackAll(Collection)} uses it to start tracking many courses at
+ * once. This class is thread safe, but the rosters of courses being
+ * tracked must not change until tracking them returns, the same as for
+ * saving them to a DAO.</p>
+ */
+public class EnrollmentAnalytics {
+    private final Tally tally = new Tally(true);
+    private final CourseListener listener = new CourseListener() {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            synchronized (EnrollmentAnalytics.this) {
+                if (!tally.contains(course)) {
+                    return;
+                }
+                switch (property) {
+                    case COURSE_NAME -> tally.rename(course, (String) oldValue);
+                    case START_DATE -> tally.reschedule(course, (LocalDate) oldValue);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void studentRegistered(Course course, Student student) {
+            synchronized (EnrollmentAnalytics.this) {
+                if (tally.contains(course)) {
+                    tally.register(course, student);
+                }
+            }
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            synchronized (EnrollmentAnalytics.this) {
+                if (tally.contains(course)) {
+                    tally.unregister(course, student);
+                }
+            }
+        }
+    };
+
+    /**
+     * Computes the aggregates of {@code courses} from scratch, going through
+     * the courses in parallel on the common fork-join pool.
+     *
+     * @param courses the courses to compute the aggregates of, without
+     *                duplicates
+     * @return the aggregates of the courses
+     */
+    public static EnrollmentStats recompute(Collection<Course> courses) {
+        return tallyOf(courses).stats();
+    }
+
+    /**
+     * Starts tracking {@code course}, adding its current roster to the
+     * aggregates.
+     *
+     * @param course the course to track
+     * @throws IllegalArgumentException if the course is {@code null} or a
+     *                                  course with the same id is already
+     *                                  tracked
+     */
+    public void track(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        trackAll(List.of(course));
+    }
+
+    /**
+     * Starts tracking every course in {@code courses}, adding their rosters
+     * to the aggregates, which are computed in parallel the same way as
+     * {@link #recompute(Collection)}. Either every course is tracked, or
+     * none of them are.
+     *
+     * @param courses the courses to track, without duplicates
+     * @throws IllegalArgumentException if the courses are {@code null},
+     *                                  contain {@code null} or contain a
+     *                                  course with the same id as one that
+     *                                  is already tracked
+     */
+    public void trackAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("courses may not contain null");
+            }
+        }
+        Tally added = tallyOf(courses);
+        synchronized (this) {
+            for (Course course : courses) {
+                if (tally.contains(course)) {
+                    throw new IllegalArgumentException("course " + course.getId() + " is already tracked");
+                }
+            }
+            for (Course course : courses) {
+                course.addListener(listener);
+            }
+            tally.merge(added);
+        }
+    }
+
+    /**
+     * Stops tracking {@code course}, removing its roster from the
+     * aggregates. Does nothing if the course isn't tracked.
+     *
+     * @param course the course to stop tracking
+     */
+    public void untrack(Course course) {
+        if (course == null) {
+            return;
+        }
+        course.removeListener(listener);
+        synchronized (this) {
+            tally.removeCourse(course);
+        }
+    }
+
+    /**
+     * Returns the number of students registered in the course with the
+     * supplied id, or 0 if it isn't tracked.
+     *
+     * @param courseId the id of the course
+     * @return the number of students registered in the course
+     */
+    public synchronized int fillCount(int courseId) {
+        return tally.fillCount(courseId);
+    }
+
+    /**
+     * Returns the number of registrations in courses starting in the week,
+     * from Monday to Sunday, that {@code date} is in.
+     *
+     * @param date any day of the week
+     * @return the number of registrations in courses starting that week
+     */
+    public synchronized int registrationsInStartWeek(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date may not be null");
+        }
+        return tally.registrationsInWeekOf(date);
+    }
+
+    /**
+     * Returns the number of distinct students registered in at least one
+     * tracked course.
+     *
+     * @return the number of registered students
+     */
+    public synchronized int students() {
+        return tally.students();
+    }
+
+    /**
+     * Returns the number of registrations in all tracked courses.
+     *
+     * @return the number of registrations
+     */
+    public synchronized long registrations() {
+        return tally.registrations();
+    }
+
+    /**
+     * Returns the average number of tracked courses a registered student is
+     * registered in, or 0 if no student is registered anywhere.
+     *
+     * @return the average number of enrollments per student
+     */
+    public synchronized double averageEnrollmentsPerStudent() {
+        int students = tally.students();
+        return students == 0 ? 0 : (double) tally.registrations() / students;
+    }
+
+    /**
+     * Returns up to {@code limit} course names with the most
+     * registrations, see {@link EnrollmentStats#popularCourseNames(int)}.
+     *
+     * @param limit the maximum number of names to return
+     * @return the most popular course names
+     */
+    public synchronized List<String> popularCourseNames(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit may not be negative");
+        }
+        return tally.popularCourseNames(limit);
+    }
+
+    /**
+     * Returns a copy of every aggregate, which is equal to what
+     * {@link #recompute(Collection)} returns for the tracked courses. Costs
+     * O(courses + weeks + names).
+     *
+     * @return the current aggregates
+     */
+    public synchronized EnrollmentStats stats() {
+        return tally.stats();
+    }
+
+    private static Tally tallyOf(Collection<Course> courses) {
+        return courses.parallelStream().collect(() -> new Tally(false), Tally::addCourse, Tally::merge);
+    }
+}
@@ -0,0 +1,69 @@
+package enrollment_analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The enrollment aggregates of a set of courses at one point in time, as
+ * returned by {@link EnrollmentAnalytics#stats()} and
+ * {@link EnrollmentAnalytics#recompute(java.util.Collection)}. Two stats
+ * over the same courses and rosters are equal however they were
+ * computed.
+ *
+ * @param fillCounts                the number of students registered in
+ *                                  each course, by course id, including
+ *                                  empty courses
+ * @param registrationsPerStartWeek the number of registrations in courses
+ *                                  starting in each week, by the Monday
+ *                                  of the week, for weeks with at least
+ *                                  one registration
+ * @param registrationsPerName      the number of registrations in courses
+ *                                  with each name, for names with at least
+ *                                  one registration
+ * @param students                  the number of distinct students
+ *                                  registered in at least one course
+ * @param registrations             the number of registrations in all
+ *                                  courses
+ */
+public record EnrollmentStats(Map<Integer, Integer> fillCounts,
+                              Map<LocalDate, Integer> registrationsPerStartWeek,
+                              Map<String, Integer> registrationsPerName,
+                              int students,
+                              long registrations) {
+    public EnrollmentStats {
+        fillCounts = Map.copyOf(fillCounts);
+        registrationsPerStartWeek = Map.copyOf(registrationsPerStartWeek);
+        registrationsPerName = Map.copyOf(registrationsPerName);
+    }
+
+    /**
+     * Returns the average number of courses a registered student is
+     * registered in, or 0 if no student is registered anywhere.
+     *
+     * @return the average number of enrollments per student
+     */
+    public double averageEnrollmentsPerStudent() {
+        return students == 0 ? 0 : (double) registrations / students;
+    }
+
+    /**
+     * Returns up to {@code limit} course names with the most
+     * registrations, most registrations first and names with as many
+     * registrations in alphabetical order.
+     *
+     * @param limit the maximum number of names to return
+     * @return the most popular course names
+     */
+    public List<String> popularCourseNames(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit may not be negative");
+        }
+        return registrationsPerName.entrySet().stream()
+                .map(entry -> new NameCount(entry.getKey(), entry.getValue()))
+                .sorted(NameCount.BY_POPULARITY)
+                .limit(limit)
+                .map(NameCount::name)
+                .toList();
+    }
+}
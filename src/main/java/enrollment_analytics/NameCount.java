@@ -0,0 +1,9 @@
+package enrollment_analytics;
+
+import java.util.Comparator;
+
+//the number of registrations in courses with a name, ordered the way popular names are listed
+record NameCount(String name, int count) {
+    static final Comparator<NameCount> BY_POPULARITY = Comparator.comparingInt(NameCount::count).reversed()
+            .thenComparing(NameCount::name);
+}
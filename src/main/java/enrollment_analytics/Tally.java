@@ -0,0 +1,155 @@
+package enrollment_analytics;
+
+import model.Course;
+import model.Student;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The running counts behind {@link EnrollmentStats}, which courses and
+ * registrations are added to and removed from one at a time. Not thread
+ * safe.
+ *
+ * <p>Every count is kept in a hash map, so every change is O(1) apart from
+ * adding or removing a whole course, which is O(roster). A ranked tally
+ * also keeps the course names ordered by popularity, at O(log names) per
+ * change, so that the most popular names can be read without sorting.</p>
+ */
+final class Tally {
+    private final Map<Integer, Integer> fillCounts = new HashMap<>();
+    private final Map<LocalDate, Integer> perStartWeek = new HashMap<>();
+    private final Map<String, Integer> perName = new HashMap<>();
+    //the number of courses each student is registered in, by student id
+    private final Map<Integer, Integer> perStudent = new HashMap<>();
+    private final NavigableSet<NameCount> ranking;
+    private long registrations;
+
+    Tally(boolean ranked) {
+        this.ranking = ranked ? new TreeSet<>(NameCount.BY_POPULARITY) : null;
+    }
+
+    boolean contains(Course course) {
+        return fillCounts.containsKey(course.getId());
+    }
+
+    int fillCount(int courseId) {
+        return fillCounts.getOrDefault(courseId, 0);
+    }
+
+    int registrationsInWeekOf(LocalDate date) {
+        return perStartWeek.getOrDefault(weekOf(date), 0);
+    }
+
+    int students() {
+        return perStudent.size();
+    }
+
+    long registrations() {
+        return registrations;
+    }
+
+    List<String> popularCourseNames(int limit) {
+        return ranking.stream().limit(limit).map(NameCount::name).toList();
+    }
+
+    //rosters are read as ids, so that adding or removing a course with a loaded roster doesn't resolve it
+    void addCourse(Course course) {
+        int[] roster = course.copyStudentIds();
+        int size = roster.length;
+        fillCounts.put(course.getId(), size);
+        add(perStartWeek, weekOf(course.getStartDate()), size);
+        addToName(course.getCourseName(), size);
+        for (int studentId : roster) {
+            add(perStudent, studentId, 1);
+        }
+        registrations += size;
+    }
+
+    void removeCourse(Course course) {
+        Integer size = fillCounts.remove(course.getId());
+        if (size == null) {
+            return;
+        }
+        add(perStartWeek, weekOf(course.getStartDate()), -size);
+        addToName(course.getCourseName(), -size);
+        for (int studentId : course.copyStudentIds()) {
+            add(perStudent, studentId, -1);
+        }
+        registrations -= size;
+    }
+
+    void register(Course course, Student student) {
+        change(course, student, 1);
+    }
+
+    void unregister(Course course, Student student) {
+        change(course, student, -1);
+    }
+
+    void rename(Course course, String oldName) {
+        int size = fillCount(course.getId());
+        addToName(oldName, -size);
+        addToName(course.getCourseName(), size);
+    }
+
+    void reschedule(Course course, LocalDate oldStartDate) {
+        int size = fillCount(course.getId());
+        add(perStartWeek, weekOf(oldStartDate), -size);
+        add(perStartWeek, weekOf(course.getStartDate()), size);
+    }
+
+    //adds the counts of a tally over other courses to this one
+    void merge(Tally other) {
+        fillCounts.putAll(other.fillCounts);
+        other.perStartWeek.forEach((week, count) -> add(perStartWeek, week, count));
+        other.perName.forEach(this::addToName);
+        other.perStudent.forEach((id, count) -> add(perStudent, id, count));
+        registrations += other.registrations;
+    }
+
+    EnrollmentStats stats() {
+        return new EnrollmentStats(fillCounts, perStartWeek, perName, perStudent.size(), registrations);
+    }
+
+    private void change(Course course, Student student, int delta) {
+        fillCounts.merge(course.getId(), delta, Integer::sum);
+        add(perStartWeek, weekOf(course.getStartDate()), delta);
+        addToName(course.getCourseName(), delta);
+        add(perStudent, student.getId(), delta);
+        registrations += delta;
+    }
+
+    private void addToName(String name, int delta) {
+        int old = add(perName, name, delta);
+        if (ranking != null && delta != 0) {
+            if (old > 0) {
+                ranking.remove(new NameCount(name, old));
+            }
+            if (old + delta > 0) {
+                ranking.add(new NameCount(name, old + delta));
+            }
+        }
+    }
+
+    //returns the old count, and drops keys whose count drops to 0 so equal rosters give equal maps
+    private static <K> int add(Map<K, Integer> counts, K key, int delta) {
+        int old = counts.getOrDefault(key, 0);
+        if (old + delta == 0) {
+            counts.remove(key);
+        } else {
+            counts.put(key, old + delta);
+        }
+        return old;
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -2,8 +2,18 @@ package model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
  * Represents a course.
@@ -12,13 +22,97 @@ import java.util.Objects;
  * Only the {@code id} field is used for {@code equals} and {@code hashcode}
  * since it is unique and immutable, which ensures consistent behaviour in
  * hash-based collections even if mutable fields are modified.</p>
+ *
+ * <p><strong>Roster:</strong>
+ * Registered students are kept in a {@link LinkedHashSet}, which makes
+ * registering, unregistering and checking membership constant time while
+ * still keeping the students in order of registration.</p>
+ *
+ * <p><strong>Capacity:</strong>
+ * A course has an unlimited number of seats unless a capacity is set.
+ * Changes to the roster are made under a lock, so that concurrent
+ * registrations never overbook the course or corrupt the roster, and
+ * {@link #enroll(Student)} puts students on a first come, first served
+ * waitlist once every seat is taken. Enrolling in a full course doesn't
+ * take the lock, so a crowd of students enrolling in a popular course
+ * only contends for it until the seats are gone. Every time a seat is
+ * freed the student who has waited longest is registered, and listeners
+ * are told through {@link CourseListener#waitlistPromotionFailed} if that
+ * fails. The view
+ * returned by {@link #getStudents()} still must not be read while the
+ * roster is being changed from another thread, {@link #copyStudents()}
+ * can be instead.</p>
+ *
+ * <p><strong>Lazy rosters:</strong>
+ * A roster read from storage can be {@linkplain #loadRoster(int[], Function)
+ * loaded} as the ids of its students, which are only resolved into
+ * students the first time the roster is read through {@link #getStudents()}
+ * or changed. {@link #getStudentCount()} and {@link #isRegistered(Student)}
+ * are answered from the ids until then, so listing courses with their
+ * fill counts doesn't build a single student.</p>
  */
 public class Course {
     private int id;
-    private String courseName;
-    private LocalDate startDate;
-    private int weekDuration;
-    private List<Student> students = new ArrayList<>();
+    //volatile so that a DAO indexing a course sees values set by other threads, see CourseDaoConcurrent
+    private volatile String courseName;
+    private volatile LocalDate startDate;
+    private volatile int weekDuration;
+    private final Set<Student> students = new LinkedHashSet<>();
+    private final Set<Student> studentsView = Collections.unmodifiableSet(students);
+    /*Copy-on-write for the same reason as in Student*/
+    private volatile List<CourseListener> listeners = List.of();
+    private volatile List<RegistrationGuard> guards = List.of();
+    /*A ReentrantLock rather than synchronized for the same reason as in
+    * BatchingLoader: crowds of registrants are likely virtual threads. The
+    * lock is separate from the one guarding the listeners, since listeners
+    * are notified while it's held and may lock things that add listeners*/
+    private final ReentrantLock rosterLock = new ReentrantLock();
+    //both only written while holding rosterLock, and read without it to turn enrollments away from a full course
+    private volatile int capacity = Integer.MAX_VALUE;
+    private volatile int seatsTaken;
+    //a deque so that a student whose registration failed without being rejected gets the place back
+    private final Deque<Waiting> waitlist = new ConcurrentLinkedDeque<>();
+    //the current place of every waitlisted student, a place in the queue but not in here is being left
+    private final Map<Student, Waiting> waiting = new ConcurrentHashMap<>();
+    /*A loaded roster that hasn't been resolved yet, null once it has or if
+    * none was loaded. Only written while holding rosterLock, and students
+    * stays empty while it's set*/
+    private volatile LazyRoster lazyRoster;
+
+    /**
+     * The mutable properties of a course, used to tell a
+     * {@link CourseListener} which property was changed.
+     */
+    public enum Property {
+        COURSE_NAME,
+        START_DATE,
+        WEEK_DURATION
+    }
+
+    /**
+     * What {@link #enroll(Student)} did with a student.
+     */
+    public enum Enrollment {
+        REGISTERED,
+        WAITLISTED
+    }
+
+    //a place on the waitlist, compared by identity so that a student who leaves and rejoins goes to the back
+    private static final class Waiting {
+        private final Student student;
+
+        private Waiting(Student student) {
+            this.student = student;
+        }
+    }
+
+    //ids in order of registration, and sorted to answer membership by binary search
+    private record LazyRoster(int[] ids, int[] sortedIds, Function<int[], List<Student>> resolver) {
+    }
+
+    //a student the guards accepted, and the guards to tell how the registration ended
+    private record Admission(Student student, List<RegistrationGuard> guards) {
+    }
 
     public Course(int id, String courseName, LocalDate startDate, int weekDuration) {
         if (courseName.isBlank()) {
@@ -53,7 +147,9 @@ public class Course {
         if (courseName.isBlank()) {
             throw new IllegalArgumentException("courseName may not be blank");
         }
+        String oldCourseName = this.courseName;
         this.courseName = courseName;
+        notifyListeners(Property.COURSE_NAME, oldCourseName);
     }
 
     public LocalDate getStartDate() {
@@ -64,7 +160,9 @@ public class Course {
         if (startDate == null) {
             throw new IllegalArgumentException("startDate may not be null");
         }
+        LocalDate oldStartDate = this.startDate;
         this.startDate = startDate;
+        notifyListeners(Property.START_DATE, oldStartDate);
     }
 
     public int getWeekDuration() {
@@ -75,26 +173,706 @@ public class Course {
     }
 
     public void setWeekDuration(int weekDuration) {
+        if (weekDuration <= 0) {
+            throw new IllegalArgumentException("weekDuration must be > 0");
+        }
+        int oldWeekDuration = this.weekDuration;
         this.weekDuration = weekDuration;
+        notifyListeners(Property.WEEK_DURATION, oldWeekDuration);
+    }
+
+    /**
+     * Returns the first day after the course has ended, which is
+     * {@code startDate} plus {@code weekDuration} weeks. The course is
+     * running on every day from {@code startDate} up to but not including
+     * this date.
+     *
+     * @return the exclusive end date of the course
+     */
+    public LocalDate getEndDate() {
+        return startDate.plusWeeks(weekDuration);
+    }
+
+    /**
+     * Returns whether the course is running on the supplied date.
+     *
+     * @param date the date to check
+     * @return {@code true} if {@code date} is between the start date
+     * (inclusive) and the end date (exclusive)
+     */
+    public boolean isActiveOn(LocalDate date) {
+        return !date.isBefore(startDate) && date.isBefore(getEndDate());
+    }
+
+    /**
+     * Returns a read-only view of the registered students, in order of
+     * registration. The view reflects later changes to the roster. Resolves
+     * a {@linkplain #loadRoster(int[], Function) loaded roster} that hasn't
+     * been resolved yet.
+     *
+     * @return an unmodifiable view of the registered students
+     */
+    public Set<Student> getStudents() {
+        if (lazyRoster != null) {
+            rosterLock.lock();
+            try {
+                resolveRoster();
+            } finally {
+                rosterLock.unlock();
+            }
+        }
+        return studentsView;
+    }
+
+    /**
+     * Returns a copy of the registered students, in order of registration.
+     * Unlike the view returned by {@link #getStudents()}, the copy is taken
+     * while holding the roster lock, so it can be taken while the roster is
+     * changed from other threads.
+     *
+     * @return a copy of the registered students
+     */
+    public List<Student> copyStudents() {
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            return new ArrayList<>(students);
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the registered students, in order of registration,
+     * for callers that don't need the students themselves. Unlike
+     * {@link #copyStudents()} this doesn't resolve a
+     * {@linkplain #loadRoster(int[], Function) loaded roster}: its ids are
+     * returned as they were loaded, including ids that will turn out to
+     * have no student when it's resolved. The ids are taken while holding
+     * the roster lock, so this can be called while the roster is changed
+     * from other threads.
+     *
+     * @return the ids of the registered students
+     */
+    public int[] copyStudentIds() {
+        rosterLock.lock();
+        try {
+            if (lazyRoster != null) {
+                return lazyRoster.ids().clone();
+            }
+            int[] ids = new int[students.size()];
+            int i = 0;
+            for (Student student : students) {
+                ids[i++] = student.getId();
+            }
+            return ids;
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of registered students. For a
+     * {@linkplain #loadRoster(int[], Function) loaded roster} that hasn't
+     * been resolved yet this is the number of loaded ids, including ids
+     * that will turn out to have no student when it's resolved.
+     *
+     * @return the number of registered students
+     */
+    public int getStudentCount() {
+        return seatsTaken;
+    }
+
+    /**
+     * Returns whether the supplied student is registered, comparing by id
+     * the same as {@link Student#equals(Object)}. A
+     * {@linkplain #loadRoster(int[], Function) loaded roster} that hasn't
+     * been resolved yet is searched by id without resolving it, and
+     * otherwise the roster is searched while holding the roster lock, so
+     * this can be called while the roster is changed from other threads.
+     *
+     * @param student the student to look for
+     * @return {@code true} if the student is registered
+     */
+    public boolean isRegistered(Student student) {
+        if (student == null) {
+            return false;
+        }
+        LazyRoster roster = lazyRoster;
+        if (roster != null) {
+            return Arrays.binarySearch(roster.sortedIds(), student.getId()) >= 0;
+        }
+        rosterLock.lock();
+        try {
+            return lazyRoster == null ? students.contains(student)
+                    : Arrays.binarySearch(lazyRoster.sortedIds(), student.getId()) >= 0;
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /**
+     * Loads a stored roster as the ids of its students, without building
+     * them. The first time the roster is read through {@link #getStudents()}
+     * or changed, {@code resolver} is called once with the ids and returns
+     * the student with each id, such as {@code StudentDao::findAllById}
+     * does. Ids it returns {@code null} for, such as those of students
+     * deleted since the roster was stored, are left out of the roster, and
+     * the seats they held are given to waitlisted students. As with
+     * {@link #setCapacity(int)}, a roster with more students than the
+     * course has seats is loaded as it is, and nobody is registered until
+     * enough seats are freed.
+     *
+     * <p>Loading a roster restores it rather than changing it, so listeners
+     * aren't notified and guards aren't consulted, neither when it's loaded
+     * nor when it's resolved.</p>
+     *
+     * <p>If the resolver returns {@code null}, a list of a different length
+     * than the ids, or a student whose id isn't the one at its position,
+     * the read or change that resolves the roster throws
+     * {@link IllegalStateException} and the roster stays unresolved.</p>
+     *
+     * @param studentIds the ids of the registered students, in order of
+     *                   registration
+     * @param resolver   returns the student with each of the ids it's
+     *                   called with, or {@code null} if there is none, in
+     *                   the same order
+     * @throws IllegalArgumentException if either argument is {@code null},
+     *                                  the ids contain duplicates or
+     *                                  students are already registered
+     */
+    public void loadRoster(int[] studentIds, Function<int[], List<Student>> resolver) {
+        if (studentIds == null || resolver == null) {
+            throw new IllegalArgumentException("studentIds and resolver may not be null");
+        }
+        int[] ids = studentIds.clone();
+        int[] sortedIds = studentIds.clone();
+        Arrays.sort(sortedIds);
+        for (int i = 1; i < sortedIds.length; i++) {
+            if (sortedIds[i] == sortedIds[i - 1]) {
+                throw new IllegalArgumentException("student may only be registered once");
+            }
+        }
+        rosterLock.lock();
+        try {
+            if (seatsTaken != 0) {
+                throw new IllegalArgumentException("a roster can only be loaded into an empty course");
+            }
+            if (ids.length != 0) {
+                seatsTaken = ids.length;
+                lazyRoster = new LazyRoster(ids, sortedIds, resolver);
+            }
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /*Called with rosterLock held, before students is read or changed.
+    * Since it may register waitlisted students, it comes before any check
+    * of the free seats*/
+    private void resolveRoster() {
+        LazyRoster roster = lazyRoster;
+        if (roster == null) {
+            return;
+        }
+        List<Student> resolved = roster.resolver().apply(roster.ids());
+        if (resolved == null || resolved.size() != roster.ids().length) {
+            throw new IllegalStateException("resolver must return one entry for each of the "
+                    + roster.ids().length + " ids of the roster");
+        }
+        for (int i = 0; i < resolved.size(); i++) {
+            Student student = resolved.get(i);
+            if (student != null && student.getId() != roster.ids()[i]) {
+                throw new IllegalStateException("resolver returned student " + student.getId()
+                        + " for id " + roster.ids()[i]);
+            }
+        }
+        for (Student student : resolved) {
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        seatsTaken = students.size();
+        lazyRoster = null;
+        if (seatsTaken < roster.ids().length) {
+            promoteWaitlisted();
+        }
     }
 
-    public List<Student> getStudents() {
-        return students;
+    /**
+     * Replaces the roster with the supplied students. The roster is left
+     * unchanged if {@code students} contains {@code null} or duplicates, has
+     * more students than the course has seats, or a
+     * {@link RegistrationGuard} rejects one of the added students. Seats
+     * freed by the replacement are given to waitlisted students.
+     *
+     * @param students the students to register instead of the current ones
+     */
+    public void setStudents(Collection<Student> students) {
+        Set<Student> replacement = toRoster(students);
+        rosterLock.lock();
+        try {
+            replaceRoster(replacement);
+            promoteWaitlisted();
+        } finally {
+            rosterLock.unlock();
+        }
     }
 
-    public void setStudents(List<Student> students) {
-        this.students = students;
+    private void replaceRoster(Set<Student> replacement) {
+        resolveRoster();
+        if (replacement.size() > capacity) {
+            throw new IllegalArgumentException("course only has " + capacity + " seats");
+        }
+        List<Student> removed = new ArrayList<>();
+        for (Student student : this.students) {
+            if (!replacement.contains(student)) {
+                removed.add(student);
+            }
+        }
+        List<Student> added = new ArrayList<>();
+        for (Student student : replacement) {
+            if (!this.students.contains(student)) {
+                added.add(student);
+            }
+        }
+
+        List<Admission> admissions = checkGuards(added);
+
+        this.students.clear();
+        this.students.addAll(replacement);
+        seatsTaken = this.students.size();
+        endRegistrations(admissions, true);
+        for (Student student : removed) {
+            notifyUnregistered(student);
+        }
+        for (Student student : added) {
+            notifyRegistered(student);
+        }
     }
 
+    /**
+     * Registers the supplied student, whether or not other students are
+     * waitlisted.
+     *
+     * @param student the student to register
+     * @throws IllegalArgumentException if the student is {@code null} or
+     *                                  already registered, the course is
+     *                                  full or a {@link RegistrationGuard}
+     *                                  rejects the student
+     */
     public void register(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            if (seatsTaken >= capacity) {
+                throw new IllegalArgumentException("course is full");
+            }
+            registerLocked(student);
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /**
+     * Registers the supplied student if there is a free seat and nobody is
+     * waitlisted, and otherwise puts the student at the back of the
+     * waitlist. Waitlisted students are registered in the order they
+     * enrolled as seats are freed, unless they
+     * {@linkplain #leaveWaitlist(Student) leave the waitlist} first.
+     *
+     * <p>A full course waitlists students without taking the roster lock,
+     * and so without checking that they aren't registered already, or that
+     * the {@linkplain RegistrationGuard guards} accept them. Those checks
+     * are made when a student reaches the front of the waitlist instead,
+     * and a registered or rejected student is then dropped from it, see
+     * {@link CourseListener#waitlistPromotionFailed}.</p>
+     *
+     * @param student the student to enroll
+     * @return whether the student was registered or waitlisted
+     * @throws IllegalArgumentException if the student is {@code null} or
+     *                                  already waitlisted, or is registered
+     *                                  before this returns and is already
+     *                                  registered or rejected by a guard
+     */
+    public Enrollment enroll(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("student may not be null");
+        }
+        if (seatsTaken < capacity) {
+            rosterLock.lock();
+            try {
+                resolveRoster();
+                //students who were waiting before this one go first
+                promoteWaitlisted();
+                if (seatsTaken < capacity) {
+                    registerLocked(student);
+                    return Enrollment.REGISTERED;
+                }
+            } finally {
+                rosterLock.unlock();
+            }
+        }
+        Waiting place = new Waiting(student);
+        if (waiting.putIfAbsent(student, place) != null) {
+            throw new IllegalArgumentException("student is already waitlisted for this course");
+        }
+        waitlist.add(place);
+        //a seat freed after the check above may have found the waitlist empty
+        if (seatsTaken < capacity) {
+            rosterLock.lock();
+            try {
+                resolveRoster();
+                RuntimeException rejection = promoteWaitlisted(place);
+                if (rejection != null) {
+                    throw rejection;
+                }
+                if (waiting.get(student) != place && students.contains(student)) {
+                    return Enrollment.REGISTERED;
+                }
+            } finally {
+                rosterLock.unlock();
+            }
+        }
+        return Enrollment.WAITLISTED;
+    }
+
+    /**
+     * Removes the supplied student from the waitlist. Returns
+     * {@code false} if the student isn't waitlisted.
+     *
+     * @param student the student to remove from the waitlist
+     * @return {@code true} if the student was waitlisted
+     */
+    public boolean leaveWaitlist(Student student) {
+        if (student == null) {
+            return false;
+        }
+        Waiting place = waiting.remove(student);
+        if (place == null) {
+            return false;
+        }
+        waitlist.remove(place);
+        return true;
+    }
+
+    /**
+     * Returns the waitlisted students, the one who has waited longest
+     * first.
+     *
+     * @return a copy of the waitlist
+     */
+    public List<Student> getWaitlist() {
+        List<Student> waitlisted = new ArrayList<>();
+        for (Waiting place : waitlist) {
+            if (waiting.get(place.student) == place) {
+                waitlisted.add(place.student);
+            }
+        }
+        return waitlisted;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the number of seats. Lowering it below the number of registered
+     * students unregisters nobody, but registers nobody either until enough
+     * seats are freed. Raising it registers waitlisted students into the
+     * new seats.
+     *
+     * @param capacity the number of seats, {@link Integer#MAX_VALUE} for
+     *                 an unlimited number
+     */
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            this.capacity = capacity;
+            promoteWaitlisted();
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    private void registerLocked(Student student) {
         if (students.contains(student)) {
             throw new IllegalArgumentException("student is already registered in this course");
         }
+        List<Admission> admissions = checkGuards(List.of(student));
         students.add(student);
+        seatsTaken = students.size();
+        endRegistrations(admissions, true);
+        notifyRegistered(student);
+    }
+
+    //called with rosterLock held
+    private void promoteWaitlisted() {
+        promoteWaitlisted(null);
+    }
+
+    /*Called with rosterLock held. Returns the rejection of own if it was
+    * dropped from the waitlist, so that enroll can throw it*/
+    private RuntimeException promoteWaitlisted(Waiting own) {
+        while (seatsTaken < capacity) {
+            Waiting place = waitlist.poll();
+            if (place == null) {
+                return null;
+            }
+            if (!waiting.remove(place.student, place)) {
+                continue;
+            }
+            try {
+                registerLocked(place.student);
+            } catch (IllegalArgumentException e) {
+                //already registered or rejected by a guard, so the student gives up the place
+                notifyPromotionFailed(place.student, e, true);
+                if (place == own) {
+                    return e;
+                }
+            } catch (RuntimeException e) {
+                if (students.contains(place.student)) {
+                    //registered, and a listener failed
+                    throw e;
+                }
+                //the registration didn't run, so the place is kept for the next freed seat
+                boolean kept = waiting.putIfAbsent(place.student, place) == null;
+                if (kept) {
+                    waitlist.offerFirst(place);
+                }
+                notifyPromotionFailed(place.student, e, !kept);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registers all the supplied students, in iteration order. Either every
+     * student is registered or, if any of them is {@code null}, already
+     * registered, supplied more than once or rejected by a
+     * {@link RegistrationGuard}, or there aren't enough free seats for all
+     * of them, none of them are.
+     *
+     * @param students the students to register
+     */
+    public void registerAll(Collection<Student> students) {
+        Set<Student> toRegister = toRoster(students);
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            for (Student student : toRegister) {
+                if (this.students.contains(student)) {
+                    throw new IllegalArgumentException("student is already registered in this course");
+                }
+            }
+            if (seatsTaken + toRegister.size() > capacity) {
+                throw new IllegalArgumentException("course only has " + (capacity - seatsTaken) + " free seats");
+            }
+            List<Admission> admissions = checkGuards(toRegister);
+            this.students.addAll(toRegister);
+            seatsTaken = this.students.size();
+            endRegistrations(admissions, true);
+            for (Student student : toRegister) {
+                notifyRegistered(student);
+            }
+        } finally {
+            rosterLock.unlock();
+        }
     }
 
+    /**
+     * Unregisters the supplied student, and registers the student who has
+     * waited longest in the freed seat. Does nothing if the student isn't
+     * registered.
+     *
+     * @param student the student to unregister
+     */
     public void unregister(Student student) {
-        students.remove(student);
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            if (students.remove(student)) {
+                seatsTaken = students.size();
+                notifyUnregistered(student);
+                promoteWaitlisted();
+            }
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /**
+     * Unregisters all the supplied students at once, and then registers
+     * waitlisted students in the freed seats. Students that aren't
+     * registered are ignored, the same as for {@link #unregister(Student)}.
+     * Nobody is unregistered if any of the students is {@code null} or
+     * supplied more than once.
+     *
+     * @param students the students to unregister
+     */
+    public void unregisterAll(Collection<Student> students) {
+        Set<Student> toUnregister = toRoster(students);
+        rosterLock.lock();
+        try {
+            resolveRoster();
+            List<Student> removed = new ArrayList<>(toUnregister.size());
+            for (Student student : toUnregister) {
+                if (this.students.remove(student)) {
+                    removed.add(student);
+                }
+            }
+            if (removed.isEmpty()) {
+                return;
+            }
+            seatsTaken = this.students.size();
+            for (Student student : removed) {
+                notifyUnregistered(student);
+            }
+            promoteWaitlisted();
+        } finally {
+            rosterLock.unlock();
+        }
+    }
+
+    /*Validates null and duplicates in a single pass, since adding to a set
+    * already tells us whether it's a duplicate*/
+    private static Set<Student> toRoster(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("students may not be null");
+        }
+        Set<Student> roster = LinkedHashSet.newLinkedHashSet(students.size());
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("student may not be null");
+            }
+            if (!roster.add(student)) {
+                throw new IllegalArgumentException("student may only be registered once");
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Registers a listener that is notified after every change to
+     * course name, start date, week duration or roster.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(CourseListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener may not be null");
+        }
+        List<CourseListener> updated = new ArrayList<>(listeners);
+        updated.add(listener);
+        listeners = List.copyOf(updated);
+    }
+
+    /**
+     * Removes a previously registered listener. Does nothing if the
+     * listener isn't registered.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeListener(CourseListener listener) {
+        List<CourseListener> updated = new ArrayList<>(listeners);
+        if (updated.remove(listener)) {
+            listeners = List.copyOf(updated);
+        }
+    }
+
+    /**
+     * Adds a guard that is consulted before every student is registered,
+     * through {@link #register(Student)}, {@link #registerAll(Collection)}
+     * or {@link #setStudents(Collection)}, and can reject the registration.
+     *
+     * @param guard the guard to add
+     */
+    public synchronized void addRegistrationGuard(RegistrationGuard guard) {
+        if (guard == null) {
+            throw new IllegalArgumentException("guard may not be null");
+        }
+        List<RegistrationGuard> updated = new ArrayList<>(guards);
+        updated.add(guard);
+        guards = List.copyOf(updated);
+    }
+
+    /**
+     * Removes a previously added guard. Does nothing if the guard isn't
+     * added.
+     *
+     * @param guard the guard to remove
+     */
+    public synchronized void removeRegistrationGuard(RegistrationGuard guard) {
+        List<RegistrationGuard> updated = new ArrayList<>(guards);
+        if (updated.remove(guard)) {
+            guards = List.copyOf(updated);
+        }
+    }
+
+    /*Asks every guard about every student. If one of them is rejected, the
+    * guards that had already accepted a student are told the registration
+    * was abandoned before the rejection is thrown*/
+    private List<Admission> checkGuards(Collection<Student> students) {
+        List<RegistrationGuard> current = guards;
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        List<Admission> admissions = new ArrayList<>(students.size());
+        for (Student student : students) {
+            int accepted = 0;
+            try {
+                for (RegistrationGuard guard : current) {
+                    guard.checkRegistration(this, student);
+                    accepted++;
+                }
+            } catch (RuntimeException e) {
+                admissions.add(new Admission(student, current.subList(0, accepted)));
+                endRegistrations(admissions, false);
+                throw e;
+            }
+            admissions.add(new Admission(student, current));
+        }
+        return admissions;
+    }
+
+    private void endRegistrations(List<Admission> admissions, boolean registered) {
+        for (Admission admission : admissions) {
+            for (RegistrationGuard guard : admission.guards()) {
+                guard.registrationEnded(this, admission.student(), registered);
+            }
+        }
+    }
+
+    private void notifyListeners(Property property, Object oldValue) {
+        for (CourseListener listener : listeners) {
+            listener.courseChanged(this, property, oldValue);
+        }
+    }
+
+    private void notifyRegistered(Student student) {
+        for (CourseListener listener : listeners) {
+            listener.studentRegistered(this, student);
+        }
+    }
+
+    private void notifyPromotionFailed(Student student, RuntimeException failure, boolean dropped) {
+        for (CourseListener listener : listeners) {
+            listener.waitlistPromotionFailed(this, student, failure, dropped);
+        }
+    }
+
+    private void notifyUnregistered(Student student) {
+        for (CourseListener listener : listeners) {
+            listener.studentUnregistered(this, student);
+        }
     }
 
     /*
@@ -110,6 +888,6 @@ public class Course {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(id);
+        return Integer.hashCode(id);
     }
 }
@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * Receives notifications when a mutable field of a {@link Course} changes
+ * or when a student is registered in or unregistered from it.
+ *
+ * <p>Used by data access objects that index courses on more than their
+ * {@code id}, since those indexes would otherwise go stale as soon as a
+ * stored course is renamed, rescheduled or has its roster changed.</p>
+ */
+public interface CourseListener {
+    /**
+     * Called after {@code property} of {@code course} has been changed.
+     *
+     * @param course   the course that changed
+     * @param property the property that changed
+     * @param oldValue the value the property had before the change
+     */
+    void courseChanged(Course course, Course.Property property, Object oldValue);
+
+    /**
+     * Called after {@code student} has been registered in {@code course}.
+     *
+     * @param course  the course the student was registered in
+     * @param student the student that was registered
+     */
+    default void studentRegistered(Course course, Student student) {
+    }
+
+    /**
+     * Called after {@code student} has been unregistered from
+     * {@code course}.
+     *
+     * @param course  the course the student was unregistered from
+     * @param student the student that was unregistered
+     */
+    default void studentUnregistered(Course course, Student student) {
+    }
+
+    /**
+     * Called when the student at the front of the waitlist of
+     * {@code course} couldn't be registered into a freed seat. If the
+     * student was already registered or a {@link RegistrationGuard}
+     * rejected the student with an {@link IllegalArgumentException}, the
+     * student has been dropped from the waitlist. If the registration
+     * failed any other way, the student keeps the place at the front and
+     * is tried again the next time seats are given to the waitlist.
+     *
+     * @param course  the course whose waitlist the student was on
+     * @param student the student that wasn't registered
+     * @param failure why the student wasn't registered
+     * @param dropped {@code true} if the student was dropped from the
+     *                waitlist
+     */
+    default void waitlistPromotionFailed(Course course, Student student, RuntimeException failure,
+                                         boolean dropped) {
+    }
+}
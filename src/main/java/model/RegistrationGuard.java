@@ -0,0 +1,38 @@
+package model;
+
+/**
+ * Decides whether a student may be registered in a {@link Course}, and is
+ * consulted by the course before every registration.
+ *
+ * <p>Used for rules that span more than one course, such as a student not
+ * being registered in two courses running at the same time, which a single
+ * course can't check on its own.</p>
+ */
+public interface RegistrationGuard {
+    /**
+     * Called before {@code student} is registered in {@code course}, and
+     * rejects the registration by throwing.
+     *
+     * @param course  the course the student is about to be registered in
+     * @param student the student about to be registered
+     * @throws IllegalArgumentException if the student may not be
+     *                                  registered in the course
+     */
+    void checkRegistration(Course course, Student student);
+
+    /**
+     * Called after {@link #checkRegistration(Course, Student)} accepted
+     * {@code student}, once the student has been registered in
+     * {@code course}, or once the registration has been abandoned because
+     * another guard, or another student registered together with this one,
+     * was rejected. Called while the roster of the course is still locked,
+     * so a guard can reserve the registration when accepting it and
+     * confirm or release the reservation here. Does nothing by default.
+     *
+     * @param course     the course the student was about to be registered in
+     * @param student    the student that was about to be registered
+     * @param registered {@code true} if the student was registered
+     */
+    default void registrationEnded(Course course, Student student, boolean registered) {
+    }
+}
@@ -1,6 +1,7 @@
 package model;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a student.
@@ -12,9 +13,24 @@ import java.util.Objects;
  */
 public class Student {
     private final int id;
-    private String name;
-    private String email;
+    //volatile so that a DAO indexing a student sees values set by other threads, see StudentDaoConcurrent
+    private volatile String name;
+    private volatile String email;
     private String address;
+    /*Copy-on-write so that notifying never has to lock, listeners are added
+    * and removed rarely (when the student is saved or deleted) compared to
+    * how often the setters may be called*/
+    private volatile List<StudentListener> listeners = List.of();
+
+    /**
+     * The mutable properties of a student, used to tell a
+     * {@link StudentListener} which property was changed.
+     */
+    public enum Property {
+        NAME,
+        EMAIL,
+        ADDRESS
+    }
 
     public Student(int id, String name, String email, String address) {
         if (name.isBlank()) {
@@ -45,7 +61,9 @@ public class Student {
         if (name.isBlank()) {
             throw new IllegalArgumentException("name may not be blank");
         }
+        String oldName = this.name;
         this.name = name;
+        notifyListeners(Property.NAME, oldName);
     }
 
     public String getEmail() {
@@ -56,7 +74,9 @@ public class Student {
         if (email.isBlank()) {
             throw new IllegalArgumentException("email may not be blank");
         }
+        String oldEmail = this.email;
         this.email = email;
+        notifyListeners(Property.EMAIL, oldEmail);
     }
 
     public String getAddress() {
@@ -67,7 +87,43 @@ public class Student {
         if (address.isBlank()) {
             throw new IllegalArgumentException("address may not be blank");
         }
+        String oldAddress = this.address;
         this.address = address;
+        notifyListeners(Property.ADDRESS, oldAddress);
+    }
+
+    /**
+     * Registers a listener that is notified after every change to
+     * name, email or address.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(StudentListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener may not be null");
+        }
+        List<StudentListener> updated = new ArrayList<>(listeners);
+        updated.add(listener);
+        listeners = List.copyOf(updated);
+    }
+
+    /**
+     * Removes a previously registered listener. Does nothing if the
+     * listener isn't registered.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeListener(StudentListener listener) {
+        List<StudentListener> updated = new ArrayList<>(listeners);
+        if (updated.remove(listener)) {
+            listeners = List.copyOf(updated);
+        }
+    }
+
+    private void notifyListeners(Property property, String oldValue) {
+        for (StudentListener listener : listeners) {
+            listener.studentChanged(this, property, oldValue);
+        }
     }
 
 
@@ -84,6 +140,6 @@ public class Student {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(id);
+        return Integer.hashCode(id);
     }
 }
@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Receives notifications when a mutable field of a {@link Student} changes.
+ *
+ * <p>Used by data access objects that index students on more than their
+ * {@code id}, since those indexes would otherwise go stale as soon as a
+ * stored student is renamed or changes email address.</p>
+ */
+public interface StudentListener {
+    /**
+     * Called after {@code property} of {@code student} has been changed.
+     *
+     * @param student  the student that changed
+     * @param property the property that changed
+     * @param oldValue the value the property had before the change
+     */
+    void studentChanged(Student student, Student.Property property, String oldValue);
+}
@@ -0,0 +1,16 @@
+package schedule_conflicts;
+
+import model.Course;
+import model.Student;
+
+/**
+ * A student registered in two courses that run on at least one of the
+ * same days.
+ *
+ * @param student the student registered in both courses
+ * @param first   the course starting first, or with the lower id if both
+ *                start on the same day
+ * @param second  the other course
+ */
+public record Conflict(Student student, Course first, Course second) {
+}
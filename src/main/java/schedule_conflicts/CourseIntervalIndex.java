@@ -0,0 +1,352 @@
+package schedule_conflicts;
+
+import model.Course;
+import model.CourseListener;
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index of courses by the dates they run on, from their start date up to
+ * but not including their end date, which finds the courses overlapping a
+ * date range without going through every course.
+ *
+ * <p>The index is an interval tree: an AVL tree of courses ordered by start
+ * date and id, where every node also holds the latest end date in its
+ * subtree. A search skips every subtree that ends before the range starts
+ * and every right subtree of a node starting after the range ends, so it
+ * costs O(log n + k) for k matches. Adding and removing a course costs
+ * O(log n). Indexed courses are listened to, and moved when their start
+ * date or week duration changes.</p>
+ *
+ * <p>{@link #findConflicts()} finds every student registered in two
+ * indexed courses that overlap. This class is thread safe.</p>
+ */
+public class CourseIntervalIndex {
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final CourseListener listener = this::changed;
+    private Node root;
+
+    private static final class Node {
+        private final Course course;
+        private final long start;
+        private final long end;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private long maxEnd;
+
+        private Node(Course course) {
+            this.course = course;
+            this.start = course.getStartDate().toEpochDay();
+            this.end = course.getEndDate().toEpochDay();
+            this.maxEnd = end;
+        }
+
+        private int compareTo(Node other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : Integer.compare(course.getId(), other.course.getId());
+        }
+    }
+
+    /**
+     * Adds {@code course} to the index.
+     *
+     * @param course the course to add
+     * @throws IllegalArgumentException if the course is {@code null} or a
+     *                                  course with the same id is already
+     *                                  indexed
+     */
+    public void add(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        synchronized (this) {
+            if (nodes.containsKey(course.getId())) {
+                throw new IllegalArgumentException("course " + course.getId() + " is already indexed");
+            }
+            insert(new Node(course));
+        }
+        course.addListener(listener);
+    }
+
+    /**
+     * Adds every course in {@code courses} to the index, see
+     * {@link #add(Course)}.
+     *
+     * @param courses the courses to add
+     */
+    public void addAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            add(course);
+        }
+    }
+
+    /**
+     * Removes {@code course} from the index. Returns {@code false} if it
+     * isn't indexed.
+     *
+     * @param course the course to remove
+     * @return {@code true} if the course was removed
+     */
+    public boolean remove(Course course) {
+        if (course == null) {
+            return false;
+        }
+        synchronized (this) {
+            Node node = nodes.get(course.getId());
+            if (node == null || node.course != course) {
+                return false;
+            }
+            delete(node);
+        }
+        course.removeListener(listener);
+        return true;
+    }
+
+    /**
+     * Returns the number of indexed courses.
+     *
+     * @return the number of indexed courses
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns every indexed course running on at least one day from
+     * {@code from} up to but not including {@code to}, ordered by start
+     * date and then id. A range where {@code from} equals {@code to} has no
+     * days, and no courses overlap it.
+     *
+     * @param from the first day of the range
+     * @param to   the first day after the range
+     * @return the courses overlapping the range
+     * @throws IllegalArgumentException if either date is {@code null} or
+     *                                  {@code to} is before {@code from}
+     */
+    public List<Course> findOverlapping(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to may not be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to may not be before from");
+        }
+        List<Course> found = new ArrayList<>();
+        synchronized (this) {
+            collectOverlapping(root, from.toEpochDay(), to.toEpochDay(), null, found);
+        }
+        return found;
+    }
+
+    /**
+     * Returns every indexed course other than {@code course} running on at
+     * least one of the days {@code course} runs on, ordered by start date
+     * and then id. The course itself doesn't have to be indexed.
+     *
+     * @param course the course to find the overlapping courses of
+     * @return the courses overlapping the course
+     */
+    public List<Course> findOverlapping(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course may not be null");
+        }
+        List<Course> found = new ArrayList<>();
+        synchronized (this) {
+            collectOverlapping(root, course.getStartDate().toEpochDay(), course.getEndDate().toEpochDay(),
+                    course, found);
+        }
+        return found;
+    }
+
+    /**
+     * Returns every pair of overlapping indexed courses that a student is
+     * registered in both of, grouped by student in the order the students
+     * are first met going through the courses by start date.
+     *
+     * <p>The courses are taken from the index already ordered by start
+     * date, and split into the courses of each student, which stay in that
+     * order. Going through the courses of a student while keeping the ones
+     * still running in a queue by end date then finds every overlap the
+     * student has in O(m log m + k) for m courses and k overlaps, so the
+     * whole query costs O(r log r + k) for r registrations, instead of
+     * comparing every pair of courses.</p>
+     *
+     * @return every conflicting pair of enrollments
+     */
+    public List<Conflict> findConflicts() {
+        Map<Student, List<Node>> byStudent = new LinkedHashMap<>();
+        synchronized (this) {
+            List<Node> ordered = new ArrayList<>(nodes.size());
+            collectInOrder(root, ordered);
+            for (Node node : ordered) {
+                for (Student student : node.course.copyStudents()) {
+                    byStudent.computeIfAbsent(student, key -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+        List<Conflict> conflicts = new ArrayList<>();
+        PriorityQueue<Node> running = new PriorityQueue<>((a, b) -> Long.compare(a.end, b.end));
+        for (Map.Entry<Student, List<Node>> entry : byStudent.entrySet()) {
+            running.clear();
+            for (Node node : entry.getValue()) {
+                while (!running.isEmpty() && running.peek().end <= node.start) {
+                    running.poll();
+                }
+                for (Node earlier : running) {
+                    conflicts.add(new Conflict(entry.getKey(), earlier.course, node.course));
+                }
+                running.add(node);
+            }
+        }
+        return conflicts;
+    }
+
+    private void changed(Course course, Course.Property property, Object oldValue) {
+        if (property == Course.Property.COURSE_NAME) {
+            return;
+        }
+        synchronized (this) {
+            Node node = nodes.get(course.getId());
+            if (node == null || node.course != course) {
+                return;
+            }
+            delete(node);
+            insert(new Node(course));
+        }
+    }
+
+    private void collectOverlapping(Node node, long from, long to, Course except, List<Course> found) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, except, found);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from && node.course != except) {
+            found.add(node.course);
+        }
+        collectOverlapping(node.right, from, to, except, found);
+    }
+
+    private static void collectInOrder(Node node, List<Node> ordered) {
+        if (node == null) {
+            return;
+        }
+        collectInOrder(node.left, ordered);
+        ordered.add(node);
+        collectInOrder(node.right, ordered);
+    }
+
+    private void insert(Node node) {
+        nodes.put(node.course.getId(), node);
+        root = insert(root, node);
+    }
+
+    private void delete(Node node) {
+        nodes.remove(node.course.getId());
+        root = delete(root, node);
+    }
+
+    private static Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.compareTo(subtree) < 0) {
+            subtree.left = insert(subtree.left, node);
+        } else {
+            subtree.right = insert(subtree.right, node);
+        }
+        return balance(subtree);
+    }
+
+    private static Node delete(Node subtree, Node node) {
+        if (subtree == null) {
+            return null;
+        }
+        int comparison = node.compareTo(subtree);
+        if (comparison < 0) {
+            subtree.left = delete(subtree.left, node);
+        } else if (comparison > 0) {
+            subtree.right = delete(subtree.right, node);
+        } else {
+            if (subtree.left == null) {
+                return subtree.right;
+            }
+            if (subtree.right == null) {
+                return subtree.left;
+            }
+            Node successor = subtree.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = delete(subtree.right, successor);
+            successor.left = subtree.left;
+            return balance(successor);
+        }
+        return balance(subtree);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
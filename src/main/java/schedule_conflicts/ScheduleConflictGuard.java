@@ -0,0 +1,189 @@
+package schedule_conflicts;
+
+import model.Course;
+import model.CourseListener;
+import model.RegistrationGuard;
+import model.Student;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RegistrationGuard} that rejects registering a student in a
+ * guarded course if the student is already registered in another guarded
+ * course running on any of the same days.
+ *
+ * <p>The guard keeps the schedule of every student registered in a
+ * guarded course: the guarded courses the student is registered in, and
+ * the ones the student is being registered in right now. Checking a
+ * registration against the schedule and reserving it there is a single
+ * atomic step per student, and the reservation is confirmed or released
+ * once the course {@linkplain RegistrationGuard#registrationEnded(Course,
+ * Student, boolean) reports} how the registration ended. So of two
+ * concurrent registrations of the same student in overlapping courses at
+ * most one gets through, without the guard ever reading the roster of
+ * another course or holding a lock while the registration is made.
+ * Registrations that are still in progress count as conflicts, so one of
+ * them may be rejected even if the other ends up abandoned.</p>
+ *
+ * <p>Only registrations are checked: a course rescheduled into a student's
+ * other course, or a student registered before the course was guarded,
+ * isn't rejected, and is found by {@link #findConflicts()} instead, which
+ * keeps guarded courses in a {@link CourseIntervalIndex}. A roster
+ * {@linkplain Course#loadRoster(int[], java.util.function.Function) loaded}
+ * into a course after it was guarded isn't added to the schedules, since
+ * loading a roster isn't reported to listeners. One loaded before is added
+ * by the ids {@link Course#copyStudentIds()} returns, without resolving
+ * it, so ids that turn out to have no student stay in the schedules until
+ * the course is unguarded. This class is thread safe.</p>
+ */
+public class ScheduleConflictGuard implements RegistrationGuard {
+    private final CourseIntervalIndex index = new CourseIntervalIndex();
+    /*By student id, only changed through compute, which is atomic per
+    * student, and dropped once empty*/
+    private final ConcurrentMap<Integer, Schedule> schedules = new ConcurrentHashMap<>();
+    private final CourseListener listener = new CourseListener() {
+        @Override
+        public void courseChanged(Course course, Course.Property property, Object oldValue) {
+        }
+
+        @Override
+        public void studentUnregistered(Course course, Student student) {
+            leave(course, student.getId());
+        }
+    };
+
+    private static final class Schedule {
+        private final Set<Course> registered = new LinkedHashSet<>();
+        private final Set<Course> pending = new LinkedHashSet<>();
+
+        private boolean isEmpty() {
+            return registered.isEmpty() && pending.isEmpty();
+        }
+    }
+
+    /**
+     * Starts guarding {@code course}.
+     *
+     * @param course the course to guard
+     * @throws IllegalArgumentException if the course is {@code null} or a
+     *                                  course with the same id is already
+     *                                  guarded
+     */
+    public void guard(Course course) {
+        index.add(course);
+        course.addListener(listener);
+        course.addRegistrationGuard(this);
+        for (int studentId : course.copyStudentIds()) {
+            schedules.compute(studentId, (key, schedule) -> {
+                if (schedule == null) {
+                    schedule = new Schedule();
+                }
+                schedule.registered.add(course);
+                return schedule;
+            });
+        }
+    }
+
+    /**
+     * Starts guarding every course in {@code courses}, see
+     * {@link #guard(Course)}.
+     *
+     * @param courses the courses to guard
+     */
+    public void guardAll(Collection<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("courses may not be null");
+        }
+        for (Course course : courses) {
+            guard(course);
+        }
+    }
+
+    /**
+     * Stops guarding {@code course}. Does nothing if it isn't guarded.
+     *
+     * @param course the course to stop guarding
+     */
+    public void unguard(Course course) {
+        if (index.remove(course)) {
+            course.removeRegistrationGuard(this);
+            course.removeListener(listener);
+            //every schedule rather than the roster, which may have dropped ids since the course was guarded
+            for (int studentId : schedules.keySet()) {
+                leave(course, studentId);
+            }
+        }
+    }
+
+    /**
+     * Returns every student registered in two overlapping guarded courses,
+     * see {@link CourseIntervalIndex#findConflicts()}.
+     *
+     * @return every conflicting pair of enrollments
+     */
+    public List<Conflict> findConflicts() {
+        return index.findConflicts();
+    }
+
+    /**
+     * Rejects registering {@code student} in {@code course} if the student
+     * is registered, or being registered, in another guarded course that
+     * overlaps it, and otherwise reserves the registration.
+     *
+     * @param course  the course the student is about to be registered in
+     * @param student the student about to be registered
+     * @throws IllegalArgumentException if the courses overlap
+     */
+    @Override
+    public void checkRegistration(Course course, Student student) {
+        schedules.compute(student.getId(), (key, schedule) -> {
+            if (schedule == null) {
+                schedule = new Schedule();
+            }
+            checkOverlap(course, student, schedule.registered, "registered");
+            checkOverlap(course, student, schedule.pending, "being registered");
+            schedule.pending.add(course);
+            return schedule;
+        });
+    }
+
+    /**
+     * Confirms or releases the reservation made by
+     * {@link #checkRegistration(Course, Student)}.
+     *
+     * @param course     the course the student was about to be registered in
+     * @param student    the student that was about to be registered
+     * @param registered {@code true} if the student was registered
+     */
+    @Override
+    public void registrationEnded(Course course, Student student, boolean registered) {
+        schedules.computeIfPresent(student.getId(), (key, schedule) -> {
+            if (schedule.pending.remove(course) && registered) {
+                schedule.registered.add(course);
+            }
+            return schedule.isEmpty() ? null : schedule;
+        });
+    }
+
+    private void leave(Course course, int studentId) {
+        schedules.computeIfPresent(studentId, (key, schedule) -> {
+            schedule.registered.remove(course);
+            return schedule.isEmpty() ? null : schedule;
+        });
+    }
+
+    private static void checkOverlap(Course course, Student student, Set<Course> courses, String state) {
+        for (Course other : courses) {
+            if (other != course && other.getStartDate().isBefore(course.getEndDate())
+                    && course.getStartDate().isBefore(other.getEndDate())) {
+                throw new IllegalArgumentException("student " + student.getId() + " is already " + state
+                        + " in course " + other.getId() + ", which overlaps this course");
+            }
+        }
+    }
+}
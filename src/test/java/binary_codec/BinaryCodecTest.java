@@ -0,0 +1,260 @@
+package binary_codec;
+
+import data_access_objects.CourseDaoIndexed;
+import data_access_objects.StudentDaoIndexed;
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+    private Student alice;
+    private Student bob;
+    private Course math;
+    private Course physics;
+
+    @BeforeEach
+    void setUp() {
+        alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        bob = new Student(-2, "Bob", "bob@example.com", "123 Main St");
+        math = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        physics = new Course(300, "Physics", LocalDate.of(1969, 7, 20), 6);
+    }
+
+    @Test
+    void decodeShouldRestoreStudentsCoursesAndRosters() {
+        math.register(bob);
+        math.register(alice);
+        physics.register(alice);
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(alice, bob), List.of(math, physics)));
+
+        assertEquals(List.of(alice, bob), decoded.students());
+        assertEquals(List.of(math, physics), decoded.courses());
+        Student decodedAlice = decoded.students().get(0);
+        Student decodedBob = decoded.students().get(1);
+        assertEquals("Alice", decodedAlice.getName());
+        assertEquals("alice@example.com", decodedAlice.getEmail());
+        assertEquals("123 Main St", decodedBob.getAddress());
+
+        Course decodedMath = decoded.courses().get(0);
+        Course decodedPhysics = decoded.courses().get(1);
+        assertEquals("Physics", decodedPhysics.getCourseName());
+        assertEquals(LocalDate.of(1969, 7, 20), decodedPhysics.getStartDate());
+        assertEquals(6, decodedPhysics.getWeekDuration());
+        assertEquals(List.of(bob, alice), new ArrayList<>(decodedMath.getStudents()));
+        //rosters share the decoded students instead of holding copies
+        assertSame(decodedAlice, decodedMath.getStudents().stream().filter(alice::equals).findFirst().orElseThrow());
+        assertSame(decodedAlice, decodedPhysics.getStudents().iterator().next());
+    }
+
+    @Test
+    void studentsOnlyInRostersShouldOnlyBeDecodedIntoRosters() {
+        math.register(alice);
+        math.register(bob);
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(alice), List.of(math)));
+
+        assertEquals(List.of(alice), decoded.students());
+        assertEquals(List.of(alice, bob), new ArrayList<>(decoded.courses().get(0).getStudents()));
+        assertEquals("Bob", decoded.courses().get(0).getStudents().stream()
+                .filter(bob::equals).findFirst().orElseThrow().getName());
+    }
+
+    @Test
+    void encodeShouldWriteEachRosterAsItWasWhenCopied() {
+        Course changing = new Course(2, "Chemistry", LocalDate.of(2024, 3, 1), 8) {
+            @Override
+            public Set<Student> getStudents() {
+                Set<Student> students = super.getStudents();
+                register(new Student(100 + students.size(), "Carol", "carol@example.com", "789 Road"));
+                return students;
+            }
+        };
+        changing.register(bob);
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(bob), List.of(changing)));
+
+        Course decodedCourse = decoded.courses().get(0);
+        assertEquals(decodedCourse.getStudentCount(), decodedCourse.getStudents().size());
+        assertTrue(decodedCourse.isRegistered(bob));
+    }
+
+    @Test
+    void encodeShouldEncodeWholeDaos() {
+        StudentDaoIndexed studentDao = new StudentDaoIndexed();
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        studentDao.saveStudent(bob);
+        studentDao.saveStudent(alice);
+        courseDao.saveCourse(physics);
+        physics.register(bob);
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(studentDao, courseDao));
+
+        assertEquals(List.of(bob, alice), decoded.students());
+        assertEquals(List.of(physics), decoded.courses());
+        assertEquals(List.of(bob), new ArrayList<>(decoded.courses().get(0).getStudents()));
+    }
+
+    @Test
+    void repeatedNamesAndAddressesShouldOnlyBeEncodedOnce() {
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            students.add(new Student(id, "Student " + id % 10, "s" + id + "@x.se", "Street " + id % 10));
+        }
+
+        ByteBuffer encoded = BinaryCodec.encode(students, List.of());
+
+        //a one or two byte length, two byte id, one byte per index and the email
+        assertTrue(encoded.remaining() < 1000 * 16, "encoded to " + encoded.remaining() + " bytes");
+        assertEquals(students, BinaryCodec.decode(encoded).students());
+        assertFalse(encoded.hasRemaining());
+    }
+
+    @Test
+    void decodeShouldReadDirectBuffersAndBuffersNotStartingAtZero() {
+        ByteBuffer encoded = BinaryCodec.encode(List.of(alice, bob), List.of(math));
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining() + 3);
+        direct.position(3);
+        direct.put(encoded.duplicate());
+        direct.position(3);
+
+        assertEquals(List.of(alice, bob), BinaryCodec.decode(direct).students());
+
+        ByteBuffer offset = ByteBuffer.allocate(encoded.remaining() + 5);
+        offset.position(5);
+        offset.put(encoded.duplicate());
+        offset.position(5);
+        assertEquals("Bob", BinaryCodec.decode(offset.slice()).students().get(1).getName());
+    }
+
+    @Test
+    void fieldsAddedByNewerWritersShouldBeSkipped() {
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeRaw(new byte[]{'S', 'W', 'B', 'C'});
+        writer.writeVarint(BinaryCodec.VERSION);
+        writer.writeVarint(2);
+        writer.writeString("Alice");
+        writer.writeString("123 Main St");
+        writer.writeVarint(1);
+        writer.writeVarint(0);
+        int start = writer.startRecord();
+        writer.writeSignedVarint(1);
+        writer.writeVarint(0);
+        writer.writeString("alice@example.com");
+        writer.writeVarint(1);
+        //a field a later version might add, such as a long phone number
+        writer.writeString("+46 " + "7".repeat(200));
+        writer.endRecord(start);
+        writer.writeVarint(0);
+
+        Dataset decoded = BinaryCodec.decode(writer.toByteBuffer());
+
+        assertEquals(1, decoded.students().size());
+        assertEquals("123 Main St", decoded.students().get(0).getAddress());
+    }
+
+    @Test
+    void decodeShouldRejectMalformedInput() {
+        ByteBuffer encoded = BinaryCodec.encode(List.of(alice), List.of(math));
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5})));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(encoded.slice(0, encoded.remaining() - 1)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(null));
+
+        ByteBuffer newer = ByteBuffer.allocate(encoded.remaining());
+        newer.put(encoded.duplicate()).flip();
+        newer.put(4, (byte) (BinaryCodec.VERSION + 1));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(newer));
+        assertTrue(e.getMessage().startsWith("unsupported version"));
+
+        //a huge table size must fail before allocating anything
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeRaw(new byte[]{'S', 'W', 'B', 'C'});
+        writer.writeVarint(BinaryCodec.VERSION);
+        writer.writeVarint(Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(writer.toByteBuffer()));
+    }
+
+    @Test
+    void varintsShouldRoundTripAtTheirLimits() {
+        long[] values = {0, 1, -1, 63, -64, 64, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        BinaryWriter writer = new BinaryWriter(1);
+        for (long value : values) {
+            writer.writeSignedVarint(value);
+            writer.writeVarint(value);
+        }
+        BinaryReader reader = new BinaryReader(writer.toByteBuffer());
+        for (long value : values) {
+            assertEquals(value, reader.readSignedVarint());
+            assertEquals(value, reader.readVarint());
+        }
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    void encodeShouldRejectNulls() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.encode(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.encode(Arrays.asList(alice, null), List.of()));
+    }
+
+    @Test
+    void capacityShouldRoundTrip() {
+        math.registerAll(List.of(alice, bob));
+        math.setCapacity(1);
+        physics.setCapacity(30);
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(alice, bob), List.of(math, physics)));
+
+        Course decodedMath = decoded.courses().get(0);
+        assertEquals(1, decodedMath.getCapacity());
+        assertEquals(2, decodedMath.getStudents().size());
+        assertEquals(30, decoded.courses().get(1).getCapacity());
+    }
+
+    @Test
+    void coursesEncodedWithoutCapacityShouldHaveUnlimitedSeats() {
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeRaw(new byte[]{'S', 'W', 'B', 'C'});
+        writer.writeVarint(BinaryCodec.VERSION);
+        writer.writeVarint(1);
+        writer.writeString("Math");
+        writer.writeVarint(0);
+        writer.writeVarint(0);
+        writer.writeVarint(1);
+        int start = writer.startRecord();
+        writer.writeSignedVarint(1);
+        writer.writeVarint(0);
+        writer.writeSignedVarint(LocalDate.of(2024, 3, 1).toEpochDay());
+        writer.writeVarint(8);
+        writer.writeVarint(0);
+        writer.endRecord(start);
+
+        Dataset decoded = BinaryCodec.decode(writer.toByteBuffer());
+
+        assertEquals(Integer.MAX_VALUE, decoded.courses().get(0).getCapacity());
+    }
+
+    @Test
+    void encodeShouldOnlyResolveLoadedRostersWithStudentsMissingFromTheTable() {
+        math.loadRoster(new int[]{-2, 1}, ids -> fail("the roster should not be resolved"));
+        physics.loadRoster(new int[]{1, 3}, ids -> Arrays.asList(alice, null));
+
+        Dataset decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(alice, bob), List.of(math)));
+        assertEquals(List.of(bob, alice), new ArrayList<>(decoded.courses().get(0).getStudents()));
+
+        //alice is only in the roster, so it's resolved to find her, and 3 has no student
+        decoded = BinaryCodec.decode(BinaryCodec.encode(List.of(bob), List.of(physics)));
+        assertEquals(List.of(alice), new ArrayList<>(decoded.courses().get(0).getStudents()));
+    }
+}
@@ -0,0 +1,46 @@
+package csv_import;
+
+import data_access_objects.CourseDaoIndexed;
+import model.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCsvImporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void importFileShouldSaveValidRowsAndReportTheRest() throws IOException {
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        Path file = directory.resolve("courses.csv");
+        Files.writeString(file, """
+                id,courseName,startDate,weekDuration
+                1,Math,2024-03-01,8
+                2,Physics,2024-13-01,6
+                3,Chemistry,2024-04-01,0
+                4,Biology,2024-04-01,x
+                1,Math Again,2024-03-01,8
+                5,"Art, History", 2024-05-01 , 4
+                """);
+
+        ImportReport report = new CourseCsvImporter(courseDao).importFile(file);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(
+                new RejectedRow(3, "startDate is not a date (yyyy-mm-dd): 2024-13-01"),
+                new RejectedRow(4, "weekDuration must be > 0"),
+                new RejectedRow(5, "weekDuration is not a whole number: x"),
+                new RejectedRow(6, "a course with id 1 already exists")), report.rejected());
+        assertEquals(List.of(1, 5), courseDao.findAll().stream().map(Course::getId).toList());
+        assertEquals("Art, History", courseDao.findById(5).getCourseName());
+        assertEquals(LocalDate.of(2024, 5, 1), courseDao.findById(5).getStartDate());
+    }
+}
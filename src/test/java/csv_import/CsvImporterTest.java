@@ -0,0 +1,106 @@
+package csv_import;
+
+import data_access_objects.StudentDaoIndexed;
+import model.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void splitFieldsShouldHandleQuotes() {
+        assertArrayEquals(new String[]{"1", "Alice", "", "x"}, CsvImporter.splitFields("1,Alice,,x"));
+        assertArrayEquals(new String[]{"1", "Main St, 5", "say \"hi\""},
+                CsvImporter.splitFields("1,\"Main St, 5\",\"say \"\"hi\"\"\""));
+        assertArrayEquals(new String[]{"", ""}, CsvImporter.splitFields(","));
+        assertArrayEquals(new String[]{"a", ""}, CsvImporter.splitFields("a,\"\""));
+        assertThrows(IllegalArgumentException.class, () -> CsvImporter.splitFields("1,\"open"));
+        assertThrows(IllegalArgumentException.class, () -> CsvImporter.splitFields("1,\"closed\"x,2"));
+    }
+
+    @Test
+    void chunksShouldBeCutAtLineBreaksWhateverTheirSize() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("id,name,email,address");
+        for (int id = 0; id < 500; id++) {
+            //some rows longer than a chunk, and some multibyte characters
+            String name = id % 50 == 0 ? "L" + "o".repeat(100) + "ng" : "Åsa " + id;
+            lines.add(id + "," + name + ",s" + id + "@example.com,\"Street " + id + ", Town\"");
+        }
+        Path file = directory.resolve("students.csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        for (int chunkSize : new int[]{1, 16, 100, 4096}) {
+            StudentDaoIndexed studentDao = new StudentDaoIndexed();
+            ForkJoinPool pool = new ForkJoinPool(3);
+            try {
+                ImportReport report = new StudentCsvImporter(studentDao, chunkSize, 7, pool).importFile(file);
+
+                assertEquals(500, report.imported(), "chunk size " + chunkSize);
+                assertTrue(report.rejected().isEmpty());
+            } finally {
+                pool.shutdown();
+            }
+            List<Student> students = studentDao.findAll();
+            for (int id = 0; id < 500; id++) {
+                assertEquals(id, students.get(id).getId());
+            }
+            assertEquals("Åsa 1", students.get(1).getName());
+            assertEquals("Street 1, Town", students.get(1).getAddress());
+        }
+    }
+
+    @Test
+    void crlfLineBreaksAndMissingFinalLineBreakShouldBeAccepted() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Files.writeString(file, "id,name,email,address\r\n1,Alice,a@example.com,Street\r\n\r\n2,Bob,b@example.com,Road");
+
+        StudentDaoIndexed studentDao = new StudentDaoIndexed();
+        ImportReport report = new StudentCsvImporter(studentDao).importFile(file);
+
+        assertEquals(2, report.imported());
+        assertEquals("Street", studentDao.findById(1).getAddress());
+        assertEquals("Road", studentDao.findById(2).getAddress());
+    }
+
+    @Test
+    void emptyFilesShouldImportNothing() throws IOException {
+        Path empty = directory.resolve("empty.csv");
+        Files.writeString(empty, "");
+        Path headerOnly = directory.resolve("header.csv");
+        Files.writeString(headerOnly, "id,name,email,address\n");
+
+        assertEquals(new ImportReport(0, List.of()), new StudentCsvImporter(new StudentDaoIndexed()).importFile(empty));
+        assertEquals(new ImportReport(0, List.of()),
+                new StudentCsvImporter(new StudentDaoIndexed()).importFile(headerOnly));
+    }
+
+    @Test
+    void missingFilesShouldFail() {
+        StudentCsvImporter importer = new StudentCsvImporter(new StudentDaoIndexed());
+        assertThrows(NoSuchFileException.class, () -> importer.importFile(directory.resolve("missing.csv")));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        StudentDaoIndexed studentDao = new StudentDaoIndexed();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThrows(IllegalArgumentException.class, () -> new StudentCsvImporter(null));
+        assertThrows(IllegalArgumentException.class, () -> new StudentCsvImporter(studentDao, 0, 1, pool));
+        assertThrows(IllegalArgumentException.class, () -> new StudentCsvImporter(studentDao, 1, 0, pool));
+        assertThrows(IllegalArgumentException.class, () -> new StudentCsvImporter(studentDao, 1, 1, null));
+    }
+}
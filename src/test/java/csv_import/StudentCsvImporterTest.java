@@ -0,0 +1,56 @@
+package csv_import;
+
+import data_access_objects.StudentDaoIndexed;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCsvImporterTest {
+    @TempDir
+    Path directory;
+
+    private StudentDaoIndexed studentDao;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoIndexed();
+    }
+
+    @Test
+    void importFileShouldSaveValidRowsAndReportTheRest() throws IOException {
+        studentDao.saveStudent(new Student(9, "Existing", "existing@example.com", "Street"));
+        Path file = directory.resolve("students.csv");
+        Files.writeString(file, """
+                id,name,email,address
+                1,Alice,alice@example.com,123 Main St
+                two,Bob,bob@example.com,456 Elm St
+                3, ,carl@example.com,789 Oak St
+                4,Dana,dana@example.com
+                1,Alice Again,alice2@example.com,123 Main St
+                9,Eve,eve@example.com,1 Pine St
+                5,"Frank, Jr.",frank@example.com,"2 Pine St"
+                """);
+
+        ImportReport report = new StudentCsvImporter(studentDao).importFile(file);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(
+                new RejectedRow(3, "id is not a whole number: two"),
+                new RejectedRow(4, "name may not be blank"),
+                new RejectedRow(5, "expected 4 fields but found 3"),
+                new RejectedRow(6, "a student with id 1 already exists"),
+                new RejectedRow(7, "a student with id 9 already exists")), report.rejected());
+        assertEquals("Alice", studentDao.findById(1).getName());
+        assertEquals("Frank, Jr.", studentDao.findById(5).getName());
+        assertEquals("Existing", studentDao.findById(9).getName());
+        assertEquals(List.of(9, 1, 5), studentDao.findAll().stream().map(Student::getId).toList());
+    }
+}
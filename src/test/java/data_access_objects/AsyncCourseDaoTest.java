@@ -0,0 +1,59 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncCourseDaoTest {
+
+    private AsyncCourseDao courseDao;
+    private Course math;
+    private Course physics;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new AsyncCourseDao(new CourseDaoConcurrent(), Duration.ofMillis(10), 64);
+        math = new Course(1, "Math", LocalDate.of(2025, 1, 6), 10);
+        physics = new Course(2, "Physics", LocalDate.of(2025, 2, 3), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseDao.close();
+    }
+
+    @Test
+    void callsShouldCompleteWithTheResultOfTheOtherDao() {
+        Student student = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        math.register(student);
+        assertEquals(Arrays.asList(math, physics), courseDao.saveAll(List.of(math, physics)).join());
+        assertNull(courseDao.saveCourse(math).join());
+
+        assertEquals(List.of(physics), courseDao.findByName("Physics").join());
+        assertEquals(List.of(math), courseDao.findByDate(LocalDate.of(2025, 1, 6)).join());
+        assertEquals(List.of(math, physics),
+                courseDao.findByDateRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1)).join());
+        assertEquals(List.of(math), courseDao.findActiveOn(LocalDate.of(2025, 1, 20)).join());
+        assertEquals(List.of(math), courseDao.findCoursesForStudent(student).join());
+        assertEquals(List.of(math, physics), courseDao.findAll().join());
+        assertEquals(List.of(physics), courseDao.findPage(Page.FIRST, 5).join().items().subList(1, 2));
+    }
+
+    @Test
+    void findByIdShouldSeeRemovesThatCompletedBeforeIt() {
+        courseDao.saveCourse(math).join();
+        assertEquals(Arrays.asList(math, null), courseDao.findAllById(new int[]{1, 2}).join());
+        assertTrue(courseDao.removeCourse(math).join());
+        assertNull(courseDao.findById(1).join());
+        assertArrayEquals(new boolean[]{false}, courseDao.removeAll(List.of(math)).join());
+    }
+}
@@ -0,0 +1,92 @@
+package data_access_objects;
+
+import model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncStudentDaoTest {
+
+    private CountingStudentDao backing;
+    private AsyncStudentDao studentDao;
+    private Student student1;
+    private Student student2;
+
+    //counts the multi-gets that reach it
+    private static class CountingStudentDao extends StudentDaoConcurrent {
+        private final AtomicInteger multiGets = new AtomicInteger();
+
+        @Override
+        public List<Student> findAllById(int[] ids) {
+            multiGets.incrementAndGet();
+            return super.findAllById(ids);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        backing = new CountingStudentDao();
+        studentDao = new AsyncStudentDao(backing, Duration.ofMillis(100), 64);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentDao.close();
+    }
+
+    @Test
+    void callsShouldCompleteWithTheResultOfTheOtherDao() {
+        assertEquals(student1, studentDao.saveStudent(student1).join());
+        assertNull(studentDao.saveStudent(student1).join());
+        assertEquals(Arrays.asList(null, student2), studentDao.saveAll(List.of(student1, student2)).join());
+        assertEquals(student2, studentDao.findByEmail("bob@example.com").join());
+        assertEquals(List.of(student1), studentDao.findByName("Alice").join());
+        assertEquals(List.of(student2), studentDao.findByNamePrefix("b", 10).join());
+        assertEquals(List.of(student1, student2), studentDao.findAll().join());
+        assertEquals(List.of(student1), studentDao.findPage(Page.FIRST, 1).join().items());
+        assertTrue(studentDao.deleteStudent(student1).join());
+        assertArrayEquals(new boolean[]{false, true}, studentDao.deleteAll(List.of(student1, student2)).join());
+    }
+
+    @Test
+    void exceptionsShouldCompleteTheFutureExceptionally() {
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> studentDao.saveStudent(null).join());
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+    }
+
+    @Test
+    void findByIdShouldBatchLookupsArrivingTogether() {
+        studentDao.saveAll(List.of(student1, student2)).join();
+        List<Student> found = studentDao.findAllById(new int[]{1, 2, 3, 1}).join();
+
+        assertEquals(Arrays.asList(student1, student2, null, student1), found);
+        assertEquals(1, backing.multiGets.get());
+        assertEquals(student2, studentDao.findById(2).join());
+        assertEquals(2, backing.multiGets.get());
+    }
+
+    @Test
+    void findByIdShouldSeeWritesThatCompletedBeforeIt() {
+        assertNull(studentDao.findById(1).join());
+        studentDao.saveStudent(student1).join();
+        assertEquals(student1, studentDao.findById(1).join());
+        studentDao.deleteStudent(student1).join();
+        assertNull(studentDao.findById(1).join());
+    }
+
+    @Test
+    void constructorShouldRejectNullDao() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncStudentDao(null));
+    }
+}
@@ -0,0 +1,148 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingLoaderTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    //every batch the loader has been called with
+    private final List<int[]> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private BatchingLoader<String> loader(Duration window, int maxBatchSize, CountDownLatch release) {
+        Function<int[], List<String>> load = ids -> {
+            batches.add(ids);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Arrays.stream(ids).mapToObj(id -> id < 0 ? null : "#" + id).toList();
+        };
+        return new BatchingLoader<>(load, executor, window, maxBatchSize);
+    }
+
+    @Test
+    void lookupsWithinTheWindowShouldBeLoadedAsOneBatch() {
+        BatchingLoader<String> loader = loader(Duration.ofMillis(200), 100, new CountDownLatch(0));
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (int id = -1; id < 10; id++) {
+            lookups.add(loader.load(id));
+        }
+
+        assertNull(lookups.get(0).join());
+        assertEquals("#9", lookups.get(10).join());
+        assertEquals(1, batches.size());
+        assertEquals(11, batches.get(0).length);
+    }
+
+    @Test
+    void fullBatchesShouldBeDispatchedWithoutWaitingForTheWindow() {
+        BatchingLoader<String> loader = loader(Duration.ofDays(1), 4, new CountDownLatch(0));
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (int id = 0; id < 8; id++) {
+            lookups.add(loader.load(id));
+        }
+
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void lookupsOfAnIdBeingLookedUpShouldShareItsFuture() {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchingLoader<String> loader = loader(Duration.ZERO, 100, release);
+        CompletableFuture<String> first = loader.load(7);
+        CompletableFuture<String> second = loader.load(7);
+        assertSame(first, second);
+
+        release.countDown();
+        assertEquals("#7", second.join());
+        assertNotSame(first, loader.load(7));
+    }
+
+    @Test
+    void invalidatedIdsShouldBeLookedUpAgain() {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchingLoader<String> loader = loader(Duration.ZERO, 100, release);
+        CompletableFuture<String> before = loader.load(7);
+        loader.invalidate(7);
+        CompletableFuture<String> after = loader.load(7);
+
+        assertNotSame(before, after);
+        release.countDown();
+        assertEquals("#7", after.join());
+    }
+
+    @Test
+    void failedBatchesShouldFailEveryLookup() {
+        BatchingLoader<String> loader = new BatchingLoader<>(ids -> {
+            throw new IllegalStateException("backend down");
+        }, executor, Duration.ofMillis(10), 100);
+        CompletableFuture<String> first = loader.load(1);
+        CompletableFuture<String> second = loader.load(2);
+
+        CompletionException thrown = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertThrows(CompletionException.class, second::join);
+    }
+
+    @Test
+    void batchesWithTooFewResultsOrErrorsShouldFailEveryLookupAndNotBlockLaterOnes() {
+        List<Function<int[], List<String>>> loads = List.of(ids -> List.of("#" + ids[0]), ids -> {
+            throw new AssertionError("loader bug");
+        });
+        for (Function<int[], List<String>> load : loads) {
+            BatchingLoader<String> loader = new BatchingLoader<>(load, executor, Duration.ofMillis(10), 100);
+            CompletableFuture<String> first = loader.load(1);
+            CompletableFuture<String> second = loader.load(2);
+
+            assertThrows(CompletionException.class, first::join);
+            assertThrows(CompletionException.class, second::join);
+            assertNotSame(second, loader.load(2));
+        }
+    }
+
+    @Test
+    void rejectedLookupsShouldFailInsteadOfHanging() {
+        ExecutorService closed = Executors.newSingleThreadExecutor();
+        closed.shutdown();
+        BatchingLoader<String> loader = new BatchingLoader<>(ids -> List.of(), closed, Duration.ofMillis(10), 1);
+
+        CompletableFuture<String> first = loader.load(1);
+        CompletionException thrown = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+        assertNotSame(first, loader.load(1));
+
+        BatchingLoader<String> windowed = new BatchingLoader<>(ids -> List.of(), closed, Duration.ofMillis(10), 100);
+        CompletableFuture<String> waiting = windowed.load(1);
+        assertThrows(CompletionException.class, waiting::join);
+        assertNotSame(waiting, windowed.load(1));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> loader(Duration.ofMillis(-1), 10, new CountDownLatch(0)));
+        assertThrows(IllegalArgumentException.class, () -> loader(Duration.ZERO, 0, new CountDownLatch(0)));
+    }
+}
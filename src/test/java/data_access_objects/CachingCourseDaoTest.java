@@ -0,0 +1,86 @@
+package data_access_objects;
+
+import model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingCourseDaoTest {
+
+    private CountingCourseDao backing;
+    private CachingCourseDao courseDao;
+    private Course math;
+    private Course physics;
+
+    //counts the lookups that reach it
+    private static class CountingCourseDao extends CourseDaoIndexed {
+        private int lookups;
+
+        @Override
+        public Course findById(int id) {
+            lookups++;
+            return super.findById(id);
+        }
+
+        @Override
+        public List<Course> findAllById(int[] ids) {
+            lookups++;
+            return Arrays.stream(ids).mapToObj(super::findById).toList();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        backing = new CountingCourseDao();
+        courseDao = new CachingCourseDao(backing, 2);
+        math = new Course(1, "Math", LocalDate.of(2025, 1, 6), 10);
+        physics = new Course(2, "Physics", LocalDate.of(2025, 2, 3), 8);
+        courseDao.saveCourse(math);
+        courseDao.saveCourse(physics);
+    }
+
+    @Test
+    void findByIdShouldCacheHitsAndMisses() {
+        assertEquals(math, courseDao.findById(1));
+        assertEquals(math, courseDao.findById(1));
+        assertNull(courseDao.findById(3));
+        assertNull(courseDao.findById(3));
+        courseDao.findById(2);
+
+        assertEquals(3, backing.lookups);
+        assertEquals(new CacheStats(2, 3, 1, 2, 2), courseDao.stats());
+    }
+
+    @Test
+    void saveAndRemoveShouldInvalidateTheCache() {
+        assertNull(courseDao.findById(3));
+        Course chemistry = new Course(3, "Chemistry", LocalDate.of(2025, 3, 3), 12);
+        courseDao.saveAll(List.of(chemistry));
+        assertEquals(chemistry, courseDao.findById(3));
+
+        assertArrayEquals(new boolean[]{true, false}, courseDao.removeAll(List.of(chemistry, chemistry)));
+        assertNull(courseDao.findById(3));
+        assertTrue(courseDao.removeCourse(math));
+        assertNull(courseDao.findById(1));
+    }
+
+    @Test
+    void findAllByIdShouldMixCachedAndLoadedCourses() {
+        courseDao.findById(2);
+        backing.lookups = 0;
+        assertEquals(Arrays.asList(math, physics, null), courseDao.findAllById(new int[]{1, 2, 3}));
+        assertEquals(1, backing.lookups);
+    }
+
+    @Test
+    void otherFindersShouldPassThrough() {
+        assertEquals(List.of(math, physics), courseDao.findAll());
+        assertEquals(List.of(physics), courseDao.findByName("Physics"));
+        assertEquals(List.of(math), courseDao.findActiveOn(LocalDate.of(2025, 1, 20)));
+    }
+}
@@ -0,0 +1,139 @@
+package data_access_objects;
+
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingStudentDaoTest {
+
+    private CountingStudentDao backing;
+    private CachingStudentDao studentDao;
+    private Student student1;
+    private Student student2;
+
+    //counts the lookups that reach it
+    private static class CountingStudentDao extends StudentDaoIndexed {
+        private int lookups;
+
+        @Override
+        public Student findById(int id) {
+            lookups++;
+            return super.findById(id);
+        }
+
+        @Override
+        public Student findByEmail(String email) {
+            lookups++;
+            return super.findByEmail(email);
+        }
+
+        @Override
+        public List<Student> findAllById(int[] ids) {
+            lookups++;
+            return Arrays.stream(ids).mapToObj(super::findById).toList();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        backing = new CountingStudentDao();
+        studentDao = new CachingStudentDao(backing, 2);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+    }
+
+    @Test
+    void findByIdShouldOnlyReachTheBackingDaoOnAMiss() {
+        assertEquals(student1, studentDao.findById(1));
+        assertEquals(student1, studentDao.findById(1));
+        assertNull(studentDao.findById(3));
+        assertNull(studentDao.findById(3));
+
+        assertEquals(2, backing.lookups);
+        assertEquals(new CacheStats(2, 2, 0, 2, 2), studentDao.idCacheStats());
+    }
+
+    @Test
+    void findByIdShouldEvictTheLeastRecentlyUsedStudent() {
+        studentDao.findById(1);
+        studentDao.findById(2);
+        studentDao.findById(1);
+        studentDao.findById(3);
+        studentDao.findById(1);
+        studentDao.findById(2);
+
+        assertEquals(4, backing.lookups);
+        assertEquals(2, studentDao.idCacheStats().evictions());
+    }
+
+    @Test
+    void saveAndDeleteShouldInvalidateCachedMisses() {
+        assertNull(studentDao.findById(3));
+        assertNull(studentDao.findByEmail("carol@example.com"));
+        Student carol = new Student(3, "Carol", "carol@example.com", "789 Oak St");
+        studentDao.saveStudent(carol);
+        assertEquals(carol, studentDao.findById(3));
+        assertEquals(carol, studentDao.findByEmail("carol@example.com"));
+
+        assertTrue(studentDao.deleteStudent(carol));
+        assertNull(studentDao.findById(3));
+        assertNull(studentDao.findByEmail("carol@example.com"));
+        assertFalse(studentDao.deleteStudent(carol));
+    }
+
+    @Test
+    void findByEmailShouldFollowEmailChanges() {
+        assertEquals(student1, studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("alice@school.org"));
+        student1.setEmail("alice@school.org");
+
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertEquals(student1, studentDao.findByEmail("alice@school.org"));
+        assertEquals(2, studentDao.emailCacheStats().size());
+    }
+
+    @Test
+    void findByEmailShouldNotReturnAStudentThatChangedEmailAfterEviction() {
+        assertEquals(student1, studentDao.findByEmail("alice@example.com"));
+        studentDao.findById(2);
+        studentDao.findById(4);
+        student1.setEmail("alice@school.org");
+
+        assertNull(studentDao.findByEmail("alice@example.com"));
+    }
+
+    @Test
+    void findAllByIdShouldLoadEveryMissInOneCall() {
+        studentDao.findById(1);
+        backing.lookups = 0;
+
+        assertEquals(Arrays.asList(student1, student2, null), studentDao.findAllById(new int[]{1, 2, 3}));
+        assertEquals(1, backing.lookups);
+        assertEquals(Arrays.asList(student2, null), studentDao.findAllById(new int[]{2, 3}));
+        assertEquals(1, backing.lookups);
+    }
+
+    @Test
+    void invalidateAllShouldEmptyTheCaches() {
+        studentDao.findById(1);
+        studentDao.findByEmail("bob@example.com");
+        studentDao.invalidateAll();
+
+        assertEquals(0, studentDao.idCacheStats().size());
+        assertEquals(0, studentDao.emailCacheStats().size());
+        assertEquals(student1, studentDao.findById(1));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingStudentDao(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CachingStudentDao(backing, 0));
+    }
+}
@@ -0,0 +1,94 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeCapturingCourseDaoTest {
+
+    private List<ChangeEvent> events;
+    private ChangeCapturingCourseDao courseDao;
+    private Course course1;
+    private Course course2;
+    private Student student1;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLog changeLog = new ChangeLog(64, 16, Runnable::run);
+        events = new ArrayList<>();
+        changeLog.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent> batch) {
+                events.addAll(batch);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        courseDao = new ChangeCapturingCourseDao(new CourseDaoIndexed(), changeLog);
+        course1 = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+        course2 = new Course(2, "SQL 101", LocalDate.of(2024, 3, 4), 4);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+    }
+
+    @Test
+    void saveShouldOnlyRecordCoursesThatWereSaved() {
+        courseDao.saveAll(List.of(course1, course2));
+        courseDao.saveCourse(new Course(1, "Other", LocalDate.of(2024, 1, 1), 1));
+
+        assertEquals(List.of(
+                new ChangeEvent(0, ChangeEvent.Type.COURSE_SAVED, null, course1),
+                new ChangeEvent(1, ChangeEvent.Type.COURSE_SAVED, null, course2)), events);
+    }
+
+    @Test
+    void registrationsInStoredCoursesShouldBeRecorded() {
+        courseDao.saveCourse(course1);
+        course1.register(student1);
+        course1.unregister(student1);
+        course1.unregister(student1);
+        course2.register(student1);
+
+        assertEquals(List.of(
+                new ChangeEvent(0, ChangeEvent.Type.COURSE_SAVED, null, course1),
+                new ChangeEvent(1, ChangeEvent.Type.STUDENT_REGISTERED, student1, course1),
+                new ChangeEvent(2, ChangeEvent.Type.STUDENT_UNREGISTERED, student1, course1)), events);
+    }
+
+    @Test
+    void removeShouldRecordTheRemovalAndStopRecordingRegistrations() {
+        courseDao.saveAll(List.of(course1, course2));
+        Course sameId = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+
+        assertTrue(courseDao.removeCourse(sameId));
+        assertArrayEquals(new boolean[]{true, false}, courseDao.removeAll(List.of(course2, course1)));
+        course1.register(student1);
+
+        assertEquals(List.of(
+                ChangeEvent.Type.COURSE_SAVED,
+                ChangeEvent.Type.COURSE_SAVED,
+                ChangeEvent.Type.COURSE_REMOVED,
+                ChangeEvent.Type.COURSE_REMOVED), events.stream().map(ChangeEvent::type).toList());
+        assertSame(course1, events.get(2).course());
+        assertFalse(courseDao.removeCourse(null));
+    }
+}
@@ -0,0 +1,106 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeCapturingStudentDaoTest {
+
+    private ChangeLog changeLog;
+    private List<ChangeEvent> events;
+    private ChangeCapturingStudentDao studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ChangeLog(64, 16, Runnable::run);
+        events = new ArrayList<>();
+        changeLog.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent> batch) {
+                events.addAll(batch);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        studentDao = new ChangeCapturingStudentDao(new StudentDaoIndexed(), changeLog);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Test
+    void saveStudentShouldOnlyRecordStudentsThatWereSaved() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(new Student(1, "Alice", "alice2@example.com", "789 Oak St"));
+
+        assertEquals(List.of(new ChangeEvent(0, ChangeEvent.Type.STUDENT_SAVED, student1, null)), events);
+    }
+
+    @Test
+    void saveAllShouldRecordEachSavedStudentInOrder() {
+        studentDao.saveAll(List.of(student2, student1, student2));
+
+        assertEquals(List.of(
+                new ChangeEvent(0, ChangeEvent.Type.STUDENT_SAVED, student2, null),
+                new ChangeEvent(1, ChangeEvent.Type.STUDENT_SAVED, student1, null)), events);
+    }
+
+    @Test
+    void deleteShouldOnlyRecordStudentsThatWereDeleted() {
+        studentDao.saveStudent(student1);
+
+        assertFalse(studentDao.deleteStudent(student2));
+        assertArrayEquals(new boolean[]{true, false}, studentDao.deleteAll(List.of(student1, student1)));
+
+        assertEquals(List.of(ChangeEvent.Type.STUDENT_SAVED, ChangeEvent.Type.STUDENT_DELETED),
+                events.stream().map(ChangeEvent::type).toList());
+        assertEquals(student1, events.get(1).student());
+    }
+
+    @Test
+    void deleteShouldRecordTheCascadedUnregistrationsFirst() {
+        ChangeCapturingCourseDao courseDao = new ChangeCapturingCourseDao(new CourseDaoIndexed(), changeLog);
+        studentDao = new ChangeCapturingStudentDao(new StudentDaoIndexed(courseDao), changeLog);
+        Course course = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+        courseDao.saveCourse(course);
+        studentDao.saveStudent(student1);
+        course.register(student1);
+
+        studentDao.deleteStudent(student1);
+
+        assertEquals(List.of(
+                new ChangeEvent(0, ChangeEvent.Type.COURSE_SAVED, null, course),
+                new ChangeEvent(1, ChangeEvent.Type.STUDENT_SAVED, student1, null),
+                new ChangeEvent(2, ChangeEvent.Type.STUDENT_REGISTERED, student1, course),
+                new ChangeEvent(3, ChangeEvent.Type.STUDENT_UNREGISTERED, student1, course),
+                new ChangeEvent(4, ChangeEvent.Type.STUDENT_DELETED, student1, null)), events);
+    }
+
+    @Test
+    void constructorShouldRejectNull() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeCapturingStudentDao(null, changeLog));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChangeCapturingStudentDao(new StudentDaoIndexed(), null));
+    }
+}
@@ -0,0 +1,196 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private static final ChangeEvent.Type SAVED = ChangeEvent.Type.STUDENT_SAVED;
+
+    @Test
+    void subscriberShouldReceiveChangesInBatchesAsRequested() {
+        ChangeLog changeLog = new ChangeLog(16, 2, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        changeLog.subscribe(subscriber);
+        for (int i = 0; i < 5; i++) {
+            changeLog.record(SAVED, null, null);
+        }
+
+        assertTrue(subscriber.batches.isEmpty());
+        subscriber.subscription.request(2);
+        assertEquals(List.of(List.of(0L, 1L), List.of(2L, 3L)), subscriber.sequences());
+
+        subscriber.subscription.request(5);
+        changeLog.record(SAVED, null, null);
+        assertEquals(List.of(List.of(0L, 1L), List.of(2L, 3L), List.of(4L), List.of(5L)), subscriber.sequences());
+        assertEquals(6, changeLog.nextSequence());
+    }
+
+    @Test
+    void subscriberShouldResumeFromASequenceNumber() {
+        ChangeLog changeLog = new ChangeLog(16, 10, Runnable::run);
+        for (int i = 0; i < 5; i++) {
+            changeLog.record(SAVED, null, null);
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        changeLog.subscribe(subscriber, 3);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(List.of(3L, 4L)), subscriber.sequences());
+    }
+
+    @Test
+    void subscriberThatFallsBehindTheRingShouldGetAnError() {
+        ChangeLog changeLog = new ChangeLog(4, 10, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        changeLog.subscribe(subscriber);
+        for (int i = 0; i < 6; i++) {
+            changeLog.record(SAVED, null, null);
+        }
+
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.batches.isEmpty());
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        //cancelled, so nothing more is delivered
+        changeLog.record(SAVED, null, null);
+        assertTrue(subscriber.batches.isEmpty());
+    }
+
+    @Test
+    void resumingFromAnOverwrittenOrNegativeSequenceShouldGiveAnError() {
+        ChangeLog changeLog = new ChangeLog(4, 10, Runnable::run);
+        for (int i = 0; i < 6; i++) {
+            changeLog.record(SAVED, null, null);
+        }
+        RecordingSubscriber overwritten = new RecordingSubscriber();
+        RecordingSubscriber negative = new RecordingSubscriber();
+
+        changeLog.subscribe(overwritten, 1);
+        changeLog.subscribe(negative, -1);
+
+        assertInstanceOf(IllegalStateException.class, overwritten.error);
+        assertInstanceOf(IllegalArgumentException.class, negative.error);
+        assertThrows(NullPointerException.class, () -> changeLog.subscribe(null));
+    }
+
+    @Test
+    void cancelledSubscriberShouldReceiveNothingMore() {
+        ChangeLog changeLog = new ChangeLog(16, 10, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        changeLog.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        changeLog.record(SAVED, null, null);
+
+        subscriber.subscription.cancel();
+        changeLog.record(SAVED, null, null);
+
+        assertEquals(List.of(List.of(0L)), subscriber.sequences());
+    }
+
+    @Test
+    void nonPositiveRequestShouldGiveAnError() {
+        ChangeLog changeLog = new ChangeLog(16, 10, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        changeLog.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertThrows(IllegalArgumentException.class, () -> new ChangeLog(0, 1, Runnable::run));
+    }
+
+    @Test
+    void concurrentRecordersShouldDeliverEveryChangeOnceAndInOrder() throws Exception {
+        int recorders = 4;
+        int changes = 10_000;
+        ExecutorService delivery = Executors.newSingleThreadExecutor();
+        ExecutorService executor = Executors.newFixedThreadPool(recorders);
+        try {
+            ChangeLog changeLog = new ChangeLog(recorders * changes, 64, delivery);
+            CountDownLatch received = new CountDownLatch(recorders * changes);
+            List<Long> sequences = new ArrayList<>();
+            changeLog.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(List<ChangeEvent> batch) {
+                    for (ChangeEvent event : batch) {
+                        sequences.add(event.sequence());
+                        received.countDown();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            for (int i = 0; i < recorders; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < changes; j++) {
+                        changeLog.record(SAVED, null, null);
+                    }
+                });
+            }
+
+            assertTrue(received.await(30, TimeUnit.SECONDS));
+            delivery.submit(() -> {
+            }).get();
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i, sequences.get(i));
+            }
+            assertEquals(recorders * changes, sequences.size());
+        } finally {
+            executor.shutdownNow();
+            delivery.shutdownNow();
+        }
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<List<ChangeEvent>> {
+        private final List<List<ChangeEvent>> batches = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<ChangeEvent> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private List<List<Long>> sequences() {
+            return batches.stream()
+                    .map(batch -> batch.stream().map(ChangeEvent::sequence).toList())
+                    .toList();
+        }
+    }
+}
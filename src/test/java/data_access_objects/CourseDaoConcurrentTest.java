@@ -0,0 +1,262 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDaoConcurrentTest {
+    private static final int THREADS = 8;
+    private static final LocalDate TERM_START = LocalDate.of(2024, 1, 1);
+
+    private CourseDaoConcurrent courseDao;
+    private Course course1;
+    private Course course2;
+    private Course course3;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new CourseDaoConcurrent();
+        course1 = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        course2 = new Course(2, "Physics", LocalDate.of(2024, 4, 1), 6);
+        course3 = new Course(3, "Math", LocalDate.of(2024, 3, 1), 10);
+    }
+
+    @Test
+    void testSaveAndFind() {
+        assertNotNull(courseDao.saveCourse(course1));
+        assertNull(courseDao.saveCourse(course1));
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+
+        assertEquals(course2, courseDao.findById(2));
+        assertEquals(List.of(course1, course3), courseDao.findByName("Math"));
+        assertEquals(List.of(course1, course3), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course1, course3, course2),
+                courseDao.findByDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)));
+        assertEquals(List.of(course3, course2), courseDao.findActiveOn(LocalDate.of(2024, 4, 26)));
+        assertEquals(List.of(course1, course2, course3), courseDao.findAll());
+    }
+
+    @Test
+    void testIndexesFollowChangesAndRemoval() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course3);
+        course1.setCourseName("Algebra");
+        course3.setStartDate(LocalDate.of(2024, 9, 1));
+
+        assertEquals(List.of(course1), courseDao.findByName("Algebra"));
+        assertEquals(List.of(course3), courseDao.findByName("Math"));
+        assertEquals(List.of(course1), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course3), courseDao.findActiveOn(LocalDate.of(2024, 9, 1)));
+
+        assertTrue(courseDao.removeCourse(course3));
+        assertFalse(courseDao.removeCourse(course3));
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 9, 1)).isEmpty());
+        assertTrue(courseDao.findByName("Math").isEmpty());
+    }
+
+    @Test
+    void concurrentSavesOfSameIdShouldHaveExactlyOneWinner() throws Exception {
+        int ids = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<List<Course>>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                tasks.add(() -> {
+                    List<Course> won = new ArrayList<>();
+                    for (int id = 0; id < ids; id++) {
+                        Course attempt = new Course(id, "Course " + id, TERM_START.plusDays(id % 100), 4);
+                        if (courseDao.saveCourse(attempt) != null) {
+                            won.add(attempt);
+                        }
+                    }
+                    return won;
+                });
+            }
+
+            List<Course> winners = new ArrayList<>();
+            for (Future<List<Course>> future : executor.invokeAll(tasks)) {
+                winners.addAll(future.get());
+            }
+            assertEquals(ids, winners.size());
+            assertEquals(ids, new HashSet<>(winners).size());
+            for (Course winner : winners) {
+                assertSame(winner, courseDao.findById(winner.getId()));
+                assertEquals(List.of(winner), courseDao.findByName(winner.getCourseName()));
+            }
+            assertEquals(ids, courseDao.findByDateRange(TERM_START, TERM_START.plusDays(100)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentSavesAndRemovesShouldBeLinearizablePerId() throws Exception {
+        int ids = 64;
+        int operationsPerThread = 20_000;
+        AtomicIntegerArray balance = new AtomicIntegerArray(ids);
+        AtomicBoolean writersDone = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<Boolean> reader = executor.submit(() -> {
+                while (!writersDone.get()) {
+                    Set<Integer> seen = new HashSet<>();
+                    for (Course course : courseDao.findActiveOn(TERM_START.plusDays(3))) {
+                        if (!seen.add(course.getId())) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            });
+
+            List<Callable<Void>> writers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                writers.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        int id = random.nextInt(ids);
+                        Course course = new Course(id, "Course", TERM_START.plusDays(id % 4), 1 + id % 3);
+                        if (random.nextBoolean()) {
+                            if (courseDao.saveCourse(course) != null) {
+                                balance.incrementAndGet(id);
+                            }
+                        } else if (courseDao.removeCourse(course)) {
+                            balance.decrementAndGet(id);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> writer : executor.invokeAll(writers)) {
+                writer.get();
+            }
+            writersDone.set(true);
+            assertTrue(reader.get(), "findActiveOn returned the same id twice");
+
+            int present = 0;
+            for (int id = 0; id < ids; id++) {
+                boolean stored = courseDao.findById(id) != null;
+                assertTrue(balance.get(id) == 0 || balance.get(id) == 1, "balance of id " + id);
+                assertEquals(balance.get(id) == 1, stored, "final state of id " + id);
+                if (stored) {
+                    present++;
+                }
+            }
+            assertEquals(present, courseDao.findAll().size());
+            assertEquals(present, courseDao.findByName("Course").size());
+            assertEquals(present, courseDao.findActiveOn(TERM_START.plusDays(3)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFindCoursesForStudentFollowsRegistrations() {
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        course2.register(alice);
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        course1.register(alice);
+        assertEquals(List.of(course1, course2), courseDao.findCoursesForStudent(alice));
+
+        course2.unregister(alice);
+        assertEquals(List.of(course1), courseDao.findCoursesForStudent(alice));
+        courseDao.removeCourse(course1);
+        assertTrue(courseDao.findCoursesForStudent(alice).isEmpty());
+    }
+
+    @Test
+    void testFindPageAndStream() {
+        List<Course> courses = new ArrayList<>();
+        for (int id = 100; id < 125; id++) {
+            Course course = new Course(id, "Course " + id, LocalDate.of(2024, 1, 1).plusDays(id), 4);
+            courseDao.saveCourse(course);
+            courses.add(course);
+        }
+
+        List<Course> paged = new ArrayList<>();
+        long cursor = Page.FIRST;
+        Page<Course> page;
+        do {
+            page = courseDao.findPage(cursor, 10);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(courses, paged);
+        assertEquals(courses, courseDao.stream().toList());
+        assertThrows(IllegalArgumentException.class, () -> courseDao.findPage(Page.FIRST, 0));
+
+        Page<Course> first = courseDao.findPage(Page.FIRST, 2);
+        courseDao.removeCourse(courses.get(0));
+        assertEquals(courses.subList(2, 4), courseDao.findPage(first.nextCursor(), 2).items());
+        assertEquals(courses.subList(1, 25), courseDao.stream().parallel().toList());
+    }
+
+    @Test
+    void changesMadeWhileSavingShouldBeIndexed() {
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        //renames the course and registers a student between the DAO reading the roster and publishing the course
+        Course course = new Course(4, "Biology", LocalDate.of(2024, 2, 1), 4) {
+            private boolean changed;
+
+            @Override
+            public LocalDate getStartDate() {
+                LocalDate startDate = super.getStartDate();
+                if (!changed) {
+                    changed = true;
+                    setCourseName("Botany");
+                    setWeekDuration(2);
+                    register(alice);
+                }
+                return startDate;
+            }
+        };
+
+        courseDao.saveCourse(course);
+
+        assertEquals(List.of(course), courseDao.findByName("Botany"));
+        assertTrue(courseDao.findByName("Biology").isEmpty());
+        assertEquals(List.of(course), courseDao.findActiveOn(LocalDate.of(2024, 2, 14)));
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 2, 20)).isEmpty());
+        assertEquals(List.of(course), courseDao.findCoursesForStudent(alice));
+    }
+
+    @Test
+    void rejectedWeekDurationShouldLeaveCourseIndexed() {
+        courseDao.saveCourse(course1);
+
+        assertThrows(IllegalArgumentException.class, () -> course1.setWeekDuration(0));
+
+        assertEquals(List.of(course1), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course1), courseDao.findActiveOn(LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    void savingAndRemovingALoadedCourseShouldNotResolveItsRoster() {
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        course1.loadRoster(new int[]{1, 2}, ids -> fail("the roster should not be resolved"));
+
+        courseDao.saveCourse(course1);
+        assertEquals(List.of(course1), courseDao.findCoursesForStudent(alice));
+        assertTrue(courseDao.removeCourse(course1));
+        assertTrue(courseDao.findCoursesForStudent(alice).isEmpty());
+    }
+}
@@ -0,0 +1,202 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDaoIndexedTest {
+    private CourseDaoIndexed courseDao;
+    private Course course1;
+    private Course course2;
+    private Course course3;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new CourseDaoIndexed();
+        course1 = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        course2 = new Course(2, "Physics", LocalDate.of(2024, 4, 1), 6);
+        course3 = new Course(3, "Math", LocalDate.of(2024, 3, 1), 10);
+    }
+
+    @Test
+    void testSaveCourse() {
+        assertNotNull(courseDao.saveCourse(course1));
+        assertNull(courseDao.saveCourse(course1));
+        assertThrows(IllegalArgumentException.class, () -> courseDao.saveCourse(null));
+    }
+
+    @Test
+    void testFindById() {
+        courseDao.saveCourse(course1);
+        assertEquals(course1, courseDao.findById(1));
+        assertNull(courseDao.findById(999));
+    }
+
+    @Test
+    void testFindByName() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        assertEquals(List.of(course1, course3), courseDao.findByName("Math"));
+        assertTrue(courseDao.findByName("Chemistry").isEmpty());
+    }
+
+    @Test
+    void testFindByNameAfterRename() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course3);
+        course1.setCourseName("Algebra");
+        assertEquals(List.of(course3), courseDao.findByName("Math"));
+        assertEquals(List.of(course1), courseDao.findByName("Algebra"));
+    }
+
+    @Test
+    void testFindByDate() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        assertEquals(List.of(course1, course3), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+    }
+
+    @Test
+    void testFindByDateRangeIsOrderedByStartDate() {
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course3);
+        assertEquals(List.of(course1, course3, course2),
+                courseDao.findByDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)));
+        assertEquals(List.of(course2),
+                courseDao.findByDateRange(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 12, 31)));
+        assertThrows(IllegalArgumentException.class,
+                () -> courseDao.findByDateRange(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 3, 1)));
+    }
+
+    @Test
+    void testFindActiveOn() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 2, 29)).isEmpty());
+        assertEquals(List.of(course1, course3), courseDao.findActiveOn(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course1, course3, course2), courseDao.findActiveOn(LocalDate.of(2024, 4, 25)));
+        // course1 ends after 8 weeks on 2024-04-26
+        assertEquals(List.of(course3, course2), courseDao.findActiveOn(LocalDate.of(2024, 4, 26)));
+        // course3 ends after 10 weeks on 2024-05-10, course2 after 6 weeks on 2024-05-13
+        assertEquals(List.of(course2), courseDao.findActiveOn(LocalDate.of(2024, 5, 10)));
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 5, 13)).isEmpty());
+    }
+
+    @Test
+    void testFindActiveOnMatchesScanAfterRescheduling() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        course1.setStartDate(LocalDate.of(2024, 6, 1));
+        course2.setWeekDuration(20);
+
+        for (LocalDate date = LocalDate.of(2024, 2, 1); date.isBefore(LocalDate.of(2024, 9, 1)); date = date.plusDays(1)) {
+            LocalDate day = date;
+            List<Course> expected = courseDao.findAll().stream()
+                    .filter(course -> course.isActiveOn(day))
+                    .sorted((a, b) -> a.getStartDate().compareTo(b.getStartDate()))
+                    .toList();
+            assertEquals(expected, courseDao.findActiveOn(day), "active on " + day);
+        }
+    }
+
+    @Test
+    void testFindAll() {
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course1);
+        assertEquals(List.of(course2, course1), courseDao.findAll());
+    }
+
+    @Test
+    void testRemoveCourse() {
+        courseDao.saveCourse(course1);
+        assertTrue(courseDao.removeCourse(course1));
+        assertFalse(courseDao.removeCourse(course1));
+        assertTrue(courseDao.findByName("Math").isEmpty());
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 3, 1)).isEmpty());
+    }
+
+    @Test
+    void testFindCoursesForStudentFollowsRegistrations() {
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        Student bob = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+        course2.register(alice);
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+
+        course3.register(alice);
+        course1.registerAll(List.of(alice, bob));
+        assertEquals(List.of(course1, course2, course3), courseDao.findCoursesForStudent(alice));
+        assertEquals(List.of(course1), courseDao.findCoursesForStudent(bob));
+
+        course1.unregister(alice);
+        course2.setStudents(List.of(bob));
+        courseDao.removeCourse(course1);
+        assertEquals(List.of(course3), courseDao.findCoursesForStudent(alice));
+        assertEquals(List.of(course2), courseDao.findCoursesForStudent(bob));
+    }
+
+    @Test
+    void testBatchOperations() {
+        Course duplicate = new Course(1, "Duplicate", LocalDate.of(2024, 1, 1), 1);
+        assertEquals(Arrays.asList(course1, course2, null), courseDao.saveAll(List.of(course1, course2, duplicate)));
+        assertThrows(IllegalArgumentException.class, () -> courseDao.saveAll(Arrays.asList(course3, null)));
+        assertNull(courseDao.findById(3));
+
+        assertEquals(Arrays.asList(course2, null), courseDao.findAllById(new int[]{2, 3}));
+        assertArrayEquals(new boolean[]{true, false}, courseDao.removeAll(List.of(course1, course3)));
+        assertEquals(List.of(course2), courseDao.findAll());
+    }
+
+    @Test
+    void testFindPageAndStream() {
+        List<Course> courses = new ArrayList<>();
+        for (int id = 100; id < 125; id++) {
+            Course course = new Course(id, "Course " + id, LocalDate.of(2024, 1, 1).plusDays(id), 4);
+            courseDao.saveCourse(course);
+            courses.add(course);
+        }
+
+        List<Course> paged = new ArrayList<>();
+        long cursor = Page.FIRST;
+        Page<Course> page;
+        do {
+            page = courseDao.findPage(cursor, 10);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(courses, paged);
+        assertEquals(courses, courseDao.stream().toList());
+        assertThrows(IllegalArgumentException.class, () -> courseDao.findPage(Page.FIRST, 0));
+
+        Page<Course> first = courseDao.findPage(Page.FIRST, 2);
+        courseDao.removeCourse(courses.get(0));
+        assertEquals(courses.subList(2, 4), courseDao.findPage(first.nextCursor(), 2).items());
+        assertEquals(courses.subList(1, 25), courseDao.stream().parallel().toList());
+    }
+
+    @Test
+    void rejectedWeekDurationShouldLeaveCourseIndexed() {
+        courseDao.saveCourse(course1);
+
+        assertThrows(IllegalArgumentException.class, () -> course1.setWeekDuration(0));
+
+        assertEquals(List.of(course1), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course1), courseDao.findActiveOn(LocalDate.of(2024, 4, 1)));
+    }
+}
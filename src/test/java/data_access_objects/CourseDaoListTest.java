@@ -1,10 +1,12 @@
 package data_access_objects;
 
 import model.Course;
+import model.Student;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,4 +69,63 @@ class CourseDaoListTest {
         assertTrue(courseDao.removeCourse(course1));
         assertFalse(courseDao.removeCourse(course1)); // Already removed
     }
+
+    @Test
+    void testFindByDateRange() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        List<Course> marchCourses = courseDao.findByDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        assertEquals(2, marchCourses.size());
+        assertFalse(marchCourses.contains(course2));
+    }
+
+    @Test
+    void testFindActiveOn() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        assertEquals(3, courseDao.findActiveOn(LocalDate.of(2024, 4, 15)).size());
+        List<Course> activeInMay = courseDao.findActiveOn(LocalDate.of(2024, 5, 1));
+        assertEquals(2, activeInMay.size());
+        assertFalse(activeInMay.contains(course1)); // Ended after 8 weeks
+    }
+
+    @Test
+    void testFindCoursesForStudent() {
+        // The courses are shared by every CourseDaoList, so start from an empty collection
+        courseDao.findAll().forEach(courseDao::removeCourse);
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+        course1.register(alice);
+        course3.register(alice);
+        assertEquals(List.of(course1, course3), courseDao.findCoursesForStudent(alice));
+    }
+
+    @Test
+    void testFindPageAndStream() {
+        courseDao.findAll().forEach(courseDao::removeCourse);
+        List<Course> courses = new ArrayList<>();
+        for (int id = 100; id < 125; id++) {
+            Course course = new Course(id, "Course " + id, LocalDate.of(2024, 1, 1).plusDays(id), 4);
+            courseDao.saveCourse(course);
+            courses.add(course);
+        }
+
+        List<Course> paged = new ArrayList<>();
+        long cursor = Page.FIRST;
+        Page<Course> page;
+        do {
+            page = courseDao.findPage(cursor, 10);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(courses, paged);
+        assertEquals(courses, courseDao.stream().toList());
+        assertThrows(IllegalArgumentException.class, () -> courseDao.findPage(Page.FIRST, 0));
+        courseDao.findAll().forEach(courseDao::removeCourse);
+    }
 }
@@ -0,0 +1,176 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDaoShardedTest {
+    private static final int SHARDS = 4;
+    private static final int THREADS = 8;
+    private static final LocalDate TERM_START = LocalDate.of(2024, 1, 1);
+
+    private CourseDaoSharded courseDao;
+    private Course course1;
+    private Course course2;
+    private Course course3;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new CourseDaoSharded(SHARDS);
+        course1 = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        course2 = new Course(2, "Physics", LocalDate.of(2024, 4, 1), 6);
+        course3 = new Course(3, "Math", LocalDate.of(2024, 3, 1), 10);
+    }
+
+    @Test
+    void testSaveAndFind() {
+        assertNotNull(courseDao.saveCourse(course1));
+        assertNull(courseDao.saveCourse(course1));
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course3);
+
+        assertEquals(course2, courseDao.findById(2));
+        assertNull(courseDao.findById(4));
+        assertEquals(List.of(course1, course3), courseDao.findByName("Math"));
+        assertEquals(List.of(course1, course3), courseDao.findByDate(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(course1, course2, course3),
+                courseDao.findByDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)));
+        assertEquals(List.of(course2, course3), courseDao.findActiveOn(LocalDate.of(2024, 4, 26)));
+        assertEquals(List.of(course1, course2, course3), courseDao.findAll());
+        assertThrows(IllegalArgumentException.class, () -> courseDao.saveCourse(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> courseDao.findByDateRange(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 3, 1)));
+        assertThrows(IllegalArgumentException.class, () -> courseDao.findActiveOn(null));
+    }
+
+    @Test
+    void findersShouldFollowChangesAndRemoval() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course3);
+        course1.setCourseName("Algebra");
+        course3.setStartDate(LocalDate.of(2024, 9, 1));
+
+        assertEquals(List.of(course1), courseDao.findByName("Algebra"));
+        assertEquals(List.of(course3), courseDao.findByName("Math"));
+        assertEquals(List.of(course3), courseDao.findActiveOn(LocalDate.of(2024, 9, 1)));
+
+        assertTrue(courseDao.removeCourse(course3));
+        assertFalse(courseDao.removeCourse(course3));
+        assertFalse(courseDao.removeCourse(null));
+        assertEquals(List.of(course1), courseDao.findAll());
+    }
+
+    @Test
+    void findCoursesForStudentShouldKeepOrderOfInsertion() {
+        Student student = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        courseDao.saveCourse(course3);
+        courseDao.saveCourse(course2);
+        courseDao.saveCourse(course1);
+        course1.register(student);
+        course3.register(student);
+
+        assertEquals(List.of(course3, course1), courseDao.findCoursesForStudent(student));
+        assertThrows(IllegalArgumentException.class, () -> courseDao.findCoursesForStudent(null));
+    }
+
+    @Test
+    void findPageShouldWalkAllCoursesInOrderOfInsertion() {
+        List<Course> courses = new ArrayList<>();
+        for (int id = 24; id >= 0; id--) {
+            Course course = new Course(id, "Course " + id, TERM_START, 4);
+            courseDao.saveCourse(course);
+            courses.add(course);
+        }
+
+        List<Course> paged = new ArrayList<>();
+        long cursor = Page.FIRST;
+        Page<Course> page;
+        do {
+            page = courseDao.findPage(cursor, 10);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(courses, paged);
+    }
+
+    @Test
+    void streamShouldMergeShardsInOrderOfInsertion() {
+        for (int id = 999; id >= 0; id--) {
+            courseDao.saveCourse(new Course(id, "Course " + id, TERM_START, 4));
+        }
+        courseDao.removeCourse(courseDao.findById(500));
+        assertEquals(courseDao.findAll(), courseDao.stream().toList());
+        assertEquals(courseDao.findAll(), courseDao.stream().parallel().toList());
+
+        //courses saved while streaming come after the ones already streamed
+        List<Course> streamed = new ArrayList<>();
+        courseDao.stream().forEach(course -> {
+            streamed.add(course);
+            if (course.getId() == 998) {
+                courseDao.saveCourse(new Course(1000, "Course 1000", TERM_START, 4));
+            }
+        });
+        assertEquals(courseDao.findAll(), streamed);
+    }
+
+    @Test
+    void dedicatedPoolShouldBeUsedForFanOut() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            CourseDaoSharded dao = new CourseDaoSharded(SHARDS, pool);
+            dao.saveCourse(course1);
+            dao.saveCourse(course2);
+            assertEquals(List.of(course1, course2), dao.findAll());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentSavesOfSameIdShouldHaveExactlyOneWinner() throws Exception {
+        int ids = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<List<Course>>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                tasks.add(() -> {
+                    List<Course> won = new ArrayList<>();
+                    for (int id = 0; id < ids; id++) {
+                        Course attempt = new Course(id, "Course " + id, TERM_START.plusDays(id % 100), 4);
+                        if (courseDao.saveCourse(attempt) != null) {
+                            won.add(attempt);
+                        }
+                    }
+                    return won;
+                });
+            }
+
+            List<Course> winners = new ArrayList<>();
+            for (Future<List<Course>> future : executor.invokeAll(tasks)) {
+                winners.addAll(future.get());
+            }
+            assertEquals(ids, winners.size());
+            assertEquals(ids, new HashSet<>(winners).size());
+            for (Course winner : winners) {
+                assertSame(winner, courseDao.findById(winner.getId()));
+            }
+            assertEquals(ids, courseDao.findByDateRange(TERM_START, TERM_START.plusDays(100)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDaoSnapshotTest {
+    @TempDir
+    Path directory;
+
+    private Snapshot snapshot;
+    private CourseDaoSnapshot courseDao;
+    private Student alice;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StudentDaoIndexed students = new StudentDaoIndexed();
+        CourseDaoIndexed source = new CourseDaoIndexed();
+        Student sourceAlice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        students.saveStudent(sourceAlice);
+        //course1 ends 2024-04-26, course2 ends 2024-05-13 and course3 ends 2024-05-10
+        Course course1 = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        Course course2 = new Course(2, "Physics", LocalDate.of(2024, 4, 1), 6);
+        Course course3 = new Course(3, "Math", LocalDate.of(2024, 3, 1), 10);
+        source.saveCourse(course1);
+        source.saveCourse(course2);
+        source.saveCourse(course3);
+        course2.register(sourceAlice);
+
+        Path file = directory.resolve("courses.snapshot");
+        Snapshot.write(file, students, source);
+        snapshot = Snapshot.open(file);
+        courseDao = snapshot.courses();
+        alice = snapshot.students().findById(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.close();
+    }
+
+    @Test
+    void findersShouldMatchSnapshotRecords() {
+        assertSame(courseDao.findById(2), courseDao.findById(2));
+        assertNull(courseDao.findById(999));
+        assertEquals(List.of(1, 3), ids(courseDao.findByName("Math")));
+        assertEquals(List.of(1, 3), ids(courseDao.findByDate(LocalDate.of(2024, 3, 1))));
+        assertEquals(List.of(1, 3, 2),
+                ids(courseDao.findByDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1))));
+        assertEquals(List.of(3, 2), ids(courseDao.findActiveOn(LocalDate.of(2024, 4, 26))));
+        assertEquals(List.of(2), ids(courseDao.findCoursesForStudent(alice)));
+    }
+
+    @Test
+    void findersShouldMergeSavedCoursesAndSeeChanges() {
+        Course chemistry = new Course(4, "Chemistry", LocalDate.of(2024, 2, 1), 13);
+        assertSame(chemistry, courseDao.saveCourse(chemistry));
+        assertNull(courseDao.saveCourse(new Course(2, "Duplicate", LocalDate.of(2024, 1, 1), 1)));
+        courseDao.findById(1).setStartDate(LocalDate.of(2024, 9, 1));
+        chemistry.register(alice);
+
+        assertEquals(List.of(4, 3, 2),
+                ids(courseDao.findByDateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1))));
+        assertEquals(List.of(4, 3, 2), ids(courseDao.findActiveOn(LocalDate.of(2024, 4, 26))));
+        assertEquals(List.of(1), ids(courseDao.findByDate(LocalDate.of(2024, 9, 1))));
+        assertEquals(List.of(2, 4), ids(courseDao.findCoursesForStudent(alice)));
+        assertEquals(List.of(1, 2, 3, 4), ids(courseDao.findAll()));
+    }
+
+    @Test
+    void removeCourseShouldHideSnapshotCourse() {
+        Course math = courseDao.findById(1);
+        assertTrue(courseDao.removeCourse(math));
+        assertFalse(courseDao.removeCourse(math));
+        assertNull(courseDao.findById(1));
+        assertEquals(List.of(3), ids(courseDao.findByName("Math")));
+        assertEquals(List.of(2, 3), ids(courseDao.findAll()));
+    }
+
+    @Test
+    void unregisteringShouldBeSeenByFindCoursesForStudent() {
+        courseDao.findById(2).unregister(alice);
+        assertTrue(courseDao.findCoursesForStudent(alice).isEmpty());
+    }
+
+    @Test
+    void rostersShouldOnlyBeResolvedWhenRead() {
+        Course physics = courseDao.findById(2);
+        assertEquals(1, physics.getStudentCount());
+        assertTrue(physics.isRegistered(alice));
+
+        snapshot.students().deleteStudent(alice);
+
+        assertTrue(physics.getStudents().isEmpty());
+        assertEquals(0, physics.getStudentCount());
+    }
+
+    @Test
+    void closeShouldResolveRostersThatHaveNotBeenRead() {
+        Course physics = courseDao.findById(2);
+        snapshot.close();
+        assertEquals(List.of(alice), List.copyOf(physics.getStudents()));
+    }
+
+    @Test
+    void streamShouldGoThroughRecordsThenSavedCourses() {
+        Course chemistry = new Course(4, "Chemistry", LocalDate.of(2024, 5, 1), 4);
+        courseDao.saveCourse(chemistry);
+        courseDao.removeCourse(courseDao.findById(1));
+
+        assertEquals(courseDao.findAll(), courseDao.stream().toList());
+        assertEquals(List.of(2, 3, 4), ids(courseDao.stream().toList()));
+        assertSame(courseDao.findById(2), courseDao.stream().findFirst().orElseThrow());
+        assertEquals(List.of(2, 3, 4), ids(courseDao.stream().parallel().toList()));
+    }
+
+    private static List<Integer> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+}
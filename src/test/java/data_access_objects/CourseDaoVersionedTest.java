@@ -0,0 +1,205 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDaoVersionedTest {
+
+    private CourseDaoVersioned courseDao;
+    private Course course1;
+    private Course course2;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new CourseDaoVersioned();
+        course1 = new Course(1, "Java 101", LocalDate.of(2024, 3, 4), 4);
+        course2 = new Course(2, "SQL 101", LocalDate.of(2024, 1, 8), 10);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Test
+    void saveCourseShouldNotAddDuplicateCourse() {
+        assertEquals(course1, courseDao.saveCourse(course1));
+        assertNull(courseDao.saveCourse(new Course(1, "Other", LocalDate.of(2024, 1, 1), 1)));
+        assertEquals(List.of(course1), courseDao.findAll());
+    }
+
+    @Test
+    void findRosterShouldFollowRegistrationsAndKeepOrder() {
+        course1.register(student2);
+        courseDao.saveCourse(course1);
+
+        course1.register(student1);
+        assertEquals(List.of(student2, student1), courseDao.findRoster(course1));
+
+        course1.unregister(student2);
+        course1.register(student2);
+        assertEquals(List.of(student1, student2), courseDao.findRoster(course1));
+        assertTrue(courseDao.findRoster(course2).isEmpty());
+    }
+
+    @Test
+    void snapshotShouldKeepTheRosterItWasTakenWith() {
+        courseDao.saveCourse(course1);
+        course1.register(student1);
+        CourseDaoVersioned snapshot = courseDao.snapshot();
+
+        course1.setStudents(List.of(student2));
+
+        assertEquals(List.of(student1), snapshot.findRoster(course1));
+        assertEquals(List.of(course1), snapshot.findCoursesForStudent(student1));
+        assertTrue(snapshot.findCoursesForStudent(student2).isEmpty());
+        assertEquals(List.of(student2), courseDao.findRoster(course1));
+        assertEquals(List.of(course1), courseDao.findCoursesForStudent(student2));
+    }
+
+    @Test
+    void snapshotShouldMatchTheValuesCoursesHadWhenItWasTaken() {
+        courseDao.saveAll(List.of(course1, course2));
+        CourseDaoVersioned snapshot = courseDao.snapshot();
+
+        course1.setCourseName("Java 102");
+        course1.setStartDate(LocalDate.of(2025, 1, 6));
+        course2.setWeekDuration(1);
+
+        assertEquals(List.of(course1), snapshot.findByName("Java 101"));
+        assertEquals(List.of(course1), snapshot.findByDate(LocalDate.of(2024, 3, 4)));
+        assertEquals(List.of(course2, course1),
+                snapshot.findByDateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(List.of(course2, course1), snapshot.findActiveOn(LocalDate.of(2024, 3, 5)));
+
+        assertEquals(List.of(course1), courseDao.findByName("Java 102"));
+        assertEquals(List.of(course2), courseDao.findByDateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertTrue(courseDao.findActiveOn(LocalDate.of(2024, 3, 5)).isEmpty());
+    }
+
+    @Test
+    void removeCourseShouldStopFollowingItsRoster() {
+        courseDao.saveCourse(course1);
+        CourseDaoVersioned snapshot = courseDao.snapshot();
+
+        assertArrayEquals(new boolean[]{true, false}, courseDao.removeAll(List.of(course1, course2)));
+        course1.register(student1);
+
+        assertTrue(courseDao.findAll().isEmpty());
+        assertTrue(courseDao.findCoursesForStudent(student1).isEmpty());
+        assertEquals(List.of(course1), snapshot.findAll());
+        assertTrue(snapshot.findRoster(course1).isEmpty());
+        assertFalse(courseDao.removeCourse(null));
+    }
+
+    @Test
+    void snapshotShouldBeReadOnly() {
+        CourseDaoVersioned snapshot = courseDao.snapshot();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.saveCourse(course1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.removeCourse(course1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.removeAll(List.of(course1)));
+    }
+
+    @Test
+    void findPageShouldWalkAllCoursesInOrderOfInsertion() {
+        courseDao.saveAll(List.of(course1, course2));
+
+        Page<Course> first = courseDao.findPage(Page.FIRST, 1);
+        Page<Course> second = courseDao.findPage(first.nextCursor(), 1);
+
+        assertEquals(List.of(course1), first.items());
+        assertEquals(List.of(course2), second.items());
+        assertFalse(second.hasNext());
+        assertEquals(courseDao.findAll(), courseDao.stream().toList());
+    }
+
+    @Test
+    void registrationsMadeWhileSavingShouldBeInTheRoster() {
+        Course course = new Course(3, "Go 101", LocalDate.of(2024, 5, 6), 6) {
+            @Override
+            public List<Student> copyStudents() {
+                List<Student> copy = super.copyStudents();
+                if (!isRegistered(student2)) {
+                    register(student2);
+                    unregister(student1);
+                }
+                return copy;
+            }
+        };
+        course.register(student1);
+
+        courseDao.saveCourse(course);
+
+        assertEquals(List.of(student2), courseDao.findRoster(course));
+    }
+
+    @Test
+    void savesShouldNotFailOrMissRegistrationsMadeConcurrently() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 300; round++) {
+                Course course = new Course(100 + round, "Course", LocalDate.of(2024, 1, 1), 1);
+                Future<?> registrations = executor.submit(() -> {
+                    for (int id = 0; id < 50; id++) {
+                        course.register(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+                    }
+                });
+
+                assertSame(course, courseDao.saveCourse(course));
+                registrations.get();
+                assertEquals(course.copyStudents(), courseDao.findRoster(course));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void readersShouldSeeConsistentRostersWhileStudentsRegister() throws Exception {
+        int students = 5_000;
+        courseDao.saveAll(List.of(course1, course2));
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            /*Every student is registered in course1 and then in course2, so
+            * no version can have more students in course2, while reading the
+            * rosters one after the other without a snapshot could*/
+            Future<?> writer = executor.submit(() -> {
+                for (int id = 0; id < students; id++) {
+                    Student student = new Student(id, "Name", "e" + id + "@example.com", "Street");
+                    course1.register(student);
+                    course2.register(student);
+                }
+                done.set(true);
+            });
+            Future<Boolean> reader = executor.submit(() -> {
+                while (!done.get()) {
+                    CourseDaoVersioned snapshot = courseDao.snapshot();
+                    int first = snapshot.findRoster(course1).size();
+                    int second = snapshot.findRoster(course2).size();
+                    if (second > first) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+
+            writer.get();
+            assertTrue(reader.get(), "a reader saw rosters from different versions");
+            assertEquals(students, courseDao.findRoster(course2).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
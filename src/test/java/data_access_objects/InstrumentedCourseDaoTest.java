@@ -0,0 +1,65 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedCourseDaoTest {
+
+    private InstrumentedCourseDao courseDao;
+    private Course math;
+    private Student student1;
+
+    @BeforeEach
+    void setUp() {
+        courseDao = new InstrumentedCourseDao(new CourseDaoIndexed());
+        math = new Course(1, "Math", LocalDate.of(2025, 1, 6), 10);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+    }
+
+    @Test
+    void findersAndRegisterShouldBeCountedAndTimed() {
+        courseDao.saveCourse(math);
+        courseDao.register(math, student1);
+        assertThrows(IllegalArgumentException.class, () -> courseDao.register(math, student1));
+
+        assertEquals(List.of(math), courseDao.findCoursesForStudent(student1));
+        assertEquals(List.of(math), courseDao.findByDate(LocalDate.of(2025, 1, 6)));
+        OperationMetrics register = courseDao.metrics().get("register");
+        assertEquals(2, register.getCalls());
+        assertEquals(1, register.getErrors());
+        assertEquals(1, courseDao.metrics().get("findCoursesForStudent").getCalls());
+        assertEquals(1, courseDao.metrics().get("findByDate").getCalls());
+    }
+
+    @Test
+    void metricsShouldBePublishedThroughJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("data_access_objects:type=CourseDao,name=jmxTest,operation=findById");
+        courseDao.saveCourse(math);
+        courseDao.findById(1);
+        courseDao.findById(2);
+
+        courseDao.metrics().registerMBeans("jmxTest");
+        try {
+            assertEquals(2L, server.getAttribute(name, "Calls"));
+            assertEquals(0L, server.getAttribute(name, "Errors"));
+            assertTrue((Long) server.getAttribute(name, "P99Nanos") > 0);
+            assertThrows(IllegalStateException.class, () -> courseDao.metrics().registerMBeans("jmxTest"));
+            InstrumentedCourseDao other = new InstrumentedCourseDao(new CourseDaoIndexed());
+            assertThrows(IllegalArgumentException.class, () -> other.metrics().registerMBeans("jmxTest"));
+        } finally {
+            courseDao.metrics().unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,56 @@
+package data_access_objects;
+
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedStudentDaoTest {
+
+    private InstrumentedStudentDao studentDao;
+    private Student student1;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new InstrumentedStudentDao(new StudentDaoIndexed());
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+    }
+
+    @Test
+    void everyCallShouldBeCountedAndTimed() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertNull(studentDao.saveStudent(student1));
+        assertEquals(student1, studentDao.findById(1));
+        assertEquals(List.of(student1), studentDao.findByName("Alice"));
+
+        OperationMetrics save = studentDao.metrics().get("saveStudent");
+        assertEquals(2, save.getCalls());
+        assertEquals(0, save.getErrors());
+        assertTrue(save.getP50Nanos() > 0);
+        assertTrue(save.getP50Nanos() <= save.getP999Nanos());
+        assertTrue(save.getP999Nanos() <= save.getMaxNanos());
+        assertEquals(1, studentDao.metrics().get("findById").getCalls());
+        assertEquals(0, studentDao.metrics().get("findAll").getCalls());
+    }
+
+    @Test
+    void callsThatThrowShouldBeCountedAsErrors() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findPage(Page.FIRST, 0));
+
+        assertEquals(1, studentDao.metrics().get("saveStudent").getErrors());
+        assertEquals(1, studentDao.metrics().get("saveStudent").getCalls());
+        assertEquals(1, studentDao.metrics().get("findPage").getErrors());
+    }
+
+    @Test
+    void everyOperationShouldHaveMetrics() {
+        List<String> names = studentDao.metrics().operations().stream().map(OperationMetrics::name).toList();
+        assertEquals(List.of("saveStudent", "saveAll", "findByEmail", "findByName", "findByNamePrefix", "findById",
+                "findAllById", "findAll", "findPage", "deleteStudent", "deleteAll"), names);
+        assertNull(studentDao.metrics().get("stream"));
+    }
+}
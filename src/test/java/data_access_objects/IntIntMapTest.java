@@ -0,0 +1,106 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    @Test
+    void putShouldReturnPreviousValue() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(IntIntMap.MISSING, map.put(7, 1));
+        assertEquals(1, map.put(7, 2));
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void getShouldReturnMissingForUnknownKey() {
+        IntIntMap map = new IntIntMap();
+        map.put(1, 10);
+        assertEquals(IntIntMap.MISSING, map.get(2));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    void putShouldRejectMissingAsValue() {
+        IntIntMap map = new IntIntMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, IntIntMap.MISSING));
+    }
+
+    @Test
+    void zeroAndNegativeKeysShouldBeStoredLikeAnyOther() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 5);
+        map.put(-1, 6);
+        map.put(Integer.MIN_VALUE, 7);
+
+        assertEquals(5, map.get(0));
+        assertEquals(6, map.get(-1));
+        assertEquals(7, map.get(Integer.MIN_VALUE));
+        assertEquals(3, map.size());
+
+        assertEquals(5, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(IntIntMap.MISSING, map.remove(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeShouldKeepCollidingKeysReachable() {
+        IntIntMap map = new IntIntMap();
+        //multiples of the capacity all hash to slots that collide once masked
+        for (int key = 1; key <= 10; key++) {
+            map.put(key * 16, key);
+        }
+        map.remove(3 * 16);
+        map.remove(7 * 16);
+
+        for (int key = 1; key <= 10; key++) {
+            int expected = key == 3 || key == 7 ? IntIntMap.MISSING : key;
+            assertEquals(expected, map.get(key * 16), "key " + key * 16);
+        }
+        assertEquals(8, map.size());
+    }
+
+    @Test
+    void shouldGrowAndMatchHashMapUnderRandomOperations() {
+        IntIntMap map = new IntIntMap(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? IntIntMap.MISSING : removed, map.remove(key));
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? IntIntMap.MISSING : previous, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -2_500; key < 2_500; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? IntIntMap.MISSING : value, map.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void clearShouldRemoveAllKeys() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 1);
+        map.put(1, 2);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+}
@@ -0,0 +1,83 @@
+package data_access_objects;
+
+import model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterningCourseDaoTest {
+
+    private StringDictionary dictionary;
+    private CourseDaoIndexed backing;
+    private InterningCourseDao courseDao;
+    private Course course1;
+    private Course course2;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new StringDictionary();
+        backing = new CourseDaoIndexed();
+        courseDao = new InterningCourseDao(backing, dictionary);
+        course1 = new Course(1, new String("Java 101"), LocalDate.of(2024, 1, 8), 4);
+        course2 = new Course(2, new String("Java 101"), LocalDate.of(2024, 3, 4), 4);
+    }
+
+    @Test
+    void saveCourseShouldShareEqualNames() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+
+        assertSame(course1.getCourseName(), course2.getCourseName());
+        assertEquals(new DictionaryStats(1, 2, StringDictionary.sizeOf("Java 101")), courseDao.dictionaryStats());
+    }
+
+    @Test
+    void saveAllShouldReleaseTheNamesOfDuplicates() {
+        Course duplicate = new Course(1, "SQL 101", LocalDate.of(2024, 1, 8), 4);
+
+        List<Course> saved = courseDao.saveAll(List.of(course1, duplicate));
+
+        assertNull(saved.get(1));
+        assertNull(dictionary.lookUp("SQL 101"));
+        assertEquals(1, courseDao.dictionaryStats().references());
+    }
+
+    @Test
+    void setCourseNameShouldInternTheNewNameAndKeepTheOtherDaoUpToDate() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+
+        course2.setCourseName(new String("SQL 101"));
+        course1.setCourseName(new String("SQL 101"));
+
+        assertSame(course2.getCourseName(), course1.getCourseName());
+        assertNull(dictionary.lookUp("Java 101"));
+        assertEquals(List.of(course1, course2), backing.findByName("SQL 101"));
+        assertEquals(List.of(course1, course2), courseDao.findByName("SQL 101"));
+    }
+
+    @Test
+    void findByNameShouldNotMatchUnknownNames() {
+        courseDao.saveCourse(course1);
+
+        assertEquals(List.of(course1), courseDao.findByName(new String("Java 101")));
+        assertTrue(courseDao.findByName("Java 102").isEmpty());
+    }
+
+    @Test
+    void removeCourseShouldReleaseTheNameOfTheStoredInstance() {
+        courseDao.saveCourse(course1);
+        courseDao.saveCourse(course2);
+
+        boolean[] removed = courseDao.removeAll(List.of(course1, course1));
+        assertTrue(courseDao.removeCourse(new Course(2, "Other", LocalDate.of(2024, 1, 1), 1)));
+
+        assertArrayEquals(new boolean[]{true, false}, removed);
+        assertEquals(new DictionaryStats(0, 0, 0), courseDao.dictionaryStats());
+        assertFalse(courseDao.removeCourse(null));
+    }
+}
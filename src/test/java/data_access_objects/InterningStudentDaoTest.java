@@ -0,0 +1,159 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterningStudentDaoTest {
+
+    private StringDictionary dictionary;
+    private InterningStudentDao studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new StringDictionary();
+        studentDao = new InterningStudentDao(new StudentDaoIndexed(), dictionary);
+        student1 = new Student(1, new String("Alice"), "alice@example.com", new String("Stockholm"));
+        student2 = new Student(2, new String("Alice"), "alice2@example.com", new String("Stockholm"));
+    }
+
+    @Test
+    void saveStudentShouldShareEqualNamesAndAddresses() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        assertSame(student1.getName(), student2.getName());
+        assertSame(student1.getAddress(), student2.getAddress());
+        assertEquals(new DictionaryStats(2, 4,
+                StringDictionary.sizeOf("Alice") + StringDictionary.sizeOf("Stockholm")),
+                studentDao.dictionaryStats());
+    }
+
+    @Test
+    void saveStudentShouldReleaseTheValuesOfDuplicates() {
+        studentDao.saveStudent(student1);
+        Student duplicate = new Student(1, "Bob", "bob@example.com", "Uppsala");
+
+        assertNull(studentDao.saveStudent(duplicate));
+        assertNull(dictionary.lookUp("Bob"));
+        assertNull(dictionary.lookUp("Uppsala"));
+        assertEquals(2, studentDao.dictionaryStats().references());
+    }
+
+    @Test
+    void saveAllShouldInternEverySavedStudent() {
+        List<Student> saved = studentDao.saveAll(List.of(student1, student2, student1));
+
+        assertNull(saved.get(2));
+        assertSame(student1.getName(), student2.getName());
+        assertEquals(4, studentDao.dictionaryStats().references());
+    }
+
+    @Test
+    void saveAllShouldThrowOnNullWithoutInterningAnything() {
+        assertThrows(IllegalArgumentException.class,
+                () -> studentDao.saveAll(Arrays.asList(student1, null)));
+        assertEquals(0, studentDao.dictionaryStats().references());
+    }
+
+    @Test
+    void setNameShouldInternTheNewNameAndReleaseTheOldOne() {
+        studentDao.saveStudent(student1);
+        Student bob = new Student(3, "Bob", "bob@example.com", "Uppsala");
+        studentDao.saveStudent(bob);
+
+        student1.setName(new String("Bob"));
+
+        assertSame(bob.getName(), student1.getName());
+        assertNull(dictionary.lookUp("Alice"));
+        assertEquals(List.of(student1, bob), studentDao.findByName("Bob"));
+    }
+
+    @Test
+    void setAddressShouldInternAnEqualAddress() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student2.setAddress(new String("Stockholm"));
+
+        assertSame(student1.getAddress(), student2.getAddress());
+        assertEquals(4, studentDao.dictionaryStats().references());
+    }
+
+    @Test
+    void setNameShouldKeepTheIndexesOfTheOtherDaoUpToDate() {
+        StudentDaoIndexed backing = new StudentDaoIndexed();
+        studentDao = new InterningStudentDao(backing, dictionary);
+        studentDao.saveStudent(student1);
+
+        student1.setName(new String("Carol"));
+
+        assertEquals(List.of(student1), backing.findByName("Carol"));
+        assertTrue(backing.findByName("Alice").isEmpty());
+    }
+
+    @Test
+    void findByNameShouldReturnMatchesInOrderOfInsertion() {
+        Student bob = new Student(3, "Bob", "bob@example.com", "Uppsala");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(bob);
+        studentDao.saveStudent(student2);
+
+        assertEquals(List.of(student1, student2), studentDao.findByName(new String("Alice")));
+        assertEquals(List.of(bob), studentDao.findByName("Bob"));
+        assertTrue(studentDao.findByName("Carol").isEmpty());
+        assertTrue(studentDao.findByName(null).isEmpty());
+    }
+
+    @Test
+    void deleteStudentShouldReleaseTheValuesOfTheStoredInstance() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        assertTrue(studentDao.deleteStudent(new Student(1, "Someone", "someone@example.com", "Elsewhere")));
+        assertEquals(2, studentDao.dictionaryStats().references());
+
+        //a deleted student is no longer interned when it changes
+        student1.setName("Carol");
+        assertNull(dictionary.lookUp("Carol"));
+        assertFalse(studentDao.deleteStudent(student1));
+        assertFalse(studentDao.deleteStudent(null));
+    }
+
+    @Test
+    void deleteAllShouldReleaseTheValuesOfDeletedStudents() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        boolean[] deleted = studentDao.deleteAll(Arrays.asList(student1, null, student1, student2));
+
+        assertArrayEquals(new boolean[]{true, false, false, true}, deleted);
+        assertEquals(new DictionaryStats(0, 0, 0), studentDao.dictionaryStats());
+    }
+
+    @Test
+    void daosSharingADictionaryShouldShareValues() {
+        InterningCourseDao courseDao = new InterningCourseDao(new CourseDaoIndexed(), dictionary);
+        studentDao.saveStudent(student1);
+        Course course = new Course(1, new String("Alice"), LocalDate.of(2024, 1, 1), 4);
+        courseDao.saveCourse(course);
+
+        assertSame(student1.getName(), course.getCourseName());
+        assertEquals(3, courseDao.dictionaryStats().references());
+    }
+
+    @Test
+    void constructorShouldThrowOnNull() {
+        assertThrows(IllegalArgumentException.class, () -> new InterningStudentDao(null, dictionary));
+        assertThrows(IllegalArgumentException.class, () -> new InterningStudentDao(new StudentDaoIndexed(), null));
+    }
+}
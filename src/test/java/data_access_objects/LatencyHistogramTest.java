@@ -0,0 +1,75 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsShouldCoverEveryValueWithoutGaps() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueIn(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValueIn(bucket - 1));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void percentilesShouldBeWithinTheBucketWidth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(5_000.5, histogram.mean());
+        assertEquals(10_000, histogram.max());
+        assertEquals(5_000, histogram.percentile(50), 5_000 / 16.0);
+        assertEquals(9_900, histogram.percentile(99), 9_900 / 16.0);
+        assertEquals(9_990, histogram.percentile(99.9), 9_990 / 16.0);
+        assertEquals(10_000, histogram.percentile(100));
+    }
+
+    @Test
+    void emptyHistogramShouldReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(0, histogram.max());
+        assertEquals(0, new LatencyHistogram().percentile(99));
+        assertEquals(0, new LatencyHistogram().mean());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(Double.NaN));
+    }
+
+    @Test
+    void recordShouldNotLoseValuesRecordedConcurrently() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                long offset = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.record(100 + offset);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(800_000, histogram.count());
+        assertEquals(107, histogram.max());
+    }
+}
@@ -0,0 +1,59 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void putShouldEvictTheLeastRecentlyUsedEntry() {
+        List<String> removed = new ArrayList<>();
+        LruCache<Integer, String> cache = new LruCache<>(2, value -> { }, removed::add);
+        cache.put(1, "one", cache.version());
+        cache.put(2, "two", cache.version());
+        assertEquals("one", cache.get(1));
+        cache.put(3, "three", cache.version());
+
+        assertEquals(List.of(1, 3), List.copyOf(cache.snapshot().keySet()));
+        assertEquals(List.of("two"), removed);
+        assertNull(cache.get(2));
+        assertEquals(new CacheStats(1, 1, 1, 2, 2), cache.stats());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void putShouldFailIfAnythingWasInvalidatedSinceVersionWasRead() {
+        LruCache<Integer, String> cache = new LruCache<>(2, value -> { }, value -> { });
+        long version = cache.version();
+        cache.invalidate(5);
+
+        assertFalse(cache.put(1, "one", version));
+        assertNull(cache.get(1));
+        assertTrue(cache.put(1, "one", cache.version()));
+    }
+
+    @Test
+    void callbacksShouldSeeEveryValueEnterAndLeave() {
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        LruCache<Integer, String> cache = new LruCache<>(3, added::add, removed::add);
+        cache.put(1, "one", cache.version());
+        cache.put(1, "uno", cache.version());
+        cache.put(2, "two", cache.version());
+        assertEquals("two", cache.invalidate(2));
+        cache.invalidateAll();
+
+        assertEquals(List.of("one", "uno", "two"), added);
+        assertEquals(List.of("one", "two", "uno"), removed);
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void constructorShouldRejectCapacityBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0, value -> { }, value -> { }));
+    }
+}
@@ -0,0 +1,34 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameKeyTest {
+
+    @Test
+    void normalizeShouldFoldCaseWidthAndLeadingWhitespace() {
+        assertEquals("alex", NameKey.normalize("ALEX"));
+        assertEquals("alex", NameKey.normalize("Ａｌｅｘ"));
+        assertEquals("alex ", NameKey.normalize("  Alex "));
+    }
+
+    @Test
+    void keysShouldSortByNameThenSequence() {
+        TreeSet<NameKey> keys = new TreeSet<>(List.of(
+                NameKey.of("Bob", 0), NameKey.of("alice", 2), NameKey.of("Alice", 1)));
+        assertEquals(List.of(new NameKey("alice", 1), new NameKey("alice", 2), new NameKey("bob", 0)),
+                List.copyOf(keys));
+        assertTrue(NameKey.first("alice").compareTo(new NameKey("alice", 0)) < 0);
+    }
+
+    @Test
+    void checkPrefixShouldRejectInvalidArguments() {
+        assertEquals("al", NameKey.checkPrefix("AL", 1));
+        assertThrows(IllegalArgumentException.class, () -> NameKey.checkPrefix(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> NameKey.checkPrefix("al", 0));
+    }
+}
@@ -0,0 +1,100 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentTreeTest {
+
+    @Test
+    void putShouldNotChangeTheOldTree() {
+        PersistentTree<String> empty = PersistentTree.empty();
+        PersistentTree<String> one = empty.put(1, "a");
+        PersistentTree<String> two = one.put(2, "b");
+        PersistentTree<String> replaced = two.put(1, "c");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(List.of("a"), one.values());
+        assertEquals(List.of("a", "b"), two.values());
+        assertEquals(List.of("c", "b"), replaced.values());
+        assertEquals(2, replaced.size());
+    }
+
+    @Test
+    void removeShouldNotChangeTheOldTree() {
+        PersistentTree<String> tree = PersistentTree.<String>empty().put(1, "a").put(2, "b").put(3, "c");
+        PersistentTree<String> removed = tree.remove(2);
+
+        assertEquals(List.of("a", "b", "c"), tree.values());
+        assertEquals(List.of("a", "c"), removed.values());
+        assertNull(removed.get(2));
+        assertSame(removed, removed.remove(2));
+    }
+
+    @Test
+    void nodesFromShouldStartAtTheFirstKeyNotBelowFrom() {
+        PersistentTree<String> tree = PersistentTree.empty();
+        for (long key = 0; key < 100; key += 10) {
+            tree = tree.put(key, "v" + key);
+        }
+
+        Iterator<PersistentTree.Node<String>> nodes = tree.nodesFrom(35);
+        assertEquals(40, nodes.next().key());
+        assertEquals(50, nodes.next().key());
+        assertFalse(tree.nodesFrom(91).hasNext());
+        assertEquals(0, tree.nodesFrom(Long.MIN_VALUE).next().key());
+    }
+
+    @Test
+    void shouldMatchTreeMapAndStayBalancedUnderRandomOperations() {
+        PersistentTree<Integer> tree = PersistentTree.empty();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        List<PersistentTree<Integer>> versions = new ArrayList<>();
+        List<TreeMap<Long, Integer>> expectedVersions = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                tree = tree.remove(key);
+                expected.remove(key);
+            } else {
+                tree = tree.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.get(key), tree.get(key));
+            if (i % 5_000 == 0) {
+                versions.add(tree);
+                expectedVersions.add(new TreeMap<>(expected));
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected.values()), tree.values());
+        //an AVL tree is never higher than about 1.44 log2(n)
+        assertTrue(height(tree) <= 1.45 * (Math.log(expected.size() + 2) / Math.log(2)));
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(new ArrayList<>(expectedVersions.get(i).values()), versions.get(i).values(),
+                    "older versions must not change");
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), tree.get(entry.getKey()));
+        }
+    }
+
+    private static int height(PersistentTree<?> tree) {
+        Iterator<? extends PersistentTree.Node<?>> nodes = tree.nodesFrom(Long.MIN_VALUE);
+        int height = 0;
+        while (nodes.hasNext()) {
+            height = Math.max(height, nodes.next().height());
+        }
+        return height;
+    }
+}
@@ -0,0 +1,189 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTest {
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private StudentDaoIndexed studentDao;
+    private CourseDaoIndexed courseDao;
+    private Student alice;
+    private Student bob;
+    private Course math;
+    private Course physics;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("school.snapshot");
+        courseDao = new CourseDaoIndexed();
+        studentDao = new StudentDaoIndexed(courseDao);
+        alice = new Student(7, "Alice", "alice@example.com", "123 Main St");
+        bob = new Student(3, "Bob", "bob@example.com", "456 Elm St");
+        math = new Course(20, "Math", LocalDate.of(2024, 3, 1), 8);
+        physics = new Course(10, "Physics", LocalDate.of(2024, 4, 1), 6);
+        studentDao.saveStudent(alice);
+        studentDao.saveStudent(bob);
+        courseDao.saveCourse(math);
+        courseDao.saveCourse(physics);
+        math.registerAll(List.of(bob, alice));
+        physics.register(alice);
+    }
+
+    @Test
+    void openShouldRestoreStudentsCoursesAndRosters() throws IOException {
+        Snapshot.write(file, studentDao, courseDao);
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            assertEquals(List.of(alice, bob), snapshot.students().findAll());
+            assertEquals(List.of(math, physics), snapshot.courses().findAll());
+
+            Student restoredAlice = snapshot.students().findById(7);
+            assertEquals("alice@example.com", restoredAlice.getEmail());
+            assertEquals("123 Main St", restoredAlice.getAddress());
+
+            Course restoredMath = snapshot.courses().findById(20);
+            assertEquals("Math", restoredMath.getCourseName());
+            assertEquals(LocalDate.of(2024, 3, 1), restoredMath.getStartDate());
+            assertEquals(8, restoredMath.getWeekDuration());
+            assertEquals(List.of(bob, alice), List.copyOf(restoredMath.getStudents()));
+            //rosters hold the same instances the student DAO returns
+            assertSame(restoredAlice, restoredMath.getStudents().stream()
+                    .filter(alice::equals).findFirst().orElseThrow());
+        }
+    }
+
+    @Test
+    void writeShouldReplaceExistingSnapshotWhileItIsOpen() throws IOException {
+        Snapshot.write(file, studentDao, courseDao);
+        try (Snapshot old = Snapshot.open(file)) {
+            studentDao.deleteStudent(bob);
+            Snapshot.write(file, studentDao, courseDao);
+
+            assertEquals(List.of(alice, bob), old.students().findAll());
+            try (Snapshot current = Snapshot.open(file)) {
+                assertEquals(List.of(alice), current.students().findAll());
+                assertEquals(Set.of(alice), current.courses().findById(20).getStudents());
+            }
+        }
+        assertFalse(Files.exists(directory.resolve("school.snapshot.tmp")));
+    }
+
+    @Test
+    void snapshotOfSnapshotShouldKeepChanges() throws IOException {
+        Snapshot.write(file, studentDao, courseDao);
+        Path second = directory.resolve("second.snapshot");
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            snapshot.students().findById(3).setName("Robert");
+            snapshot.courses().saveCourse(new Course(30, "Art", LocalDate.of(2024, 5, 1), 4));
+            Snapshot.write(second, snapshot.students(), snapshot.courses());
+        }
+
+        try (Snapshot snapshot = Snapshot.open(second)) {
+            assertEquals("Robert", snapshot.students().findById(3).getName());
+            assertEquals(3, snapshot.courses().findAll().size());
+        }
+    }
+
+    @Test
+    void emptyDaosShouldGiveEmptySnapshot() throws IOException {
+        Snapshot.write(file, new StudentDaoIndexed(), new CourseDaoIndexed());
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            assertTrue(snapshot.students().findAll().isEmpty());
+            assertTrue(snapshot.courses().findAll().isEmpty());
+            assertNull(snapshot.students().findById(1));
+        }
+    }
+
+    @Test
+    void openShouldRejectFilesThatAreNotSnapshots() throws IOException {
+        Files.writeString(file, "not a snapshot, but long enough to hold a snapshot header");
+        assertThrows(IOException.class, () -> Snapshot.open(file));
+
+        Snapshot.write(file, studentDao, courseDao);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> Snapshot.open(file));
+    }
+
+    @Test
+    void closedSnapshotShouldNotBeUsable() throws IOException {
+        Snapshot.write(file, studentDao, courseDao);
+        Snapshot snapshot = Snapshot.open(file);
+        Student restored = snapshot.students().findById(7);
+        snapshot.close();
+
+        assertThrows(IllegalStateException.class, () -> snapshot.students().findById(3));
+        assertThrows(IllegalStateException.class, () -> snapshot.courses().findAll());
+        assertEquals("Alice", restored.getName());
+    }
+
+    @Test
+    void openShouldRestoreCapacities() throws IOException {
+        math.setCapacity(1);
+        Snapshot.write(file, studentDao, courseDao);
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            Course restoredMath = snapshot.courses().findById(20);
+            assertEquals(1, restoredMath.getCapacity());
+            assertEquals(2, restoredMath.getStudentCount());
+            assertEquals(Integer.MAX_VALUE, snapshot.courses().findById(10).getCapacity());
+            assertEquals(List.of(bob, alice), List.copyOf(restoredMath.getStudents()));
+        }
+    }
+
+    @Test
+    void writeShouldKeepRecordsWholeWhileRostersChange() throws Exception {
+        Thread changer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                math.unregister(alice);
+                math.register(alice);
+            }
+        });
+        changer.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                Snapshot.write(file, studentDao, courseDao);
+                try (Snapshot snapshot = Snapshot.open(file)) {
+                    Course restoredMath = snapshot.courses().findById(20);
+                    assertEquals(restoredMath.getStudentCount(), restoredMath.getStudents().size());
+                    assertTrue(restoredMath.getStudents().contains(bob));
+                    Course restoredPhysics = snapshot.courses().findById(10);
+                    assertEquals("Physics", restoredPhysics.getCourseName());
+                    assertEquals(List.of(alice), List.copyOf(restoredPhysics.getStudents()));
+                }
+            }
+        } finally {
+            changer.interrupt();
+            changer.join();
+        }
+    }
+
+    @Test
+    void writeShouldNotResolveLoadedRosters() throws IOException {
+        Course art = new Course(30, "Art", LocalDate.of(2024, 5, 1), 4);
+        art.loadRoster(new int[]{7, 99}, ids -> fail("the roster should not be resolved"));
+        CourseDaoConcurrent courses = new CourseDaoConcurrent();
+        courses.saveCourse(art);
+        Snapshot.write(file, studentDao, courses);
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            //99 has no student, and is dropped once the restored roster is resolved
+            assertEquals(Set.of(alice), snapshot.courses().findById(30).getStudents());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package data_access_objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    private StringDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new StringDictionary();
+    }
+
+    @Test
+    void internShouldReturnTheFirstInstanceForEqualValues() {
+        String first = new String("Java 101");
+        String second = new String("Java 101");
+
+        assertSame(first, dictionary.intern(first));
+        assertSame(first, dictionary.intern(second));
+        assertSame(first, dictionary.lookUp(new String("Java 101")));
+    }
+
+    @Test
+    void releaseShouldDropAValueOnceEveryUseIsReleased() {
+        dictionary.intern("Alice");
+        dictionary.intern("Alice");
+
+        dictionary.release("Alice");
+        assertNotNull(dictionary.lookUp("Alice"));
+        dictionary.release("Alice");
+        assertNull(dictionary.lookUp("Alice"));
+        assertEquals(new DictionaryStats(0, 0, 0), dictionary.stats());
+    }
+
+    @Test
+    void releaseShouldIgnoreUnknownValues() {
+        dictionary.release("Alice");
+        dictionary.release(null);
+
+        assertEquals(new DictionaryStats(0, 0, 0), dictionary.stats());
+    }
+
+    @Test
+    void statsShouldCountTheCopiesThatAreShared() {
+        dictionary.intern("Alice");
+        dictionary.intern("Alice");
+        dictionary.intern("Alice");
+        dictionary.intern("Bob");
+
+        DictionaryStats stats = dictionary.stats();
+        assertEquals(2, stats.distinct());
+        assertEquals(4, stats.references());
+        assertEquals(2L * StringDictionary.sizeOf("Alice"), stats.savedBytes());
+        assertEquals(2.0, stats.sharing());
+    }
+
+    @Test
+    void sizeOfShouldCountTwoBytesPerCharOutsideLatin1() {
+        //24 for the string, 16 + 5 rounded up to 24 for its array
+        assertEquals(48, StringDictionary.sizeOf("Alice"));
+        //16 + 10 rounded up to 32
+        assertEquals(56, StringDictionary.sizeOf("Ωmega"));
+    }
+
+    @Test
+    void internShouldThrowOnNull() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.intern(null));
+    }
+}
@@ -0,0 +1,329 @@
+package data_access_objects;
+
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoConcurrentTest extends StudentDaoContractTest {
+    private static final int THREADS = 8;
+
+    private StudentDaoConcurrent studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoConcurrent();
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertNull(studentDao.saveStudent(new Student(1, "Alice", "alice2@example.com", "789 Oak St")));
+        assertNull(studentDao.findByEmail("alice2@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void findersShouldFollowChangesToStoredStudents() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student2.setEmail("shared@example.com");
+        student1.setEmail("shared@example.com");
+        student1.setName("Bob");
+
+        assertSame(student1, studentDao.findByEmail("shared@example.com"));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertEquals(List.of(student1, student2), studentDao.findByName("Bob"));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+    }
+
+    @Test
+    void deleteStudentShouldRemoveStudentEverywhere() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+        assertTrue(studentDao.deleteStudent(student1));
+        assertFalse(studentDao.deleteStudent(student1));
+        assertNull(studentDao.findById(1));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+        assertEquals(List.of(student2), studentDao.findAll());
+    }
+
+    @Test
+    void concurrentSavesOfSameIdShouldHaveExactlyOneWinner() throws Exception {
+        int ids = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Student>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Student> won = new ArrayList<>();
+                    for (int id = 0; id < ids; id++) {
+                        Student attempt = new Student(id, "Student " + threadNumber, "s" + id + "@example.com", "Street");
+                        if (studentDao.saveStudent(attempt) != null) {
+                            won.add(attempt);
+                        }
+                    }
+                    return won;
+                }));
+            }
+            start.countDown();
+
+            List<Student> winners = new ArrayList<>();
+            for (Future<List<Student>> future : futures) {
+                winners.addAll(future.get());
+            }
+            assertEquals(ids, winners.size());
+            assertEquals(ids, new HashSet<>(winners).size());
+            for (Student winner : winners) {
+                assertSame(winner, studentDao.findById(winner.getId()));
+                assertSame(winner, studentDao.findByEmail(winner.getEmail()));
+            }
+            assertEquals(ids, studentDao.findAll().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /*Every successful save or delete of an id is an operation on a single
+    * register, so in any linearizable history the successful operations on
+    * one id have to alternate save, delete, save, ... and the final state
+    * has to agree with whichever came last. Two saves without a delete in
+    * between, or two deletes without a save, leave a balance outside 0..1
+    * or one that disagrees with the final state*/
+    @Test
+    void concurrentSavesAndDeletesShouldBeLinearizablePerId() throws Exception {
+        int ids = 64;
+        int operationsPerThread = 20_000;
+        AtomicIntegerArray balance = new AtomicIntegerArray(ids);
+        AtomicBoolean readersFailed = new AtomicBoolean();
+        AtomicBoolean writersDone = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 2);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 2; reader++) {
+                readers.add(executor.submit(() -> {
+                    while (!writersDone.get()) {
+                        List<Student> all = studentDao.findAll();
+                        Set<Integer> seen = new HashSet<>();
+                        for (Student student : all) {
+                            if (!seen.add(student.getId())) {
+                                readersFailed.set(true);
+                            }
+                        }
+                    }
+                }));
+            }
+
+            List<Callable<Void>> writers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                writers.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        int id = random.nextInt(ids);
+                        Student student = new Student(id, "Name", "e" + id + "@example.com", "Street");
+                        if (random.nextBoolean()) {
+                            if (studentDao.saveStudent(student) != null) {
+                                balance.incrementAndGet(id);
+                            }
+                        } else if (studentDao.deleteStudent(student)) {
+                            balance.decrementAndGet(id);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> writer : executor.invokeAll(writers)) {
+                writer.get();
+            }
+            writersDone.set(true);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+
+            assertFalse(readersFailed.get(), "findAll returned the same id twice");
+            int present = 0;
+            for (int id = 0; id < ids; id++) {
+                boolean stored = studentDao.findById(id) != null;
+                assertTrue(balance.get(id) == 0 || balance.get(id) == 1, "balance of id " + id);
+                assertEquals(balance.get(id) == 1, stored, "final state of id " + id);
+                assertEquals(stored, studentDao.findByEmail("e" + id + "@example.com") != null);
+                if (stored) {
+                    present++;
+                }
+            }
+            assertEquals(present, studentDao.findAll().size());
+            assertEquals(present, studentDao.findByName("Name").size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findAllShouldStayInOrderOfInsertionWhileWritersAreActive() throws Exception {
+        int students = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int id = 0; id < students; id++) {
+                    studentDao.saveStudent(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+                }
+                done.set(true);
+            });
+
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int reader = 0; reader < THREADS - 1; reader++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        int previous = -1;
+                        for (Student student : studentDao.findAll()) {
+                            if (student.getId() <= previous) {
+                                return false;
+                            }
+                            previous = student.getId();
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            writer.get();
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get(), "findAll returned students out of insertion order");
+            }
+            assertEquals(students, studentDao.findAll().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findByNamePrefixShouldNeverReturnAStudentTwiceWhileNamesChange() throws Exception {
+        int students = 100;
+        for (int id = 0; id < students; id++) {
+            studentDao.saveStudent(new Student(id, "Carl " + id, "e" + id + "@example.com", "Street"));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50_000; i++) {
+                    Student student = studentDao.findById(random.nextInt(students));
+                    student.setName(random.nextBoolean() ? "Carla " + i : "CARL " + i);
+                }
+                done.set(true);
+            });
+
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int reader = 0; reader < THREADS - 1; reader++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        List<Student> found = studentDao.findByNamePrefix("carl", students);
+                        if (new HashSet<>(found).size() != found.size()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            writer.get();
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get(), "findByNamePrefix returned a student twice");
+            }
+            assertEquals(students, studentDao.findByNamePrefix("carl", students).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findPageShouldNotShiftWhenEarlierStudentsAreDeleted() {
+        List<Student> students = saveNumberedStudents(6);
+        Page<Student> first = studentDao.findPage(Page.FIRST, 2);
+        studentDao.deleteStudent(students.get(0));
+        studentDao.deleteStudent(students.get(1));
+
+        assertEquals(students.subList(2, 4), studentDao.findPage(first.nextCursor(), 2).items());
+    }
+
+    @Test
+    void changesMadeWhileSavingShouldBeIndexed() {
+        //renames the student between the DAO reading the name and publishing the student
+        Student student = new Student(3, "Carol", "carol@example.com", "1 Pine St") {
+            private boolean renamed;
+
+            @Override
+            public String getName() {
+                String name = super.getName();
+                if (!renamed) {
+                    renamed = true;
+                    setName("Caroline");
+                    setEmail("caroline@example.com");
+                }
+                return name;
+            }
+        };
+
+        studentDao.saveStudent(student);
+
+        assertEquals(List.of(student), studentDao.findByName("Caroline"));
+        assertSame(student, studentDao.findByEmail("caroline@example.com"));
+        assertEquals(List.of(student), studentDao.findByNamePrefix("carol", 10));
+        assertTrue(studentDao.findByName("Carol").isEmpty());
+    }
+
+    @Test
+    void studentsRenamedConcurrentlyWithTheirSaveShouldBeFoundByTheirLastName() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (int id = 100; id < 5_100; id++) {
+            students.add(new Student(id, "Before " + id, id + "@example.com", "Street " + id));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> saver = executor.submit(() -> students.forEach(studentDao::saveStudent));
+            Future<?> renamer = executor.submit(() -> {
+                for (Student student : students) {
+                    student.setName("After " + student.getId());
+                }
+            });
+            saver.get();
+            renamer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Student student : students) {
+            assertEquals(List.of(student), studentDao.findByName("After " + student.getId()));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package data_access_objects;
+
+import model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests every {@link StudentDao} implementation has to pass, whether it
+ * inherits the default paging, streaming and prefix lookups or overrides
+ * them. Each implementation's test extends this and supplies an empty DAO
+ * through {@link #dao()}.
+ */
+abstract class StudentDaoContractTest {
+
+    /**
+     * Returns the DAO under test, empty at the start of every test.
+     */
+    protected abstract StudentDao dao();
+
+    @Test
+    void findPageShouldWalkAllStudentsInOrderOfInsertion() {
+        StudentDao studentDao = dao();
+        List<Student> students = saveNumberedStudents(25);
+
+        List<Student> paged = new ArrayList<>();
+        long cursor = Page.FIRST;
+        Page<Student> page;
+        do {
+            page = studentDao.findPage(cursor, 10);
+            assertTrue(page.items().size() <= 10);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(students, paged);
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findPage(Page.END, 10));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findPage(Page.FIRST, 0));
+    }
+
+    @Test
+    void findPageShouldNotShiftWhenStudentsAreDeletedBetweenPages() {
+        StudentDao studentDao = dao();
+        List<Student> students = saveNumberedStudents(30);
+        Page<Student> first = studentDao.findPage(Page.FIRST, 10);
+        assertEquals(students.subList(0, 10), first.items());
+
+        //one student already paged through and the first one of the next page
+        studentDao.deleteStudent(students.get(3));
+        studentDao.deleteStudent(students.get(10));
+        Page<Student> second = studentDao.findPage(first.nextCursor(), 10);
+        assertEquals(students.subList(11, 21), second.items());
+
+        studentDao.deleteStudent(students.get(25));
+        Page<Student> third = studentDao.findPage(second.nextCursor(), 10);
+        assertEquals(List.of(students.get(21), students.get(22), students.get(23), students.get(24),
+                students.get(26), students.get(27), students.get(28), students.get(29)), third.items());
+        assertFalse(third.hasNext());
+    }
+
+    @Test
+    void streamShouldMatchFindAll() {
+        StudentDao studentDao = dao();
+        saveNumberedStudents(25);
+        studentDao.deleteStudent(studentDao.findById(113));
+        assertEquals(studentDao.findAll(), studentDao.stream().toList());
+    }
+
+    @Test
+    void parallelStreamShouldKeepOrderOfInsertion() {
+        StudentDao studentDao = dao();
+        saveNumberedStudents(10_000);
+        List<Integer> expected = studentDao.findAll().stream().map(Student::getId).toList();
+        assertEquals(expected, studentDao.stream().parallel().map(Student::getId).toList());
+    }
+
+    @Test
+    void findByNamePrefixShouldIgnoreCaseAndFollowChanges() {
+        StudentDao studentDao = dao();
+        Student alice = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        Student bob = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+        Student alina = new Student(3, "alina", "alina@example.com", "1 Pine St");
+        Student upperAlice = new Student(4, "ALICE", "alice.upper@example.com", "2 Pine St");
+        Student albert = new Student(5, "Albert", "albert@example.com", "3 Pine St");
+        studentDao.saveStudent(alice);
+        studentDao.saveStudent(bob);
+        studentDao.saveStudent(alina);
+        studentDao.saveStudent(upperAlice);
+        studentDao.saveStudent(albert);
+
+        assertEquals(List.of(albert, alice, upperAlice, alina), studentDao.findByNamePrefix("al", 10));
+        assertEquals(List.of(albert, alice), studentDao.findByNamePrefix("  AL", 2));
+        assertEquals(List.of(alice, upperAlice), studentDao.findByNamePrefix("Alice", 10));
+        assertTrue(studentDao.findByNamePrefix("alx", 10).isEmpty());
+
+        bob.setName("Alfred");
+        studentDao.deleteStudent(alice);
+        upperAlice.setName("Alice");
+        assertEquals(List.of(albert, bob, upperAlice, alina), studentDao.findByNamePrefix("al", 10));
+        assertTrue(studentDao.findByNamePrefix("bob", 10).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findByNamePrefix(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findByNamePrefix("al", 0));
+    }
+
+    protected List<Student> saveNumberedStudents(int count) {
+        List<Student> students = new ArrayList<>();
+        for (int id = 100; id < 100 + count; id++) {
+            Student student = new Student(id, "Student " + id, id + "@example.com", "Street " + id);
+            dao().saveStudent(student);
+            students.add(student);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,185 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoIndexedTest extends StudentDaoContractTest {
+
+    private StudentDaoIndexed studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoIndexed();
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldAddStudentSuccessfully() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertTrue(studentDao.findAll().contains(student1));
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        Student duplicateAlice = new Student(1, "Alice", "alice2@example.com", "789 Oak St");
+        studentDao.saveStudent(student1);
+        assertNull(studentDao.saveStudent(duplicateAlice), "Duplicate ID should not be added");
+        assertNull(studentDao.findByEmail("alice2@example.com"), "Rejected duplicate should not be indexed");
+    }
+
+    @Test
+    void saveStudentShouldThrowOnNullStudent() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void findByEmailShouldReturnFirstByOrderOfInsertion() {
+        Student sharedEmail = new Student(3, "Carol", "alice@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(sharedEmail);
+        assertSame(student1, studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("nonexistent@example.com"));
+    }
+
+    @Test
+    void findByEmailShouldKeepInsertionOrderAfterEmailChanges() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student2.setEmail("shared@example.com");
+        student1.setEmail("shared@example.com");
+
+        assertSame(student1, studentDao.findByEmail("shared@example.com"));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("bob@example.com"));
+    }
+
+    @Test
+    void findByNameShouldReturnListOfMatchingStudentsInOrderOfInsertion() {
+        Student anotherAlice = new Student(3, "Alice", "alice3@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+        studentDao.saveStudent(anotherAlice);
+
+        assertEquals(List.of(student1, anotherAlice), studentDao.findByName("Alice"));
+        assertTrue(studentDao.findByName("Charlie").isEmpty());
+    }
+
+    @Test
+    void findByNameShouldFollowNameChanges() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student1.setName("Bob");
+
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+        assertEquals(List.of(student1, student2), studentDao.findByName("Bob"));
+    }
+
+    @Test
+    void findByIdShouldReturnCorrectStudent() {
+        studentDao.saveStudent(student1);
+        assertEquals(student1, studentDao.findById(1));
+        assertNull(studentDao.findById(999));
+    }
+
+    @Test
+    void findAllShouldReturnAllStudentsInOrderOfInsertion() {
+        studentDao.saveStudent(student2);
+        studentDao.saveStudent(student1);
+        assertEquals(List.of(student2, student1), studentDao.findAll());
+    }
+
+    @Test
+    void deleteStudentShouldRemoveStudentFromAllIndexes() {
+        studentDao.saveStudent(student1);
+        assertTrue(studentDao.deleteStudent(student1));
+        assertNull(studentDao.findById(1));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+        assertFalse(studentDao.deleteStudent(student1));
+    }
+
+    @Test
+    void deletedStudentShouldNoLongerAffectIndexes() {
+        studentDao.saveStudent(student1);
+        studentDao.deleteStudent(student1);
+
+        student1.setName("Bob");
+        assertTrue(studentDao.findByName("Bob").isEmpty());
+    }
+
+    @Test
+    void deleteStudentShouldUnregisterStudentFromAllCourses() {
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        StudentDaoIndexed cascadingDao = new StudentDaoIndexed(courseDao);
+        Course math = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        Course physics = new Course(2, "Physics", LocalDate.of(2024, 4, 1), 6);
+        courseDao.saveCourse(math);
+        courseDao.saveCourse(physics);
+        cascadingDao.saveStudent(student1);
+        cascadingDao.saveStudent(student2);
+        math.registerAll(List.of(student1, student2));
+        physics.register(student1);
+
+        assertTrue(cascadingDao.deleteStudent(student1));
+        assertEquals(Set.of(student2), math.getStudents());
+        assertTrue(physics.getStudents().isEmpty());
+        assertTrue(courseDao.findCoursesForStudent(student1).isEmpty());
+    }
+
+    @Test
+    void saveAllShouldReturnNullForEveryDuplicate() {
+        studentDao.saveStudent(student1);
+        Student duplicateBob = new Student(2, "Bob", "bob2@example.com", "789 Oak St");
+
+        List<Student> saved = studentDao.saveAll(List.of(student1, student2, duplicateBob));
+
+        assertEquals(Arrays.asList(null, student2, null), saved);
+        assertEquals(List.of(student1, student2), studentDao.findAll());
+    }
+
+    @Test
+    void saveAllShouldRejectNullBeforeSavingAnything() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(Arrays.asList(student1, null)));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(null));
+        assertTrue(studentDao.findAll().isEmpty());
+    }
+
+    @Test
+    void findAllByIdAndDeleteAllShouldReturnPerItemResults() {
+        studentDao.saveAll(List.of(student1, student2));
+
+        assertEquals(Arrays.asList(student2, null, student1), studentDao.findAllById(new int[]{2, 999, 1}));
+        assertArrayEquals(new boolean[]{true, false, false},
+                studentDao.deleteAll(Arrays.asList(student1, student1, null)));
+        assertEquals(List.of(student2), studentDao.findAll());
+    }
+
+    @Test
+    void findPageShouldNotShiftWhenEarlierStudentsAreDeleted() {
+        List<Student> students = saveNumberedStudents(6);
+        Page<Student> first = studentDao.findPage(Page.FIRST, 2);
+        studentDao.deleteStudent(students.get(0));
+        studentDao.deleteStudent(students.get(1));
+
+        assertEquals(students.subList(2, 4), studentDao.findPage(first.nextCursor(), 2).items());
+    }
+}
@@ -0,0 +1,311 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoIntMapTest extends StudentDaoContractTest {
+    private static final int ALLOCATION_STUDENTS = 10_000;
+    private static final int ALLOCATION_ROUNDS = 50;
+    //less than a byte per operation leaves room for the allocation counter itself
+    private static final double MAX_BYTES_PER_OPERATION = 0.5;
+
+    private StudentDaoIntMap studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoIntMap();
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldAddStudentSuccessfully() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertTrue(studentDao.findAll().contains(student1));
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        Student duplicateAlice = new Student(1, "Alice", "alice2@example.com", "789 Oak St");
+        studentDao.saveStudent(student1);
+        assertNull(studentDao.saveStudent(duplicateAlice), "Duplicate ID should not be added");
+        assertSame(student1, studentDao.findById(1));
+    }
+
+    @Test
+    void saveStudentShouldThrowOnNullStudent() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void findByEmailShouldReturnFirstByOrderOfInsertion() {
+        Student sharedEmail = new Student(3, "Carol", "alice@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(sharedEmail);
+        assertSame(student1, studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("nonexistent@example.com"));
+    }
+
+    @Test
+    void findByNameShouldReturnListOfMatchingStudentsInOrderOfInsertion() {
+        Student anotherAlice = new Student(3, "Alice", "alice3@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+        studentDao.saveStudent(anotherAlice);
+
+        assertEquals(List.of(student1, anotherAlice), studentDao.findByName("Alice"));
+        assertTrue(studentDao.findByName("Charlie").isEmpty());
+    }
+
+    @Test
+    void findByIdShouldReturnCorrectStudent() {
+        Student zero = new Student(0, "Zero", "zero@example.com", "1 Null Rd");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(zero);
+        assertEquals(student1, studentDao.findById(1));
+        assertSame(zero, studentDao.findById(0));
+        assertNull(studentDao.findById(999));
+    }
+
+    @Test
+    void findAllShouldKeepOrderOfInsertionWhenSlotsAreReused() {
+        StudentDaoIntMap small = new StudentDaoIntMap(4, null);
+        Student[] students = new Student[8];
+        for (int id = 0; id < students.length; id++) {
+            students[id] = new Student(id, "Student " + id, id + "@example.com", "Street " + id);
+        }
+        for (int id = 0; id < 4; id++) {
+            small.saveStudent(students[id]);
+        }
+        small.deleteStudent(students[1]);
+        small.deleteStudent(students[2]);
+        //the first two saves reuse the freed slots, the third grows the arrays
+        small.saveStudent(students[4]);
+        small.saveStudent(students[5]);
+        small.saveStudent(students[6]);
+
+        assertEquals(List.of(students[0], students[3], students[4], students[5], students[6]), small.findAll());
+        for (Student student : List.of(students[0], students[3], students[4], students[5], students[6])) {
+            assertSame(student, small.findById(student.getId()));
+        }
+        assertNull(small.findById(1));
+    }
+
+    @Test
+    void findPageShouldFollowItsCursorWhenSlotsAreReusedAndCompacted() {
+        StudentDaoIntMap small = new StudentDaoIntMap(4, null);
+        Student[] students = new Student[8];
+        for (int id = 0; id < students.length; id++) {
+            students[id] = new Student(id, "Student " + id, id + "@example.com", "Street " + id);
+        }
+        for (int id = 0; id < 4; id++) {
+            small.saveStudent(students[id]);
+        }
+        Page<Student> first = small.findPage(Page.FIRST, 2);
+        assertEquals(List.of(students[0], students[1]), first.items());
+
+        //students[4] reuses the slot of students[0], and stream moves every student to another slot
+        small.deleteStudent(students[0]);
+        small.saveStudent(students[4]);
+        small.stream();
+        Page<Student> second = small.findPage(first.nextCursor(), 2);
+        assertEquals(List.of(students[2], students[3]), second.items());
+
+        //a student saved again with the same id comes after the ones saved before
+        small.deleteStudent(students[4]);
+        small.saveStudent(students[4]);
+        assertEquals(List.of(students[4]), small.findPage(second.nextCursor(), 2).items());
+    }
+
+    @Test
+    void deleteStudentShouldRemoveStudent() {
+        studentDao.saveStudent(student1);
+        assertTrue(studentDao.deleteStudent(student1));
+        assertNull(studentDao.findById(1));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertTrue(studentDao.findAll().isEmpty());
+        assertFalse(studentDao.deleteStudent(student1));
+    }
+
+    @Test
+    void deleteStudentShouldUnregisterStudentFromAllCourses() {
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        StudentDaoIntMap cascadingDao = new StudentDaoIntMap(courseDao);
+        Course math = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        courseDao.saveCourse(math);
+        cascadingDao.saveStudent(student1);
+        cascadingDao.saveStudent(student2);
+        math.registerAll(List.of(student1, student2));
+
+        assertTrue(cascadingDao.deleteStudent(student1));
+        assertEquals(Set.of(student2), math.getStudents());
+    }
+
+    @Test
+    void findByIdShouldNotAllocate() {
+        StudentDaoIntMap presized = filledDao();
+        //warm up so that the measured loop runs compiled code
+        long found = lookUpAll(presized) + lookUpAll(presized);
+
+        long before = allocatedBytes();
+        for (int round = 0; round < ALLOCATION_ROUNDS; round++) {
+            found += lookUpAll(presized);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(found > 0);
+        assertBytesPerOperation(allocated, (long) ALLOCATION_ROUNDS * ALLOCATION_STUDENTS * 2);
+    }
+
+    @Test
+    void saveAndDeleteShouldNotAllocate() {
+        StudentDaoIntMap presized = filledDao();
+        Student[] students = presized.findAll().toArray(new Student[0]);
+        saveAndDeleteAll(presized, students);
+        saveAndDeleteAll(presized, students);
+
+        long before = allocatedBytes();
+        for (int round = 0; round < ALLOCATION_ROUNDS; round++) {
+            saveAndDeleteAll(presized, students);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertEquals(ALLOCATION_STUDENTS, presized.findAll().size());
+        assertBytesPerOperation(allocated, (long) ALLOCATION_ROUNDS * ALLOCATION_STUDENTS * 2);
+    }
+
+    @Test
+    void saveAllShouldReturnNullForEveryDuplicate() {
+        studentDao.saveStudent(student1);
+        Student duplicateBob = new Student(2, "Bob", "bob2@example.com", "789 Oak St");
+
+        List<Student> saved = studentDao.saveAll(List.of(student1, student2, duplicateBob));
+
+        assertEquals(Arrays.asList(null, student2, null), saved);
+        assertEquals(List.of(student1, student2), studentDao.findAll());
+    }
+
+    @Test
+    void saveAllShouldRejectNullBeforeSavingAnything() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(Arrays.asList(student1, null)));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(null));
+        assertTrue(studentDao.findAll().isEmpty());
+    }
+
+    @Test
+    void findAllByIdAndDeleteAllShouldReturnPerItemResults() {
+        studentDao.saveAll(List.of(student1, student2));
+
+        assertEquals(Arrays.asList(student2, null, student1), studentDao.findAllById(new int[]{2, 999, 1}));
+        assertArrayEquals(new boolean[]{true, false, false},
+                studentDao.deleteAll(Arrays.asList(student1, student1, null)));
+        assertEquals(List.of(student2), studentDao.findAll());
+    }
+
+    @Test
+    void saveAllShouldGrowPastInitialCapacity() {
+        StudentDaoIntMap small = new StudentDaoIntMap(2, null);
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < 100; id++) {
+            students.add(new Student(id, "Student " + id, id + "@example.com", "Street " + id));
+        }
+        small.saveStudent(students.get(50));
+        small.deleteStudent(students.get(50));
+
+        assertEquals(students, small.saveAll(students));
+        assertEquals(students, small.findAll());
+    }
+
+    @Test
+    void streamShouldKeepOrderOfInsertionWhenSlotsAreReused() {
+        List<Student> students = saveNumberedStudents(1_000);
+        for (int i = 0; i < 1_000; i += 3) {
+            studentDao.deleteStudent(students.get(i));
+        }
+        Student reused = new Student(5_000, "Reused", "reused@example.com", "Street 5000");
+        studentDao.saveStudent(reused);
+
+        List<Student> expected = studentDao.findAll();
+        assertEquals(reused, expected.get(expected.size() - 1));
+        assertEquals(expected, studentDao.stream().toList());
+        assertEquals(expected, studentDao.stream().parallel().toList());
+        for (Student student : expected) {
+            assertSame(student, studentDao.findById(student.getId()));
+        }
+    }
+
+    @Test
+    void streamSpliteratorShouldSplitInHalves() {
+        saveNumberedStudents(100);
+        Spliterator<Student> suffix = studentDao.stream().spliterator();
+
+        Spliterator<Student> prefix = suffix.trySplit();
+
+        assertEquals(50, prefix.getExactSizeIfKnown());
+        assertEquals(50, suffix.getExactSizeIfKnown());
+        List<Student> all = new ArrayList<>();
+        prefix.forEachRemaining(all::add);
+        suffix.forEachRemaining(all::add);
+        assertEquals(studentDao.findAll(), all);
+    }
+
+    private static StudentDaoIntMap filledDao() {
+        StudentDaoIntMap dao = new StudentDaoIntMap(ALLOCATION_STUDENTS, null);
+        for (int id = 0; id < ALLOCATION_STUDENTS; id++) {
+            dao.saveStudent(new Student(id, "Student " + id, id + "@example.com", "Street " + id));
+        }
+        return dao;
+    }
+
+    //looks up every stored id and as many missing ones
+    private static long lookUpAll(StudentDaoIntMap dao) {
+        long found = 0;
+        for (int id = 0; id < ALLOCATION_STUDENTS; id++) {
+            if (dao.findById(id) != null) {
+                found++;
+            }
+            if (dao.findById(-id - 1) != null) {
+                found--;
+            }
+        }
+        return found;
+    }
+
+    private static void saveAndDeleteAll(StudentDaoIntMap dao, Student[] students) {
+        for (Student student : students) {
+            dao.deleteStudent(student);
+            dao.saveStudent(student);
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static void assertBytesPerOperation(long allocated, long operations) {
+        double perOperation = (double) allocated / operations;
+        assertTrue(perOperation <= MAX_BYTES_PER_OPERATION,
+                "allocated " + perOperation + " bytes per operation");
+    }
+}
@@ -1,6 +1,7 @@
 package data_access_objects;
 
 import model.Student;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,19 +9,31 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-class StudentDaoListTest {
+class StudentDaoListTest extends StudentDaoContractTest {
 
     private StudentDaoList studentDao;
     private Student student1;
     private Student student2;
 
+    //StudentDaoList keeps its students in a static set shared by every instance
     @BeforeEach
     void setUp() {
         studentDao = new StudentDaoList();
+        studentDao.findAll().forEach(studentDao::deleteStudent);
         student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
         student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
     }
 
+    @AfterEach
+    void tearDown() {
+        studentDao.findAll().forEach(studentDao::deleteStudent);
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
     @Test
     void saveStudentShouldAddStudentSuccessfully() {
         assertEquals(student1, studentDao.saveStudent(student1));
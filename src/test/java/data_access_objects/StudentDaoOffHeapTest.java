@@ -0,0 +1,299 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import model.StudentListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoOffHeapTest extends StudentDaoContractTest {
+
+    private StudentDaoOffHeap studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoOffHeap();
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentDao.close();
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldAddStudentSuccessfully() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertTrue(studentDao.findAll().contains(student1));
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        Student duplicateAlice = new Student(1, "Alice", "alice2@example.com", "789 Oak St");
+        studentDao.saveStudent(student1);
+        assertNull(studentDao.saveStudent(duplicateAlice), "Duplicate ID should not be added");
+        assertNull(studentDao.findByEmail("alice2@example.com"));
+    }
+
+    @Test
+    void saveStudentShouldThrowOnNullStudent() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void findByIdShouldReturnEqualStudentWithStoredFields() {
+        Student unicode = new Student(3, "Zoë Ångström", "zoe@example.com", "Storgatan 1, Malmö");
+        studentDao.saveStudent(unicode);
+
+        Student found = studentDao.findById(3);
+        assertEquals(unicode, found);
+        assertEquals("Zoë Ångström", found.getName());
+        assertEquals("zoe@example.com", found.getEmail());
+        assertEquals("Storgatan 1, Malmö", found.getAddress());
+        assertNull(studentDao.findById(999));
+    }
+
+    @Test
+    void findByEmailShouldReturnFirstByOrderOfInsertion() {
+        Student sharedEmail = new Student(3, "Carol", "alice@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(sharedEmail);
+        assertEquals(student1, studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("alice@example.co"));
+        assertNull(studentDao.findByEmail("nonexistent@example.com"));
+    }
+
+    @Test
+    void findByNameShouldReturnListOfMatchingStudentsInOrderOfInsertion() {
+        Student anotherAlice = new Student(3, "Alice", "alice3@example.com", "987 Pine St");
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+        studentDao.saveStudent(anotherAlice);
+
+        assertEquals(List.of(student1, anotherAlice), studentDao.findByName("Alice"));
+        assertTrue(studentDao.findByName("Charlie").isEmpty());
+    }
+
+    @Test
+    void changesToSavedAndFoundStudentsShouldBeWrittenBack() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student1.setName("Alicia");
+        studentDao.findById(2).setEmail("robert@example.com");
+
+        assertEquals("Alicia", studentDao.findById(1).getName());
+        assertEquals(List.of(student1), studentDao.findByName("Alicia"));
+        assertEquals(student2, studentDao.findByEmail("robert@example.com"));
+        assertNull(studentDao.findByEmail("bob@example.com"));
+    }
+
+    @Test
+    void changesToDeletedStudentsShouldNotBeWrittenBack() {
+        studentDao.saveStudent(student1);
+        Student stale = studentDao.findById(1);
+        studentDao.deleteStudent(student1);
+        Student resaved = new Student(1, "Alice", "new@example.com", "1 New St");
+        studentDao.saveStudent(resaved);
+
+        stale.setEmail("stale@example.com");
+        student1.setName("Stale");
+
+        assertEquals("new@example.com", studentDao.findById(1).getEmail());
+        assertEquals("Alice", studentDao.findById(1).getName());
+    }
+
+    @Test
+    void savingAndDeletingTheSameStudentShouldNotPileUpListeners() {
+        List<StudentListener> attached = new ArrayList<>();
+        Student student = new Student(3, "Carol", "carol@example.com", "789 Road") {
+            @Override
+            public synchronized void addListener(StudentListener listener) {
+                super.addListener(listener);
+                attached.add(listener);
+            }
+
+            @Override
+            public synchronized void removeListener(StudentListener listener) {
+                super.removeListener(listener);
+                attached.remove(listener);
+            }
+        };
+
+        for (int i = 0; i < 1_000; i++) {
+            studentDao.saveStudent(student);
+            assertEquals(1, attached.size());
+            studentDao.deleteStudent(student);
+            assertTrue(attached.isEmpty());
+        }
+        for (int i = 0; i < 1_000; i++) {
+            studentDao.saveStudent(student);
+            studentDao.deleteStudent(studentDao.findById(3));
+        }
+        assertEquals(1, attached.size());
+
+        studentDao.saveStudent(student);
+        student.setName("Caroline");
+        assertEquals("Caroline", studentDao.findById(3).getName());
+    }
+
+    @Test
+    void changesToOutOfDateCopiesShouldNotBeWrittenBack() {
+        studentDao.saveStudent(student1);
+        Student first = studentDao.findById(1);
+        Student second = studentDao.findById(1);
+
+        first.setEmail("first@example.com");
+        second.setEmail("second@example.com");
+        second.setName("Alicia");
+
+        assertEquals("first@example.com", studentDao.findById(1).getEmail());
+        assertEquals("Alicia", studentDao.findById(1).getName());
+    }
+
+    @Test
+    void findAllShouldSurviveGrowthDeletesAndChanges() {
+        int count = 5_000;
+        for (int id = 0; id < count; id++) {
+            studentDao.saveStudent(new Student(id, "Student " + id, id + "@example.com", "Street " + id));
+        }
+        for (int id = 0; id < count; id += 2) {
+            studentDao.deleteStudent(studentDao.findById(id));
+        }
+        for (int id = 1; id < count; id += 2) {
+            studentDao.findById(id).setAddress("Avenue " + id);
+        }
+        for (int id = count; id < count * 2; id++) {
+            studentDao.saveStudent(new Student(id, "Student " + id, id + "@example.com", "Street " + id));
+        }
+
+        List<Student> all = studentDao.findAll();
+        assertEquals(count / 2 + count, all.size());
+        int previousId = -1;
+        for (Student student : all) {
+            assertTrue(student.getId() > previousId, "order of insertion");
+            previousId = student.getId();
+            assertEquals("Student " + student.getId(), student.getName());
+            String street = student.getId() < count ? "Avenue " : "Street ";
+            assertEquals(street + student.getId(), student.getAddress());
+        }
+    }
+
+    @Test
+    void deleteStudentShouldRemoveStudent() {
+        studentDao.saveStudent(student1);
+        assertTrue(studentDao.deleteStudent(student1));
+        assertNull(studentDao.findById(1));
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+        assertFalse(studentDao.deleteStudent(student1));
+    }
+
+    @Test
+    void deleteStudentShouldUnregisterStudentFromAllCourses() {
+        CourseDaoIndexed courseDao = new CourseDaoIndexed();
+        try (StudentDaoOffHeap cascadingDao = new StudentDaoOffHeap(courseDao)) {
+            Course math = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+            courseDao.saveCourse(math);
+            cascadingDao.saveStudent(student1);
+            cascadingDao.saveStudent(student2);
+            math.registerAll(List.of(student1, student2));
+
+            assertTrue(cascadingDao.deleteStudent(cascadingDao.findById(1)));
+            assertEquals(Set.of(student2), math.getStudents());
+        }
+    }
+
+    @Test
+    void closedDaoShouldNotBeUsable() {
+        studentDao.saveStudent(student1);
+        studentDao.close();
+
+        assertThrows(IllegalStateException.class, () -> studentDao.findById(1));
+        assertThrows(IllegalStateException.class, () -> studentDao.saveStudent(student2));
+        //students outlive the DAO, they just stop writing back
+        student1.setName("Alicia");
+        assertEquals("Alicia", student1.getName());
+    }
+
+    @Test
+    void saveAllShouldReturnNullForEveryDuplicate() {
+        studentDao.saveStudent(student1);
+        Student duplicateBob = new Student(2, "Bob", "bob2@example.com", "789 Oak St");
+
+        List<Student> saved = studentDao.saveAll(List.of(student1, student2, duplicateBob));
+
+        assertEquals(Arrays.asList(null, student2, null), saved);
+        assertEquals(List.of(student1, student2), studentDao.findAll());
+        assertEquals("bob@example.com", studentDao.findById(2).getEmail());
+    }
+
+    @Test
+    void saveAllShouldRejectNullBeforeSavingAnything() {
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(Arrays.asList(student1, null)));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(null));
+        assertTrue(studentDao.findAll().isEmpty());
+    }
+
+    @Test
+    void findAllByIdAndDeleteAllShouldReturnPerItemResults() {
+        studentDao.saveAll(List.of(student1, student2));
+
+        assertEquals(Arrays.asList(student2, null, student1), studentDao.findAllById(new int[]{2, 999, 1}));
+        assertArrayEquals(new boolean[]{true, false, false},
+                studentDao.deleteAll(Arrays.asList(student1, student1, null)));
+        assertEquals(List.of(student2), studentDao.findAll());
+    }
+
+    @Test
+    void saveAllShouldMakeRoomForWholeBatch() {
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < 2_000; id++) {
+            students.add(new Student(id, "Stüdent " + id, id + "@example.com", "Gata " + id + " \uD83C\uDFEB"));
+        }
+
+        assertEquals(students, studentDao.saveAll(students));
+        assertEquals(students, studentDao.findAll());
+        assertEquals("Gata 1999 \uD83C\uDFEB", studentDao.findById(1999).getAddress());
+        assertEquals(List.of(students.get(7)), studentDao.findByName("Stüdent 7"));
+    }
+
+    @Test
+    void findPageShouldNotShiftWhenEarlierStudentsAreDeleted() {
+        List<Student> students = saveNumberedStudents(6);
+        Page<Student> first = studentDao.findPage(Page.FIRST, 2);
+        studentDao.deleteStudent(students.get(0));
+        studentDao.deleteStudent(students.get(1));
+
+        assertEquals(students.subList(2, 4), studentDao.findPage(first.nextCursor(), 2).items());
+    }
+
+    @Test
+    void streamShouldSplitRowsInHalves() {
+        saveNumberedStudents(1_000);
+        Spliterator<Student> suffix = studentDao.stream().spliterator();
+        Spliterator<Student> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(500, prefix.estimateSize());
+        assertEquals(500, suffix.estimateSize());
+    }
+}
@@ -0,0 +1,189 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoShardedTest extends StudentDaoContractTest {
+    private static final int SHARDS = 4;
+    private static final int THREADS = 8;
+
+    private StudentDaoSharded studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoSharded(SHARDS);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertNull(studentDao.saveStudent(new Student(1, "Alice", "alice2@example.com", "789 Oak St")));
+        assertNull(studentDao.findByEmail("alice2@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void instancesShouldNotShareStudents() {
+        studentDao.saveStudent(student1);
+        StudentDaoSharded other = new StudentDaoSharded(SHARDS);
+
+        assertNull(other.findById(1));
+        assertTrue(other.findAll().isEmpty());
+        assertEquals(student1, other.saveStudent(student1));
+    }
+
+    @Test
+    void findersShouldMergeShardsInOrderOfInsertion() {
+        //descending ids, so order of insertion isn't the order of the ids or the shards
+        List<Student> students = new ArrayList<>();
+        for (int id = 99; id >= 0; id--) {
+            Student student = new Student(id, id % 2 == 0 ? "Even" : "Odd", "e" + id % 10 + "@example.com", "Street");
+            studentDao.saveStudent(student);
+            students.add(student);
+        }
+
+        assertEquals(students, studentDao.findAll());
+        assertEquals(students.stream().filter(student -> student.getId() % 2 == 0).toList(),
+                studentDao.findByName("Even"));
+        assertSame(students.get(0), studentDao.findByEmail("e9@example.com"));
+        assertSame(students.get(9), studentDao.findByEmail("e0@example.com"));
+        assertNull(studentDao.findByEmail("nobody@example.com"));
+        assertEquals(students, studentDao.stream().toList());
+    }
+
+    @Test
+    void findersShouldFollowChangesToStoredStudents() {
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        student2.setEmail("shared@example.com");
+        student1.setEmail("shared@example.com");
+        student1.setName("Bob");
+
+        assertSame(student1, studentDao.findByEmail("shared@example.com"));
+        assertEquals(List.of(student1, student2), studentDao.findByName("Bob"));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+    }
+
+    @Test
+    void deleteStudentShouldRemoveStudentAndCascadeToCourses() {
+        CourseDao courseDao = new CourseDaoSharded(SHARDS);
+        Course course = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        courseDao.saveCourse(course);
+        studentDao = new StudentDaoSharded(SHARDS, courseDao, ForkJoinPool.commonPool());
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+        course.register(student1);
+
+        assertTrue(studentDao.deleteStudent(student1));
+        assertFalse(studentDao.deleteStudent(student1));
+        assertFalse(studentDao.deleteStudent(null));
+        assertNull(studentDao.findById(1));
+        assertEquals(List.of(student2), studentDao.findAll());
+        assertTrue(course.getStudents().isEmpty());
+    }
+
+    @Test
+    void findPageShouldNotShiftWhenEarlierStudentsAreDeleted() {
+        List<Student> students = saveNumberedStudents(6);
+        Page<Student> first = studentDao.findPage(Page.FIRST, 2);
+        studentDao.deleteStudent(students.get(0));
+        studentDao.deleteStudent(students.get(1));
+
+        assertEquals(students.subList(2, 4), studentDao.findPage(first.nextCursor(), 2).items());
+    }
+
+    @Test
+    void findByNamePrefixShouldIgnoreCaseAndKeepOrderOfInsertionForEqualNames() {
+        Student alina = new Student(3, "alina", "alina@example.com", "1 Pine St");
+        Student upperAlice = new Student(4, "ALICE", "alice.upper@example.com", "2 Pine St");
+        studentDao.saveStudent(alina);
+        studentDao.saveStudent(upperAlice);
+        studentDao.saveStudent(student1);
+        studentDao.saveStudent(student2);
+
+        assertEquals(List.of(upperAlice, student1, alina), studentDao.findByNamePrefix("al", 10));
+        assertEquals(List.of(upperAlice), studentDao.findByNamePrefix("AL", 1));
+        assertTrue(studentDao.findByNamePrefix("carl", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> studentDao.findByNamePrefix(null, 10));
+    }
+
+    @Test
+    void singleShardShouldFindTheSameStudents() {
+        studentDao = new StudentDaoSharded(1);
+        studentDao.saveStudent(student2);
+        studentDao.saveStudent(student1);
+
+        assertEquals(List.of(student2, student1), studentDao.findAll());
+        assertSame(student1, studentDao.findByEmail("alice@example.com"));
+        assertNull(studentDao.findByEmail("nobody@example.com"));
+        assertEquals(List.of(student1), studentDao.findByNamePrefix("a", 10));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StudentDaoSharded(0));
+        assertThrows(IllegalArgumentException.class, () -> new StudentDaoSharded(SHARDS, null, null));
+    }
+
+    @Test
+    void findAllShouldStayInOrderOfInsertionWhileWritersAreActive() throws Exception {
+        int students = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int id = 0; id < students; id++) {
+                    studentDao.saveStudent(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+                }
+                done.set(true);
+            });
+
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int reader = 0; reader < THREADS - 1; reader++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        int previous = -1;
+                        for (Student student : studentDao.findAll()) {
+                            if (student.getId() <= previous) {
+                                return false;
+                            }
+                            previous = student.getId();
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            writer.get();
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get(), "findAll returned students out of insertion order");
+            }
+            assertEquals(students, studentDao.findAll().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
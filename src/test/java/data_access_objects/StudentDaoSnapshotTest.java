@@ -0,0 +1,118 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoSnapshotTest {
+    @TempDir
+    Path directory;
+
+    private Snapshot snapshot;
+    private StudentDaoSnapshot studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StudentDaoIndexed source = new StudentDaoIndexed();
+        CourseDaoIndexed courses = new CourseDaoIndexed();
+        Course math = new Course(1, "Math", LocalDate.of(2024, 3, 1), 8);
+        courses.saveCourse(math);
+        source.saveStudent(new Student(1, "Alice", "alice@example.com", "123 Main St"));
+        source.saveStudent(new Student(2, "Bob", "bob@example.com", "456 Elm St"));
+        source.saveStudent(new Student(3, "Alice", "alice3@example.com", "987 Pine St"));
+        math.registerAll(source.findAll());
+
+        Path file = directory.resolve("students.snapshot");
+        Snapshot.write(file, source, courses);
+        snapshot = Snapshot.open(file);
+        studentDao = snapshot.students();
+        student1 = studentDao.findById(1);
+        student2 = studentDao.findById(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.close();
+    }
+
+    @Test
+    void findByIdShouldReturnSameInstanceEveryTime() {
+        assertSame(student1, studentDao.findById(1));
+        assertNull(studentDao.findById(999));
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateOfSnapshotStudent() {
+        Student duplicate = new Student(2, "Bob", "bob2@example.com", "789 Oak St");
+        assertNull(studentDao.saveStudent(duplicate));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveStudent(null));
+    }
+
+    @Test
+    void savedStudentsShouldComeAfterSnapshotStudents() {
+        Student carol = new Student(0, "Carol", "carol@example.com", "1 Oak St");
+        assertSame(carol, studentDao.saveStudent(carol));
+        assertEquals(List.of(1, 2, 3, 0), studentDao.findAll().stream().map(Student::getId).toList());
+        assertSame(carol, studentDao.findById(0));
+    }
+
+    @Test
+    void findByEmailShouldSeeChangesToLoadedStudents() {
+        student1.setEmail("alice@school.example.com");
+
+        assertNull(studentDao.findByEmail("alice@example.com"));
+        assertSame(student1, studentDao.findByEmail("alice@school.example.com"));
+        assertSame(student2, studentDao.findByEmail("bob@example.com"));
+    }
+
+    @Test
+    void findByNameShouldReturnMatchesInOrderOfInsertion() {
+        Student anotherAlice = new Student(4, "Alice", "alice4@example.com", "2 Oak St");
+        studentDao.saveStudent(anotherAlice);
+
+        assertEquals(List.of(1, 3, 4), studentDao.findByName("Alice").stream().map(Student::getId).toList());
+        student2.setName("Alice");
+        assertEquals(List.of(1, 2, 3, 4), studentDao.findByName("Alice").stream().map(Student::getId).toList());
+        assertTrue(studentDao.findByName("Charlie").isEmpty());
+    }
+
+    @Test
+    void deleteStudentShouldRemoveSnapshotStudentAndCascade() {
+        assertTrue(studentDao.deleteStudent(student2));
+        assertNull(studentDao.findById(2));
+        assertNull(studentDao.findByEmail("bob@example.com"));
+        assertFalse(studentDao.deleteStudent(student2));
+        assertEquals(Set.of(1, 3), snapshot.courses().findById(1).getStudents().stream()
+                .map(Student::getId).collect(java.util.stream.Collectors.toSet()));
+
+        //the id is free again once the snapshot student is deleted
+        Student newBob = new Student(2, "Bob", "newbob@example.com", "1 New St");
+        assertSame(newBob, studentDao.saveStudent(newBob));
+        assertSame(newBob, studentDao.findById(2));
+    }
+
+    @Test
+    void streamShouldGoThroughRecordsThenSavedStudents() {
+        Student carol = new Student(0, "Carol", "carol@example.com", "1 Oak St");
+        studentDao.saveStudent(carol);
+        studentDao.deleteStudent(student2);
+
+        assertEquals(studentDao.findAll(), studentDao.stream().toList());
+        assertEquals(List.of(1, 3, 0), studentDao.stream().map(Student::getId).toList());
+        assertSame(student1, studentDao.stream().findFirst().orElseThrow());
+        assertEquals(List.of(1, 3, 0), studentDao.stream().parallel().map(Student::getId).toList());
+    }
+}
@@ -0,0 +1,182 @@
+package data_access_objects;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoVersionedTest extends StudentDaoContractTest {
+
+    private StudentDaoVersioned studentDao;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        studentDao = new StudentDaoVersioned();
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Override
+    protected StudentDao dao() {
+        return studentDao;
+    }
+
+    @Test
+    void saveStudentShouldNotAddDuplicateStudent() {
+        assertEquals(student1, studentDao.saveStudent(student1));
+        assertNull(studentDao.saveStudent(new Student(1, "Alice", "alice2@example.com", "789 Oak St")));
+        assertEquals(List.of(student1), studentDao.findAll());
+    }
+
+    @Test
+    void snapshotShouldNotSeeLaterWrites() {
+        studentDao.saveStudent(student1);
+        StudentDaoVersioned snapshot = studentDao.snapshot();
+
+        studentDao.saveStudent(student2);
+        studentDao.deleteStudent(student1);
+
+        assertEquals(List.of(student1), snapshot.findAll());
+        assertEquals(student1, snapshot.findById(1));
+        assertNull(snapshot.findById(2));
+        assertEquals(List.of(student2), studentDao.findAll());
+    }
+
+    @Test
+    void snapshotShouldMatchTheValuesStudentsHadWhenItWasTaken() {
+        studentDao.saveStudent(student1);
+        StudentDaoVersioned snapshot = studentDao.snapshot();
+
+        student1.setName("Carol");
+        student1.setEmail("carol@example.com");
+
+        assertEquals(List.of(student1), snapshot.findByName("Alice"));
+        assertEquals(student1, snapshot.findByEmail("alice@example.com"));
+        assertEquals(List.of(student1), snapshot.findByNamePrefix("al", 10));
+        assertTrue(studentDao.findByName("Alice").isEmpty());
+        assertEquals(List.of(student1), studentDao.findByName("Carol"));
+        assertEquals(student1, studentDao.findByEmail("carol@example.com"));
+    }
+
+    @Test
+    void changesToADeletedStudentShouldBeIgnored() {
+        studentDao.saveStudent(student1);
+        studentDao.deleteStudent(student1);
+        Student replacement = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        studentDao.saveStudent(replacement);
+
+        student1.setName("Carol");
+
+        assertEquals(List.of(replacement), studentDao.findByName("Alice"));
+        assertTrue(studentDao.findByName("Carol").isEmpty());
+    }
+
+    @Test
+    void snapshotShouldBeReadOnly() {
+        StudentDaoVersioned snapshot = studentDao.snapshot();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.saveStudent(student1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.saveAll(List.of(student1)));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.deleteStudent(student1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.deleteStudent(null));
+    }
+
+    @Test
+    void saveAllShouldSkipDuplicatesWithinTheBatch() {
+        List<Student> saved = studentDao.saveAll(List.of(student1, student2, student1));
+
+        assertEquals(List.of(student1, student2), saved.subList(0, 2));
+        assertNull(saved.get(2));
+        assertThrows(IllegalArgumentException.class, () -> studentDao.saveAll(null));
+    }
+
+    @Test
+    void deleteAllShouldCascadeToCourses() {
+        CourseDaoVersioned courseDao = new CourseDaoVersioned();
+        studentDao = new StudentDaoVersioned(courseDao);
+        studentDao.saveAll(List.of(student1, student2));
+        Course course = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+        course.registerAll(List.of(student1, student2));
+        courseDao.saveCourse(course);
+
+        assertArrayEquals(new boolean[]{true, false}, studentDao.deleteAll(List.of(student1, student1)));
+
+        assertEquals(List.of(student2), courseDao.findRoster(course));
+        assertFalse(course.getStudents().contains(student1));
+    }
+
+    @Test
+    void findPageShouldPageThroughASnapshot() {
+        for (int id = 0; id < 10; id++) {
+            studentDao.saveStudent(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+        }
+        StudentDaoVersioned snapshot = studentDao.snapshot();
+
+        List<Student> walked = new ArrayList<>();
+        long cursor = Page.FIRST;
+        do {
+            Page<Student> page = snapshot.findPage(cursor, 3);
+            walked.addAll(page.items());
+            studentDao.deleteStudent(page.items().get(0));
+            cursor = page.nextCursor();
+        } while (cursor != Page.END);
+
+        assertEquals(snapshot.findAll(), walked);
+        assertEquals(10, walked.size());
+    }
+
+    @Test
+    void findAllByIdShouldReturnNullForUnknownIds() {
+        studentDao.saveAll(List.of(student1, student2));
+        assertEquals(Arrays.asList(student2, null, student1), studentDao.findAllById(new int[]{2, 3, 1}));
+    }
+
+    @Test
+    void readersShouldOnlyEverSeeWholeBatches() throws Exception {
+        int batches = 2_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int batch = 0; batch < batches; batch++) {
+                    List<Student> students = new ArrayList<>();
+                    for (int i = 0; i < 5; i++) {
+                        int id = 5 * batch + i;
+                        students.add(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+                    }
+                    studentDao.saveAll(students);
+                }
+                done.set(true);
+            });
+            Future<Boolean> reader = executor.submit(() -> {
+                while (!done.get()) {
+                    StudentDaoVersioned snapshot = studentDao.snapshot();
+                    List<Student> all = snapshot.findAll();
+                    if (all.size() % 5 != 0 || all.size() != snapshot.stream().count()) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+
+            writer.get();
+            assertTrue(reader.get(), "a reader saw part of a batch");
+            assertEquals(5 * batches, studentDao.findAll().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
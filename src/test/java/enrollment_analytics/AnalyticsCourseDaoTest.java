@@ -0,0 +1,67 @@
+package enrollment_analytics;
+
+import data_access_objects.CourseDaoIndexed;
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsCourseDaoTest {
+
+    private CourseDaoIndexed backing;
+    private Course course1;
+    private Course course2;
+    private Student student1;
+
+    @BeforeEach
+    void setUp() {
+        backing = new CourseDaoIndexed();
+        course1 = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+        course2 = new Course(2, "SQL 101", LocalDate.of(2024, 3, 4), 10);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+    }
+
+    @Test
+    void constructorShouldTrackTheCoursesAlreadyStored() {
+        course1.register(student1);
+        backing.saveCourse(course1);
+
+        AnalyticsCourseDao courseDao = new AnalyticsCourseDao(backing, new EnrollmentAnalytics());
+
+        assertEquals(1, courseDao.analytics().fillCount(1));
+        assertEquals(EnrollmentAnalytics.recompute(backing.findAll()), courseDao.analytics().stats());
+    }
+
+    @Test
+    void saveShouldOnlyTrackCoursesThatWereSaved() {
+        AnalyticsCourseDao courseDao = new AnalyticsCourseDao(backing, new EnrollmentAnalytics());
+        Course duplicate = new Course(1, "Other", LocalDate.of(2024, 1, 1), 1);
+        duplicate.register(student1);
+
+        courseDao.saveAll(List.of(course1, course2));
+        assertNull(courseDao.saveCourse(duplicate));
+        course1.register(student1);
+
+        assertEquals(1, courseDao.analytics().registrations());
+        assertEquals(EnrollmentAnalytics.recompute(courseDao.findAll()), courseDao.analytics().stats());
+    }
+
+    @Test
+    void removeShouldUntrackTheStoredCourse() {
+        AnalyticsCourseDao courseDao = new AnalyticsCourseDao(backing, new EnrollmentAnalytics());
+        courseDao.saveAll(List.of(course1, course2));
+        course1.register(student1);
+
+        assertTrue(courseDao.removeCourse(new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4)));
+        assertArrayEquals(new boolean[]{true, false}, courseDao.removeAll(List.of(course2, course1)));
+        course1.unregister(student1);
+
+        assertEquals(0, courseDao.analytics().registrations());
+        assertEquals(EnrollmentAnalytics.recompute(List.of()), courseDao.analytics().stats());
+    }
+}
@@ -0,0 +1,160 @@
+package enrollment_analytics;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentAnalyticsTest {
+
+    private EnrollmentAnalytics analytics;
+    private Course course1;
+    private Course course2;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new EnrollmentAnalytics();
+        //a Monday and the Wednesday of the same week
+        course1 = new Course(1, "Java 101", LocalDate.of(2024, 1, 8), 4);
+        course2 = new Course(2, "SQL 101", LocalDate.of(2024, 1, 10), 10);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Test
+    void trackShouldCountTheRosterTheCourseHas() {
+        course1.registerAll(List.of(student1, student2));
+        analytics.track(course1);
+        analytics.track(course2);
+
+        assertEquals(2, analytics.fillCount(1));
+        assertEquals(0, analytics.fillCount(2));
+        assertEquals(2, analytics.registrationsInStartWeek(LocalDate.of(2024, 1, 14)));
+        assertEquals(1.0, analytics.averageEnrollmentsPerStudent());
+        assertEquals(List.of("Java 101"), analytics.popularCourseNames(5));
+        assertThrows(IllegalArgumentException.class, () -> analytics.track(course1));
+    }
+
+    @Test
+    void registrationsShouldUpdateEveryAggregate() {
+        analytics.trackAll(List.of(course1, course2));
+
+        course1.register(student1);
+        course2.register(student1);
+        course2.register(student2);
+
+        assertEquals(1, analytics.fillCount(1));
+        assertEquals(2, analytics.fillCount(2));
+        assertEquals(3, analytics.registrationsInStartWeek(LocalDate.of(2024, 1, 8)));
+        assertEquals(2, analytics.students());
+        assertEquals(1.5, analytics.averageEnrollmentsPerStudent());
+        assertEquals(List.of("SQL 101", "Java 101"), analytics.popularCourseNames(5));
+
+        course2.unregister(student1);
+        course2.unregister(student2);
+
+        assertEquals(1, analytics.students());
+        assertEquals(1.0, analytics.averageEnrollmentsPerStudent());
+        assertEquals(List.of("Java 101"), analytics.popularCourseNames(5));
+    }
+
+    @Test
+    void renamingAndReschedulingShouldMoveTheRegistrations() {
+        course1.register(student1);
+        course2.register(student2);
+        analytics.trackAll(List.of(course1, course2));
+
+        course1.setCourseName("SQL 101");
+        course1.setStartDate(LocalDate.of(2024, 2, 5));
+
+        assertEquals(List.of("SQL 101"), analytics.popularCourseNames(5));
+        assertEquals(1, analytics.registrationsInStartWeek(LocalDate.of(2024, 1, 8)));
+        assertEquals(1, analytics.registrationsInStartWeek(LocalDate.of(2024, 2, 11)));
+        assertEquals(new EnrollmentStats(Map.of(1, 1, 2, 1),
+                Map.of(LocalDate.of(2024, 1, 8), 1, LocalDate.of(2024, 2, 5), 1),
+                Map.of("SQL 101", 2), 2, 2), analytics.stats());
+    }
+
+    @Test
+    void untrackShouldRemoveTheCourseAndIgnoreItsLaterChanges() {
+        course1.register(student1);
+        analytics.track(course1);
+
+        analytics.untrack(course1);
+        course1.register(student2);
+        analytics.untrack(course2);
+
+        assertEquals(new EnrollmentStats(Map.of(), Map.of(), Map.of(), 0, 0), analytics.stats());
+        assertEquals(0.0, analytics.averageEnrollmentsPerStudent());
+    }
+
+    @Test
+    void popularCourseNamesShouldBreakTiesByName() {
+        Course course3 = new Course(3, "C 101", LocalDate.of(2024, 1, 8), 4);
+        course1.register(student1);
+        course2.register(student1);
+        course3.register(student2);
+        analytics.trackAll(List.of(course1, course2, course3));
+
+        assertEquals(List.of("C 101", "Java 101"), analytics.popularCourseNames(2));
+        assertEquals(analytics.popularCourseNames(3), analytics.stats().popularCourseNames(3));
+        assertThrows(IllegalArgumentException.class, () -> analytics.popularCourseNames(-1));
+    }
+
+    @Test
+    void trackedAggregatesShouldMatchARecomputeAfterRandomChanges() {
+        Random random = new Random(7);
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < 200; id++) {
+            students.add(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int id = 0; id < 50; id++) {
+            Course course = new Course(id, "Course " + id % 7, LocalDate.of(2024, 1, 1).plusDays(id), 4);
+            course.registerAll(students.subList(id, id + random.nextInt(20)));
+            courses.add(course);
+        }
+        analytics.trackAll(courses.subList(0, 40));
+
+        for (int i = 0; i < 5_000; i++) {
+            Course course = courses.get(random.nextInt(courses.size()));
+            Student student = students.get(random.nextInt(students.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> course.unregister(student);
+                case 1 -> course.setCourseName("Course " + random.nextInt(7));
+                case 2 -> course.setStartDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60)));
+                default -> {
+                    if (!course.getStudents().contains(student)) {
+                        course.register(student);
+                    }
+                }
+            }
+        }
+        analytics.untrack(courses.get(0));
+        analytics.trackAll(courses.subList(40, 50));
+
+        assertEquals(EnrollmentAnalytics.recompute(courses.subList(1, 50)), analytics.stats());
+        assertEquals(analytics.stats().popularCourseNames(7), analytics.popularCourseNames(7));
+    }
+
+    @Test
+    void trackingALoadedCourseShouldNotResolveItsRoster() {
+        course1.loadRoster(new int[]{1, 2}, ids -> fail("the roster should not be resolved"));
+
+        analytics.trackAll(List.of(course1, course2));
+        assertEquals(2, analytics.fillCount(1));
+        assertEquals(1.0, analytics.averageEnrollmentsPerStudent());
+        analytics.untrack(course1);
+        assertEquals(0, analytics.fillCount(1));
+    }
+}
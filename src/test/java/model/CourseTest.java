@@ -2,8 +2,14 @@ package model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +72,18 @@ class CourseTest {
         assertEquals(15, course.getWeekDuration());
     }
 
+    @Test
+    void setWeekDurationShouldRejectNonPositiveDurationsWithoutNotifying() {
+        List<Course.Property> changes = new ArrayList<>();
+        course.addListener((changed, property, oldValue) -> changes.add(property));
+
+        assertThrows(IllegalArgumentException.class, () -> course.setWeekDuration(0));
+        assertThrows(IllegalArgumentException.class, () -> course.setWeekDuration(-1));
+
+        assertEquals(10, course.getWeekDuration());
+        assertTrue(changes.isEmpty());
+    }
+
     @Test
     void registerShouldAddStudent() {
         course.register(student1);
@@ -91,12 +109,431 @@ class CourseTest {
     }
 
     @Test
-    void getStudentsShouldReturnUnmodifiableList() {
+    void getStudentsShouldReturnUnmodifiableView() {
         course.register(student1);
         course.register(student2);
-        List<Student> students = course.getStudents();
+        Set<Student> students = course.getStudents();
         assertEquals(2, students.size());
         assertTrue(students.contains(student1));
         assertTrue(students.contains(student2));
+        assertThrows(UnsupportedOperationException.class, () -> students.add(student1));
+        assertThrows(UnsupportedOperationException.class, () -> students.remove(student1));
+    }
+
+    @Test
+    void getStudentsShouldReflectLaterChangesInOrderOfRegistration() {
+        Set<Student> students = course.getStudents();
+        course.register(student2);
+        course.register(student1);
+        assertEquals(List.of(student2, student1), List.copyOf(students));
+        course.unregister(student2);
+        assertEquals(List.of(student1), List.copyOf(students));
+    }
+
+    @Test
+    void registerShouldThrowExceptionForNullStudent() {
+        assertThrows(IllegalArgumentException.class, () -> course.register(null));
+    }
+
+    @Test
+    void registerAllShouldAddStudentsInOrder() {
+        course.registerAll(List.of(student2, student1));
+        assertEquals(List.of(student2, student1), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void registerAllShouldRegisterNoneIfAnyIsDuplicate() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.register(student1);
+
+        assertThrows(IllegalArgumentException.class, () -> course.registerAll(List.of(student2, student1)));
+        assertThrows(IllegalArgumentException.class, () -> course.registerAll(List.of(student2, student3, student2)));
+        assertEquals(List.of(student1), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void unregisterAllShouldRemoveStudentsAndIgnoreUnregistered() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.registerAll(List.of(student1, student2));
+        course.unregisterAll(List.of(student1, student3));
+        assertEquals(List.of(student2), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void unregisterAllShouldRejectNullAndDuplicatesBeforeUnregisteringAnyone() {
+        course.registerAll(List.of(student1, student2));
+
+        assertThrows(IllegalArgumentException.class, () -> course.unregisterAll(Arrays.asList(student1, null)));
+        assertThrows(IllegalArgumentException.class, () -> course.unregisterAll(List.of(student1, student2, student1)));
+        assertThrows(IllegalArgumentException.class, () -> course.unregisterAll(null));
+        assertEquals(List.of(student1, student2), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void unregisterAllShouldPromoteWaitlistedStudentsOnceEveryoneIsUnregistered() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.setCapacity(2);
+        course.registerAll(List.of(student1, student2));
+        course.enroll(student3);
+        List<String> changes = new ArrayList<>();
+        course.addListener(new CourseListener() {
+            @Override
+            public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            }
+
+            @Override
+            public void studentRegistered(Course course, Student student) {
+                changes.add("+" + student.getName());
+            }
+
+            @Override
+            public void studentUnregistered(Course course, Student student) {
+                changes.add("-" + student.getName());
+            }
+        });
+
+        course.unregisterAll(List.of(student1, student2));
+
+        assertEquals(List.of("-Alice", "-Bob", "+Carol"), changes);
+        assertEquals(List.of(student3), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void setStudentsShouldReplaceRosterOrLeaveItUnchangedOnDuplicates() {
+        course.register(student1);
+        course.setStudents(List.of(student2));
+        assertEquals(List.of(student2), List.copyOf(course.getStudents()));
+
+        assertThrows(IllegalArgumentException.class, () -> course.setStudents(List.of(student1, student1)));
+        assertEquals(List.of(student2), List.copyOf(course.getStudents()));
+    }
+
+    @Test
+    void getEndDateShouldBeStartDatePlusWeekDuration() {
+        assertEquals(LocalDate.of(2025, 5, 10), course.getEndDate());
+    }
+
+    @Test
+    void isActiveOnShouldIncludeStartDateAndExcludeEndDate() {
+        assertFalse(course.isActiveOn(LocalDate.of(2025, 2, 28)));
+        assertTrue(course.isActiveOn(LocalDate.of(2025, 3, 1)));
+        assertTrue(course.isActiveOn(LocalDate.of(2025, 5, 9)));
+        assertFalse(course.isActiveOn(LocalDate.of(2025, 5, 10)));
+    }
+
+    @Test
+    void settersShouldNotifyListenersWithOldValue() {
+        List<Object> changes = new ArrayList<>();
+        course.addListener((changed, property, oldValue) -> changes.add(property + ":" + oldValue));
+
+        course.setCourseName("Physics");
+        course.setStartDate(LocalDate.of(2025, 6, 1));
+        course.setWeekDuration(15);
+
+        assertEquals(List.of("COURSE_NAME:Mathematics", "START_DATE:2025-03-01", "WEEK_DURATION:10"), changes);
+    }
+
+    @Test
+    void rosterChangesShouldNotifyListeners() {
+        List<String> changes = new ArrayList<>();
+        course.addListener(new CourseListener() {
+            @Override
+            public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            }
+
+            @Override
+            public void studentRegistered(Course course, Student student) {
+                changes.add("+" + student.getName());
+            }
+
+            @Override
+            public void studentUnregistered(Course course, Student student) {
+                changes.add("-" + student.getName());
+            }
+        });
+
+        course.register(student1);
+        course.unregister(student2);
+        course.registerAll(List.of(student2));
+        course.setStudents(List.of(student2));
+        course.unregisterAll(List.of(student1, student2));
+
+        assertEquals(List.of("+Alice", "+Bob", "-Alice", "-Bob"), changes);
+    }
+
+    @Test
+    void rejectingGuardShouldLeaveTheRosterUnchanged() {
+        RegistrationGuard guard = (guarded, student) -> {
+            if (student.equals(student2)) {
+                throw new IllegalArgumentException("rejected");
+            }
+        };
+        course.addRegistrationGuard(guard);
+
+        course.register(student1);
+        assertThrows(IllegalArgumentException.class, () -> course.register(student2));
+        assertThrows(IllegalArgumentException.class, () -> course.setStudents(List.of(student2)));
+        course.unregister(student1);
+        assertThrows(IllegalArgumentException.class, () -> course.registerAll(List.of(student1, student2)));
+        assertTrue(course.getStudents().isEmpty());
+
+        course.removeRegistrationGuard(guard);
+        course.registerAll(List.of(student1, student2));
+        assertEquals(Set.of(student1, student2), course.getStudents());
+    }
+
+    @Test
+    void registerShouldRejectStudentsWhenTheCourseIsFull() {
+        course.setCapacity(1);
+        course.register(student1);
+
+        assertThrows(IllegalArgumentException.class, () -> course.register(student2));
+        assertThrows(IllegalArgumentException.class, () -> course.setStudents(List.of(student1, student2)));
+        course.unregister(student1);
+        assertThrows(IllegalArgumentException.class, () -> course.registerAll(List.of(student1, student2)));
+        assertThrows(IllegalArgumentException.class, () -> course.setCapacity(0));
+        assertTrue(course.getStudents().isEmpty());
+    }
+
+    @Test
+    void enrollShouldWaitlistWhenFullAndPromoteInOrder() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.setCapacity(1);
+
+        assertEquals(Course.Enrollment.REGISTERED, course.enroll(student1));
+        assertEquals(Course.Enrollment.WAITLISTED, course.enroll(student2));
+        assertEquals(Course.Enrollment.WAITLISTED, course.enroll(student3));
+        assertThrows(IllegalArgumentException.class, () -> course.enroll(student2));
+        assertEquals(List.of(student2, student3), course.getWaitlist());
+
+        course.unregister(student1);
+        assertEquals(Set.of(student2), course.getStudents());
+        assertEquals(List.of(student3), course.getWaitlist());
+
+        course.setCapacity(2);
+        assertEquals(Set.of(student2, student3), course.getStudents());
+        assertTrue(course.getWaitlist().isEmpty());
+    }
+
+    @Test
+    void studentsWhoLeaveTheWaitlistShouldNotBePromoted() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.setCapacity(1);
+        course.enroll(student1);
+        course.enroll(student2);
+        course.enroll(student3);
+
+        assertTrue(course.leaveWaitlist(student2));
+        assertFalse(course.leaveWaitlist(student2));
+        course.enroll(student2);
+        course.unregister(student1);
+
+        assertEquals(Set.of(student3), course.getStudents());
+        assertEquals(List.of(student2), course.getWaitlist());
+    }
+
+    @Test
+    void waitlistedStudentsRejectedByAGuardShouldBeDropped() {
+        course.setCapacity(1);
+        course.enroll(student1);
+        course.enroll(student2);
+        course.addRegistrationGuard((guarded, student) -> {
+            if (student.equals(student2)) {
+                throw new IllegalArgumentException("rejected");
+            }
+        });
+        List<String> failures = recordPromotionFailures();
+
+        course.unregister(student1);
+
+        assertTrue(course.getStudents().isEmpty());
+        assertTrue(course.getWaitlist().isEmpty());
+        assertEquals(List.of("102 rejected, dropped"), failures);
+    }
+
+    @Test
+    void waitlistedStudentsShouldKeepTheirPlaceWhenAGuardFails() {
+        Student student3 = new Student(103, "Carol", "carol@example.com", "789 Road");
+        course.setCapacity(1);
+        course.enroll(student1);
+        course.enroll(student2);
+        course.enroll(student3);
+        AtomicInteger failing = new AtomicInteger(1);
+        course.addRegistrationGuard((guarded, student) -> {
+            if (failing.getAndDecrement() > 0) {
+                throw new IllegalStateException("guard is down");
+            }
+        });
+        List<String> failures = recordPromotionFailures();
+
+        course.unregister(student1);
+
+        assertTrue(course.getStudents().isEmpty());
+        assertEquals(List.of(student2, student3), course.getWaitlist());
+        assertEquals(List.of("102 guard is down, kept"), failures);
+
+        course.setCapacity(2);
+        assertEquals(List.of(student2, student3), new ArrayList<>(course.getStudents()));
+        assertTrue(course.getWaitlist().isEmpty());
+    }
+
+    @Test
+    void enrollShouldThrowIfTheStudentIsRejectedWhenReachingAFreedSeat() {
+        course.setCapacity(1);
+        course.register(student1);
+        //frees the seat while enroll puts the student on the waitlist
+        Student latecomer = new Student(103, "Carol", "carol@example.com", "789 Road") {
+            private boolean seatFreed;
+
+            @Override
+            public int hashCode() {
+                if (!seatFreed) {
+                    seatFreed = true;
+                    course.unregister(student1);
+                }
+                return super.hashCode();
+            }
+        };
+        course.addRegistrationGuard((guarded, student) -> {
+            if (student.equals(latecomer)) {
+                throw new IllegalArgumentException("rejected");
+            }
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> course.enroll(latecomer));
+        assertTrue(course.getStudents().isEmpty());
+        assertTrue(course.getWaitlist().isEmpty());
+    }
+
+    @Test
+    void concurrentEnrollmentsShouldNeverOverbook() throws Exception {
+        int capacity = 30;
+        int registrants = 128;
+        course.setCapacity(capacity);
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < registrants; id++) {
+            students.add(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+        }
+        AtomicInteger registered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (Student student : students) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                if (course.enroll(student) == Course.Enrollment.REGISTERED) {
+                    registered.incrementAndGet();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(capacity, registered.get());
+        assertEquals(capacity, course.getStudents().size());
+        assertEquals(registrants - capacity, course.getWaitlist().size());
+
+        //every freed seat goes to the head of the waitlist
+        List<Student> waitlist = course.getWaitlist();
+        List<Thread> leaving = new ArrayList<>();
+        for (Student student : List.copyOf(course.getStudents())) {
+            leaving.add(Thread.ofVirtual().start(() -> course.unregister(student)));
+        }
+        for (Thread thread : leaving) {
+            thread.join();
+        }
+        assertEquals(Set.copyOf(waitlist.subList(0, capacity)), course.getStudents());
+        assertEquals(waitlist.subList(capacity, waitlist.size()), course.getWaitlist());
+    }
+
+    @Test
+    void loadedRosterShouldAnswerCountAndMembershipWithoutResolving() {
+        AtomicInteger resolved = new AtomicInteger();
+        course.loadRoster(new int[]{102, 101, 103}, ids -> {
+            resolved.incrementAndGet();
+            return Arrays.asList(student2, student1, null);
+        });
+
+        assertEquals(3, course.getStudentCount());
+        assertTrue(course.isRegistered(student1));
+        assertFalse(course.isRegistered(new Student(104, "Carol", "carol@example.com", "789 Road")));
+        assertArrayEquals(new int[]{102, 101, 103}, course.copyStudentIds());
+        assertEquals(0, resolved.get());
+
+        assertEquals(List.of(student2, student1), new ArrayList<>(course.getStudents()));
+        assertEquals(2, course.getStudentCount());
+        assertArrayEquals(new int[]{102, 101}, course.copyStudentIds());
+        assertEquals(1, resolved.get());
+        course.getStudents();
+        assertEquals(1, resolved.get());
+    }
+
+    @Test
+    void changingALoadedRosterShouldResolveItFirst() {
+        List<String> events = new ArrayList<>();
+        course.addListener(new CourseListener() {
+            @Override
+            public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            }
+
+            @Override
+            public void studentRegistered(Course course, Student student) {
+                events.add("registered " + student.getId());
+            }
+        });
+        course.setCapacity(2);
+        course.loadRoster(new int[]{101, 103}, ids -> Arrays.asList(student1, null));
+
+        assertThrows(IllegalArgumentException.class, () -> course.register(student1));
+        course.register(student2);
+
+        assertEquals(List.of(student1, student2), new ArrayList<>(course.getStudents()));
+        assertEquals(List.of("registered 102"), events);
+    }
+
+    @Test
+    void resolvingALoadedRosterShouldFailIfTheResolverResultDoesNotMatchTheIds() {
+        course.loadRoster(new int[]{101, 102}, ids -> List.of(student1));
+        assertThrows(IllegalStateException.class, course::getStudents);
+        assertThrows(IllegalStateException.class,
+                () -> course.register(new Student(103, "Carol", "carol@example.com", "789 Road")));
+        assertEquals(2, course.getStudentCount());
+
+        Course swapped = new Course(2, "Physics", LocalDate.of(2025, 3, 1), 10);
+        swapped.loadRoster(new int[]{101, 102}, ids -> List.of(student2, student1));
+        assertThrows(IllegalStateException.class, swapped::getStudents);
+
+        Course missing = new Course(3, "Chemistry", LocalDate.of(2025, 3, 1), 10);
+        missing.loadRoster(new int[]{101}, ids -> null);
+        assertThrows(IllegalStateException.class, missing::getStudents);
+    }
+
+    @Test
+    void loadRosterShouldRejectInvalidRosters() {
+        assertThrows(IllegalArgumentException.class, () -> course.loadRoster(null, ids -> List.of()));
+        assertThrows(IllegalArgumentException.class, () -> course.loadRoster(new int[]{1, 1}, ids -> List.of()));
+        course.register(student1);
+        assertThrows(IllegalArgumentException.class, () -> course.loadRoster(new int[]{2}, ids -> List.of()));
+    }
+
+    private List<String> recordPromotionFailures() {
+        List<String> failures = new ArrayList<>();
+        course.addListener(new CourseListener() {
+            @Override
+            public void courseChanged(Course course, Course.Property property, Object oldValue) {
+            }
+
+            @Override
+            public void waitlistPromotionFailed(Course course, Student student, RuntimeException failure,
+                                                boolean dropped) {
+                failures.add(student.getId() + " " + failure.getMessage() + (dropped ? ", dropped" : ", kept"));
+            }
+        });
+        return failures;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package model;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class StudentTest {
@@ -71,4 +75,29 @@ class StudentTest {
         Student student = new Student(1, "John Doe", "john.doe@example.com", "123 Main St");
         assertThrows(IllegalArgumentException.class, () -> student.setAddress(""));
     }
-}
+
+    @Test
+    void settersShouldNotifyListenersWithOldValue() {
+        Student student = new Student(1, "John Doe", "john.doe@example.com", "123 Main St");
+        List<String> changes = new ArrayList<>();
+        student.addListener((changed, property, oldValue) -> changes.add(property + ":" + oldValue));
+
+        student.setName("Jane Doe");
+        student.setEmail("jane.doe@example.com");
+        student.setAddress("456 Elm St");
+
+        assertEquals(List.of("NAME:John Doe", "EMAIL:john.doe@example.com", "ADDRESS:123 Main St"), changes);
+    }
+
+    @Test
+    void removedListenerShouldNotBeNotified() {
+        Student student = new Student(1, "John Doe", "john.doe@example.com", "123 Main St");
+        List<String> changes = new ArrayList<>();
+        StudentListener listener = (changed, property, oldValue) -> changes.add(oldValue);
+        student.addListener(listener);
+        student.removeListener(listener);
+
+        student.setName("Jane Doe");
+        assertTrue(changes.isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package schedule_conflicts;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseIntervalIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private CourseIntervalIndex index;
+    private Course january;
+    private Course february;
+    private Course winter;
+    private Student student1;
+    private Student student2;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseIntervalIndex();
+        january = new Course(1, "Java 101", START, 4);
+        february = new Course(2, "SQL 101", START.plusWeeks(4), 4);
+        winter = new Course(3, "C 101", START.plusWeeks(2), 4);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+        student2 = new Student(2, "Bob", "bob@example.com", "456 Elm St");
+    }
+
+    @Test
+    void findOverlappingShouldTreatTheEndDateAsExclusive() {
+        index.addAll(List.of(january, february, winter));
+
+        assertEquals(List.of(january, winter), index.findOverlapping(START.plusWeeks(3), START.plusWeeks(4)));
+        assertEquals(List.of(winter, february), index.findOverlapping(START.plusWeeks(4), START.plusWeeks(5)));
+        assertEquals(List.of(winter), index.findOverlapping(january));
+        assertTrue(index.findOverlapping(START, START).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.findOverlapping(START, START.minusDays(1)));
+    }
+
+    @Test
+    void rescheduledCoursesShouldBeMoved() {
+        index.addAll(List.of(january, february));
+
+        february.setStartDate(START.plusWeeks(3));
+        assertEquals(List.of(february), index.findOverlapping(january));
+        january.setWeekDuration(1);
+        assertTrue(index.findOverlapping(january).isEmpty());
+    }
+
+    @Test
+    void removeShouldOnlyRemoveTheIndexedInstance() {
+        index.add(january);
+
+        assertFalse(index.remove(new Course(1, "Java 101", START, 4)));
+        assertTrue(index.remove(january));
+        assertFalse(index.remove(january));
+        january.setStartDate(START.plusWeeks(10));
+
+        assertEquals(0, index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+    }
+
+    @Test
+    void findConflictsShouldFindStudentsInOverlappingCourses() {
+        january.registerAll(List.of(student1, student2));
+        winter.register(student1);
+        february.registerAll(List.of(student1, student2));
+        index.addAll(List.of(january, february, winter));
+
+        assertEquals(Set.of(
+                new Conflict(student1, january, winter),
+                new Conflict(student1, winter, february)), new HashSet<>(index.findConflicts()));
+    }
+
+    @Test
+    void shouldMatchABruteForceSearchAfterRandomChanges() {
+        Random random = new Random(11);
+        List<Student> students = new ArrayList<>();
+        for (int id = 0; id < 30; id++) {
+            students.add(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            Course course = new Course(id, "Course", START.plusDays(random.nextInt(365)), 1 + random.nextInt(8));
+            for (Student student : students) {
+                if (random.nextInt(10) == 0) {
+                    course.register(student);
+                }
+            }
+            courses.add(course);
+        }
+        index.addAll(courses);
+        for (int i = 0; i < 500; i++) {
+            Course course = courses.get(random.nextInt(courses.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> course.setStartDate(START.plusDays(random.nextInt(365)));
+                case 1 -> course.setWeekDuration(1 + random.nextInt(8));
+                default -> {
+                    if (index.remove(course)) {
+                        index.add(course);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = START.plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(random.nextInt(30));
+            List<Course> expected = courses.stream()
+                    .filter(course -> course.getStartDate().isBefore(to) && course.getEndDate().isAfter(from))
+                    .sorted((a, b) -> a.getStartDate().equals(b.getStartDate())
+                            ? Integer.compare(a.getId(), b.getId())
+                            : a.getStartDate().compareTo(b.getStartDate()))
+                    .toList();
+            assertEquals(expected, index.findOverlapping(from, to));
+        }
+
+        Set<Conflict> expected = new HashSet<>();
+        for (Course first : courses) {
+            for (Course second : courses) {
+                boolean ordered = first.getStartDate().isBefore(second.getStartDate())
+                        || first.getStartDate().equals(second.getStartDate()) && first.getId() < second.getId();
+                if (ordered && second.getStartDate().isBefore(first.getEndDate())) {
+                    for (Student student : first.getStudents()) {
+                        if (second.getStudents().contains(student)) {
+                            expected.add(new Conflict(student, first, second));
+                        }
+                    }
+                }
+            }
+        }
+        List<Conflict> conflicts = index.findConflicts();
+        assertEquals(expected.size(), conflicts.size());
+        assertEquals(expected, new HashSet<>(conflicts));
+    }
+}
@@ -0,0 +1,138 @@
+package schedule_conflicts;
+
+import model.Course;
+import model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleConflictGuardTest {
+
+    private ScheduleConflictGuard guard;
+    private Course january;
+    private Course february;
+    private Course winter;
+    private Student student1;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ScheduleConflictGuard();
+        january = new Course(1, "Java 101", LocalDate.of(2024, 1, 1), 4);
+        february = new Course(2, "SQL 101", LocalDate.of(2024, 1, 29), 4);
+        winter = new Course(3, "C 101", LocalDate.of(2024, 1, 15), 4);
+        student1 = new Student(1, "Alice", "alice@example.com", "123 Main St");
+    }
+
+    @Test
+    void registerShouldRejectOverlappingCourses() {
+        guard.guardAll(List.of(january, february, winter));
+
+        january.register(student1);
+        february.register(student1);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> winter.register(student1));
+        assertTrue(e.getMessage().contains("course 1"));
+        assertThrows(IllegalArgumentException.class, () -> winter.setStudents(List.of(student1)));
+        assertTrue(winter.getStudents().isEmpty());
+    }
+
+    @Test
+    void unguardedCoursesShouldNotBeChecked() {
+        guard.guardAll(List.of(january, winter));
+        january.register(student1);
+
+        guard.unguard(winter);
+        winter.register(student1);
+        guard.unguard(winter);
+
+        assertEquals(Set.of(student1), winter.getStudents());
+    }
+
+    @Test
+    void findConflictsShouldFindConflictsTheGuardCouldNotPrevent() {
+        winter.setWeekDuration(2);
+        january.register(student1);
+        winter.register(student1);
+        guard.guardAll(List.of(january, february, winter));
+        february.register(student1);
+        february.setStartDate(LocalDate.of(2024, 1, 22));
+
+        assertEquals(Set.of(
+                new Conflict(student1, january, winter),
+                new Conflict(student1, january, february),
+                new Conflict(student1, winter, february)), Set.copyOf(guard.findConflicts()));
+    }
+
+    @Test
+    void abandonedAndEndedRegistrationsShouldFreeTheStudentsSchedule() {
+        guard.guardAll(List.of(january, winter));
+        january.addRegistrationGuard((course, student) -> {
+            throw new IllegalArgumentException("closed");
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> january.register(student1));
+        winter.register(student1);
+        winter.unregister(student1);
+        february.register(student1);
+
+        assertTrue(january.getStudents().isEmpty());
+        assertTrue(winter.getStudents().isEmpty());
+    }
+
+    @Test
+    void concurrentRegistrationsInOverlappingCoursesShouldNeverBothGetThrough() throws Exception {
+        int students = 2_000;
+        guard.guardAll(List.of(january, winter));
+        List<Student> all = new ArrayList<>();
+        for (int id = 0; id < students; id++) {
+            all.add(new Student(id, "Name", "e" + id + "@example.com", "Street"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> registrations = new ArrayList<>();
+            for (Course course : List.of(january, winter)) {
+                registrations.add(executor.submit(() -> {
+                    for (Student student : all) {
+                        try {
+                            course.register(student);
+                        } catch (IllegalArgumentException e) {
+                            //already registered in the other course
+                        }
+                    }
+                }));
+            }
+            for (Future<?> registration : registrations) {
+                registration.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Student student : all) {
+            assertFalse(january.isRegistered(student) && winter.isRegistered(student),
+                    "student " + student.getId() + " got into both courses");
+        }
+        assertEquals(students, january.getStudentCount() + winter.getStudentCount());
+        assertTrue(guard.findConflicts().isEmpty());
+    }
+
+    @Test
+    void guardingALoadedCourseShouldNotResolveItsRoster() {
+        january.loadRoster(new int[]{1}, ids -> fail("the roster should not be resolved"));
+        guard.guardAll(List.of(january, winter));
+
+        assertThrows(IllegalArgumentException.class, () -> winter.register(student1));
+        guard.unguard(january);
+        winter.register(student1);
+        assertEquals(Set.of(student1), winter.getStudents());
+    }
+}